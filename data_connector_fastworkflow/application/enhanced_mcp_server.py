@@ -473,6 +473,17 @@ class EnhancedApiSchemaParser:
             non_param_segments = [part for part in segments if not (part.startswith('{') and part.endswith('}'))]
             return non_param_segments[-1] if non_param_segments else "default"
 
+    def _annotate_access_patterns(self, path, method_data):
+        """Record the pagination style and point-read key of GET endpoints for the generator"""
+        if method_data.get("verb") == "get":
+            pagination = detect_pagination(method_data.get("parameters", []), self.api_spec)
+            if pagination:
+                method_data["pagination"] = pagination
+            point_read = detect_point_read(path, method_data.get("parameters", []), self.api_spec)
+            if point_read:
+                method_data["point_read"] = point_read
+        return method_data
+
     def get_objects_from_paths(self) -> Dict[str, Dict]:
         """Convert OpenAPI paths to object-method structure with enhanced handling"""
         objects = {}
@@ -528,6 +539,7 @@ class EnhancedApiSchemaParser:
                             "description": method_info.get('description', ''),
                             "parameters": method_info.get('parameters', [])
                         }
+                        self._annotate_access_patterns(path, method_data)
                         objects[object_name]["methods"][path] = method_data
 
         return objects
@@ -570,6 +582,7 @@ class EnhancedApiSchemaParser:
                                     "description": method_info.get('description', ''),
                                     "parameters": method_info.get('parameters', [])
                                 }
+                                self._annotate_access_patterns(path, method_data)
                                 enhanced_objects[tag]["methods"][path] = method_data
                 
                 # Strategy 2: If no tags, try path segments
@@ -597,6 +610,7 @@ class EnhancedApiSchemaParser:
                                             "description": method_info.get('description', ''),
                                             "parameters": method_info.get('parameters', [])
                                         }
+                                        self._annotate_access_patterns(path, method_data)
                                         enhanced_objects[obj_name]["methods"][path] = method_data
             
             # If we found more objects with the enhanced method, use those instead
@@ -959,6 +973,93 @@ def method_requires_id(method_path: str, parameters: list) -> bool:
             return True
     return False
 
+# Query parameter names that identify how a collection endpoint pages its results
+PAGE_SIZE_PARAMS = ["max", "limit", "count", "pageSize", "page_size", "per_page", "perPage", "size"]
+PAGE_NUMBER_PARAMS = ["page", "pageNumber", "page_number"]
+OFFSET_PARAMS = {"startIndex": 1, "start_index": 1, "offset": 0, "skip": 0, "start": 0}
+CURSOR_PARAMS = ["cursor", "after", "nextToken", "next_token", "pageToken", "page_token", "continuationToken", "marker"]
+
+def resolve_parameter(param: dict, api_spec: Optional[dict] = None) -> dict:
+    """Resolve a local parameter $ref such as #/components/parameters/maxParam"""
+    if not isinstance(param, dict) or '$ref' not in param:
+        return param if isinstance(param, dict) else {}
+    ref = param['$ref']
+    if api_spec and ref.startswith('#/'):
+        node = api_spec
+        for part in ref[2:].split('/'):
+            node = node.get(part) if isinstance(node, dict) else None
+            if node is None:
+                break
+        if isinstance(node, dict):
+            return node
+    # Spec not available (e.g. a cached source.json): infer the name from the ref
+    name = ref.rsplit('/', 1)[-1]
+    if name.endswith('Param') and len(name) > len('Param'):
+        name = name[:-len('Param')]
+    return {"name": name, "in": "query"}
+
+def detect_pagination(parameters: list, api_spec: Optional[dict] = None) -> Optional[Dict[str, Any]]:
+    """
+    Detect the pagination style of an endpoint from its query parameters.
+
+    Returns a descriptor the connector generator maps onto a PageFetcher, or None:
+    - page style (Harry Potter max/page): {"style": "page", "page_param", "size_param", "first_page"}
+    - offset style (SCIM startIndex/count, offset/limit): {"style": "offset", "offset_param", "size_param", "first_offset"}
+    - cursor style (cursor/after/pageToken): {"style": "cursor", "cursor_param", "size_param"?}
+    """
+    query_params = {}
+    for param in parameters or []:
+        resolved = resolve_parameter(param, api_spec)
+        name = resolved.get('name')
+        if name and resolved.get('in', 'query') == 'query':
+            query_params[name.lower()] = name
+
+    def find(candidates):
+        for candidate in candidates:
+            if candidate.lower() in query_params:
+                return query_params[candidate.lower()]
+        return None
+
+    size_param = find(PAGE_SIZE_PARAMS)
+    page_param = find(PAGE_NUMBER_PARAMS)
+    if page_param and size_param:
+        return {"style": "page", "page_param": page_param, "size_param": size_param, "first_page": 1}
+
+    if size_param:
+        for offset_name, first_offset in OFFSET_PARAMS.items():
+            if offset_name.lower() in query_params:
+                return {
+                    "style": "offset",
+                    "offset_param": query_params[offset_name.lower()],
+                    "size_param": size_param,
+                    "first_offset": first_offset
+                }
+
+    cursor_param = find(CURSOR_PARAMS)
+    if cursor_param:
+        descriptor = {"style": "cursor", "cursor_param": cursor_param}
+        if size_param:
+            descriptor["size_param"] = size_param
+        return descriptor
+    return None
+
+def detect_point_read(method_path: str, parameters: list, api_spec: Optional[dict] = None) -> Optional[Dict[str, Any]]:
+    """
+    Detect a single-object GET endpoint such as /emails/{id}.
+
+    Returns {"key_param": name} for an endpoint whose last path segment is its only ID-like path
+    parameter, so that primary-key lookups can call it instead of listing the collection.
+    """
+    resolved = [resolve_parameter(param, api_spec) for param in parameters or []]
+    path_params = [p for p in resolved if p.get('in') == 'path']
+    if len(path_params) != 1 or not method_requires_id(method_path, path_params):
+        return None
+    name = path_params[0].get('name')
+    segments = [part for part in (method_path or '').split('/') if part]
+    if not segments or segments[-1] != '{' + name + '}':
+        return None
+    return {"key_param": name}
+
 # =============================
 # Core OpenAPI Initialization Functions
 # =============================
@@ -1302,7 +1403,7 @@ def generate_data_connector_code(
                     debug_log("Loading example files...")
                     
                     # Load Java connector example
-                    connector_example_path = os.path.join(PROJECT_ROOT, "examples", "BooksDataConnector.java")
+                    connector_example_path = os.path.join(PROJECT_ROOT, "examples", "HarryPotterDataConnector.java")
                     if os.path.exists(connector_example_path):
                         with open(connector_example_path, 'r') as f:
                             example_connector = f.read()
@@ -1366,6 +1467,23 @@ OUTPUT:
 7. Use the EXACT import patterns and class structure shown in the Harry Potter examples above
 8. ADAPT the functionality to work with the selected objects, not Harry Potter objects
 9. MUST include @ManagedComponent annotation on the connector class for proper dependency injection
+10. MUST honor the size and time limits of the LdapSearchRequest: page upstream calls through com.radiantlogic.custom.support.LimitedSearch exactly as the example does, never fetch whole collections
+11. For every method in target_json with a "pagination" descriptor, wrap the API call in a com.radiantlogic.custom.support.PageFetcher that maps the zero-based page number onto the descriptor (page style: page = pageNumber + first_page; offset style: offset = pageNumber * pageSize + first_offset) and use it with LimitedSearch, or with Pagers.stream(fetcher, pageSize) for full scans; read the page size from the "pageSize" connector property as the example does
+12. Treat an unfiltered search without size or time limit as a full load: fetch page 1 with the ...WithHttpInfo method, read the total from TotalCount.fromHeaders (X-Total-Count) or TotalCount.fromBody (SCIM totalResults), and fetch the rest through com.radiantlogic.custom.support.PartitionedScan with the "scanParallelism" property, as the example does
+13. Provide a searchPage(LdapSearchRequest, int, String cookie) method for the LDAP paged results control as the example does: decode the position with com.radiantlogic.custom.support.PagingCookie bound to the hash of the whole search (the SearchCacheKey of base DN, scope, filter and attributes), make exactly one upstream call through PagedSearch.fetchPage, and return the next cookie in a PagedResponse; keep no state between pages
+14. Provide a streamSearch(LdapSearchRequest) method returning com.radiantlogic.custom.support.StreamingResults as the example does: walk each object type with com.radiantlogic.custom.support.LimitedSearch.stream so every page is awaited only until the time limit, and map and emit each entry as its page arrives instead of building the whole result in memory
+15. Route primary-key lookups to single-object endpoints: build a com.radiantlogic.custom.support.LookupPlanner from the schema primaryKeys and, when it plans a POINT lookup (an equality on the key, or a BASE-scope search on a key RDN), call the method with a "point_read" descriptor through a PointReader instead of listing the collection, as the example does; when the plan carries a filter (LookupPlan.getFilter()), return the entry read for the BASE DN only if FilterNode.matches accepts its attributes; a missing BASE entry is NO_SUCH_OBJECT
+16. For a MULTI lookup plan (an OR of primary-key equalities) read the distinct keys concurrently through com.radiantlogic.custom.support.MultiGet capped by the "lookupParallelism" property, keeping the requested order, and pass the SearchLimits to MultiGet.read so the size and time limits apply as in a scan; use a BatchReader instead of a PointReader when the list endpoint accepts several values for the key
+17. Implement testConnection with com.radiantlogic.custom.support.HealthMonitor as the example does: add one probe per API client (a cheap one-entry GET or ping), never chain the probes with && or stop at the first failure, and return report.summary() so every endpoint's status is shown; serve repeated tests from healthMonitor.current() and let it refresh an aging report in the background with .setRefreshAfter(cacheAge / 2, unit); never call healthMonitor.start(...) in the constructor, since a periodic refresh keeps probing the upstream for every connector instance until close()
+18. Wrap every PointReader in com.radiantlogic.custom.support.NegativeCache.guard(objectType, reader) with the "negativeCacheSeconds" property, as the example does; every create, update, rename or delete the connector performs MUST call negativeCache.invalidate(objectType, key) for the affected keys
+19. Put a com.radiantlogic.custom.support.SearchResultCache in front of search as the example does: key it with SearchCacheKey.of(baseDn, scope, filter, attributes), bound it in bytes with a weigher estimating each response's size, cache only SUCCESS responses of searches without a size limit, tag each result with the object types it may contain, and call resultCache.invalidateType(objectType) on every write; load through resultCache.getOrLoad(key, types, loader, cacheable) with setMaxStale from the "resultCacheStaleSeconds" property so expired results are served while they refresh and while the upstream fails
+20. Load near-static endpoints (organization, profile schema, authenticators, event types, JWKS, small fixed lists) through the tier of the datasource, com.radiantlogic.custom.support.ReferenceDataTier.acquire(baseUrl, credentials), with pin(name, interval, unit, apiClient, client -> ...) as the example does for houses; the loader must use only the client it is given, never fields of the connector. Answer searches and lookups of them from ReferenceData.get() instead of calling the upstream per search, and call tier.release() in the connector's close()
+21. Read entries of the PointReaders through a com.radiantlogic.custom.support.TieredEntryCache keyed "TYPE:key" as the example's cachedEntries does, sized by the "entryCacheHeapEntries" and "entryCacheOffHeapMegabytes" properties and expired with setTtl from the "entryCacheSeconds" property (defaulting to "resultCacheSeconds"), inside the NegativeCache guard; every write MUST call entryCache.invalidate for the affected keys
+22. When the connector keeps many entries of one object type in memory as attribute maps (a synced or full-load cache), hold them in a com.radiantlogic.custom.support.ColumnarStore per type built with EntrySchema.fromFieldTypes from the SchemaObject field names and data types, read them through EntryViews, and answer equality filters on non-key attributes with store.select(attribute, value) instead of keeping a HashMap per entry
+23. Never call new ApiClient() or the no-argument *Api constructors with per-connector settings: obtain one client per datasource from the invoker's ApiClientRegistry (forBasePath(baseUrl) as the example does, or get(baseUrl, credentials, client -> ...) to apply credentials once on creation) and pass it to every *Api constructor
+24. For OAuth2 or bearer-token APIs, never fetch a token per request or cache it by hand: wrap the token request in the invoker's auth.OAuthTokenManager (returning OAuthTokenManager.AccessToken.expiringIn(token, expiresIn)) and install the manager with setAccessToken(manager) or setBearerToken(manager) once, inside the ApiClientRegistry configurer; the client renews it before expiry and replays a request once after a 401
+25. For user-scoped APIs where each operation acts with a different end user's token (e.g. Okta MyAccount), keep one invoker PrincipalClientCache per datasource over the registry client and build the *Api instances of an operation from cache.get(principal, userAccessToken); never create an ApiClient per operation or keep per-user clients in your own map
+26. When the connector verifies signed tokens (e.g. push challenge response JWTs), keep one com.radiantlogic.custom.support.JwkCache per datasource built over the JWKS loader and call jwkCache.verify(jws); never decode JWK members into a PublicKey or create a Signature per token
 
 === FORBIDDEN IMPORTS (DO NOT USE) ===
 ❌ com.radiantlogic.sdk.core.*
@@ -1531,6 +1649,16 @@ IMPORTANT: This connector should:
                         "parameters": method_details.get("parameters", []),
                         "source_object": object_name  # Track which object this method came from
                     }
+                    pagination = method_details.get("pagination")
+                    if pagination is None and method_details.get("verb") == "get":
+                        pagination = detect_pagination(method_details.get("parameters", []))
+                    if pagination:
+                        unified_object_data["methods"][unified_method_name]["pagination"] = pagination
+                    point_read = method_details.get("point_read")
+                    if point_read is None and method_details.get("verb") == "get":
+                        point_read = detect_point_read(method_path, method_details.get("parameters", []))
+                    if point_read:
+                        unified_object_data["methods"][unified_method_name]["point_read"] = point_read
         
         debug_log(f"Unified connector will handle {len(objects_to_generate)} objects: {objects_to_generate}")
         debug_log(f"Unified connector will have {len(unified_object_data['methods'])} methods")
@@ -1832,10 +1960,10 @@ CRITICAL ISSUES FOUND:
                         feedback += "- CRITICAL: Class name does not match filename. Ensure class name matches the file name exactly.\n"
                     
                     if "cannot find symbol" in package_errors:
-                        feedback += "- CRITICAL: Missing imports or wrong package names. Use ONLY com.radiantlogic.iddm.* packages.\n"
+                        feedback += "- CRITICAL: Missing imports or wrong package names. Use ONLY com.radiantlogic.iddm.*, com.radiantlogic.custom.support.* and the generated client's packages.\n"
                     
                     if "package" in package_errors and "does not exist" in package_errors:
-                        feedback += "- CRITICAL: Wrong package imports. Use ONLY com.radiantlogic.iddm.* packages, NOT com.radiantlogic.sdk.core.* or com.radiantlogic.iddd.*\n"
+                        feedback += "- CRITICAL: Wrong package imports. Use ONLY com.radiantlogic.iddm.*, com.radiantlogic.custom.support.* and the generated client's packages, NOT com.radiantlogic.sdk.core.* or com.radiantlogic.iddd.*\n"
                 
                 # Test issues
                 if not test_success:
@@ -1859,6 +1987,10 @@ IMPROVEMENT REQUIREMENTS:
    - com.radiantlogic.iddm.response.TestConnectionResponse
    - com.radiantlogic.iddm.base.ReadOnlyProperties
    - com.radiantlogic.iddm.base.InjectableProperties
+   - com.radiantlogic.custom.support.* (the connector support library: HealthMonitor, PartitionedScan, SearchResultCache, ...)
+   - the generated client's api.* and model.* classes
+   - the generated client's invoker.ApiClient and invoker.ApiClientRegistry
+   - the generated client's invoker.auth.OAuthTokenManager (OAuth2 or bearer-token APIs only)
 5. Ensure class name matches filename exactly: {class_base_name}DataConnector
 6. Ensure code compiles without errors
 7. Ensure Maven package builds successfully
@@ -2423,15 +2555,16 @@ def update_pom_source_directory(java_client_api_dir: str) -> Dict[str, Any]:
 
         print(f"[DEBUG] Read pom.xml content length: {len(pom_content)}", file=sys.stderr)
 
-        # Update the source directory
-        old_source = r'java_client/[^<]+'
-        new_source = f'java_client/{client_name}'
+        # Update the source directory; only <sourceDirectory> is rewritten, the client profiles that
+        # also name java_client/... directories are left alone
+        old_source = r'<sourceDirectory>java_client/[^<]+</sourceDirectory>'
+        new_source = f'<sourceDirectory>java_client/{client_name}</sourceDirectory>'
 
         print(f"[DEBUG] Old pattern: {old_source}", file=sys.stderr)
         print(f"[DEBUG] New source: {new_source}", file=sys.stderr)
 
         # Check if the source directory needs updating
-        if f'java_client/{client_name}' in pom_content:
+        if new_source in pom_content:
             print(f"[INFO] pom.xml already has correct source directory: java_client/{client_name}", file=sys.stderr)
             return {
                 "success": True,
@@ -11,23 +11,71 @@ import com.radiantlogic.iddm.base.TestConnectionRequest;
 import com.radiantlogic.iddm.ldap.LdapResponse;
 import com.radiantlogic.iddm.base.TestConnectionResponse;
 import com.radiantlogic.iddm.base.ReadOnlyProperties;
+import com.radiantlogic.iddm.base.SearchScope;
 import com.radiantlogic.iddm.base.InjectableProperties;
 import com.radiantlogic.iddm.ldap.LdapResultCode;
 import com.radiantlogic.openapi.generated.harrypotterapi.api.BooksApi;
 import com.radiantlogic.openapi.generated.harrypotterapi.api.CharactersApi;
 import com.radiantlogic.openapi.generated.harrypotterapi.api.HousesApi;
 import com.radiantlogic.openapi.generated.harrypotterapi.api.SpellsApi;
+import com.radiantlogic.openapi.generated.harrypotterapi.invoker.ApiClient;
+import com.radiantlogic.openapi.generated.harrypotterapi.invoker.ApiClientRegistry;
+import com.radiantlogic.openapi.generated.harrypotterapi.invoker.JacksonConfig;
 import com.radiantlogic.openapi.generated.harrypotterapi.model.Book;
 import com.radiantlogic.openapi.generated.harrypotterapi.model.Character;
 import com.radiantlogic.openapi.generated.harrypotterapi.model.House;
 import com.radiantlogic.openapi.generated.harrypotterapi.model.Spell;
+import com.radiantlogic.custom.support.EntryCodec;
+import com.radiantlogic.custom.support.EntrySink;
+import com.radiantlogic.custom.support.FilterNode;
+import com.radiantlogic.custom.support.HealthMonitor;
+import com.radiantlogic.custom.support.LimitedSearch;
+import com.radiantlogic.custom.support.LookupPlan;
+import com.radiantlogic.custom.support.LookupPlanner;
+import com.radiantlogic.custom.support.MultiGet;
+import com.radiantlogic.custom.support.NegativeCache;
+import com.radiantlogic.custom.support.PagedResponse;
+import com.radiantlogic.custom.support.PagedSearch;
+import com.radiantlogic.custom.support.PageFetcher;
+import com.radiantlogic.custom.support.Pagers;
+import com.radiantlogic.custom.support.PagingCookie;
+import com.radiantlogic.custom.support.PartitionedScan;
+import com.radiantlogic.custom.support.PointReader;
+import com.radiantlogic.custom.support.ReferenceData;
+import com.radiantlogic.custom.support.ReferenceDataTier;
+import com.radiantlogic.custom.support.SearchCacheKey;
+import com.radiantlogic.custom.support.SearchLimits;
+import com.radiantlogic.custom.support.SearchResultCache;
+import com.radiantlogic.custom.support.StreamingResults;
+import com.radiantlogic.custom.support.TieredEntryCache;
+import com.radiantlogic.custom.support.TotalCount;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @CustomConnector(metaJsonFile = "harryPotterConnector.json")
 @ManagedComponent
-public class HarryPotterDataConnector implements SearchOperations<LdapSearchRequest, LdapResponse<String>>, TestConnectionOperations<TestConnectionRequest, TestConnectionResponse> {
+public class HarryPotterDataConnector implements SearchOperations<LdapSearchRequest, LdapResponse<String>>, TestConnectionOperations<TestConnectionRequest, TestConnectionResponse>, AutoCloseable {
+
+    private static final String FULL_LOAD_FILTER = "(objectclass=*)";
+    // The primaryKeys of the object schemas: every type is addressed by its index
+    private static final List<String> PRIMARY_KEYS = Collections.singletonList("index");
+    private static final int HEALTH_CHECK_DEADLINE_SECONDS = 10;
+    private static final long RESULT_CACHE_MAX_BYTES = 32L * 1024 * 1024;
+    private static final int REFERENCE_DATA_REVALIDATE_HOURS = 24;
 
     private final Logger log;
     private final CharactersApi charactersApi;
@@ -35,6 +83,17 @@ public class HarryPotterDataConnector implements SearchOperations<LdapSearchRequ
     private final HousesApi housesApi;
     private final BooksApi booksApi;
     private final String baseUrl;
+    private final int pageSize;
+    private final int scanParallelism;
+    private final int lookupParallelism;
+    private final LookupPlanner lookupPlanner = new LookupPlanner(PRIMARY_KEYS);
+    private final HealthMonitor healthMonitor;
+    private final NegativeCache negativeCache;
+    private final SearchResultCache<LdapResponse<String>> resultCache;
+    private final TieredEntryCache<String, String> entryCache;
+    private final boolean entryCacheEnabled;
+    private final ReferenceDataTier referenceData;
+    private final ReferenceData<List<House>> houses;
 
     public HarryPotterDataConnector(
             Logger log,
@@ -43,57 +102,107 @@ public class HarryPotterDataConnector implements SearchOperations<LdapSearchRequ
         this.log = log;
         String urlFromProps = (String) connectionProperties.get("baseUrl");
         this.baseUrl = (urlFromProps != null && !urlFromProps.trim().isEmpty()) ? urlFromProps : "https://potterapi-fedeperin.vercel.app/en";
+        this.pageSize = intProperty(connectionProperties, "pageSize", Pagers.DEFAULT_PAGE_SIZE);
+        this.scanParallelism = intProperty(connectionProperties, "scanParallelism", PartitionedScan.DEFAULT_PARALLELISM);
+        this.lookupParallelism = intProperty(connectionProperties, "lookupParallelism", MultiGet.DEFAULT_PARALLELISM);
+        int healthCacheSeconds = intProperty(connectionProperties, "healthCacheSeconds", 30);
+        this.healthMonitor = newHealthMonitor(healthCacheSeconds);
+        this.negativeCache = new NegativeCache(intProperty(connectionProperties, "negativeCacheSeconds", 30),
+                TimeUnit.SECONDS, NegativeCache.DEFAULT_MAX_ENTRIES);
+        int resultCacheSeconds = intProperty(connectionProperties, "resultCacheSeconds", 60);
+        this.resultCache = new SearchResultCache<LdapResponse<String>>(resultCacheSeconds,
+                TimeUnit.SECONDS, RESULT_CACHE_MAX_BYTES, HarryPotterDataConnector::estimateBytes)
+                .setMaxStale(intProperty(connectionProperties, "resultCacheStaleSeconds", 300), TimeUnit.SECONDS);
+        // Recently read entries stay decoded on the heap, the rest serialized in off-heap slabs. They
+        // expire like search results by default, since the data can change upstream
+        long entryCacheBytes = intProperty(connectionProperties, "entryCacheOffHeapMegabytes", 64) * 1024L * 1024;
+        int entryCacheSeconds = intProperty(connectionProperties, "entryCacheSeconds", resultCacheSeconds);
+        this.entryCacheEnabled = entryCacheSeconds > 0;
+        this.entryCache = new TieredEntryCache<String, String>(EntryCodec.utf8(),
+                intProperty(connectionProperties, "entryCacheHeapEntries", 10_000),
+                Math.max(entryCacheBytes, TieredEntryCache.DEFAULT_SLAB_BYTES))
+                .setTtl(entryCacheSeconds, TimeUnit.SECONDS);
         
-        // Initialize API clients - they already have the correct default basePath
-        this.charactersApi = new CharactersApi();
-        this.spellsApi = new SpellsApi();
-        this.housesApi = new HousesApi();
-        this.booksApi = new BooksApi();
-        
+        // All API classes share one client per base URL, across connector instances of the datasource
+        ApiClient apiClient = ApiClientRegistry.forBasePath(this.baseUrl);
+        this.charactersApi = new CharactersApi(apiClient);
+        this.spellsApi = new SpellsApi(apiClient);
+        this.housesApi = new HousesApi(apiClient);
+        this.booksApi = new BooksApi(apiClient);
+
+        // The four houses never change: load them once per datasource instead of on every search.
+        // The API needs no credentials; the loader gets the shared client, not this connector
+        this.referenceData = ReferenceDataTier.acquire(this.baseUrl, null);
+        this.houses = referenceData.pin("houses", REFERENCE_DATA_REVALIDATE_HOURS, TimeUnit.HOURS, apiClient,
+                client -> new HousesApi(client).housesGet(null, null, null, null));
+
         log.info("HarryPotterDataConnector initialized with base URL: " + this.baseUrl);
     }
 
     @Override
     public LdapResponse<String> search(LdapSearchRequest searchRequest) {
+        // Searches with a size limit are not cached: a cached full result could exceed the limit
+        if (searchRequest.getSizeLimit() > 0) {
+            return searchUpstream(searchRequest);
+        }
+        String searchTerm = searchRequest.getFilter().toString();
+        String baseDn = String.valueOf(searchRequest.getBaseDN());
+        SearchCacheKey key = SearchCacheKey.of(baseDn, searchRequest.getSearchScope(), searchTerm, searchRequest.getAttributes());
+        // An expired result is served while it is refreshed in the background, and keeps being
+        // served if the refresh fails, until the stale window ends
+        return resultCache.getOrLoad(key, typeLabels((searchTerm + "," + baseDn).toLowerCase()),
+                () -> searchUpstream(searchRequest), response -> response.getStatus() == LdapResultCode.SUCCESS);
+    }
+
+    private LdapResponse<String> searchUpstream(LdapSearchRequest searchRequest) {
         try {
             String searchTerm = searchRequest.getFilter().toString();
+            String term = searchTerm.toLowerCase();
             log.info("Searching with term: " + searchTerm);
-            
+
+            // The size and time limits span all object types of this search
+            SearchLimits limits = SearchLimits.of(searchRequest.getSizeLimit(), searchRequest.getTimeLimit());
+            LimitedSearch.Outcome outcome = LimitedSearch.Outcome.COMPLETE;
+            int returned = 0;
             StringBuilder results = new StringBuilder();
-            
-            // Search across all object types
-            if (searchTerm.toLowerCase().contains("book") || searchTerm.toLowerCase().contains("volume")) {
-                List<Book> books = booksApi.booksGet(null, null, null, searchTerm);
-                String bookResults = books.stream().map(Book::toString).collect(Collectors.joining("\n"));
-                results.append("BOOKS:\n").append(bookResults).append("\n\n");
-            }
-            
-            if (searchTerm.toLowerCase().contains("character") || searchTerm.toLowerCase().contains("person")) {
-                List<Character> characters = charactersApi.charactersGet(null, null, null, searchTerm);
-                String charResults = characters.stream().map(charObj -> charObj.toString()).collect(Collectors.joining("\n"));
-                results.append("CHARACTERS:\n").append(charResults).append("\n\n");
+
+            // Lookups by primary key go straight to the point-read endpoint
+            String baseDn = String.valueOf(searchRequest.getBaseDN());
+            LookupPlan plan = lookupPlanner.plan(baseDn, searchRequest.getSearchScope() == SearchScope.BASE, searchTerm);
+            if (plan.getKind() != LookupPlan.Kind.SCAN) {
+                return lookup(plan, searchTerm, baseDn, limits);
             }
-            
-            if (searchTerm.toLowerCase().contains("house") || searchTerm.toLowerCase().contains("gryffindor") || 
-                searchTerm.toLowerCase().contains("slytherin") || searchTerm.toLowerCase().contains("hufflepuff") || 
-                searchTerm.toLowerCase().contains("ravenclaw")) {
-                List<House> houses = housesApi.housesGet(null, null, null, searchTerm);
-                String houseResults = houses.stream().map(House::toString).collect(Collectors.joining("\n"));
-                results.append("HOUSES:\n").append(houseResults).append("\n\n");
+
+            // An unfiltered search without limits is a full load of every object type
+            if (FULL_LOAD_FILTER.equals(term) && !limits.hasSizeLimit() && !limits.hasTimeLimit()) {
+                loadAll("BOOKS", results, (page, size) -> booksApi.booksGet(null, size, page + 1, null),
+                        booksApi.booksGetWithHttpInfo(null, pageSize, 1, null));
+                loadAll("CHARACTERS", results, (page, size) -> charactersApi.charactersGet(null, size, page + 1, null),
+                        charactersApi.charactersGetWithHttpInfo(null, pageSize, 1, null));
+                appendEntries("HOUSES", results, houses.get());
+                loadAll("SPELLS", results, (page, size) -> spellsApi.spellsGet(null, size, page + 1, null),
+                        spellsApi.spellsGetWithHttpInfo(null, pageSize, 1, null));
+                return new LdapResponse<>(LdapResultCode.SUCCESS, results.toString());
             }
             
-            if (searchTerm.toLowerCase().contains("spell") || searchTerm.toLowerCase().contains("charm") || 
-                searchTerm.toLowerCase().contains("jinx") || searchTerm.toLowerCase().contains("hex")) {
-                List<Spell> spells = spellsApi.spellsGet(null, null, null, searchTerm);
-                String spellResults = spells.stream().map(Spell::toString).collect(Collectors.joining("\n"));
-                results.append("SPELLS:\n").append(spellResults).append("\n\n");
+            // Search across all matching object types, stopping once a limit is reached
+            for (ObjectType<?> type : matchingTypes(term, searchTerm)) {
+                LimitedSearch.Result<?> result = searchType(type.label, results, limits.afterReturning(returned), type.fetcher);
+                returned += result.getEntries().size();
+                outcome = result.getOutcome();
+                if (outcome != LimitedSearch.Outcome.COMPLETE) {
+                    break;
+                }
             }
             
             if (results.length() == 0) {
                 results.append("No results found for: ").append(searchTerm);
             }
+            if (outcome != LimitedSearch.Outcome.COMPLETE) {
+                log.info("Search stopped after " + returned + " entries: " + outcome);
+            }
             
-            return new LdapResponse<>(LdapResultCode.SUCCESS, results.toString());
+            return new LdapResponse<>(toResultCode(outcome), results.toString());
             
         } catch (RestClientException e) {
             log.error("Error during search: " + e.getMessage());
@@ -101,42 +210,362 @@ public class HarryPotterDataConnector implements SearchOperations<LdapSearchRequ
         }
     }
 
+    /**
+     * One page of a paged search (LDAP Simple Paged Results control). The cookie carries the upstream
+     * position, so each call makes exactly one upstream request and no state is kept between pages.
+     */
+    public PagedResponse<LdapResponse<String>> searchPage(LdapSearchRequest searchRequest, int ldapPageSize, String cookie) {
+        try {
+            String searchTerm = searchRequest.getFilter().toString();
+            List<ObjectType<?>> types = matchingTypes(searchTerm.toLowerCase(), searchTerm);
+            if (ldapPageSize <= 0 || types.isEmpty()) {
+                // A page size of 0 abandons the paged search (RFC 2696)
+                return new PagedResponse<>(new LdapResponse<>(LdapResultCode.SUCCESS, ""), "");
+            }
+
+            // Bind the cookie to the whole search, not just the filter: replaying it under another
+            // base DN, scope or attribute list must not continue this search's position
+            SearchCacheKey search = SearchCacheKey.of(String.valueOf(searchRequest.getBaseDN()),
+                    searchRequest.getSearchScope(), searchTerm, searchRequest.getAttributes());
+            PagingCookie position = PagingCookie.decode(cookie, PagingCookie.searchHash(search.toString()));
+            if (position.getPartition() >= types.size()) {
+                return new PagedResponse<>(new LdapResponse<>(LdapResultCode.SUCCESS, ""), "");
+            }
+            ObjectType<?> type = types.get(position.getPartition());
+            PagedSearch.Page<?> page = PagedSearch.fetchPage(type.fetcher, position.getOffset(), ldapPageSize);
+            String text = page.getEntries().stream().map(Object::toString).collect(Collectors.joining("\n"));
+
+            return new PagedResponse<>(new LdapResponse<>(LdapResultCode.SUCCESS, type.label + ":\n" + text),
+                    PagedSearch.nextCookie(position, page, types.size()));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected paging cookie: " + e.getMessage());
+            return new PagedResponse<>(new LdapResponse<>(LdapResultCode.OPERATIONS_ERROR, "Invalid paging cookie"), "");
+        } catch (RestClientException e) {
+            log.error("Error during paged search: " + e.getMessage());
+            return new PagedResponse<>(new LdapResponse<>(LdapResultCode.OTHER, "Error: " + e.getMessage()), "");
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #search}: entries are handed out as soon as their upstream page
+     * arrives, and a slow consumer holds back further upstream requests. Close the results when
+     * stopping early.
+     */
+    public StreamingResults<String> streamSearch(LdapSearchRequest searchRequest) {
+        String searchTerm = searchRequest.getFilter().toString();
+        List<ObjectType<?>> types = matchingTypes(searchTerm.toLowerCase(), searchTerm);
+        SearchLimits limits = SearchLimits.of(searchRequest.getSizeLimit(), searchRequest.getTimeLimit());
+        log.info("Streaming search with term: " + searchTerm);
+        return StreamingResults.start(sink -> streamTypes(types, limits, sink), pageSize);
+    }
+
+    private LimitedSearch.Outcome streamTypes(List<ObjectType<?>> types, SearchLimits limits, EntrySink<String> sink) {
+        LabelledSink labelled = new LabelledSink(sink);
+        for (ObjectType<?> type : types) {
+            labelled.label = type.label;
+            // Each page is awaited only until the deadline, so a slow upstream call cannot hold the
+            // stream past the time limit
+            LimitedSearch.Outcome outcome = LimitedSearch.stream(type.fetcher, pageSize, limits.afterReturning(labelled.returned), labelled);
+            if (outcome != LimitedSearch.Outcome.COMPLETE || labelled.stopped) {
+                return outcome;
+            }
+        }
+        return LimitedSearch.Outcome.COMPLETE;
+    }
+
+    private List<ObjectType<?>> matchingTypes(String term, String searchTerm) {
+        List<ObjectType<?>> types = new ArrayList<>();
+        for (ObjectType<?> type : allTypes(searchTerm)) {
+            if (type.matches(term)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    private List<String> typeLabels(String term) {
+        // The object types a search result may contain, for invalidation by type
+        List<ObjectType<?>> types = matchingTypes(term, null);
+        if (types.isEmpty() || term.contains(FULL_LOAD_FILTER)) {
+            types = allTypes(null);
+        }
+        return types.stream().map(type -> type.label).collect(Collectors.toList());
+    }
+
+    private List<ObjectType<?>> allTypes(String searchTerm) {
+        List<ObjectType<?>> types = new ArrayList<>();
+        types.add(new ObjectType<Book>("BOOKS", new String[] {"book", "volume"},
+                (page, size) -> booksApi.booksGet(null, size, page + 1, searchTerm),
+                byIndex(index -> booksApi.booksGet(index, null, null, null))));
+        types.add(new ObjectType<Character>("CHARACTERS", new String[] {"character", "person"},
+                (page, size) -> charactersApi.charactersGet(null, size, page + 1, searchTerm),
+                byIndex(index -> charactersApi.charactersGet(index, null, null, null))));
+        types.add(new ObjectType<House>("HOUSES", new String[] {"house", "gryffindor", "slytherin", "hufflepuff", "ravenclaw"},
+                (page, size) -> pageOf(houses.get(), page, size),
+                byIndex(index -> pageOf(houses.get(), index, 1))));
+        types.add(new ObjectType<Spell>("SPELLS", new String[] {"spell", "charm", "jinx", "hex"},
+                (page, size) -> spellsApi.spellsGet(null, size, page + 1, searchTerm),
+                byIndex(index -> spellsApi.spellsGet(index, null, null, null))));
+        return types;
+    }
+
+    /**
+     * Answer a primary-key lookup with point reads instead of listing the collections. The keys of an
+     * OR filter are read concurrently, at most lookupParallelism at a time. Without an object class in
+     * the filter or base DN every type is read, which is still one call per key and type. The entry of
+     * a BASE-scope read is returned only if it matches the filter of the search. The size and time
+     * limits span all types, as in a scan.
+     */
+    private LdapResponse<String> lookup(LookupPlan plan, String searchTerm, String baseDn, SearchLimits limits) {
+        List<ObjectType<?>> types = matchingTypes((searchTerm + "," + baseDn).toLowerCase(), searchTerm);
+        if (types.isEmpty()) {
+            types = allTypes(searchTerm);
+        }
+        StringBuilder results = new StringBuilder();
+        AtomicBoolean exists = new AtomicBoolean();
+        LimitedSearch.Outcome outcome = LimitedSearch.Outcome.COMPLETE;
+        int returned = 0;
+        for (ObjectType<?> type : types) {
+            // Keys that were just reported missing are not asked for again until the cache expires
+            PointReader<String> reader = plan.getFilter() == null
+                    ? negativeCache.guard(type.label, cachedEntries(type))
+                    : matchingEntries(type, plan.getFilter(), exists);
+            LimitedSearch.Result<String> result = new MultiGet<>(reader)
+                    .setParallelism(lookupParallelism)
+                    .read(plan.getKeys(), limits.afterReturning(returned));
+            if (!result.getEntries().isEmpty()) {
+                results.append(type.label).append(":\n").append(String.join("\n", result.getEntries())).append("\n\n");
+            }
+            returned += result.getEntries().size();
+            outcome = result.getOutcome();
+            if (outcome != LimitedSearch.Outcome.COMPLETE) {
+                break;
+            }
+        }
+        if (results.length() == 0) {
+            if (plan.isFromBaseDn() && !exists.get() && outcome == LimitedSearch.Outcome.COMPLETE) {
+                return new LdapResponse<>(LdapResultCode.NO_SUCH_OBJECT, "No entry found for: " + baseDn);
+            }
+            results.append("No results found for: ").append(searchTerm);
+        }
+        return new LdapResponse<>(toResultCode(outcome), results.toString());
+    }
+
+    /**
+     * Read entries of a type and keep those that match the filter. The entry is needed in its model
+     * form to be matched, so these reads bypass the entry cache; exists records that an entry was
+     * found, matching or not.
+     */
+    private PointReader<String> matchingEntries(ObjectType<?> type, FilterNode filter, AtomicBoolean exists) {
+        PointReader<?> reader = negativeCache.guard(type.label, type.reader);
+        return key -> {
+            Object found = reader.read(key);
+            if (found == null) {
+                return null;
+            }
+            exists.set(true);
+            return filter.matches(attributesOf(type, found)) ? found.toString() : null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<String, Collection<?>> attributesOf(ObjectType<?> type, Object entry) {
+        Map<String, Collection<?>> attributes = new HashMap<>();
+        Map<String, Object> fields = JacksonConfig.OBJECT_MAPPER.convertValue(entry, Map.class);
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            Object value = field.getValue();
+            if (value != null) {
+                attributes.put(field.getKey().toLowerCase(),
+                        value instanceof Collection ? (Collection<?>) value : Collections.singletonList(value));
+            }
+        }
+        attributes.put("objectclass", Arrays.asList(type.keywords));
+        return attributes::get;
+    }
+
+    /**
+     * Read entries of a type through the entry cache, which holds each entry in its rendered form
+     * until the entry cache time has passed.
+     */
+    private PointReader<String> cachedEntries(ObjectType<?> type) {
+        PointReader<?> reader = type.reader;
+        if (!entryCacheEnabled) {
+            return key -> {
+                Object found = reader.read(key);
+                return found == null ? null : found.toString();
+            };
+        }
+        return key -> {
+            String cacheKey = type.label + ":" + NegativeCache.normalizeKey(key);
+            String entry = entryCache.get(cacheKey);
+            if (entry == null) {
+                Object found = reader.read(key);
+                if (found == null) {
+                    return null;
+                }
+                entry = found.toString();
+                entryCache.put(cacheKey, entry);
+            }
+            return entry;
+        };
+    }
+
+    private static <T> PointReader<T> byIndex(Function<Integer, List<T>> call) {
+        // The index parameter returns only the item at that index, so it serves as the point read;
+        // the API cannot filter on several indexes, so there is no BatchReader
+        return key -> {
+            Integer index;
+            try {
+                index = Integer.valueOf(key.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            try {
+                List<T> found = call.apply(index);
+                return found == null || found.isEmpty() ? null : found.get(0);
+            } catch (HttpClientErrorException.NotFound e) {
+                return null;
+            }
+        };
+    }
+
+    private <T> LimitedSearch.Result<T> searchType(String label, StringBuilder results, SearchLimits limits, PageFetcher<T> fetcher) {
+        LimitedSearch.Result<T> result = LimitedSearch.run(fetcher, pageSize, limits);
+        String text = result.getEntries().stream().map(Object::toString).collect(Collectors.joining("\n"));
+        results.append(label).append(":\n").append(text).append("\n\n");
+        return result;
+    }
+
+    private static void appendEntries(String label, StringBuilder results, List<?> entries) {
+        String text = entries.stream().map(Object::toString).collect(Collectors.joining("\n"));
+        results.append(label).append(":\n").append(text).append("\n\n");
+    }
+
+    private static long estimateBytes(LdapResponse<String> response) {
+        // Two bytes per char of the result text plus the response and entry objects
+        return 2L * response.getData().length() + 96;
+    }
+
+    private static <T> List<T> pageOf(List<T> entries, int page, int size) {
+        int from = (int) Math.min((long) page * size, entries.size());
+        return entries.subList(from, Math.min(from + size, entries.size()));
+    }
+
+    private <T> void loadAll(String label, StringBuilder results, PageFetcher<T> fetcher, ResponseEntity<List<T>> firstPage) {
+        // Fetch the pages in parallel when the upstream reports the collection size
+        OptionalLong total = TotalCount.fromHeaders(firstPage.getHeaders());
+        try (Stream<T> entries = new PartitionedScan<>(fetcher, pageSize, total.orElse(-1))
+                .setParallelism(scanParallelism)
+                .setFirstPage(firstPage.getBody())
+                .stream(PartitionedScan.Order.ORDERED)) {
+            String text = entries.map(Object::toString).collect(Collectors.joining("\n"));
+            results.append(label).append(":\n").append(text).append("\n\n");
+        }
+    }
+
+    private static int intProperty(ReadOnlyProperties properties, String name, int defaultValue) {
+        Object value = properties.get(name);
+        return value != null ? Integer.parseInt(value.toString().trim()) : defaultValue;
+    }
+
+    private static LdapResultCode toResultCode(LimitedSearch.Outcome outcome) {
+        // sizeLimitExceeded/timeLimitExceeded are not defined by every SDK version
+        return LdapResultCode.fromInt(outcome.getResultCode()).orElse(LdapResultCode.OTHER);
+    }
+
+    /**
+     * Release what this connector instance holds beyond its own lifetime. Call once when the
+     * connector is discarded, e.g. when its datasource is reconfigured or removed.
+     */
+    @Override
+    public void close() {
+        healthMonitor.close();
+        referenceData.release();
+        resultCache.invalidateAll();
+        entryCache.clear();
+    }
+
     @Override
     public TestConnectionResponse testConnection(TestConnectionRequest testConnectionRequest) {
         try {
             log.info("Testing connection to Harry Potter API at: " + this.baseUrl);
-            
-            // First, test if we can reach the API by making a simple call
-            try {
-                List<Book> books = booksApi.booksGet(1, 1, null, null);
-                
-                // An empty list is still a valid response - it means the API is working
-                if (books != null) {
-                    log.info("Connection test successful - Retrieved " + books.size() + " books");
-                    return TestConnectionResponse.from("HarryPotterAPI", true, "Connection successful - API responding with " + books.size() + " books");
-                } else {
-                    log.warn("Connection test returned null response");
-                    return TestConnectionResponse.from("HarryPotterAPI", false, "Connection test returned null response");
-                }
-            } catch (Exception apiException) {
-                log.error("API call failed: " + apiException.getMessage(), apiException);
-                
-                // Try a different endpoint as fallback
-                try {
-                    List<Character> characters = charactersApi.charactersGet(1, 1, null, null);
-                    if (characters != null) {
-                        log.info("Fallback connection test successful - Retrieved " + characters.size() + " characters");
-                        return TestConnectionResponse.from("HarryPotterAPI", true, "Connection successful via fallback endpoint");
-                    }
-                } catch (Exception fallbackException) {
-                    log.error("Fallback API call also failed: " + fallbackException.getMessage(), fallbackException);
-                }
-                
-                return TestConnectionResponse.from("HarryPotterAPI", false, "API connection failed: " + apiException.getMessage());
+
+            // Every endpoint is probed concurrently under one deadline; repeated tests within the
+            // cache age are answered from the last report
+            HealthMonitor.Report report = healthMonitor.current();
+            if (report.isHealthy()) {
+                log.info("Connection test successful - " + report.summary());
+                return TestConnectionResponse.from("HarryPotterAPI", true, "Connection successful - " + report.summary());
             }
+            log.warn("Connection test failed - " + report.summary());
+            return TestConnectionResponse.from("HarryPotterAPI", false, "API connection failed - " + report.summary());
         } catch (Exception e) {
             log.error("Connection test failed with unexpected error: " + e.getMessage(), e);
             return TestConnectionResponse.from("HarryPotterAPI", false, "Connection test failed: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    private HealthMonitor newHealthMonitor(int cacheSeconds) {
+        // The probes read the API fields when they run, not when the monitor is built. A test that
+        // finds the report half expired gets it at once and refreshes it in the background; an idle
+        // connector probes nothing
+        return new HealthMonitor(HEALTH_CHECK_DEADLINE_SECONDS, TimeUnit.SECONDS, cacheSeconds, TimeUnit.SECONDS)
+                .setRefreshAfter(cacheSeconds / 2, TimeUnit.SECONDS)
+                .addProbe("books", () -> booksApi.booksGet(1, 1, null, null))
+                .addProbe("characters", () -> charactersApi.charactersGet(1, 1, null, null))
+                .addProbe("houses", () -> housesApi.housesGet(1, 1, null, null))
+                .addProbe("spells", () -> spellsApi.spellsGet(1, 1, null, null));
+    }
+
+    /**
+     * An object type of the upstream API: how to fetch one page of it for the current search and how
+     * to read a single object by primary key.
+     */
+    private static final class ObjectType<T> {
+        final String label;
+        final String[] keywords;
+        final PageFetcher<T> fetcher;
+        final PointReader<T> reader;
+
+        ObjectType(String label, String[] keywords, PageFetcher<T> fetcher, PointReader<T> reader) {
+            this.label = label;
+            this.keywords = keywords;
+            this.fetcher = fetcher;
+            this.reader = reader;
+        }
+
+        boolean matches(String term) {
+            for (String keyword : keywords) {
+                if (term.contains(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Prefixes streamed entries with their object type and counts them across types.
+     */
+    private static final class LabelledSink implements EntrySink<Object> {
+        private final EntrySink<String> sink;
+        private String label;
+        private int returned;
+        private boolean stopped;
+
+        LabelledSink(EntrySink<String> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean emit(Object entry) {
+            if (!sink.emit(label + ": " + entry)) {
+                stopped = true;
+                return false;
+            }
+            returned++;
+            return true;
+        }
+    }
+}
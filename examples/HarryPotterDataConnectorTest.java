@@ -1,5 +1,6 @@
 package com.radiantlogic.custom.dataconnector;
 
+import com.radiantlogic.iddm.DN;
 import com.radiantlogic.iddm.ldap.LdapSearchRequest;
 import com.radiantlogic.iddm.base.TestConnectionRequest;
 import com.radiantlogic.iddm.ldap.LdapResponse;
@@ -8,10 +9,21 @@ import com.radiantlogic.iddm.base.ReadOnlyProperties;
 import com.radiantlogic.iddm.base.InjectableProperties;
 import com.radiantlogic.iddm.ldap.LdapResultCode;
 import com.radiantlogic.iddm.base.SearchFilter;
+import com.radiantlogic.iddm.base.SearchScope;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.radiantlogic.custom.support.LimitedSearch;
+import com.radiantlogic.custom.support.PagedResponse;
+import com.radiantlogic.custom.support.PagingCookie;
+import com.radiantlogic.custom.support.ReferenceDataTier;
+import com.radiantlogic.custom.support.StreamingResults;
+import com.radiantlogic.custom.support.TotalCount;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClientException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,8 +39,11 @@ import com.radiantlogic.openapi.generated.harrypotterapi.model.Character;
 import com.radiantlogic.openapi.generated.harrypotterapi.model.House;
 import com.radiantlogic.openapi.generated.harrypotterapi.model.Spell;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.lang.reflect.Field;
 
 class HarryPotterDataConnectorTest {
@@ -53,12 +68,18 @@ class HarryPotterDataConnectorTest {
 
     private HarryPotterDataConnector connector;
 
+    private ReferenceDataTier referenceData;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         
         // Mock connection properties
         when(connectionProperties.get("baseUrl")).thenReturn("https://api.potterdb.com");
+        // Reference data is shared per datasource: pin the houses with the mocked API before the
+        // connector does, so the connector's own loader is never used
+        referenceData = ReferenceDataTier.acquire("https://api.potterdb.com", null);
+        referenceData.pin("houses", 1, TimeUnit.HOURS, housesApi, api -> api.housesGet(null, null, null, null));
         
         // Create a new connector instance with mocked dependencies
         connector = new HarryPotterDataConnector(log, connectionProperties);
@@ -85,6 +106,12 @@ class HarryPotterDataConnectorTest {
         }
     }
 
+    @AfterEach
+    void tearDown() {
+        connector.close();
+        referenceData.release();
+    }
+
     @Test
     void testTestConnectionSuccess() {
         TestConnectionRequest request = mock(TestConnectionRequest.class);
@@ -107,4 +134,250 @@ class HarryPotterDataConnectorTest {
         assertFalse(response.isSuccessful());
         assertTrue(response.getDetails().contains("Connection failed"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testTestConnectionReportsEachEndpointAndCachesResult() {
+        TestConnectionRequest request = mock(TestConnectionRequest.class);
+        when(spellsApi.spellsGet(1, 1, null, null)).thenThrow(new RestClientException("Spells down"));
+
+        TestConnectionResponse first = connector.testConnection(request);
+        TestConnectionResponse second = connector.testConnection(request);
+
+        assertFalse(first.isSuccessful());
+        assertTrue(first.getDetails().contains("books: OK"));
+        assertTrue(first.getDetails().contains("spells: Spells down"));
+        assertEquals(first.getDetails(), second.getDetails());
+        verify(booksApi, times(1)).booksGet(1, 1, null, null);
+    }
+
+    @Test
+    void testSearchStopsAtSizeLimit() {
+        LdapSearchRequest request = searchRequest("(objectclass=book)", 2, 0);
+        when(booksApi.booksGet(null, 3, 1, "(objectclass=book)"))
+                .thenReturn(Arrays.asList(new Book(), new Book(), new Book()));
+
+        LdapResponse<String> response = connector.search(request);
+
+        LdapResultCode sizeLimitExceeded = LdapResultCode.fromInt(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED.getResultCode())
+                .orElse(LdapResultCode.OTHER);
+        assertEquals(sizeLimitExceeded, response.getStatus());
+        assertEquals(2, response.getData().split("class Book \\{", -1).length - 1, "only sizeLimit entries are returned");
+        verify(booksApi, times(1)).booksGet(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchWithinSizeLimitSucceeds() {
+        LdapSearchRequest request = searchRequest("(objectclass=book)", 5, 0);
+        when(booksApi.booksGet(null, 6, 1, "(objectclass=book)"))
+                .thenReturn(Arrays.asList(new Book(), new Book()));
+
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.SUCCESS, response.getStatus());
+        assertTrue(response.getData().startsWith("BOOKS:"));
+    }
+
+    @Test
+    void testFullLoadFetchesRemainingPagesFromTotalCount() {
+        LdapSearchRequest request = searchRequest("(objectclass=*)", 0, 0);
+        when(booksApi.booksGetWithHttpInfo(null, 100, 1, null)).thenReturn(firstPage(150, new Book()));
+        when(booksApi.booksGet(null, 100, 2, null)).thenReturn(Arrays.asList(new Book()));
+        when(charactersApi.charactersGetWithHttpInfo(null, 100, 1, null)).thenReturn(firstPage(0));
+        when(spellsApi.spellsGetWithHttpInfo(null, 100, 1, null)).thenReturn(firstPage(0));
+
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.SUCCESS, response.getStatus());
+        verify(booksApi).booksGet(null, 100, 2, null);
+        verify(charactersApi, never()).charactersGet(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchPageMakesOneUpstreamCallPerPage() {
+        LdapSearchRequest request = searchRequest("(objectclass=book)", 0, 0);
+        when(booksApi.booksGet(null, 2, 1, "(objectclass=book)")).thenReturn(Arrays.asList(new Book(), new Book()));
+        when(booksApi.booksGet(null, 2, 2, "(objectclass=book)")).thenReturn(Arrays.asList(new Book()));
+
+        PagedResponse<LdapResponse<String>> first = connector.searchPage(request, 2, null);
+        PagedResponse<LdapResponse<String>> second = connector.searchPage(request, 2, first.getCookie());
+
+        assertTrue(first.hasMore());
+        assertFalse(second.hasMore());
+        assertEquals(LdapResultCode.SUCCESS, second.getResponse().getStatus());
+        verify(booksApi, times(2)).booksGet(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchPageRejectsForeignCookie() {
+        String cookie = PagingCookie.first(PagingCookie.searchHash("(objectclass=spell)")).advance(2).encode();
+
+        PagedResponse<LdapResponse<String>> response = connector.searchPage(searchRequest("(objectclass=book)", 0, 0), 2, cookie);
+
+        assertEquals(LdapResultCode.OPERATIONS_ERROR, response.getResponse().getStatus());
+        verifyNoInteractions(booksApi);
+    }
+
+    @Test
+    void testSearchPageRejectsCookieOfAnotherAttributeList() {
+        LdapSearchRequest request = searchRequest("(objectclass=book)", 0, 0);
+        when(booksApi.booksGet(null, 2, 1, "(objectclass=book)")).thenReturn(Arrays.asList(new Book(), new Book()));
+        String cookie = connector.searchPage(request, 2, null).getCookie();
+
+        LdapSearchRequest otherAttributes = searchRequest("(objectclass=book)", 0, 0);
+        when(otherAttributes.getAttributes()).thenReturn(Arrays.asList("title"));
+        PagedResponse<LdapResponse<String>> response = connector.searchPage(otherAttributes, 2, cookie);
+
+        assertEquals(LdapResultCode.OPERATIONS_ERROR, response.getResponse().getStatus());
+        verify(booksApi, times(1)).booksGet(any(), any(), any(), any());
+    }
+
+    @Test
+    void testStreamSearchEmitsEntriesAndHonorsSizeLimit() {
+        LdapSearchRequest request = searchRequest("(objectclass=book)", 2, 0);
+        when(booksApi.booksGet(null, 3, 1, "(objectclass=book)"))
+                .thenReturn(Arrays.asList(new Book(), new Book(), new Book()));
+
+        List<String> entries = new ArrayList<>();
+        try (StreamingResults<String> results = connector.streamSearch(request)) {
+            results.forEachRemaining(entries::add);
+            assertEquals(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED, results.getOutcome());
+        }
+
+        assertEquals(2, entries.size());
+        assertTrue(entries.get(0).startsWith("BOOKS: "));
+    }
+
+    @Test
+    void testPrimaryKeyFilterUsesPointRead() {
+        LdapSearchRequest request = searchRequest("(&(objectclass=book)(index=3))", 0, 0);
+        when(booksApi.booksGet(3, null, null, null)).thenReturn(Arrays.asList(new Book()));
+
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.SUCCESS, response.getStatus());
+        verify(booksApi, times(1)).booksGet(3, null, null, null);
+        verify(booksApi, never()).booksGet(isNull(), any(), any(), any());
+        verifyNoInteractions(charactersApi, housesApi, spellsApi);
+    }
+
+    @Test
+    void testOrOfPrimaryKeysReadsEachDistinctKeyOnce() {
+        LdapSearchRequest request = searchRequest("(&(objectclass=book)(|(index=2)(index=1)(index=2)))", 0, 0);
+        when(booksApi.booksGet(1, null, null, null)).thenReturn(Arrays.asList(new Book()));
+        when(booksApi.booksGet(2, null, null, null)).thenReturn(Arrays.asList(new Book()));
+
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.SUCCESS, response.getStatus());
+        verify(booksApi, times(1)).booksGet(1, null, null, null);
+        verify(booksApi, times(1)).booksGet(2, null, null, null);
+        verify(booksApi, never()).booksGet(isNull(), any(), any(), any());
+    }
+
+    @Test
+    void testOrOfPrimaryKeysHonorsSizeAndTimeLimits() {
+        LdapSearchRequest request = searchRequest("(&(objectclass=book)(|(index=1)(index=2)(index=3)(index=4)))", 2, 30);
+        when(booksApi.booksGet(anyInt(), isNull(), isNull(), isNull())).thenReturn(Arrays.asList(new Book()));
+
+        LdapResponse<String> response = connector.search(request);
+
+        LdapResultCode sizeLimitExceeded = LdapResultCode.fromInt(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED.getResultCode())
+                .orElse(LdapResultCode.OTHER);
+        assertEquals(sizeLimitExceeded, response.getStatus());
+        assertEquals(2, response.getData().split("class Book \\{", -1).length - 1);
+        verify(booksApi, never()).booksGet(4, null, null, null);
+    }
+
+    @Test
+    void testBaseScopeLookupOfMissingEntryIsNoSuchObject() {
+        LdapSearchRequest request = searchRequest("(objectclass=*)", 0, 0);
+        when(request.getBaseDN()).thenReturn(DN.from("index=999,ou=books,o=hp"));
+        when(request.getSearchScope()).thenReturn(SearchScope.BASE);
+        when(booksApi.booksGet(999, null, null, null)).thenReturn(Collections.emptyList());
+
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.NO_SUCH_OBJECT, response.getStatus());
+        verify(booksApi, never()).booksGetWithHttpInfo(any(), any(), any(), any());
+    }
+
+    @Test
+    void testBaseScopeLookupAppliesFilterToEntry() {
+        LdapSearchRequest request = searchRequest("(title=Chamber of Secrets)", 0, 0);
+        when(request.getBaseDN()).thenReturn(DN.from("index=0,ou=books,o=hp"));
+        when(request.getSearchScope()).thenReturn(SearchScope.BASE);
+        when(booksApi.booksGet(0, null, null, null)).thenReturn(Collections.singletonList(new Book().title("Philosopher's Stone")));
+
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.SUCCESS, response.getStatus());
+        assertTrue(response.getData().startsWith("No results found"));
+    }
+
+    @Test
+    void testRepeatedLookupOfMissingKeyIsAnsweredFromNegativeCache() {
+        // A size limit bypasses the result cache, so the second search reaches the lookup path
+        LdapSearchRequest request = searchRequest("(&(objectclass=book)(index=999))", 10, 0);
+        when(booksApi.booksGet(999, null, null, null)).thenReturn(Collections.emptyList());
+
+        connector.search(request);
+        LdapResponse<String> response = connector.search(request);
+
+        assertEquals(LdapResultCode.SUCCESS, response.getStatus());
+        verify(booksApi, times(1)).booksGet(999, null, null, null);
+    }
+
+    @Test
+    void testRepeatedLookupOfFoundKeyIsAnsweredFromEntryCache() {
+        // A size limit bypasses the result cache, so the second search reaches the lookup path
+        LdapSearchRequest request = searchRequest("(&(objectclass=book)(index=3))", 10, 0);
+        when(booksApi.booksGet(3, null, null, null)).thenReturn(Arrays.asList(new Book()));
+
+        LdapResponse<String> first = connector.search(request);
+        LdapResponse<String> second = connector.search(request);
+
+        assertEquals(first.getData(), second.getData());
+        verify(booksApi, times(1)).booksGet(3, null, null, null);
+    }
+
+    @Test
+    void testRepeatedSearchIsServedFromResultCache() {
+        when(booksApi.booksGet(null, 100, 1, "(objectclass=book)")).thenReturn(Arrays.asList(new Book()));
+
+        LdapResponse<String> first = connector.search(searchRequest("(objectclass=book)", 0, 0));
+        LdapResponse<String> second = connector.search(searchRequest("(objectClass=Book)", 0, 0));
+
+        assertEquals(LdapResultCode.SUCCESS, second.getStatus());
+        assertEquals(first.getData(), second.getData());
+        verify(booksApi, times(1)).booksGet(any(), any(), any(), any());
+    }
+
+    @Test
+    void testHousesAreLoadedOnceFromReferenceData() {
+        when(housesApi.housesGet(null, null, null, null)).thenReturn(Arrays.asList(new House(), new House(), new House(), new House()));
+
+        LdapResponse<String> all = connector.search(searchRequest("(objectclass=house)", 0, 0));
+        LdapResponse<String> one = connector.search(searchRequest("(&(objectclass=house)(index=2))", 0, 0));
+
+        assertEquals(LdapResultCode.SUCCESS, all.getStatus());
+        assertEquals(LdapResultCode.SUCCESS, one.getStatus());
+        verify(housesApi, times(1)).housesGet(any(), any(), any(), any());
+    }
+
+    private LdapSearchRequest searchRequest(String filterText, int sizeLimit, int timeLimit) {
+        LdapSearchRequest request = mock(LdapSearchRequest.class);
+        SearchFilter filter = mock(SearchFilter.class);
+        when(filter.toString()).thenReturn(filterText);
+        when(request.getFilter()).thenReturn(filter);
+        when(request.getSizeLimit()).thenReturn(sizeLimit);
+        when(request.getTimeLimit()).thenReturn(timeLimit);
+        return request;
+    }
+
+    @SafeVarargs
+    private static <T> ResponseEntity<List<T>> firstPage(long totalCount, T... entries) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TotalCount.TOTAL_COUNT_HEADER, String.valueOf(totalCount));
+        return new ResponseEntity<>(Arrays.asList(entries), headers, HttpStatus.OK);
+    }
+}
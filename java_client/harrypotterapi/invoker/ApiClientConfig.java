@@ -0,0 +1,196 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * An immutable snapshot of the settings of an {@link ApiClient}.
+ *
+ * <p>A client holds exactly one snapshot at a time. Every request reads it once and keeps using it
+ * to the end, so a concurrent change never shows up half-applied and requests need no lock. Changes
+ * are made on a {@link Builder} copied from the current snapshot and published by swapping in the
+ * result.
+ *
+ * <p>Dates are parsed and formatted with a copy of the configured format, since {@link DateFormat}
+ * instances must not be shared between threads. The default {@link RFC3339DateFormat} is handled by
+ * {@link RFC3339Codec} instead, which needs no copy.
+ */
+public final class ApiClientConfig {
+
+    private final String basePath;
+    private final HttpHeaders defaultHeaders;
+    private final MultiValueMap<String, String> defaultCookies;
+    private final int maxAttemptsForRetry;
+    private final long waitTimeMillis;
+    private final boolean debugging;
+    private final DateFormat dateFormat;
+
+    private ApiClientConfig(Builder builder) {
+        this.basePath = builder.basePath;
+        this.defaultHeaders = HttpHeaders.readOnlyHttpHeaders(copy(builder.defaultHeaders, new HttpHeaders()));
+        this.defaultCookies = CollectionUtils.unmodifiableMultiValueMap(copy(builder.defaultCookies, new LinkedMultiValueMap<String, String>()));
+        this.maxAttemptsForRetry = builder.maxAttemptsForRetry;
+        this.waitTimeMillis = builder.waitTimeMillis;
+        this.debugging = builder.debugging;
+        this.dateFormat = builder.dateFormat == null ? null : (DateFormat) builder.dateFormat.clone();
+    }
+
+    /**
+     * @return a builder with the defaults of a new client
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a builder initialized with the settings of this snapshot
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.basePath = basePath;
+        copy(defaultHeaders, builder.defaultHeaders);
+        copy(defaultCookies, builder.defaultCookies);
+        builder.maxAttemptsForRetry = maxAttemptsForRetry;
+        builder.waitTimeMillis = waitTimeMillis;
+        builder.debugging = debugging;
+        builder.dateFormat = dateFormat;
+        return builder;
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    /**
+     * @return the default headers, read-only
+     */
+    public HttpHeaders getDefaultHeaders() {
+        return defaultHeaders;
+    }
+
+    /**
+     * @return the default cookies, read-only
+     */
+    public MultiValueMap<String, String> getDefaultCookies() {
+        return defaultCookies;
+    }
+
+    public int getMaxAttemptsForRetry() {
+        return maxAttemptsForRetry;
+    }
+
+    public long getWaitTimeMillis() {
+        return waitTimeMillis;
+    }
+
+    public boolean isDebugging() {
+        return debugging;
+    }
+
+    /**
+     * @return a copy of the date format that the caller may use freely, or null if none is set
+     */
+    public DateFormat getDateFormat() {
+        return dateFormat == null ? null : (DateFormat) dateFormat.clone();
+    }
+
+    Date parseDate(String str) throws ParseException {
+        if (isRFC3339DateFormat()) {
+            return RFC3339Codec.parseDate(str);
+        }
+        return getDateFormat().parse(str);
+    }
+
+    String formatDate(Date date) {
+        if (isRFC3339DateFormat()) {
+            return RFC3339Codec.formatDate(date);
+        }
+        return getDateFormat().format(date);
+    }
+
+    private boolean isRFC3339DateFormat() {
+        return dateFormat != null && dateFormat.getClass() == RFC3339DateFormat.class;
+    }
+
+    private static <M extends MultiValueMap<String, String>> M copy(MultiValueMap<String, String> source, M target) {
+        for (Map.Entry<String, List<String>> entry : source.entrySet()) {
+            target.put(entry.getKey(), new ArrayList<String>(entry.getValue()));
+        }
+        return target;
+    }
+
+    /**
+     * Collects changes for a new {@link ApiClientConfig}. A builder is not thread-safe and is meant
+     * to be used by one thread, then discarded.
+     */
+    public static final class Builder {
+        private String basePath;
+        private final HttpHeaders defaultHeaders = new HttpHeaders();
+        private final MultiValueMap<String, String> defaultCookies = new LinkedMultiValueMap<String, String>();
+        private int maxAttemptsForRetry = 1;
+        private long waitTimeMillis = 10;
+        private boolean debugging;
+        private DateFormat dateFormat;
+
+        private Builder() {
+        }
+
+        public Builder basePath(String basePath) {
+            this.basePath = basePath;
+            return this;
+        }
+
+        /**
+         * Set a default header, replacing any earlier values of the header.
+         */
+        public Builder defaultHeader(String name, String value) {
+            defaultHeaders.put(name, new ArrayList<String>(Collections.singletonList(value)));
+            return this;
+        }
+
+        /**
+         * Set a default cookie, replacing any earlier values of the cookie.
+         */
+        public Builder defaultCookie(String name, String value) {
+            defaultCookies.put(name, new ArrayList<String>(Collections.singletonList(value)));
+            return this;
+        }
+
+        public Builder maxAttemptsForRetry(int maxAttemptsForRetry) {
+            this.maxAttemptsForRetry = maxAttemptsForRetry;
+            return this;
+        }
+
+        public Builder waitTimeMillis(long waitTimeMillis) {
+            this.waitTimeMillis = waitTimeMillis;
+            return this;
+        }
+
+        public Builder debugging(boolean debugging) {
+            this.debugging = debugging;
+            return this;
+        }
+
+        /**
+         * @param dateFormat the date format; the snapshot keeps its own copy
+         */
+        public Builder dateFormat(DateFormat dateFormat) {
+            this.dateFormat = dateFormat;
+            return this;
+        }
+
+        public ApiClientConfig build() {
+            return new ApiClientConfig(this);
+        }
+    }
+}
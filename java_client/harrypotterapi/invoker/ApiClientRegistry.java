@@ -0,0 +1,95 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Shares one {@link ApiClient} between all {@code *Api} instances of a datasource.
+ *
+ * <p>Every ApiClient builds its own RestTemplate, message converter chain and connection state.
+ * Creating one per Api class and connector instance multiplies that cost and leaves each
+ * connection pool nearly idle. The registry creates one client per base path and credentials and
+ * hands the same instance to every caller. Credentials are only kept as a SHA-256 fingerprint in
+ * the key.
+ *
+ * <p>Clients returned here are shared by everyone asking for the same base path and credentials,
+ * so configure them in the configurer passed on creation rather than through setters afterwards.
+ * Sharing is opt-in: the no-argument constructors of the {@code *Api} classes still create a
+ * private client, whose settings the caller may change freely.
+ */
+public final class ApiClientRegistry {
+
+    private static final ConcurrentHashMap<String, ApiClient> CLIENTS = new ConcurrentHashMap<String, ApiClient>();
+
+    private ApiClientRegistry() {
+    }
+
+    /**
+     * @param basePath the base path, including the host
+     * @return the client for the base path, without credentials
+     */
+    public static ApiClient forBasePath(String basePath) {
+        return get(basePath, null, client -> { });
+    }
+
+    /**
+     * @param basePath    the base path, including the host
+     * @param credentials the credentials the configurer applies, e.g. a token or "user:password";
+     *                    null if none
+     * @param configurer  applies the credentials and other settings to a newly created client
+     * @return the client for the base path and credentials
+     */
+    public static ApiClient get(String basePath, String credentials, Consumer<ApiClient> configurer) {
+        String normalized = normalize(basePath);
+        return CLIENTS.computeIfAbsent(normalized + '\n' + fingerprint(credentials), key -> {
+            ApiClient client = new ApiClient();
+            client.setBasePath(normalized);
+            configurer.accept(client);
+            return client;
+        });
+    }
+
+    /**
+     * Drop the client of a base path and credentials, e.g. after the credentials were rotated.
+     *
+     * @param basePath    the base path
+     * @param credentials the credentials, or null
+     */
+    public static void remove(String basePath, String credentials) {
+        CLIENTS.remove(normalize(basePath) + '\n' + fingerprint(credentials));
+    }
+
+    /**
+     * Drop all clients.
+     */
+    public static void clear() {
+        CLIENTS.clear();
+    }
+
+    private static String normalize(String basePath) {
+        if (basePath == null || basePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("Base path must not be empty");
+        }
+        String trimmed = basePath.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private static String fingerprint(String credentials) {
+        if (credentials == null) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(credentials.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -85,6 +85,30 @@ public class RFC3339InstantDeserializer<T extends Temporal> extends InstantDeser
 
     @Override
     protected T _fromString(JsonParser p, DeserializationContext ctxt, String string0) throws IOException {
-        return super._fromString(p, ctxt, string0.replace( ' ', 'T' ));
+        // RFC 3339 timestamps are decoded by RFC3339Codec. Everything else, including numeric
+        // timestamps and malformed values, takes the regular path with its error reporting.
+        T value = fromRFC3339(string0.trim());
+        if (value == null) {
+            return super._fromString(p, ctxt, string0.replace( ' ', 'T' ));
+        }
+        if (adjust != null && shouldAdjustToContextTimezone(ctxt)) {
+            return adjust.apply(value, ctxt.getTimeZone().toZoneId());
+        }
+        return value;
+    }
+
+    /**
+     * @return the value, or null if the string is not a plain RFC 3339 timestamp or the type is
+     *         a {@code ZonedDateTime}, whose zone handling is left to Jackson
+     */
+    @SuppressWarnings("unchecked")
+    private T fromRFC3339(String string) {
+        if (_valueClass == Instant.class) {
+            return (T) RFC3339Codec.parse(string, RFC3339Codec.INSTANT);
+        }
+        if (_valueClass == OffsetDateTime.class) {
+            return (T) RFC3339Codec.parse(string, RFC3339Codec.OFFSET_DATE_TIME);
+        }
+        return null;
     }
 }
\ No newline at end of file
@@ -16,7 +16,9 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
 
 @javax.annotation.Generated(value = "com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen", date = "2025-07-20T12:50:53.280565630Z[GMT]", comments = "Generator version: unset")
 public class RFC3339JavaTimeModule extends SimpleModule {
@@ -28,5 +30,22 @@ public class RFC3339JavaTimeModule extends SimpleModule {
         addDeserializer(Instant.class, RFC3339InstantDeserializer.INSTANT);
         addDeserializer(OffsetDateTime.class, RFC3339InstantDeserializer.OFFSET_DATE_TIME);
         addDeserializer(ZonedDateTime.class, RFC3339InstantDeserializer.ZONED_DATE_TIME);
+        addSerializer(OffsetDateTime.class, new RFC3339OffsetDateTimeSerializer());
+    }
+
+    /**
+     * Writes {@code OffsetDateTime} values with {@link RFC3339Codec} unless a custom format or
+     * context time zone applies.
+     */
+    static class RFC3339OffsetDateTimeSerializer extends OffsetDateTimeSerializer {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected String formatValue(OffsetDateTime value, SerializerProvider provider) {
+            if (_formatter == null && !provider.getConfig().hasExplicitTimeZone()) {
+                return RFC3339Codec.format(value);
+            }
+            return super.formatValue(value, provider);
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Decodes string values through a {@link StringInterner}, so repeated values of the same field
+ * share one instance. Values in arrays are attributed to the array's field.
+ */
+public class StringInterningModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    public StringInterningModule(StringInterner interner) {
+        super("StringInterningModule");
+
+        addDeserializer(String.class, new InterningStringDeserializer(interner));
+    }
+
+    static class InterningStringDeserializer extends StdScalarDeserializer<String> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient StringInterner interner;
+
+        InterningStringDeserializer(StringInterner interner) {
+            super(String.class);
+            this.interner = interner;
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String value = StringDeserializer.instance.deserialize(p, ctxt);
+            return p.hasToken(JsonToken.VALUE_STRING) ? interner.intern(fieldName(p), value) : value;
+        }
+
+        @Override
+        public boolean isCachable() {
+            return true;
+        }
+
+        private static String fieldName(JsonParser p) {
+            JsonStreamContext context = p.getParsingContext();
+            if (context != null && context.inArray()) {
+                context = context.getParent();
+            }
+            return context != null ? context.getCurrentName() : null;
+        }
+    }
+}
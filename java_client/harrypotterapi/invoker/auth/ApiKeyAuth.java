@@ -21,8 +21,8 @@ public class ApiKeyAuth implements Authentication {
     private final String location;
     private final String paramName;
 
-    private String apiKey;
-    private String apiKeyPrefix;
+    private volatile String apiKey;
+    private volatile String apiKeyPrefix;
 
     public ApiKeyAuth(String location, String paramName) {
         this.location = location;
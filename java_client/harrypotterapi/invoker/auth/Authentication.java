@@ -26,4 +26,14 @@ public interface Authentication {
      * @param cookieParams The cookie parameters for the request
      */
     void applyToParams(MultiValueMap<String, String> queryParams, HttpHeaders headerParams, MultiValueMap<String, String> cookieParams);
+
+    /**
+     * Renew the credentials after the server answered a request with 401 Unauthorized.
+     *
+     * @param rejectedHeaders The headers of the rejected request
+     * @return true if the credentials were renewed and the request should be replayed
+     */
+    default boolean renewAfterUnauthorized(HttpHeaders rejectedHeaders) {
+        return false;
+    }
 }
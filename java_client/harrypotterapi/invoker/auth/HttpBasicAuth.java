@@ -21,8 +21,8 @@ import org.springframework.util.MultiValueMap;
 
 @javax.annotation.Generated(value = "com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen", date = "2025-07-20T12:50:53.280565630Z[GMT]", comments = "Generator version: unset")
 public class HttpBasicAuth implements Authentication {
-    private String username;
-    private String password;
+    private volatile String username;
+    private volatile String password;
 
     public String getUsername() {
         return username;
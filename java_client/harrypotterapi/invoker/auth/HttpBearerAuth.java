@@ -21,7 +21,7 @@ import org.springframework.util.MultiValueMap;
 @javax.annotation.Generated(value = "com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen", date = "2025-07-20T12:50:53.280565630Z[GMT]", comments = "Generator version: unset")
 public class HttpBearerAuth implements Authentication {
     private final String scheme;
-    private Supplier<String> tokenSupplier;
+    private volatile Supplier<String> tokenSupplier;
 
     public HttpBearerAuth(String scheme) {
         this.scheme = scheme;
@@ -63,6 +63,13 @@ public class HttpBearerAuth implements Authentication {
         headerParams.add(HttpHeaders.AUTHORIZATION, (scheme != null ? upperCaseBearer(scheme) + " " : "") + bearerToken);
     }
 
+    @Override
+    public boolean renewAfterUnauthorized(HttpHeaders rejectedHeaders) {
+        Supplier<String> supplier = tokenSupplier;
+        return supplier instanceof OAuthTokenManager
+            && ((OAuthTokenManager) supplier).renewRejected(rejectedHeaders.getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
     private static String upperCaseBearer(String scheme) {
         return ("bearer".equalsIgnoreCase(scheme)) ? "Bearer" : scheme;
     }
@@ -0,0 +1,312 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker.auth;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caches an OAuth access token and renews it before it expires.
+ *
+ * <p>The manager is a {@code Supplier<String>}, so it is installed with
+ * {@code OAuth.setAccessToken(manager)} or {@code HttpBearerAuth.setBearerToken(manager)}. Requests
+ * read the cached token without calling the token endpoint. Once a token enters its refresh window
+ * ({@link #DEFAULT_REFRESH_BEFORE_EXPIRY} before expiry by default, or half its lifetime for short
+ * lived tokens) a renewal is scheduled in the background, and callers keep using the valid token
+ * meanwhile. Callers only wait when there is no valid token at all, and then all of them wait on the
+ * same request: concurrent renewals are collapsed into one call of the endpoint. Background
+ * renewals run on a pool of their own, so a slow token endpoint delays no other manager.
+ *
+ * <p>After a failed request the endpoint is not called again for {@link #RETRY_DELAY}. Without a
+ * valid token, {@link #get()} fails at once during that delay instead of calling the endpoint.
+ *
+ * <p>When the server rejects a token with 401 Unauthorized, {@code ApiClient} asks the manager for
+ * one forced renewal through {@link #renewRejected(String)} and replays the request once.
+ */
+public class OAuthTokenManager implements Supplier<String>, AutoCloseable {
+
+    public static final Duration DEFAULT_REFRESH_BEFORE_EXPIRY = Duration.ofSeconds(60);
+    static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final TokenEndpoint endpoint;
+    private final Duration refreshBeforeExpiry;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Clock clock;
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<CompletableFuture<AccessToken>>();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private volatile State state;
+    private volatile Instant nextAttemptAt = Instant.MIN;
+    private volatile Throwable lastFailure;
+    private volatile ScheduledFuture<?> scheduledRefresh;
+
+    public OAuthTokenManager(TokenEndpoint endpoint) {
+        this(endpoint, DEFAULT_REFRESH_BEFORE_EXPIRY);
+    }
+
+    public OAuthTokenManager(TokenEndpoint endpoint, Duration refreshBeforeExpiry) {
+        this(endpoint, refreshBeforeExpiry, Shared.SCHEDULER, Clock.systemUTC());
+    }
+
+    /**
+     * @param endpoint            requests a new token
+     * @param refreshBeforeExpiry how long before expiry a token is renewed
+     * @param scheduler           times background renewals
+     * @param clock               the clock expiries are compared against
+     */
+    public OAuthTokenManager(TokenEndpoint endpoint, Duration refreshBeforeExpiry, ScheduledExecutorService scheduler, Clock clock) {
+        this(endpoint, refreshBeforeExpiry, scheduler, Shared.REQUESTS, clock);
+    }
+
+    /**
+     * @param endpoint            requests a new token
+     * @param refreshBeforeExpiry how long before expiry a token is renewed
+     * @param scheduler           times background renewals
+     * @param executor            runs background renewals, i.e. the blocking endpoint calls
+     * @param clock               the clock expiries are compared against
+     */
+    public OAuthTokenManager(TokenEndpoint endpoint, Duration refreshBeforeExpiry, ScheduledExecutorService scheduler, Executor executor, Clock clock) {
+        if (endpoint == null) {
+            throw new IllegalArgumentException("Token endpoint must not be null");
+        }
+        if (refreshBeforeExpiry == null || refreshBeforeExpiry.isNegative()) {
+            throw new IllegalArgumentException("Refresh before expiry must not be negative");
+        }
+        this.endpoint = endpoint;
+        this.refreshBeforeExpiry = refreshBeforeExpiry;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * @return a valid access token, renewed first only if there is none
+     * @throws IllegalStateException if no valid token is cached and the endpoint failed, now or
+     *                               less than {@link #RETRY_DELAY} ago
+     */
+    @Override
+    public String get() {
+        State current = state;
+        Instant now = clock.instant();
+        if (current != null && now.isBefore(current.token.getExpiresAt())) {
+            if (!now.isBefore(current.refreshAt) && !now.isBefore(nextAttemptAt) && inFlight.get() == null) {
+                executor.execute(this::refresh);
+            }
+            return current.token.getValue();
+        }
+        if (now.isBefore(nextAttemptAt) && inFlight.get() == null) {
+            throw new IllegalStateException("Could not obtain an access token; next attempt at " + nextAttemptAt, lastFailure);
+        }
+        return await(refresh()).getValue();
+    }
+
+    /**
+     * Renew the token after the server rejected it. Concurrent calls for the same rejected token
+     * share one renewal; a call for a token that was already replaced returns at once.
+     *
+     * @param rejectedToken the rejected token, or an Authorization header value carrying it
+     * @return true if a different token is now available and the request may be replayed; false if
+     *         the request carried no token or the endpoint failed, now or less than
+     *         {@link #RETRY_DELAY} ago
+     */
+    public boolean renewRejected(String rejectedToken) {
+        String rejected = stripScheme(rejectedToken);
+        if (rejected == null || rejected.isEmpty()) {
+            return false;
+        }
+        State current = state;
+        if (current != null && !current.token.getValue().equals(rejected)) {
+            return true;
+        }
+        if (clock.instant().isBefore(nextAttemptAt) && inFlight.get() == null) {
+            return false;
+        }
+        try {
+            return !await(refresh()).getValue().equals(rejected);
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Drop the cached token; the next call of {@link #get()} requests a new one.
+     */
+    public void invalidate() {
+        state = null;
+        cancelScheduledRefresh();
+    }
+
+    /**
+     * @return the number of requests made to the token endpoint
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Stop background renewals of this manager.
+     */
+    @Override
+    public void close() {
+        cancelScheduledRefresh();
+    }
+
+    /**
+     * Request a new token, or join the request already in flight.
+     */
+    CompletableFuture<AccessToken> refresh() {
+        while (true) {
+            CompletableFuture<AccessToken> flight = inFlight.get();
+            if (flight != null) {
+                return flight;
+            }
+            CompletableFuture<AccessToken> mine = new CompletableFuture<AccessToken>();
+            if (inFlight.compareAndSet(null, mine)) {
+                requestToken(mine);
+                return mine;
+            }
+        }
+    }
+
+    private void requestToken(CompletableFuture<AccessToken> flight) {
+        Instant issuedAt = clock.instant();
+        try {
+            requestCount.incrementAndGet();
+            AccessToken token = endpoint.requestToken();
+            if (token == null) {
+                throw new IllegalStateException("Token endpoint returned no token");
+            }
+            state = new State(token, refreshAt(issuedAt, token.getExpiresAt()));
+            lastFailure = null;
+            scheduleRefresh(state.refreshAt);
+            inFlight.set(null);
+            flight.complete(token);
+        } catch (Exception e) {
+            lastFailure = e;
+            nextAttemptAt = issuedAt.plus(RETRY_DELAY);
+            inFlight.set(null);
+            flight.completeExceptionally(e);
+        }
+    }
+
+    private Instant refreshAt(Instant issuedAt, Instant expiresAt) {
+        Duration lifetime = Duration.between(issuedAt, expiresAt);
+        Duration early = refreshBeforeExpiry.compareTo(lifetime.dividedBy(2)) < 0 ? refreshBeforeExpiry : lifetime.dividedBy(2);
+        return expiresAt.minus(early);
+    }
+
+    private void scheduleRefresh(Instant at) {
+        cancelScheduledRefresh();
+        long delay = Math.max(0L, Duration.between(clock.instant(), at).toMillis());
+        scheduledRefresh = scheduler.schedule(() -> executor.execute(this::refresh), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelScheduledRefresh() {
+        ScheduledFuture<?> scheduled = scheduledRefresh;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    private static AccessToken await(CompletableFuture<AccessToken> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not obtain an access token", e.getCause());
+        }
+    }
+
+    private static String stripScheme(String value) {
+        if (value == null) {
+            return null;
+        }
+        int space = value.indexOf(' ');
+        return space >= 0 ? value.substring(space + 1).trim() : value;
+    }
+
+    /**
+     * Requests a new access token, e.g. with a client credentials grant.
+     */
+    @FunctionalInterface
+    public interface TokenEndpoint {
+        AccessToken requestToken() throws Exception;
+    }
+
+    /**
+     * An access token and the instant it expires.
+     */
+    public static final class AccessToken {
+        private final String value;
+        private final Instant expiresAt;
+
+        public AccessToken(String value, Instant expiresAt) {
+            if (value == null || expiresAt == null) {
+                throw new IllegalArgumentException("Token value and expiry must not be null");
+            }
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @param value            the token
+         * @param expiresInSeconds the {@code expires_in} of the token response
+         * @return a token expiring the given number of seconds from now
+         */
+        public static AccessToken expiringIn(String value, long expiresInSeconds) {
+            return new AccessToken(value, Instant.now().plusSeconds(expiresInSeconds));
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static final class State {
+        final AccessToken token;
+        final Instant refreshAt;
+
+        State(AccessToken token, Instant refreshAt) {
+            this.token = token;
+            this.refreshAt = refreshAt;
+        }
+    }
+
+    /**
+     * The single scheduler thread only hands due renewals over; the token requests themselves run
+     * on a cached pool, one thread per manager renewing at the time.
+     */
+    private static final class Shared {
+        static final ScheduledExecutorService SCHEDULER;
+        static final ExecutorService REQUESTS = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "oauth-token-request");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "oauth-token-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            SCHEDULER = executor;
+        }
+    }
+}
@@ -300,29 +300,35 @@ public class Book {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(416);
     sb.append("class Book {\n");
-    sb.append("    number: ").append(toIndentedString(number)).append("\n");
-    sb.append("    title: ").append(toIndentedString(title)).append("\n");
-    sb.append("    originalTitle: ").append(toIndentedString(originalTitle)).append("\n");
-    sb.append("    releaseDate: ").append(toIndentedString(releaseDate)).append("\n");
-    sb.append("    description: ").append(toIndentedString(description)).append("\n");
-    sb.append("    pages: ").append(toIndentedString(pages)).append("\n");
-    sb.append("    cover: ").append(toIndentedString(cover)).append("\n");
-    sb.append("    index: ").append(toIndentedString(index)).append("\n");
+    appendIndented(sb.append("    number: "), number).append('\n');
+    appendIndented(sb.append("    title: "), title).append('\n');
+    appendIndented(sb.append("    originalTitle: "), originalTitle).append('\n');
+    appendIndented(sb.append("    releaseDate: "), releaseDate).append('\n');
+    appendIndented(sb.append("    description: "), description).append('\n');
+    appendIndented(sb.append("    pages: "), pages).append('\n');
+    appendIndented(sb.append("    cover: "), cover).append('\n');
+    appendIndented(sb.append("    index: "), index).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
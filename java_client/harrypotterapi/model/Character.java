@@ -14,6 +14,7 @@
 package com.radiantlogic.openapi.generated.harrypotterapi.model;
 
 import java.util.Objects;
+import java.util.Collections;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -60,7 +61,7 @@ public class Character {
 
   public static final String JSON_PROPERTY_CHILDREN = "children";
   @javax.annotation.Nullable
-  private List<String> children = new ArrayList<>();
+  private List<String> children = Collections.emptyList();
 
   public static final String JSON_PROPERTY_IMAGE = "image";
   @javax.annotation.Nullable
@@ -184,7 +185,7 @@ public class Character {
   }
 
   public Character addChildrenItem(String childrenItem) {
-    if (this.children == null) {
+    if (this.children == null || this.children == Collections.<String>emptyList()) {
       this.children = new ArrayList<>();
     }
     this.children.add(childrenItem);
@@ -311,29 +312,35 @@ public class Character {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(416);
     sb.append("class Character {\n");
-    sb.append("    fullname: ").append(toIndentedString(fullname)).append("\n");
-    sb.append("    nickname: ").append(toIndentedString(nickname)).append("\n");
-    sb.append("    hogwartsHouse: ").append(toIndentedString(hogwartsHouse)).append("\n");
-    sb.append("    interpretedBy: ").append(toIndentedString(interpretedBy)).append("\n");
-    sb.append("    children: ").append(toIndentedString(children)).append("\n");
-    sb.append("    image: ").append(toIndentedString(image)).append("\n");
-    sb.append("    birthDate: ").append(toIndentedString(birthDate)).append("\n");
-    sb.append("    index: ").append(toIndentedString(index)).append("\n");
+    appendIndented(sb.append("    fullname: "), fullname).append('\n');
+    appendIndented(sb.append("    nickname: "), nickname).append('\n');
+    appendIndented(sb.append("    hogwartsHouse: "), hogwartsHouse).append('\n');
+    appendIndented(sb.append("    interpretedBy: "), interpretedBy).append('\n');
+    appendIndented(sb.append("    children: "), children).append('\n');
+    appendIndented(sb.append("    image: "), image).append('\n');
+    appendIndented(sb.append("    birthDate: "), birthDate).append('\n');
+    appendIndented(sb.append("    index: "), index).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
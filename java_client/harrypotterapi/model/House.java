@@ -14,6 +14,7 @@
 package com.radiantlogic.openapi.generated.harrypotterapi.model;
 
 import java.util.Objects;
+import java.util.Collections;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -55,7 +56,7 @@ public class House {
 
   public static final String JSON_PROPERTY_COLORS = "colors";
   @javax.annotation.Nullable
-  private List<String> colors = new ArrayList<>();
+  private List<String> colors = Collections.emptyList();
 
   public static final String JSON_PROPERTY_ANIMAL = "animal";
   @javax.annotation.Nullable
@@ -150,7 +151,7 @@ public class House {
   }
 
   public House addColorsItem(String colorsItem) {
-    if (this.colors == null) {
+    if (this.colors == null || this.colors == Collections.<String>emptyList()) {
       this.colors = new ArrayList<>();
     }
     this.colors.add(colorsItem);
@@ -250,27 +251,33 @@ public class House {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(320);
     sb.append("class House {\n");
-    sb.append("    house: ").append(toIndentedString(house)).append("\n");
-    sb.append("    emoji: ").append(toIndentedString(emoji)).append("\n");
-    sb.append("    founder: ").append(toIndentedString(founder)).append("\n");
-    sb.append("    colors: ").append(toIndentedString(colors)).append("\n");
-    sb.append("    animal: ").append(toIndentedString(animal)).append("\n");
-    sb.append("    index: ").append(toIndentedString(index)).append("\n");
+    appendIndented(sb.append("    house: "), house).append('\n');
+    appendIndented(sb.append("    emoji: "), emoji).append('\n');
+    appendIndented(sb.append("    founder: "), founder).append('\n');
+    appendIndented(sb.append("    colors: "), colors).append('\n');
+    appendIndented(sb.append("    animal: "), animal).append('\n');
+    appendIndented(sb.append("    index: "), index).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -84,22 +84,28 @@ public class InlineObject {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(80);
     sb.append("class InlineObject {\n");
-    sb.append("    error: ").append(toIndentedString(error)).append("\n");
+    appendIndented(sb.append("    error: "), error).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -146,24 +146,30 @@ public class Spell {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(176);
     sb.append("class Spell {\n");
-    sb.append("    spell: ").append(toIndentedString(spell)).append("\n");
-    sb.append("    use: ").append(toIndentedString(use)).append("\n");
-    sb.append("    index: ").append(toIndentedString(index)).append("\n");
+    appendIndented(sb.append("    spell: "), spell).append('\n');
+    appendIndented(sb.append("    use: "), use).append('\n');
+    appendIndented(sb.append("    index: "), index).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -63,12 +63,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.time.OffsetDateTime;
 
 import com.okta.myaccount.myaccountmanagement.invoker.auth.Authentication;
@@ -90,22 +91,14 @@ public class ApiClient extends JavaTimeFormatter {
         }
     }
 
-    protected boolean debugging = false;
-
-    protected HttpHeaders defaultHeaders = new HttpHeaders();
-    protected MultiValueMap<String, String> defaultCookies = new LinkedMultiValueMap<String, String>();
-
-    protected int maxAttemptsForRetry = 1;
-
-    protected long waitTimeMillis = 10;
-
-    protected String basePath = "https://subdomain.okta.com";
+    protected final AtomicReference<ApiClientConfig> config = new AtomicReference<ApiClientConfig>(
+        ApiClientConfig.builder().basePath("https://subdomain.okta.com").build());
 
     protected RestTemplate restTemplate;
 
     protected Map<String, Authentication> authentications;
 
-    protected DateFormat dateFormat;
+    private boolean debugInterceptorInstalled;
 
     public ApiClient() {
         this.restTemplate = buildRestTemplate();
@@ -120,10 +113,11 @@ public class ApiClient extends JavaTimeFormatter {
     protected void init() {
         // Use RFC3339 format for date and datetime.
         // See http://xml2rfc.ietf.org/public/rfc/html/rfc3339.html#anchor14
-        this.dateFormat = new RFC3339DateFormat();
+        DateFormat dateFormat = new RFC3339DateFormat();
 
         // Use UTC as the default time zone.
-        this.dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        setDateFormat(dateFormat);
 
         // Set default User-Agent.
         setUserAgent("Java-SDK");
@@ -135,13 +129,53 @@ public class ApiClient extends JavaTimeFormatter {
         authentications = Collections.unmodifiableMap(authentications);
     }
 
+    /**
+     * Get the current configuration snapshot. The snapshot is immutable and stays valid while the
+     * client is reconfigured.
+     *
+     * @return ApiClientConfig the configuration
+     */
+    public ApiClientConfig getConfig() {
+        return config.get();
+    }
+
+    /**
+     * Replace the configuration. Requests already in flight finish with the snapshot they started
+     * with.
+     *
+     * @param config the new configuration
+     * @return ApiClient this client
+     */
+    public ApiClient setConfig(ApiClientConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Config must not be null");
+        }
+        this.config.set(config);
+        applyDebugging(config.isDebugging());
+        return this;
+    }
+
+    /**
+     * Change the configuration atomically. The update is applied to a builder copied from the
+     * current snapshot and retried if another thread changed the configuration meanwhile, so it
+     * must not have side effects.
+     *
+     * @param update the changes to apply
+     * @return ApiClientConfig the new configuration
+     */
+    public ApiClientConfig updateConfig(UnaryOperator<ApiClientConfig.Builder> update) {
+        ApiClientConfig updated = config.updateAndGet(current -> update.apply(current.toBuilder()).build());
+        applyDebugging(updated.isDebugging());
+        return updated;
+    }
+
     /**
      * Get the current base path
      *
      * @return String the base path
      */
     public String getBasePath() {
-        return basePath;
+        return config.get().getBasePath();
     }
 
     /**
@@ -151,7 +185,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return ApiClient this client
      */
     public ApiClient setBasePath(String basePath) {
-        this.basePath = basePath;
+        updateConfig(builder -> builder.basePath(basePath));
         return this;
     }
 
@@ -161,7 +195,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return int the max attempts
      */
     public int getMaxAttemptsForRetry() {
-        return maxAttemptsForRetry;
+        return config.get().getMaxAttemptsForRetry();
     }
 
     /**
@@ -171,7 +205,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return ApiClient this client
      */
     public ApiClient setMaxAttemptsForRetry(int maxAttemptsForRetry) {
-        this.maxAttemptsForRetry = maxAttemptsForRetry;
+        updateConfig(builder -> builder.maxAttemptsForRetry(maxAttemptsForRetry));
         return this;
     }
 
@@ -181,7 +215,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return long wait time in milliseconds
      */
     public long getWaitTimeMillis() {
-        return waitTimeMillis;
+        return config.get().getWaitTimeMillis();
     }
 
     /**
@@ -191,7 +225,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return ApiClient this client
      */
     public ApiClient setWaitTimeMillis(long waitTimeMillis) {
-        this.waitTimeMillis = waitTimeMillis;
+        updateConfig(builder -> builder.waitTimeMillis(waitTimeMillis));
         return this;
     }
 
@@ -261,10 +295,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return ApiClient this client
      */
     public ApiClient addDefaultHeader(String name, String value) {
-        if (defaultHeaders.containsKey(name)) {
-            defaultHeaders.remove(name);
-        }
-        defaultHeaders.add(name, value);
+        updateConfig(builder -> builder.defaultHeader(name, value));
         return this;
     }
 
@@ -276,35 +307,27 @@ public class ApiClient extends JavaTimeFormatter {
      * @return ApiClient this client
      */
     public ApiClient addDefaultCookie(String name, String value) {
-        if (defaultCookies.containsKey(name)) {
-            defaultCookies.remove(name);
-        }
-        defaultCookies.add(name, value);
+        updateConfig(builder -> builder.defaultCookie(name, value));
         return this;
     }
 
     public void setDebugging(boolean debugging) {
-        List<ClientHttpRequestInterceptor> currentInterceptors = this.restTemplate.getInterceptors();
-        if (debugging) {
-            if (currentInterceptors == null) {
-                currentInterceptors = new ArrayList<ClientHttpRequestInterceptor>();
-            }
-            ClientHttpRequestInterceptor interceptor = new ApiClientHttpRequestInterceptor();
-            currentInterceptors.add(interceptor);
-            this.restTemplate.setInterceptors(currentInterceptors);
-        } else {
-            if (currentInterceptors != null && !currentInterceptors.isEmpty()) {
-                Iterator<ClientHttpRequestInterceptor> iter = currentInterceptors.iterator();
-                while (iter.hasNext()) {
-                    ClientHttpRequestInterceptor interceptor = iter.next();
-                    if (interceptor instanceof ApiClientHttpRequestInterceptor) {
-                        iter.remove();
-                    }
-                }
-                this.restTemplate.setInterceptors(currentInterceptors);
-            }
+        updateConfig(builder -> builder.debugging(debugging));
+    }
+
+    /**
+     * Install the logging interceptor the first time debugging is enabled. The interceptor stays
+     * in place and only logs while the current configuration has debugging enabled, so toggling
+     * debugging never modifies the interceptor list of a RestTemplate that is in use.
+     */
+    private synchronized void applyDebugging(boolean debugging) {
+        if (!debugging || debugInterceptorInstalled) {
+            return;
         }
-        this.debugging = debugging;
+        List<ClientHttpRequestInterceptor> currentInterceptors = new ArrayList<ClientHttpRequestInterceptor>(this.restTemplate.getInterceptors());
+        currentInterceptors.add(new ApiClientHttpRequestInterceptor());
+        this.restTemplate.setInterceptors(currentInterceptors);
+        debugInterceptorInstalled = true;
     }
 
     /**
@@ -312,15 +335,15 @@ public class ApiClient extends JavaTimeFormatter {
      * @return boolean true if this client is enabled for debugging, false otherwise
      */
     public boolean isDebugging() {
-        return debugging;
+        return config.get().isDebugging();
     }
 
     /**
      * Get the date format used to parse/format date parameters.
-     * @return DateFormat format
+     * @return DateFormat a copy of the format
      */
     public DateFormat getDateFormat() {
-        return dateFormat;
+        return config.get().getDateFormat();
     }
 
     /**
@@ -329,7 +352,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return API client
      */
     public ApiClient setDateFormat(DateFormat dateFormat) {
-        this.dateFormat = dateFormat;
+        updateConfig(builder -> builder.dateFormat(dateFormat));
         return this;
     }
 
@@ -341,7 +364,7 @@ public class ApiClient extends JavaTimeFormatter {
      */
     public Date parseDate(String str) {
         try {
-            return dateFormat.parse(str);
+            return config.get().parseDate(str);
         } catch (ParseException e) {
             throw new RuntimeException(e);
         }
@@ -354,7 +377,7 @@ public class ApiClient extends JavaTimeFormatter {
      * @return the formatted date as string
      */
     public String formatDate(Date date) {
-        return dateFormat.format(date);
+        return config.get().formatDate(date);
     }
 
     /**
@@ -629,6 +652,8 @@ public class ApiClient extends JavaTimeFormatter {
      * @return ResponseEntity&lt;T&gt; The response of the chosen type
      */
     public <T> ResponseEntity<T> invokeAPI(String path, HttpMethod method, Map<String, Object> pathParams, MultiValueMap<String, String> queryParams, Object body, HttpHeaders headerParams, MultiValueMap<String, String> cookieParams, MultiValueMap<String, Object> formParams, List<MediaType> accept, MediaType contentType, String[] authNames, ParameterizedTypeReference<T> returnType) throws RestClientException {
+        // Read the configuration once, so a concurrent change does not mix settings within a request.
+        final ApiClientConfig snapshot = config.get();
         updateParamsForAuth(authNames, queryParams, headerParams, cookieParams);
 
         Map<String,Object> uriParams = new HashMap<>();
@@ -643,7 +668,7 @@ public class ApiClient extends JavaTimeFormatter {
             finalUri += "?" + queryUri;
         }
         String expandedPath = this.expandPath(finalUri, uriParams);
-        final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(basePath).path(expandedPath);
+        final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(snapshot.getBasePath()).path(expandedPath);
 
         URI uri;
         try {
@@ -652,7 +677,7 @@ public class ApiClient extends JavaTimeFormatter {
             throw new RestClientException("Could not build URL: " + builder.toUriString(), ex);
         }
 
-        final BodyBuilder requestBuilder = RequestEntity.method(method, UriComponentsBuilder.fromUriString(basePath).toUriString() + finalUri, uriParams);
+        final BodyBuilder requestBuilder = RequestEntity.method(method, UriComponentsBuilder.fromUriString(snapshot.getBasePath()).toUriString() + finalUri, uriParams);
         if (accept != null) {
             requestBuilder.accept(accept.toArray(new MediaType[accept.size()]));
         }
@@ -661,27 +686,35 @@ public class ApiClient extends JavaTimeFormatter {
         }
 
         addHeadersToRequest(headerParams, requestBuilder);
-        addHeadersToRequest(defaultHeaders, requestBuilder);
+        addHeadersToRequest(snapshot.getDefaultHeaders(), requestBuilder);
         addCookiesToRequest(cookieParams, requestBuilder);
-        addCookiesToRequest(defaultCookies, requestBuilder);
+        addCookiesToRequest(snapshot.getDefaultCookies(), requestBuilder);
 
         RequestEntity<Object> requestEntity = requestBuilder.body(selectBody(body, formParams, contentType));
 
         ResponseEntity<T> responseEntity = null;
         int attempts = 0;
-        while (attempts < maxAttemptsForRetry) {
+        boolean renewed = false;
+        while (attempts < snapshot.getMaxAttemptsForRetry()) {
             try {
                 responseEntity = restTemplate.exchange(requestEntity, returnType);
                 break;
             } catch (HttpServerErrorException | HttpClientErrorException ex) {
-                if (ex instanceof HttpServerErrorException
+                if (!renewed
+                        && ex instanceof HttpClientErrorException
+                        && ((HttpClientErrorException) ex).getStatusCode().equals(HttpStatus.UNAUTHORIZED)
+                        && renewAuthorization(authNames, requestEntity.getHeaders(), requestBuilder)) {
+                    // Replay once with the renewed credentials; this does not count as a retry attempt.
+                    renewed = true;
+                    requestEntity = requestBuilder.body(selectBody(body, formParams, contentType));
+                } else if (ex instanceof HttpServerErrorException
                         || ((HttpClientErrorException) ex)
                         .getStatusCode()
                         .equals(HttpStatus.TOO_MANY_REQUESTS)) {
                     attempts++;
-                    if (attempts < maxAttemptsForRetry) {
+                    if (attempts < snapshot.getMaxAttemptsForRetry()) {
                         try {
-                            Thread.sleep(waitTimeMillis);
+                            Thread.sleep(snapshot.getWaitTimeMillis());
                         } catch (InterruptedException e) {
                             Thread.currentThread().interrupt();
                         }
@@ -795,11 +828,46 @@ public class ApiClient extends JavaTimeFormatter {
         }
     }
 
+    /**
+     * Renew the credentials of a request that was rejected with 401 Unauthorized and put the new
+     * Authorization header on the request builder.
+     *
+     * @param authNames The authentications applied to the request
+     * @param rejectedHeaders The headers of the rejected request
+     * @param requestBuilder The builder of the request
+     * @return true if a credential was renewed and the request should be replayed
+     */
+    protected boolean renewAuthorization(String[] authNames, HttpHeaders rejectedHeaders, BodyBuilder requestBuilder) {
+        boolean renewed = false;
+        for (String authName : authNames) {
+            Authentication auth = authentications.get(authName);
+            if (auth != null && auth.renewAfterUnauthorized(rejectedHeaders)) {
+                renewed = true;
+            }
+        }
+        if (!renewed) {
+            return false;
+        }
+        HttpHeaders renewedHeaders = new HttpHeaders();
+        updateParamsForAuth(authNames, new LinkedMultiValueMap<String, String>(), renewedHeaders, new LinkedMultiValueMap<String, String>());
+        List<String> authorization = renewedHeaders.get(HttpHeaders.AUTHORIZATION);
+        requestBuilder.headers(headers -> {
+            headers.remove(HttpHeaders.AUTHORIZATION);
+            if (authorization != null) {
+                headers.put(HttpHeaders.AUTHORIZATION, authorization);
+            }
+        });
+        return true;
+    }
+
     protected class ApiClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
         protected final Log log = LogFactory.getLog(ApiClientHttpRequestInterceptor.class);
 
         @Override
         public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+            if (!config.get().isDebugging()) {
+                return execution.execute(request, body);
+            }
             logRequest(request, body);
             ClientHttpResponse response = execution.execute(request, body);
             logResponse(response);
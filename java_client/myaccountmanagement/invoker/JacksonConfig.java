@@ -4,5 +4,8 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class JacksonConfig {
-    public static ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    // Repeated values such as these are decoded to one shared String; other fields are sampled
+    public static ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new RFC3339JavaTimeModule(), new StringInterningModule(StringInterner.shared().internFields("href", "name", "type", "key")))
+            .build();
 }
\ No newline at end of file
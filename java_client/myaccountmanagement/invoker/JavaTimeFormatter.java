@@ -23,7 +23,7 @@ import java.time.format.DateTimeParseException;
 @javax.annotation.Generated(value = "com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen", date = "2025-08-13T20:31:08.570419254Z[GMT]", comments = "Generator version: unset")
 public class JavaTimeFormatter {
 
-    private DateTimeFormatter offsetDateTimeFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private volatile DateTimeFormatter offsetDateTimeFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 
     /**
      * Get the date format used to parse/format {@code OffsetDateTime} parameters.
@@ -48,7 +48,11 @@ public class JavaTimeFormatter {
      */
     public OffsetDateTime parseOffsetDateTime(String str) {
         try {
-            return OffsetDateTime.parse(str, offsetDateTimeFormatter);
+            DateTimeFormatter formatter = offsetDateTimeFormatter;
+            if (formatter == DateTimeFormatter.ISO_OFFSET_DATE_TIME) {
+                return RFC3339Codec.parseOffsetDateTime(str);
+            }
+            return OffsetDateTime.parse(str, formatter);
         } catch (DateTimeParseException e) {
             throw new RuntimeException(e);
         }
@@ -59,6 +63,10 @@ public class JavaTimeFormatter {
      * @return {@code OffsetDateTime} in string format
      */
     public String formatOffsetDateTime(OffsetDateTime offsetDateTime) {
-        return offsetDateTimeFormatter.format(offsetDateTime);
+        DateTimeFormatter formatter = offsetDateTimeFormatter;
+        if (formatter == DateTimeFormatter.ISO_OFFSET_DATE_TIME) {
+            return RFC3339Codec.format(offsetDateTime);
+        }
+        return formatter.format(offsetDateTime);
     }
 }
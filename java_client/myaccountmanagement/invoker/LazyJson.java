@@ -0,0 +1,170 @@
+package com.okta.myaccount.myaccountmanagement.invoker;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * A nested JSON object that is decoded on first access instead of with the enclosing model.
+ *
+ * <p>Heavy subtrees that connectors rarely read, such as HAL {@code _links} or JWT claim sets, are
+ * kept as the token buffer Jackson already produced while parsing. {@link #get()} decodes the buffer
+ * into the model type once, with the mapper that parsed the enclosing payload, and releases it. A
+ * value that was never read is written back from the buffer unchanged when the enclosing model is
+ * serialized. {@link #toString()}, {@link #equals} and {@link #hashCode()} work on the decoded
+ * value, so they decode; connectors emit {@code toString()} as entry text, which must not depend on
+ * whether the subtree was read before.
+ *
+ * @param <T> the model type of the subtree
+ */
+@JsonDeserialize(using = LazyJson.Deserializer.class)
+public final class LazyJson<T> implements JsonSerializable {
+
+    private final JavaType type;
+    private TokenBuffer tokens;
+    private T value;
+
+    private LazyJson(JavaType type, TokenBuffer tokens, T value) {
+        this.type = type;
+        this.tokens = tokens;
+        this.value = value;
+    }
+
+    /**
+     * @return the mapper, or reader, that parsed the buffered JSON
+     */
+    private static ObjectCodec codecOf(TokenBuffer tokens) {
+        ObjectCodec codec = tokens.getCodec();
+        return codec != null ? codec : JacksonConfig.OBJECT_MAPPER;
+    }
+
+    /**
+     * @param value an already decoded value, or null
+     * @return a holder of the value, or null for a null value
+     */
+    public static <T> LazyJson<T> of(T value) {
+        return value == null ? null : new LazyJson<T>(null, null, value);
+    }
+
+    /**
+     * @param holder a holder, or null
+     * @return the decoded value of the holder, or null
+     */
+    public static <T> T get(LazyJson<T> holder) {
+        return holder == null ? null : holder.get();
+    }
+
+    /**
+     * @return the decoded value
+     * @throws IllegalStateException if the buffered JSON does not match the model type
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T get() {
+        if (tokens != null) {
+            ObjectCodec codec = codecOf(tokens);
+            try (JsonParser parser = tokens.asParser(codec)) {
+                value = (T) codec.readValue(parser, type);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not decode " + type, e);
+            }
+            tokens = null;
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the subtree has been decoded
+     */
+    public synchronized boolean isDecoded() {
+        return tokens == null;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        TokenBuffer buffered;
+        T decoded;
+        synchronized (this) {
+            buffered = tokens;
+            decoded = value;
+        }
+        if (buffered != null) {
+            buffered.serialize(gen);
+        } else {
+            serializers.defaultSerializeValue(decoded, gen);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyJson)) {
+            return false;
+        }
+        return Objects.equals(get(), ((LazyJson<?>) o).get());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(get());
+    }
+
+    /**
+     * @return the string of the decoded value
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+
+    /**
+     * Buffers the subtree and defers decoding to {@link LazyJson#get()}.
+     */
+    public static class Deserializer extends StdDeserializer<LazyJson<?>> implements ContextualDeserializer {
+        private static final long serialVersionUID = 1L;
+
+        private final JavaType contentType;
+
+        public Deserializer() {
+            this(null);
+        }
+
+        Deserializer(JavaType contentType) {
+            super(LazyJson.class);
+            this.contentType = contentType;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            JavaType holderType = property != null ? property.getType() : ctxt.getContextualType();
+            return new Deserializer(holderType.containedTypeOrUnknown(0));
+        }
+
+        @Override
+        public LazyJson<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            TokenBuffer tokens = new TokenBuffer(p, ctxt);
+            tokens.copyCurrentStructure(p);
+            return new LazyJson<Object>(contentType, tokens, null);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.okta.myaccount.myaccountmanagement.invoker;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Hands out one {@link ApiClient} per end user of the user-scoped MyAccount API.
+ *
+ * <p>Every MyAccount call acts with the access token of the user it is made for, so a connector
+ * needs a client per user. A full client per call would build a RestTemplate and its converters
+ * each time; one per user kept forever grows without bound. The cache builds light clients that
+ * share the RestTemplate, and with it the connection pool, of a transport client. Each carries the
+ * {@code Authorization} header of its user precomputed in its configuration. Clients are evicted
+ * least recently used first once the cache is full. A client idle for longer than the idle timeout
+ * is not handed out again and is dropped on the next access to its segment. A new token for a
+ * known user replaces that user's client, unless a request that arrived later already cached a
+ * client with yet another token: the later request carries the newer token.
+ *
+ * <p>The cache is split into segments with their own lock, so concurrent requests for different
+ * users rarely contend. Clients copy the transport's configuration when they are created; call
+ * {@link #clear()} after reconfiguring the transport.
+ */
+public final class PrincipalClientCache {
+
+    public static final int DEFAULT_MAX_PRINCIPALS = 10_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 15;
+    static final int SEGMENTS = 16;
+
+    private final ApiClient transport;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long idleNanos;
+    private final LongSupplier clock;
+
+    /**
+     * @param transport the client whose RestTemplate and settings are shared
+     */
+    public PrincipalClientCache(ApiClient transport) {
+        this(transport, DEFAULT_MAX_PRINCIPALS, DEFAULT_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param transport     the client whose RestTemplate and settings are shared
+     * @param maxPrincipals the maximum number of cached clients
+     * @param idleTimeout   how long an unused client is kept
+     * @param unit          the unit of the idle timeout
+     */
+    public PrincipalClientCache(ApiClient transport, int maxPrincipals, long idleTimeout, TimeUnit unit) {
+        this(transport, maxPrincipals, idleTimeout, unit, System::nanoTime);
+    }
+
+    PrincipalClientCache(ApiClient transport, int maxPrincipals, long idleTimeout, TimeUnit unit, LongSupplier clock) {
+        if (transport == null) {
+            throw new IllegalArgumentException("Transport client must not be null");
+        }
+        if (maxPrincipals <= 0) {
+            throw new IllegalArgumentException("Max principals must be greater than 0");
+        }
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("Idle timeout must be greater than 0");
+        }
+        this.transport = transport;
+        this.idleNanos = unit.toNanos(idleTimeout);
+        this.clock = clock;
+        int perSegment = (maxPrincipals + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @param principal   the user the calls are made for, e.g. the user id or login
+     * @param accessToken the user's access token
+     * @return the client that authenticates as the user
+     */
+    public ApiClient get(String principal, String accessToken) {
+        if (principal == null || accessToken == null) {
+            throw new IllegalArgumentException("Principal and access token must not be null");
+        }
+        long now = clock.getAsLong();
+        Segment segment = segmentFor(principal);
+        synchronized (segment) {
+            segment.evictIdle(now, idleNanos);
+            Entry entry = segment.get(principal);
+            if (entry != null && entry.accessToken.equals(accessToken) && now - entry.lastAccess < idleNanos) {
+                entry.lastAccess = Math.max(entry.lastAccess, now);
+                return entry.client;
+            }
+        }
+        // Build outside the lock, then check again what concurrent requests cached meanwhile.
+        Entry created = new Entry(accessToken, newClient(accessToken), now);
+        synchronized (segment) {
+            Entry entry = segment.get(principal);
+            if (entry != null && entry.accessToken.equals(accessToken)) {
+                entry.lastAccess = Math.max(entry.lastAccess, now);
+                return entry.client;
+            }
+            if (entry == null || entry.requestedAt <= now) {
+                segment.put(principal, created);
+            }
+        }
+        return created.client;
+    }
+
+    /**
+     * Drop the client of a user, e.g. when the user's session ended.
+     *
+     * @param principal the user
+     */
+    public void invalidate(String principal) {
+        Segment segment = segmentFor(principal);
+        synchronized (segment) {
+            segment.remove(principal);
+        }
+    }
+
+    /**
+     * Drop all clients.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the number of cached clients
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private ApiClient newClient(String accessToken) {
+        ApiClient client = new ApiClient(transport.restTemplate);
+        // Debug logging stays with the transport, whose interceptor already sees every request.
+        client.setConfig(transport.getConfig().toBuilder()
+            .debugging(false)
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+            .build());
+        return client;
+    }
+
+    private Segment segmentFor(String principal) {
+        int h = principal.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static final class Entry {
+        final String accessToken;
+        final ApiClient client;
+        final long requestedAt;
+        long lastAccess;
+
+        Entry(String accessToken, ApiClient client, long requestedAt) {
+            this.accessToken = accessToken;
+            this.client = client;
+            this.requestedAt = requestedAt;
+            this.lastAccess = requestedAt;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+
+        /**
+         * Drop idle clients. Access order puts the least recently used first, so the scan stops at
+         * the first client still in use.
+         */
+        void evictIdle(long now, long idleNanos) {
+            Iterator<Entry> it = values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().lastAccess < idleNanos) {
+                    return;
+                }
+                it.remove();
+            }
+        }
+    }
+}
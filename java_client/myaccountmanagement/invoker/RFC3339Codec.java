@@ -0,0 +1,296 @@
+package com.okta.myaccount.myaccountmanagement.invoker;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * A hand-written parser and formatter for RFC 3339 timestamps such as
+ * {@code 2025-01-31T08:15:30.123Z} or {@code 2025-01-31T08:15:30+02:00}.
+ *
+ * <p>{@link DateTimeFormatter} parses through a general pattern engine that allocates a field map
+ * per value, and {@link DateFormat} is not thread-safe. The codec reads the fixed layout of an RFC
+ * 3339 timestamp directly from the characters and keeps no state, so it is safe to share and
+ * allocates only the result. It accepts {@code T}, {@code t} or a space between date and time, an
+ * optional fraction of up to nine digits and a {@code Z} or {@code +hh:mm} offset. Anything else,
+ * such as years beyond 9999 or zone ids, is handed to the JDK formatters, so the codec accepts and
+ * produces the same values as {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} and
+ * {@link RFC3339DateFormat}.
+ */
+public final class RFC3339Codec {
+
+    static final int OFFSET_DATE_TIME = 0;
+    static final int INSTANT = 1;
+    static final int DATE = 2;
+
+    private static final int[] NANO_SCALE = {
+        0, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1
+    };
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long DAYS_0000_TO_1970 = 719468L;
+    // java.util.Date values use the Julian calendar before the Gregorian reform, so earlier
+    // dates are left to RFC3339DateFormat.
+    private static final int GREGORIAN_CUTOVER_YEAR = 1583;
+
+    private RFC3339Codec() {
+    }
+
+    /**
+     * @param text an RFC 3339 timestamp
+     * @return the timestamp with its offset
+     * @throws DateTimeParseException if the text is not a valid timestamp
+     */
+    public static OffsetDateTime parseOffsetDateTime(CharSequence text) {
+        OffsetDateTime value = (OffsetDateTime) parse(text, OFFSET_DATE_TIME);
+        return value != null ? value : OffsetDateTime.parse(normalizeSeparator(text), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    /**
+     * @param text an RFC 3339 timestamp
+     * @return the instant of the timestamp
+     * @throws DateTimeParseException if the text is not a valid timestamp
+     */
+    public static Instant parseInstant(CharSequence text) {
+        Instant value = (Instant) parse(text, INSTANT);
+        return value != null ? value : parseOffsetDateTime(text).toInstant();
+    }
+
+    /**
+     * @param text an RFC 3339 timestamp, or any other form {@link RFC3339DateFormat} accepts
+     * @return the date
+     * @throws ParseException if the text is not a valid timestamp
+     */
+    public static Date parseDate(String text) throws ParseException {
+        Date value = (Date) parse(text, DATE);
+        if (value != null) {
+            return value;
+        }
+        DateFormat fallback = new RFC3339DateFormat();
+        return fallback.parse(text);
+    }
+
+    /**
+     * Parse the fixed RFC 3339 layout.
+     *
+     * @return the value, or null if the text does not have the layout handled here or a field is
+     *         out of range, e.g. {@code 2025-02-30} or a leap second; the JDK formatters and the
+     *         lenient {@link RFC3339DateFormat} then decide whether to accept the text
+     */
+    static Object parse(CharSequence text, int target) {
+        int length = text.length();
+        if (length < 20 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+        char separator = text.charAt(10);
+        if (separator != 'T' && separator != 't' && separator != ' ') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+
+        int pos = 19;
+        int nano = 0;
+        if (text.charAt(pos) == '.') {
+            int start = ++pos;
+            while (pos < length && pos - start < 9 && isDigit(text.charAt(pos))) {
+                nano = nano * 10 + (text.charAt(pos) - '0');
+                pos++;
+            }
+            int count = pos - start;
+            if (count == 0 || (pos < length && isDigit(text.charAt(pos)))) {
+                return null;
+            }
+            nano *= NANO_SCALE[count];
+        }
+
+        if (pos >= length) {
+            return null;
+        }
+        int offsetSeconds;
+        char sign = text.charAt(pos);
+        if ((sign == 'Z' || sign == 'z') && pos + 1 == length) {
+            offsetSeconds = 0;
+        } else if ((sign == '+' || sign == '-') && pos + 6 == length && text.charAt(pos + 3) == ':') {
+            int offsetHours = digits(text, pos + 1, 2);
+            int offsetMinutes = digits(text, pos + 4, 2);
+            if ((offsetHours | offsetMinutes) < 0 || offsetMinutes > 59) {
+                return null;
+            }
+            offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+            if (sign == '-') {
+                offsetSeconds = -offsetSeconds;
+            }
+        } else {
+            return null;
+        }
+
+        if (target == DATE && year < GREGORIAN_CUTOVER_YEAR) {
+            return null;
+        }
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59 || offsetSeconds < -18 * 3600 || offsetSeconds > 18 * 3600) {
+            return null;
+        }
+        if (target == OFFSET_DATE_TIME) {
+            return OffsetDateTime.of(year, month, day, hour, minute, second, nano, ZoneOffset.ofTotalSeconds(offsetSeconds));
+        }
+        long epochSecond = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second - offsetSeconds;
+        if (target == INSTANT) {
+            return Instant.ofEpochSecond(epochSecond, nano);
+        }
+        return new Date(epochSecond * 1000L + nano / 1000000);
+    }
+
+    /**
+     * @param value the value to format
+     * @return the value in the form {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} produces
+     */
+    public static String format(OffsetDateTime value) {
+        int year = value.getYear();
+        int offsetSeconds = value.getOffset().getTotalSeconds();
+        if (year < 0 || year > 9999 || offsetSeconds % 60 != 0) {
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+        }
+        char[] buf = new char[35];
+        int pos = writeDateTime(buf, year, value.getMonthValue(), value.getDayOfMonth(), value.getHour(), value.getMinute(), value.getSecond());
+        int nano = value.getNano();
+        if (nano != 0) {
+            buf[pos++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            for (int i = digits - 1; i >= 0; i--) {
+                buf[pos + i] = (char) ('0' + nano % 10);
+                nano /= 10;
+            }
+            pos += digits;
+        }
+        if (offsetSeconds == 0) {
+            buf[pos++] = 'Z';
+        } else {
+            pos = writeOffset(buf, pos, offsetSeconds);
+        }
+        return new String(buf, 0, pos);
+    }
+
+    /**
+     * @param date the date to format
+     * @return the date in UTC with milliseconds, in the form {@link RFC3339DateFormat} produces
+     */
+    public static String formatDate(Date date) {
+        long epochMilli = date.getTime();
+        long epochSecond = Math.floorDiv(epochMilli, 1000L);
+        int milli = (int) Math.floorMod(epochMilli, 1000L);
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // Civil date from days since 1970-01-01, after H. Hinnant's days_from_civil inverse.
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, 146097L);
+        int dayOfEra = (int) (z - era * 146097L);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < GREGORIAN_CUTOVER_YEAR || year > 9999) {
+            return new RFC3339DateFormat().format(date);
+        }
+
+        char[] buf = new char[29];
+        int pos = writeDateTime(buf, (int) year, month, day, secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60);
+        buf[pos++] = '.';
+        pos = writeDigits(buf, pos, milli, 3);
+        return new String(buf, 0, writeOffset(buf, pos, 0));
+    }
+
+    private static int writeDateTime(char[] buf, int year, int month, int day, int hour, int minute, int second) {
+        writeDigits(buf, 0, year, 4);
+        buf[4] = '-';
+        writeDigits(buf, 5, month, 2);
+        buf[7] = '-';
+        writeDigits(buf, 8, day, 2);
+        buf[10] = 'T';
+        writeDigits(buf, 11, hour, 2);
+        buf[13] = ':';
+        writeDigits(buf, 14, minute, 2);
+        buf[16] = ':';
+        writeDigits(buf, 17, second, 2);
+        return 19;
+    }
+
+    private static int writeOffset(char[] buf, int pos, int offsetSeconds) {
+        buf[pos++] = offsetSeconds < 0 ? '-' : '+';
+        int minutes = Math.abs(offsetSeconds) / 60;
+        pos = writeDigits(buf, pos, minutes / 60, 2);
+        buf[pos++] = ':';
+        return writeDigits(buf, pos, minutes % 60, 2);
+    }
+
+    private static int writeDigits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    /**
+     * @return the value of the digits, or -1 if a character is not a digit
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * @return the days since 1970-01-01, after H. Hinnant's days_from_civil
+     */
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    private static CharSequence normalizeSeparator(CharSequence text) {
+        return text.length() > 10 && text.charAt(10) == ' '
+            ? new StringBuilder(text).replace(10, 11, "T")
+            : text;
+    }
+}
@@ -0,0 +1,126 @@
+package com.okta.myaccount.myaccountmanagement.invoker;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, concurrent intern table for string values that repeat across payloads, such as
+ * statuses, types, house names or link templates.
+ *
+ * <p>Every decoded occurrence of such a value would otherwise be its own String on the heap. The
+ * interner hands out one canonical instance per distinct value, so large result sets and caches
+ * retain one copy and equality checks usually succeed on identity.
+ *
+ * <p>Values of configured fields are always interned. Other fields are sampled first: the values a
+ * field produces are collected in a small set of its own, and only once {@link #SAMPLE_SIZE}
+ * values have been seen is the field either qualified, if most of them were repeats, or dropped.
+ * Values of a field are added to the table only after it qualified, so identifiers, names and other
+ * high-cardinality fields never take room from the values worth sharing. The table stops growing at
+ * its bound and long values are never interned.
+ */
+public class StringInterner {
+
+    public static final int DEFAULT_MAX_ENTRIES = 16384;
+    public static final int MAX_VALUE_LENGTH = 256;
+    static final int SAMPLE_SIZE = 512;
+
+    private static final StringInterner SHARED = new StringInterner(DEFAULT_MAX_ENTRIES);
+
+    private final ConcurrentHashMap<String, String> table = new ConcurrentHashMap<String, String>();
+    private final ConcurrentHashMap<String, FieldStats> fields = new ConcurrentHashMap<String, FieldStats>();
+    private final Set<String> configuredFields = ConcurrentHashMap.newKeySet();
+    private final int maxEntries;
+
+    public StringInterner(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the interner used by {@link JacksonConfig#OBJECT_MAPPER}
+     */
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param fieldNames JSON field names whose values are always interned
+     * @return this interner
+     */
+    public StringInterner internFields(String... fieldNames) {
+        for (String fieldName : fieldNames) {
+            configuredFields.add(fieldName);
+        }
+        return this;
+    }
+
+    /**
+     * @param fieldName the JSON field the value was read from, or null if unknown
+     * @param value     the decoded value
+     * @return the canonical instance of the value, or the value itself if it is not interned
+     */
+    public String intern(String fieldName, String value) {
+        if (value == null || fieldName == null || value.length() > MAX_VALUE_LENGTH) {
+            return value;
+        }
+        String canonical = table.get(value);
+        if (!configuredFields.contains(fieldName)) {
+            FieldStats stats = fields.computeIfAbsent(fieldName, name -> new FieldStats());
+            if (stats.disabled) {
+                return value;
+            }
+            if (!stats.qualified) {
+                stats.sample(value, canonical != null);
+                return canonical != null ? canonical : value;
+            }
+        }
+        if (canonical == null && table.size() < maxEntries) {
+            canonical = table.putIfAbsent(value, value);
+        }
+        return canonical != null ? canonical : value;
+    }
+
+    /**
+     * @return the number of canonical values held
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Drop all canonical values and restart sampling of unconfigured fields.
+     */
+    public void clear() {
+        table.clear();
+        fields.clear();
+    }
+
+    private static final class FieldStats {
+        private final AtomicInteger seen = new AtomicInteger();
+        private final AtomicInteger repeated = new AtomicInteger();
+        // The distinct values seen while sampling; released once the field is decided
+        private volatile Set<String> sampled = ConcurrentHashMap.newKeySet();
+        private volatile boolean qualified;
+        private volatile boolean disabled;
+
+        void sample(String value, boolean known) {
+            Set<String> values = sampled;
+            if (values == null) {
+                return;
+            }
+            boolean repeat = !values.add(value) || known;
+            int repeats = repeat ? repeated.incrementAndGet() : repeated.get();
+            if (seen.incrementAndGet() == SAMPLE_SIZE) {
+                if (repeats * 2 < SAMPLE_SIZE) {
+                    disabled = true;
+                } else {
+                    qualified = true;
+                }
+                sampled = null;
+            }
+        }
+    }
+}
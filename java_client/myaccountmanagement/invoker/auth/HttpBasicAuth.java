@@ -21,8 +21,8 @@ import org.springframework.util.MultiValueMap;
 
 @javax.annotation.Generated(value = "com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen", date = "2025-08-13T20:31:08.570419254Z[GMT]", comments = "Generator version: unset")
 public class HttpBasicAuth implements Authentication {
-    private String username;
-    private String password;
+    private volatile String username;
+    private volatile String password;
 
     public String getUsername() {
         return username;
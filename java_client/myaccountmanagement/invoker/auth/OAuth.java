@@ -23,7 +23,7 @@ import org.springframework.util.MultiValueMap;
  */
 @javax.annotation.Generated(value = "com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen", date = "2025-08-13T20:31:08.570419254Z[GMT]", comments = "Generator version: unset")
 public class OAuth implements Authentication {
-    private Supplier<String> tokenSupplier;
+    private volatile Supplier<String> tokenSupplier;
 
     /**
      * Returns the bearer token used for Authorization.
@@ -58,4 +58,11 @@ public class OAuth implements Authentication {
             headerParams.add(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
         );
     }
+
+    @Override
+    public boolean renewAfterUnauthorized(HttpHeaders rejectedHeaders) {
+        Supplier<String> supplier = tokenSupplier;
+        return supplier instanceof OAuthTokenManager
+            && ((OAuthTokenManager) supplier).renewRejected(rejectedHeaders.getFirst(HttpHeaders.AUTHORIZATION));
+    }
 }
@@ -15,6 +15,7 @@ package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -28,6 +29,7 @@ import java.time.OffsetDateTime;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * App authenticator enrollment object
@@ -66,7 +68,9 @@ public class AppAuthenticatorEnrollment {
 
   public static final String JSON_PROPERTY_LINKS = "links";
   @javax.annotation.Nullable
-  private AppAuthenticatorEnrollmentLinks links;
+  @JsonProperty(JSON_PROPERTY_LINKS)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<AppAuthenticatorEnrollmentLinks> links;
 
   public static final String JSON_PROPERTY_METHODS = "methods";
   @javax.annotation.Nullable
@@ -178,7 +182,7 @@ public class AppAuthenticatorEnrollment {
 
   public AppAuthenticatorEnrollment links(@javax.annotation.Nullable AppAuthenticatorEnrollmentLinks links) {
     
-    this.links = links;
+    this.links = LazyJson.of(links);
     return this;
   }
 
@@ -187,18 +191,16 @@ public class AppAuthenticatorEnrollment {
    * @return links
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public AppAuthenticatorEnrollmentLinks getLinks() {
-    return links;
+    return LazyJson.get(links);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setLinks(@javax.annotation.Nullable AppAuthenticatorEnrollmentLinks links) {
-    this.links = links;
+    this.links = LazyJson.of(links);
   }
 
   public AppAuthenticatorEnrollment methods(@javax.annotation.Nullable AppAuthenticatorEnrollmentMethods methods) {
@@ -277,29 +279,35 @@ public class AppAuthenticatorEnrollment {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(416);
     sb.append("class AppAuthenticatorEnrollment {\n");
-    sb.append("    authenticatorId: ").append(toIndentedString(authenticatorId)).append("\n");
-    sb.append("    createdDate: ").append(toIndentedString(createdDate)).append("\n");
-    sb.append("    device: ").append(toIndentedString(device)).append("\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    lastUpdated: ").append(toIndentedString(lastUpdated)).append("\n");
-    sb.append("    links: ").append(toIndentedString(links)).append("\n");
-    sb.append("    methods: ").append(toIndentedString(methods)).append("\n");
-    sb.append("    user: ").append(toIndentedString(user)).append("\n");
+    appendIndented(sb.append("    authenticatorId: "), authenticatorId).append('\n');
+    appendIndented(sb.append("    createdDate: "), createdDate).append('\n');
+    appendIndented(sb.append("    device: "), device).append('\n');
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    lastUpdated: "), lastUpdated).append('\n');
+    appendIndented(sb.append("    links: "), links).append('\n');
+    appendIndented(sb.append("    methods: "), methods).append('\n');
+    appendIndented(sb.append("    user: "), user).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -64,12 +66,19 @@ public class AppAuthenticatorEnrollmentDevice {
       return String.valueOf(value);
     }
 
+    private static final Map<String, StatusEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (StatusEnum b : StatusEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static StatusEnum fromValue(String value) {
-      for (StatusEnum b : StatusEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      StatusEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -242,26 +251,32 @@ public class AppAuthenticatorEnrollmentDevice {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(272);
     sb.append("class AppAuthenticatorEnrollmentDevice {\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    status: ").append(toIndentedString(status)).append("\n");
-    sb.append("    createdDate: ").append(toIndentedString(createdDate)).append("\n");
-    sb.append("    lastUpdated: ").append(toIndentedString(lastUpdated)).append("\n");
-    sb.append("    clientInstanceId: ").append(toIndentedString(clientInstanceId)).append("\n");
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    status: "), status).append('\n');
+    appendIndented(sb.append("    createdDate: "), createdDate).append('\n');
+    appendIndented(sb.append("    lastUpdated: "), lastUpdated).append('\n');
+    appendIndented(sb.append("    clientInstanceId: "), clientInstanceId).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
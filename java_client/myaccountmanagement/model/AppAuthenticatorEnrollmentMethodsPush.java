@@ -15,6 +15,7 @@ package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -25,6 +26,7 @@ import java.time.OffsetDateTime;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * AppAuthenticatorEnrollmentMethodsPush
@@ -52,7 +54,9 @@ public class AppAuthenticatorEnrollmentMethodsPush {
 
   public static final String JSON_PROPERTY_LINKS = "links";
   @javax.annotation.Nullable
-  private AppAuthenticatorEnrollmentMethodsPushLinks links;
+  @JsonProperty(JSON_PROPERTY_LINKS)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<AppAuthenticatorEnrollmentMethodsPushLinks> links;
 
   public AppAuthenticatorEnrollmentMethodsPush() {
   }
@@ -134,7 +138,7 @@ public class AppAuthenticatorEnrollmentMethodsPush {
 
   public AppAuthenticatorEnrollmentMethodsPush links(@javax.annotation.Nullable AppAuthenticatorEnrollmentMethodsPushLinks links) {
     
-    this.links = links;
+    this.links = LazyJson.of(links);
     return this;
   }
 
@@ -143,18 +147,16 @@ public class AppAuthenticatorEnrollmentMethodsPush {
    * @return links
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public AppAuthenticatorEnrollmentMethodsPushLinks getLinks() {
-    return links;
+    return LazyJson.get(links);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setLinks(@javax.annotation.Nullable AppAuthenticatorEnrollmentMethodsPushLinks links) {
-    this.links = links;
+    this.links = LazyJson.of(links);
   }
 
   @Override
@@ -179,25 +181,31 @@ public class AppAuthenticatorEnrollmentMethodsPush {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(224);
     sb.append("class AppAuthenticatorEnrollmentMethodsPush {\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    createdDate: ").append(toIndentedString(createdDate)).append("\n");
-    sb.append("    lastUpdated: ").append(toIndentedString(lastUpdated)).append("\n");
-    sb.append("    links: ").append(toIndentedString(links)).append("\n");
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    createdDate: "), createdDate).append('\n');
+    appendIndented(sb.append("    lastUpdated: "), lastUpdated).append('\n');
+    appendIndented(sb.append("    links: "), links).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
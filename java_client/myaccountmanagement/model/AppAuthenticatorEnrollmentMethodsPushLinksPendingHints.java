@@ -14,6 +14,9 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -58,12 +61,19 @@ public class AppAuthenticatorEnrollmentMethodsPushLinksPendingHints {
       return String.valueOf(value);
     }
 
+    private static final Map<String, AllowEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (AllowEnum b : AllowEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static AllowEnum fromValue(String value) {
-      for (AllowEnum b : AllowEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      AllowEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -71,7 +81,7 @@ public class AppAuthenticatorEnrollmentMethodsPushLinksPendingHints {
 
   public static final String JSON_PROPERTY_ALLOW = "allow";
   @javax.annotation.Nullable
-  private List<AllowEnum> allow = new ArrayList<>();
+  private List<AllowEnum> allow = Collections.emptyList();
 
   public AppAuthenticatorEnrollmentMethodsPushLinksPendingHints() {
   }
@@ -83,7 +93,7 @@ public class AppAuthenticatorEnrollmentMethodsPushLinksPendingHints {
   }
 
   public AppAuthenticatorEnrollmentMethodsPushLinksPendingHints addAllowItem(AllowEnum allowItem) {
-    if (this.allow == null) {
+    if (this.allow == null || this.allow == Collections.<AllowEnum>emptyList()) {
       this.allow = new ArrayList<>();
     }
     this.allow.add(allowItem);
@@ -128,22 +138,28 @@ public class AppAuthenticatorEnrollmentMethodsPushLinksPendingHints {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(80);
     sb.append("class AppAuthenticatorEnrollmentMethodsPushLinksPendingHints {\n");
-    sb.append("    allow: ").append(toIndentedString(allow)).append("\n");
+    appendIndented(sb.append("    allow: "), allow).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -85,12 +87,19 @@ public class AppAuthenticatorEnrollmentRequestDevice {
       return String.valueOf(value);
     }
 
+    private static final Map<String, PlatformEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (PlatformEnum b : PlatformEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static PlatformEnum fromValue(String value) {
-      for (PlatformEnum b : PlatformEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      PlatformEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -461,33 +470,39 @@ public class AppAuthenticatorEnrollmentRequestDevice {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(608);
     sb.append("class AppAuthenticatorEnrollmentRequestDevice {\n");
-    sb.append("    secureHardwarePresent: ").append(toIndentedString(secureHardwarePresent)).append("\n");
-    sb.append("    clientInstanceKey: ").append(toIndentedString(clientInstanceKey)).append("\n");
-    sb.append("    osVersion: ").append(toIndentedString(osVersion)).append("\n");
-    sb.append("    clientInstanceBundleId: ").append(toIndentedString(clientInstanceBundleId)).append("\n");
-    sb.append("    platform: ").append(toIndentedString(platform)).append("\n");
-    sb.append("    manufacturer: ").append(toIndentedString(manufacturer)).append("\n");
-    sb.append("    deviceAttestation: ").append(toIndentedString(deviceAttestation)).append("\n");
-    sb.append("    clientInstanceVersion: ").append(toIndentedString(clientInstanceVersion)).append("\n");
-    sb.append("    clientInstanceDeviceSdkVersion: ").append(toIndentedString(clientInstanceDeviceSdkVersion)).append("\n");
-    sb.append("    model: ").append(toIndentedString(model)).append("\n");
-    sb.append("    displayName: ").append(toIndentedString(displayName)).append("\n");
-    sb.append("    udid: ").append(toIndentedString(udid)).append("\n");
+    appendIndented(sb.append("    secureHardwarePresent: "), secureHardwarePresent).append('\n');
+    appendIndented(sb.append("    clientInstanceKey: "), clientInstanceKey).append('\n');
+    appendIndented(sb.append("    osVersion: "), osVersion).append('\n');
+    appendIndented(sb.append("    clientInstanceBundleId: "), clientInstanceBundleId).append('\n');
+    appendIndented(sb.append("    platform: "), platform).append('\n');
+    appendIndented(sb.append("    manufacturer: "), manufacturer).append('\n');
+    appendIndented(sb.append("    deviceAttestation: "), deviceAttestation).append('\n');
+    appendIndented(sb.append("    clientInstanceVersion: "), clientInstanceVersion).append('\n');
+    appendIndented(sb.append("    clientInstanceDeviceSdkVersion: "), clientInstanceDeviceSdkVersion).append('\n');
+    appendIndented(sb.append("    model: "), model).append('\n');
+    appendIndented(sb.append("    displayName: "), displayName).append('\n');
+    appendIndented(sb.append("    udid: "), udid).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -148,24 +148,30 @@ public class AppAuthenticatorEnrollmentRequestMethodsPushKeys {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(176);
     sb.append("class AppAuthenticatorEnrollmentRequestMethodsPushKeys {\n");
-    sb.append("    proofOfPossession: ").append(toIndentedString(proofOfPossession)).append("\n");
-    sb.append("    userVerification: ").append(toIndentedString(userVerification)).append("\n");
-    sb.append("    capabilities: ").append(toIndentedString(capabilities)).append("\n");
+    appendIndented(sb.append("    proofOfPossession: "), proofOfPossession).append('\n');
+    appendIndented(sb.append("    userVerification: "), userVerification).append('\n');
+    appendIndented(sb.append("    capabilities: "), capabilities).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
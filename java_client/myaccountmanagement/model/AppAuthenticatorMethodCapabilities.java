@@ -14,6 +14,9 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -59,12 +62,19 @@ public class AppAuthenticatorMethodCapabilities {
       return String.valueOf(value);
     }
 
+    private static final Map<String, TransactionTypesEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (TransactionTypesEnum b : TransactionTypesEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static TransactionTypesEnum fromValue(String value) {
-      for (TransactionTypesEnum b : TransactionTypesEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      TransactionTypesEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -72,7 +82,7 @@ public class AppAuthenticatorMethodCapabilities {
 
   public static final String JSON_PROPERTY_TRANSACTION_TYPES = "transactionTypes";
   @javax.annotation.Nullable
-  private List<TransactionTypesEnum> transactionTypes = new ArrayList<>();
+  private List<TransactionTypesEnum> transactionTypes = Collections.emptyList();
 
   public AppAuthenticatorMethodCapabilities() {
   }
@@ -84,7 +94,7 @@ public class AppAuthenticatorMethodCapabilities {
   }
 
   public AppAuthenticatorMethodCapabilities addTransactionTypesItem(TransactionTypesEnum transactionTypesItem) {
-    if (this.transactionTypes == null) {
+    if (this.transactionTypes == null || this.transactionTypes == Collections.<TransactionTypesEnum>emptyList()) {
       this.transactionTypes = new ArrayList<>();
     }
     this.transactionTypes.add(transactionTypesItem);
@@ -129,22 +139,28 @@ public class AppAuthenticatorMethodCapabilities {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(80);
     sb.append("class AppAuthenticatorMethodCapabilities {\n");
-    sb.append("    transactionTypes: ").append(toIndentedString(transactionTypes)).append("\n");
+    appendIndented(sb.append("    transactionTypes: "), transactionTypes).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
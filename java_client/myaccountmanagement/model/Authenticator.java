@@ -15,6 +15,7 @@ package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -26,6 +27,7 @@ import com.okta.myaccount.myaccountmanagement.model.AuthenticatorLinks;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * A specific authenticator of the current user
@@ -62,7 +64,9 @@ public class Authenticator {
 
   public static final String JSON_PROPERTY_LINKS = "_links";
   @javax.annotation.Nullable
-  private AuthenticatorLinks links;
+  @JsonProperty(JSON_PROPERTY_LINKS)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<AuthenticatorLinks> links;
 
   public Authenticator() {
   }
@@ -175,7 +179,7 @@ public class Authenticator {
 
   public Authenticator links(@javax.annotation.Nullable AuthenticatorLinks links) {
     
-    this.links = links;
+    this.links = LazyJson.of(links);
     return this;
   }
 
@@ -184,18 +188,16 @@ public class Authenticator {
    * @return links
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public AuthenticatorLinks getLinks() {
-    return links;
+    return LazyJson.get(links);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setLinks(@javax.annotation.Nullable AuthenticatorLinks links) {
-    this.links = links;
+    this.links = LazyJson.of(links);
   }
 
   @Override
@@ -222,27 +224,33 @@ public class Authenticator {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(320);
     sb.append("class Authenticator {\n");
-    sb.append("    enrollable: ").append(toIndentedString(enrollable)).append("\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    key: ").append(toIndentedString(key)).append("\n");
-    sb.append("    name: ").append(toIndentedString(name)).append("\n");
-    sb.append("    embedded: ").append(toIndentedString(embedded)).append("\n");
-    sb.append("    links: ").append(toIndentedString(links)).append("\n");
+    appendIndented(sb.append("    enrollable: "), enrollable).append('\n');
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    key: "), key).append('\n');
+    appendIndented(sb.append("    name: "), name).append('\n');
+    appendIndented(sb.append("    embedded: "), embedded).append('\n');
+    appendIndented(sb.append("    links: "), links).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
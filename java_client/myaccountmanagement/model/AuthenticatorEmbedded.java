@@ -14,6 +14,7 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Collections;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -39,7 +40,7 @@ import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
 public class AuthenticatorEmbedded {
   public static final String JSON_PROPERTY_ENROLLMENTS = "enrollments";
   @javax.annotation.Nullable
-  private List<AuthenticatorEnrollment> enrollments = new ArrayList<>();
+  private List<AuthenticatorEnrollment> enrollments = Collections.emptyList();
 
   public AuthenticatorEmbedded() {
   }
@@ -51,7 +52,7 @@ public class AuthenticatorEmbedded {
   }
 
   public AuthenticatorEmbedded addEnrollmentsItem(AuthenticatorEnrollment enrollmentsItem) {
-    if (this.enrollments == null) {
+    if (this.enrollments == null || this.enrollments == Collections.<AuthenticatorEnrollment>emptyList()) {
       this.enrollments = new ArrayList<>();
     }
     this.enrollments.add(enrollmentsItem);
@@ -96,22 +97,28 @@ public class AuthenticatorEmbedded {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(80);
     sb.append("class AuthenticatorEmbedded {\n");
-    sb.append("    enrollments: ").append(toIndentedString(enrollments)).append("\n");
+    appendIndented(sb.append("    enrollments: "), enrollments).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -15,6 +15,7 @@ package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -24,6 +25,7 @@ import com.okta.myaccount.myaccountmanagement.model.AuthenticatorEnrollmentLinks
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * Authenticator enrollment of the current user
@@ -75,7 +77,9 @@ public class AuthenticatorEnrollment {
 
   public static final String JSON_PROPERTY_LINKS = "_links";
   @javax.annotation.Nullable
-  private AuthenticatorEnrollmentLinks links;
+  @JsonProperty(JSON_PROPERTY_LINKS)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<AuthenticatorEnrollmentLinks> links;
 
   public AuthenticatorEnrollment() {
   }
@@ -236,7 +240,7 @@ public class AuthenticatorEnrollment {
 
   public AuthenticatorEnrollment links(@javax.annotation.Nullable AuthenticatorEnrollmentLinks links) {
     
-    this.links = links;
+    this.links = LazyJson.of(links);
     return this;
   }
 
@@ -245,18 +249,16 @@ public class AuthenticatorEnrollment {
    * @return links
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public AuthenticatorEnrollmentLinks getLinks() {
-    return links;
+    return LazyJson.get(links);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setLinks(@javax.annotation.Nullable AuthenticatorEnrollmentLinks links) {
-    this.links = links;
+    this.links = LazyJson.of(links);
   }
 
   @Override
@@ -286,30 +288,36 @@ public class AuthenticatorEnrollment {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(464);
     sb.append("class AuthenticatorEnrollment {\n");
-    sb.append("    canReset: ").append(toIndentedString(canReset)).append("\n");
-    sb.append("    canUnenroll: ").append(toIndentedString(canUnenroll)).append("\n");
-    sb.append("    created: ").append(toIndentedString(created)).append("\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    lastChallenged: ").append(toIndentedString(lastChallenged)).append("\n");
-    sb.append("    name: ").append(toIndentedString(name)).append("\n");
-    sb.append("    nickname: ").append(toIndentedString(nickname)).append("\n");
-    sb.append("    profile: ").append(toIndentedString(profile)).append("\n");
-    sb.append("    links: ").append(toIndentedString(links)).append("\n");
+    appendIndented(sb.append("    canReset: "), canReset).append('\n');
+    appendIndented(sb.append("    canUnenroll: "), canUnenroll).append('\n');
+    appendIndented(sb.append("    created: "), created).append('\n');
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    lastChallenged: "), lastChallenged).append('\n');
+    appendIndented(sb.append("    name: "), name).append('\n');
+    appendIndented(sb.append("    nickname: "), nickname).append('\n');
+    appendIndented(sb.append("    profile: "), profile).append('\n');
+    appendIndented(sb.append("    links: "), links).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
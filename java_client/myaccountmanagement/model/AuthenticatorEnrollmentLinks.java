@@ -178,25 +178,31 @@ public class AuthenticatorEnrollmentLinks {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(224);
     sb.append("class AuthenticatorEnrollmentLinks {\n");
-    sb.append("    self: ").append(toIndentedString(self)).append("\n");
-    sb.append("    authenticator: ").append(toIndentedString(authenticator)).append("\n");
-    sb.append("    modify: ").append(toIndentedString(modify)).append("\n");
-    sb.append("    unenroll: ").append(toIndentedString(unenroll)).append("\n");
+    appendIndented(sb.append("    self: "), self).append('\n');
+    appendIndented(sb.append("    authenticator: "), authenticator).append('\n');
+    appendIndented(sb.append("    modify: "), modify).append('\n');
+    appendIndented(sb.append("    unenroll: "), unenroll).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -73,12 +75,19 @@ public enum AuthenticatorKey {
     return String.valueOf(value);
   }
 
+  private static final Map<String, AuthenticatorKey> BY_VALUE = new HashMap<>();
+
+  static {
+    for (AuthenticatorKey b : AuthenticatorKey.values()) {
+      BY_VALUE.put(b.value, b);
+    }
+  }
+
   @JsonCreator
   public static AuthenticatorKey fromValue(String value) {
-    for (AuthenticatorKey b : AuthenticatorKey.values()) {
-      if (b.value.equals(value)) {
-        return b;
-      }
+    AuthenticatorKey b = BY_VALUE.get(value);
+    if (b != null) {
+      return b;
     }
     throw new IllegalArgumentException("Unexpected value '" + value + "'");
   }
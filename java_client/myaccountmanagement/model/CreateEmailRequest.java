@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -73,12 +75,19 @@ public class CreateEmailRequest {
       return String.valueOf(value);
     }
 
+    private static final Map<String, RoleEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (RoleEnum b : RoleEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static RoleEnum fromValue(String value) {
-      for (RoleEnum b : RoleEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      RoleEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -213,25 +222,31 @@ public class CreateEmailRequest {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(224);
     sb.append("class CreateEmailRequest {\n");
-    sb.append("    profile: ").append(toIndentedString(profile)).append("\n");
-    sb.append("    sendEmail: ").append(toIndentedString(sendEmail)).append("\n");
-    sb.append("    state: ").append(toIndentedString(state)).append("\n");
-    sb.append("    role: ").append(toIndentedString(role)).append("\n");
+    appendIndented(sb.append("    profile: "), profile).append('\n');
+    appendIndented(sb.append("    sendEmail: "), sendEmail).append('\n');
+    appendIndented(sb.append("    state: "), state).append('\n');
+    appendIndented(sb.append("    role: "), role).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
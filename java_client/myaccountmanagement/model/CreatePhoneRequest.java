@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -68,12 +70,19 @@ public class CreatePhoneRequest {
       return String.valueOf(value);
     }
 
+    private static final Map<String, MethodEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (MethodEnum b : MethodEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static MethodEnum fromValue(String value) {
-      for (MethodEnum b : MethodEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      MethodEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -182,24 +191,30 @@ public class CreatePhoneRequest {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(176);
     sb.append("class CreatePhoneRequest {\n");
-    sb.append("    profile: ").append(toIndentedString(profile)).append("\n");
-    sb.append("    sendCode: ").append(toIndentedString(sendCode)).append("\n");
-    sb.append("    method: ").append(toIndentedString(method)).append("\n");
+    appendIndented(sb.append("    profile: "), profile).append('\n');
+    appendIndented(sb.append("    sendCode: "), sendCode).append('\n');
+    appendIndented(sb.append("    method: "), method).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
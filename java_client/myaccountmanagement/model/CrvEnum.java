@@ -77,12 +77,19 @@ public enum CrvEnum {
     return String.valueOf(value);
   }
 
+  private static final Map<String, CrvEnum> BY_VALUE = new HashMap<>();
+
+  static {
+    for (CrvEnum b : CrvEnum.values()) {
+      BY_VALUE.put(b.value, b);
+    }
+  }
+
   @JsonCreator
   public static CrvEnum fromValue(String value) {
-    for (CrvEnum b : CrvEnum.values()) {
-      if (b.value.equals(value)) {
-        return b;
-      }
+    CrvEnum b = BY_VALUE.get(value);
+    if (b != null) {
+      return b;
     }
     throw new IllegalArgumentException("Unexpected value '" + value + "'");
   }
@@ -14,7 +14,11 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -28,6 +32,7 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * Email object
@@ -73,12 +78,19 @@ public class Email {
       return String.valueOf(value);
     }
 
+    private static final Map<String, RolesEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (RolesEnum b : RolesEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static RolesEnum fromValue(String value) {
-      for (RolesEnum b : RolesEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      RolesEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -86,7 +98,7 @@ public class Email {
 
   public static final String JSON_PROPERTY_ROLES = "roles";
   @javax.annotation.Nonnull
-  private List<RolesEnum> roles = new ArrayList<>();
+  private List<RolesEnum> roles = Collections.emptyList();
 
   /**
    * The email status of the caller
@@ -112,12 +124,19 @@ public class Email {
       return String.valueOf(value);
     }
 
+    private static final Map<String, StatusEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (StatusEnum b : StatusEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static StatusEnum fromValue(String value) {
-      for (StatusEnum b : StatusEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      StatusEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -129,7 +148,9 @@ public class Email {
 
   public static final String JSON_PROPERTY_LINKS = "_links";
   @javax.annotation.Nullable
-  private EmailLinks links;
+  @JsonProperty(JSON_PROPERTY_LINKS)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<EmailLinks> links;
 
   public Email() {
   }
@@ -192,7 +213,7 @@ public class Email {
   }
 
   public Email addRolesItem(RolesEnum rolesItem) {
-    if (this.roles == null) {
+    if (this.roles == null || this.roles == Collections.<RolesEnum>emptyList()) {
       this.roles = new ArrayList<>();
     }
     this.roles.add(rolesItem);
@@ -234,7 +255,7 @@ public class Email {
 
   public Email links(@javax.annotation.Nullable EmailLinks links) {
     
-    this.links = links;
+    this.links = LazyJson.of(links);
     return this;
   }
 
@@ -243,18 +264,16 @@ public class Email {
    * @return links
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public EmailLinks getLinks() {
-    return links;
+    return LazyJson.get(links);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setLinks(@javax.annotation.Nullable EmailLinks links) {
-    this.links = links;
+    this.links = LazyJson.of(links);
   }
 
   @Override
@@ -280,26 +299,32 @@ public class Email {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(272);
     sb.append("class Email {\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    profile: ").append(toIndentedString(profile)).append("\n");
-    sb.append("    roles: ").append(toIndentedString(roles)).append("\n");
-    sb.append("    status: ").append(toIndentedString(status)).append("\n");
-    sb.append("    links: ").append(toIndentedString(links)).append("\n");
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    profile: "), profile).append('\n');
+    appendIndented(sb.append("    roles: "), roles).append('\n');
+    appendIndented(sb.append("    status: "), status).append('\n');
+    appendIndented(sb.append("    links: "), links).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
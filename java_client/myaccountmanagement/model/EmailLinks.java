@@ -181,25 +181,31 @@ public class EmailLinks {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(224);
     sb.append("class EmailLinks {\n");
-    sb.append("    self: ").append(toIndentedString(self)).append("\n");
-    sb.append("    challenge: ").append(toIndentedString(challenge)).append("\n");
-    sb.append("    verify: ").append(toIndentedString(verify)).append("\n");
-    sb.append("    poll: ").append(toIndentedString(poll)).append("\n");
+    appendIndented(sb.append("    self: "), self).append('\n');
+    appendIndented(sb.append("    challenge: "), challenge).append('\n');
+    appendIndented(sb.append("    verify: "), verify).append('\n');
+    appendIndented(sb.append("    poll: "), poll).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
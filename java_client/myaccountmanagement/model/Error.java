@@ -14,6 +14,7 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Collections;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -42,7 +43,7 @@ import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
 public class Error {
   public static final String JSON_PROPERTY_ERROR_CAUSES = "errorCauses";
   @javax.annotation.Nullable
-  private List<ErrorErrorCausesInner> errorCauses = new ArrayList<>();
+  private List<ErrorErrorCausesInner> errorCauses = Collections.emptyList();
 
   public static final String JSON_PROPERTY_ERROR_CODE = "errorCode";
   @javax.annotation.Nullable
@@ -86,7 +87,7 @@ public class Error {
   }
 
   public Error addErrorCausesItem(ErrorErrorCausesInner errorCausesItem) {
-    if (this.errorCauses == null) {
+    if (this.errorCauses == null || this.errorCauses == Collections.<ErrorErrorCausesInner>emptyList()) {
       this.errorCauses = new ArrayList<>();
     }
     this.errorCauses.add(errorCausesItem);
@@ -191,26 +192,32 @@ public class Error {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(272);
     sb.append("class Error {\n");
-    sb.append("    errorCauses: ").append(toIndentedString(errorCauses)).append("\n");
-    sb.append("    errorCode: ").append(toIndentedString(errorCode)).append("\n");
-    sb.append("    errorId: ").append(toIndentedString(errorId)).append("\n");
-    sb.append("    errorLink: ").append(toIndentedString(errorLink)).append("\n");
-    sb.append("    errorSummary: ").append(toIndentedString(errorSummary)).append("\n");
+    appendIndented(sb.append("    errorCauses: "), errorCauses).append('\n');
+    appendIndented(sb.append("    errorCode: "), errorCode).append('\n');
+    appendIndented(sb.append("    errorId: "), errorId).append('\n');
+    appendIndented(sb.append("    errorLink: "), errorLink).append('\n');
+    appendIndented(sb.append("    errorSummary: "), errorSummary).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -51,12 +53,19 @@ public enum HttpMethod {
     return String.valueOf(value);
   }
 
+  private static final Map<String, HttpMethod> BY_VALUE = new HashMap<>();
+
+  static {
+    for (HttpMethod b : HttpMethod.values()) {
+      BY_VALUE.put(b.value, b);
+    }
+  }
+
   @JsonCreator
   public static HttpMethod fromValue(String value) {
-    for (HttpMethod b : HttpMethod.values()) {
-      if (b.value.equals(value)) {
-        return b;
-      }
+    HttpMethod b = BY_VALUE.get(value);
+    if (b != null) {
+      return b;
     }
     throw new IllegalArgumentException("Unexpected value '" + value + "'");
   }
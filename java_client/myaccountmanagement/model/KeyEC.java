@@ -238,27 +238,33 @@ public class KeyEC implements KeyObject {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(320);
     sb.append("class KeyEC {\n");
-    sb.append("    crv: ").append(toIndentedString(crv)).append("\n");
-    sb.append("    kid: ").append(toIndentedString(kid)).append("\n");
-    sb.append("    kty: ").append(toIndentedString(kty)).append("\n");
-    sb.append("    oktaKpr: ").append(toIndentedString(oktaKpr)).append("\n");
-    sb.append("    x: ").append(toIndentedString(x)).append("\n");
-    sb.append("    y: ").append(toIndentedString(y)).append("\n");
+    appendIndented(sb.append("    crv: "), crv).append('\n');
+    appendIndented(sb.append("    kid: "), kid).append('\n');
+    appendIndented(sb.append("    kty: "), kty).append('\n');
+    appendIndented(sb.append("    oktaKpr: "), oktaKpr).append('\n');
+    appendIndented(sb.append("    x: "), x).append('\n');
+    appendIndented(sb.append("    y: "), y).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
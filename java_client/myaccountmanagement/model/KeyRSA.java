@@ -207,26 +207,32 @@ public class KeyRSA implements KeyObject {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(272);
     sb.append("class KeyRSA {\n");
-    sb.append("    e: ").append(toIndentedString(e)).append("\n");
-    sb.append("    kid: ").append(toIndentedString(kid)).append("\n");
-    sb.append("    kty: ").append(toIndentedString(kty)).append("\n");
-    sb.append("    n: ").append(toIndentedString(n)).append("\n");
-    sb.append("    oktaKpr: ").append(toIndentedString(oktaKpr)).append("\n");
+    appendIndented(sb.append("    e: "), e).append('\n');
+    appendIndented(sb.append("    kid: "), kid).append('\n');
+    appendIndented(sb.append("    kty: "), kty).append('\n');
+    appendIndented(sb.append("    n: "), n).append('\n');
+    appendIndented(sb.append("    oktaKpr: "), oktaKpr).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
     }
-    return o.toString().replace("\n", "\n    ");
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
+    }
+    return sb.append(s, start, s.length());
   }
 
 }
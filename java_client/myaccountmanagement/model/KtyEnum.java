@@ -77,12 +77,19 @@ public enum KtyEnum {
     return String.valueOf(value);
   }
 
+  private static final Map<String, KtyEnum> BY_VALUE = new HashMap<>();
+
+  static {
+    for (KtyEnum b : KtyEnum.values()) {
+      BY_VALUE.put(b.value, b);
+    }
+  }
+
   @JsonCreator
   public static KtyEnum fromValue(String value) {
-    for (KtyEnum b : KtyEnum.values()) {
-      if (b.value.equals(value)) {
-        return b;
-      }
+    KtyEnum b = BY_VALUE.get(value);
+    if (b != null) {
+      return b;
     }
     throw new IllegalArgumentException("Unexpected value '" + value + "'");
   }
@@ -79,12 +79,19 @@ public enum OktaKprEnum {
     return String.valueOf(value);
   }
 
+  private static final Map<String, OktaKprEnum> BY_VALUE = new HashMap<>();
+
+  static {
+    for (OktaKprEnum b : OktaKprEnum.values()) {
+      BY_VALUE.put(b.value, b);
+    }
+  }
+
   @JsonCreator
   public static OktaKprEnum fromValue(String value) {
-    for (OktaKprEnum b : OktaKprEnum.values()) {
-      if (b.value.equals(value)) {
-        return b;
-      }
+    OktaKprEnum b = BY_VALUE.get(value);
+    if (b != null) {
+      return b;
     }
     throw new IllegalArgumentException("Unexpected value '" + value + "'");
   }
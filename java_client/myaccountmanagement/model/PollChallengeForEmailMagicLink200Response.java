@@ -14,7 +14,10 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -25,6 +28,7 @@ import com.okta.myaccount.myaccountmanagement.model.SendEmailChallenge201Respons
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * 
@@ -67,12 +71,19 @@ public class PollChallengeForEmailMagicLink200Response {
       return String.valueOf(value);
     }
 
+    private static final Map<String, StatusEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (StatusEnum b : StatusEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static StatusEnum fromValue(String value) {
-      for (StatusEnum b : StatusEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      StatusEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -92,7 +103,9 @@ public class PollChallengeForEmailMagicLink200Response {
 
   public static final String JSON_PROPERTY_LINKS = "_links";
   @javax.annotation.Nonnull
-  private PollChallengeForEmailMagicLink200ResponseLinks links;
+  @JsonProperty(JSON_PROPERTY_LINKS)
+  @JsonInclude(value = JsonInclude.Include.ALWAYS)
+  private LazyJson<PollChallengeForEmailMagicLink200ResponseLinks> links;
 
   public PollChallengeForEmailMagicLink200Response() {
   }
@@ -199,7 +212,7 @@ public class PollChallengeForEmailMagicLink200Response {
 
   public PollChallengeForEmailMagicLink200Response links(@javax.annotation.Nonnull PollChallengeForEmailMagicLink200ResponseLinks links) {
     
-    this.links = links;
+    this.links = LazyJson.of(links);
     return this;
   }
 
@@ -208,18 +221,16 @@ public class PollChallengeForEmailMagicLink200Response {
    * @return links
    */
   @javax.annotation.Nonnull
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.ALWAYS)
+  @JsonIgnore
 
   public PollChallengeForEmailMagicLink200ResponseLinks getLinks() {
-    return links;
+    return LazyJson.get(links);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_LINKS)
-  @JsonInclude(value = JsonInclude.Include.ALWAYS)
+  @JsonIgnore
   public void setLinks(@javax.annotation.Nonnull PollChallengeForEmailMagicLink200ResponseLinks links) {
-    this.links = links;
+    this.links = LazyJson.of(links);
   }
 
   @Override
@@ -245,26 +256,32 @@ public class PollChallengeForEmailMagicLink200Response {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(272);
     sb.append("class PollChallengeForEmailMagicLink200Response {\n");
-    sb.append("    id: ").append(toIndentedString(id)).append("\n");
-    sb.append("    status: ").append(toIndentedString(status)).append("\n");
-    sb.append("    expiresAt: ").append(toIndentedString(expiresAt)).append("\n");
-    sb.append("    profile: ").append(toIndentedString(profile)).append("\n");
-    sb.append("    links: ").append(toIndentedString(links)).append("\n");
+    appendIndented(sb.append("    id: "), id).append('\n');
+    appendIndented(sb.append("    status: "), status).append('\n');
+    appendIndented(sb.append("    expiresAt: "), expiresAt).append('\n');
+    appendIndented(sb.append("    profile: "), profile).append('\n');
+    appendIndented(sb.append("    links: "), links).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
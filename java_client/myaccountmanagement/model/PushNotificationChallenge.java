@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -59,12 +61,19 @@ public class PushNotificationChallenge {
       return String.valueOf(value);
     }
 
+    private static final Map<String, PayloadVersionEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (PayloadVersionEnum b : PayloadVersionEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static PayloadVersionEnum fromValue(String value) {
-      for (PayloadVersionEnum b : PayloadVersionEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      PayloadVersionEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -147,23 +156,29 @@ public class PushNotificationChallenge {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(128);
     sb.append("class PushNotificationChallenge {\n");
-    sb.append("    challenge: ").append(toIndentedString(challenge)).append("\n");
-    sb.append("    payloadVersion: ").append(toIndentedString(payloadVersion)).append("\n");
+    appendIndented(sb.append("    challenge: "), challenge).append('\n');
+    appendIndented(sb.append("    payloadVersion: "), payloadVersion).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -14,7 +14,11 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -27,6 +31,7 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * JSON Web Token payload constructed by Okta for the push notification challenge request JWT
@@ -73,7 +78,9 @@ public class PushNotificationChallengeRequestJwt {
 
   public static final String JSON_PROPERTY_CHALLENGE_CONTEXT = "challengeContext";
   @javax.annotation.Nullable
-  private PushNotificationChallengeRequestJwtChallengeContext challengeContext;
+  @JsonProperty(JSON_PROPERTY_CHALLENGE_CONTEXT)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<PushNotificationChallengeRequestJwtChallengeContext> challengeContext;
 
   public static final String JSON_PROPERTY_EXP = "exp";
   @javax.annotation.Nullable
@@ -113,12 +120,19 @@ public class PushNotificationChallengeRequestJwt {
       return String.valueOf(value);
     }
 
+    private static final Map<String, MethodEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (MethodEnum b : MethodEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static MethodEnum fromValue(String value) {
-      for (MethodEnum b : MethodEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      MethodEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -142,7 +156,7 @@ public class PushNotificationChallengeRequestJwt {
 
   public static final String JSON_PROPERTY_SIGNALS = "signals";
   @javax.annotation.Nullable
-  private List<String> signals = new ArrayList<>();
+  private List<String> signals = Collections.emptyList();
 
   public static final String JSON_PROPERTY_TRANSACTION_ID = "transactionId";
   @javax.annotation.Nullable
@@ -178,12 +192,19 @@ public class PushNotificationChallengeRequestJwt {
       return String.valueOf(value);
     }
 
+    private static final Map<String, UserMediationEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (UserMediationEnum b : UserMediationEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static UserMediationEnum fromValue(String value) {
-      for (UserMediationEnum b : UserMediationEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      UserMediationEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -221,12 +242,19 @@ public class PushNotificationChallengeRequestJwt {
       return String.valueOf(value);
     }
 
+    private static final Map<String, UserVerificationEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (UserVerificationEnum b : UserVerificationEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static UserVerificationEnum fromValue(String value) {
-      for (UserVerificationEnum b : UserVerificationEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      UserVerificationEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -349,7 +377,7 @@ public class PushNotificationChallengeRequestJwt {
 
   public PushNotificationChallengeRequestJwt challengeContext(@javax.annotation.Nullable PushNotificationChallengeRequestJwtChallengeContext challengeContext) {
     
-    this.challengeContext = challengeContext;
+    this.challengeContext = LazyJson.of(challengeContext);
     return this;
   }
 
@@ -358,18 +386,16 @@ public class PushNotificationChallengeRequestJwt {
    * @return challengeContext
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_CHALLENGE_CONTEXT)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public PushNotificationChallengeRequestJwtChallengeContext getChallengeContext() {
-    return challengeContext;
+    return LazyJson.get(challengeContext);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_CHALLENGE_CONTEXT)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setChallengeContext(@javax.annotation.Nullable PushNotificationChallengeRequestJwtChallengeContext challengeContext) {
-    this.challengeContext = challengeContext;
+    this.challengeContext = LazyJson.of(challengeContext);
   }
 
   public PushNotificationChallengeRequestJwt exp(@javax.annotation.Nullable String exp) {
@@ -579,7 +605,7 @@ public class PushNotificationChallengeRequestJwt {
   }
 
   public PushNotificationChallengeRequestJwt addSignalsItem(String signalsItem) {
-    if (this.signals == null) {
+    if (this.signals == null || this.signals == Collections.<String>emptyList()) {
       this.signals = new ArrayList<>();
     }
     this.signals.add(signalsItem);
@@ -793,41 +819,47 @@ public class PushNotificationChallengeRequestJwt {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(992);
     sb.append("class PushNotificationChallengeRequestJwt {\n");
-    sb.append("    appInstanceName: ").append(toIndentedString(appInstanceName)).append("\n");
-    sb.append("    aud: ").append(toIndentedString(aud)).append("\n");
-    sb.append("    authenticatorEnrollmentId: ").append(toIndentedString(authenticatorEnrollmentId)).append("\n");
-    sb.append("    authorizationServerId: ").append(toIndentedString(authorizationServerId)).append("\n");
-    sb.append("    challengeContext: ").append(toIndentedString(challengeContext)).append("\n");
-    sb.append("    exp: ").append(toIndentedString(exp)).append("\n");
-    sb.append("    iat: ").append(toIndentedString(iat)).append("\n");
-    sb.append("    iss: ").append(toIndentedString(iss)).append("\n");
-    sb.append("    jti: ").append(toIndentedString(jti)).append("\n");
-    sb.append("    method: ").append(toIndentedString(method)).append("\n");
-    sb.append("    methodEnrollmentId: ").append(toIndentedString(methodEnrollmentId)).append("\n");
-    sb.append("    nonce: ").append(toIndentedString(nonce)).append("\n");
-    sb.append("    orgId: ").append(toIndentedString(orgId)).append("\n");
-    sb.append("    signals: ").append(toIndentedString(signals)).append("\n");
-    sb.append("    transactionId: ").append(toIndentedString(transactionId)).append("\n");
-    sb.append("    userId: ").append(toIndentedString(userId)).append("\n");
-    sb.append("    userMediation: ").append(toIndentedString(userMediation)).append("\n");
-    sb.append("    userVerification: ").append(toIndentedString(userVerification)).append("\n");
-    sb.append("    ver: ").append(toIndentedString(ver)).append("\n");
-    sb.append("    verificationUri: ").append(toIndentedString(verificationUri)).append("\n");
+    appendIndented(sb.append("    appInstanceName: "), appInstanceName).append('\n');
+    appendIndented(sb.append("    aud: "), aud).append('\n');
+    appendIndented(sb.append("    authenticatorEnrollmentId: "), authenticatorEnrollmentId).append('\n');
+    appendIndented(sb.append("    authorizationServerId: "), authorizationServerId).append('\n');
+    appendIndented(sb.append("    challengeContext: "), challengeContext).append('\n');
+    appendIndented(sb.append("    exp: "), exp).append('\n');
+    appendIndented(sb.append("    iat: "), iat).append('\n');
+    appendIndented(sb.append("    iss: "), iss).append('\n');
+    appendIndented(sb.append("    jti: "), jti).append('\n');
+    appendIndented(sb.append("    method: "), method).append('\n');
+    appendIndented(sb.append("    methodEnrollmentId: "), methodEnrollmentId).append('\n');
+    appendIndented(sb.append("    nonce: "), nonce).append('\n');
+    appendIndented(sb.append("    orgId: "), orgId).append('\n');
+    appendIndented(sb.append("    signals: "), signals).append('\n');
+    appendIndented(sb.append("    transactionId: "), transactionId).append('\n');
+    appendIndented(sb.append("    userId: "), userId).append('\n');
+    appendIndented(sb.append("    userMediation: "), userMediation).append('\n');
+    appendIndented(sb.append("    userVerification: "), userVerification).append('\n');
+    appendIndented(sb.append("    ver: "), ver).append('\n');
+    appendIndented(sb.append("    verificationUri: "), verificationUri).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
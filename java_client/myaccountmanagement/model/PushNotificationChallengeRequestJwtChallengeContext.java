@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -73,12 +75,19 @@ public class PushNotificationChallengeRequestJwtChallengeContext {
       return String.valueOf(value);
     }
 
+    private static final Map<String, TransactionTypeEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (TransactionTypeEnum b : TransactionTypeEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static TransactionTypeEnum fromValue(String value) {
-      for (TransactionTypeEnum b : TransactionTypeEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      TransactionTypeEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -243,26 +252,32 @@ public class PushNotificationChallengeRequestJwtChallengeContext {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(272);
     sb.append("class PushNotificationChallengeRequestJwtChallengeContext {\n");
-    sb.append("    clientOS: ").append(toIndentedString(clientOS)).append("\n");
-    sb.append("    clientLocation: ").append(toIndentedString(clientLocation)).append("\n");
-    sb.append("    transactionTime: ").append(toIndentedString(transactionTime)).append("\n");
-    sb.append("    transactionType: ").append(toIndentedString(transactionType)).append("\n");
-    sb.append("    bindingMessage: ").append(toIndentedString(bindingMessage)).append("\n");
+    appendIndented(sb.append("    clientOS: "), clientOS).append('\n');
+    appendIndented(sb.append("    clientLocation: "), clientLocation).append('\n');
+    appendIndented(sb.append("    transactionTime: "), transactionTime).append('\n');
+    appendIndented(sb.append("    transactionType: "), transactionType).append('\n');
+    appendIndented(sb.append("    bindingMessage: "), bindingMessage).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
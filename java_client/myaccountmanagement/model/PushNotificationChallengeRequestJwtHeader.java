@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -64,12 +66,19 @@ public class PushNotificationChallengeRequestJwtHeader {
       return String.valueOf(value);
     }
 
+    private static final Map<String, TypEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (TypEnum b : TypEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static TypEnum fromValue(String value) {
-      for (TypEnum b : TypEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      TypEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -178,24 +187,30 @@ public class PushNotificationChallengeRequestJwtHeader {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(176);
     sb.append("class PushNotificationChallengeRequestJwtHeader {\n");
-    sb.append("    alg: ").append(toIndentedString(alg)).append("\n");
-    sb.append("    kid: ").append(toIndentedString(kid)).append("\n");
-    sb.append("    typ: ").append(toIndentedString(typ)).append("\n");
+    appendIndented(sb.append("    alg: "), alg).append('\n');
+    appendIndented(sb.append("    kid: "), kid).append('\n');
+    appendIndented(sb.append("    typ: "), typ).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
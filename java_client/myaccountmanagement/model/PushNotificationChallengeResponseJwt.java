@@ -14,7 +14,10 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -25,6 +28,7 @@ import com.okta.myaccount.myaccountmanagement.model.PushNotificationChallengeRes
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.okta.myaccount.myaccountmanagement.invoker.JacksonConfig;
+import com.okta.myaccount.myaccountmanagement.invoker.LazyJson;
 
 /**
  * JSON Web Token payload used for the push notification challenge response JWT
@@ -56,7 +60,9 @@ public class PushNotificationChallengeResponseJwt {
 
   public static final String JSON_PROPERTY_DEVICE_SIGNALS = "deviceSignals";
   @javax.annotation.Nullable
-  private PushNotificationChallengeResponseJwtDeviceSignals deviceSignals;
+  @JsonProperty(JSON_PROPERTY_DEVICE_SIGNALS)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  private LazyJson<PushNotificationChallengeResponseJwtDeviceSignals> deviceSignals;
 
   public static final String JSON_PROPERTY_EXP = "exp";
   @javax.annotation.Nonnull
@@ -98,12 +104,19 @@ public class PushNotificationChallengeResponseJwt {
       return String.valueOf(value);
     }
 
+    private static final Map<String, KeyTypeEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (KeyTypeEnum b : KeyTypeEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static KeyTypeEnum fromValue(String value) {
-      for (KeyTypeEnum b : KeyTypeEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      KeyTypeEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -188,7 +201,7 @@ public class PushNotificationChallengeResponseJwt {
 
   public PushNotificationChallengeResponseJwt deviceSignals(@javax.annotation.Nullable PushNotificationChallengeResponseJwtDeviceSignals deviceSignals) {
     
-    this.deviceSignals = deviceSignals;
+    this.deviceSignals = LazyJson.of(deviceSignals);
     return this;
   }
 
@@ -197,18 +210,16 @@ public class PushNotificationChallengeResponseJwt {
    * @return deviceSignals
    */
   @javax.annotation.Nullable
-  @JsonProperty(JSON_PROPERTY_DEVICE_SIGNALS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
 
   public PushNotificationChallengeResponseJwtDeviceSignals getDeviceSignals() {
-    return deviceSignals;
+    return LazyJson.get(deviceSignals);
   }
 
 
-  @JsonProperty(JSON_PROPERTY_DEVICE_SIGNALS)
-  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  @JsonIgnore
   public void setDeviceSignals(@javax.annotation.Nullable PushNotificationChallengeResponseJwtDeviceSignals deviceSignals) {
-    this.deviceSignals = deviceSignals;
+    this.deviceSignals = LazyJson.of(deviceSignals);
   }
 
   public PushNotificationChallengeResponseJwt exp(@javax.annotation.Nonnull String exp) {
@@ -492,34 +503,40 @@ public class PushNotificationChallengeResponseJwt {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(656);
     sb.append("class PushNotificationChallengeResponseJwt {\n");
-    sb.append("    aud: ").append(toIndentedString(aud)).append("\n");
-    sb.append("    challengeResponseContext: ").append(toIndentedString(challengeResponseContext)).append("\n");
-    sb.append("    deviceSignals: ").append(toIndentedString(deviceSignals)).append("\n");
-    sb.append("    exp: ").append(toIndentedString(exp)).append("\n");
-    sb.append("    iat: ").append(toIndentedString(iat)).append("\n");
-    sb.append("    iss: ").append(toIndentedString(iss)).append("\n");
-    sb.append("    jti: ").append(toIndentedString(jti)).append("\n");
-    sb.append("    keyType: ").append(toIndentedString(keyType)).append("\n");
-    sb.append("    methodEnrollmentId: ").append(toIndentedString(methodEnrollmentId)).append("\n");
-    sb.append("    nbf: ").append(toIndentedString(nbf)).append("\n");
-    sb.append("    nonce: ").append(toIndentedString(nonce)).append("\n");
-    sb.append("    sub: ").append(toIndentedString(sub)).append("\n");
-    sb.append("    tx: ").append(toIndentedString(tx)).append("\n");
+    appendIndented(sb.append("    aud: "), aud).append('\n');
+    appendIndented(sb.append("    challengeResponseContext: "), challengeResponseContext).append('\n');
+    appendIndented(sb.append("    deviceSignals: "), deviceSignals).append('\n');
+    appendIndented(sb.append("    exp: "), exp).append('\n');
+    appendIndented(sb.append("    iat: "), iat).append('\n');
+    appendIndented(sb.append("    iss: "), iss).append('\n');
+    appendIndented(sb.append("    jti: "), jti).append('\n');
+    appendIndented(sb.append("    keyType: "), keyType).append('\n');
+    appendIndented(sb.append("    methodEnrollmentId: "), methodEnrollmentId).append('\n');
+    appendIndented(sb.append("    nbf: "), nbf).append('\n');
+    appendIndented(sb.append("    nonce: "), nonce).append('\n');
+    appendIndented(sb.append("    sub: "), sub).append('\n');
+    appendIndented(sb.append("    tx: "), tx).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
@@ -14,6 +14,8 @@
 package com.okta.myaccount.myaccountmanagement.model;
 
 import java.util.Objects;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -70,12 +72,19 @@ public class PushNotificationChallengeResponseJwtChallengeResponseContext {
       return String.valueOf(value);
     }
 
+    private static final Map<String, UserConsentEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (UserConsentEnum b : UserConsentEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static UserConsentEnum fromValue(String value) {
-      for (UserConsentEnum b : UserConsentEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      UserConsentEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -109,12 +118,19 @@ public class PushNotificationChallengeResponseJwtChallengeResponseContext {
       return String.valueOf(value);
     }
 
+    private static final Map<String, TransactionTypeEnum> BY_VALUE = new HashMap<>();
+
+    static {
+      for (TransactionTypeEnum b : TransactionTypeEnum.values()) {
+        BY_VALUE.put(b.value, b);
+      }
+    }
+
     @JsonCreator
     public static TransactionTypeEnum fromValue(String value) {
-      for (TransactionTypeEnum b : TransactionTypeEnum.values()) {
-        if (b.value.equals(value)) {
-          return b;
-        }
+      TransactionTypeEnum b = BY_VALUE.get(value);
+      if (b != null) {
+        return b;
       }
       throw new IllegalArgumentException("Unexpected value '" + value + "'");
     }
@@ -197,23 +213,29 @@ public class PushNotificationChallengeResponseJwtChallengeResponseContext {
 
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(128);
     sb.append("class PushNotificationChallengeResponseJwtChallengeResponseContext {\n");
-    sb.append("    userConsent: ").append(toIndentedString(userConsent)).append("\n");
-    sb.append("    transactionType: ").append(toIndentedString(transactionType)).append("\n");
+    appendIndented(sb.append("    userConsent: "), userConsent).append('\n');
+    appendIndented(sb.append("    transactionType: "), transactionType).append('\n');
     sb.append("}");
     return sb.toString();
   }
 
   /**
-   * Convert the given object to string with each line indented by 4 spaces
+   * Append the given object's string form to the buffer with each line indented by 4 spaces
    * (except the first line).
    */
-  private String toIndentedString(Object o) {
+  private static StringBuilder appendIndented(StringBuilder sb, Object o) {
     if (o == null) {
-      return "null";
+      return sb.append("null");
+    }
+    String s = o.toString();
+    int start = 0;
+    for (int nl = s.indexOf('\n'); nl >= 0; nl = s.indexOf('\n', start)) {
+      sb.append(s, start, nl + 1).append("    ");
+      start = nl + 1;
     }
-    return o.toString().replace("\n", "\n    ");
+    return sb.append(s, start, s.length());
   }
 
 }
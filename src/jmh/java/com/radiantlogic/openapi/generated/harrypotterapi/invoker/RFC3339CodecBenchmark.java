@@ -0,0 +1,104 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link RFC3339Codec} with the JDK and Jackson paths it replaces.
+ *
+ * <p>Run with {@code mvn -Pbenchmark compile exec:exec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RFC3339CodecBenchmark {
+
+    private static final String TIMESTAMP = "2025-01-31T08:15:30.123+02:00";
+    private static final String JSON_TIMESTAMPS = "[\"2025-01-31T08:15:30.123Z\",\"2025-02-01T10:00:00Z\","
+        + "\"2025-02-02T23:59:59.999999+05:30\",\"2025-02-03T00:00:00-08:00\"]";
+
+    private OffsetDateTime offsetDateTime;
+    private Date date;
+    private DateFormat dateFormat;
+    private ObjectMapper jacksonMapper;
+    private ObjectMapper codecMapper;
+
+    @Setup
+    public void setUp() {
+        offsetDateTime = OffsetDateTime.parse(TIMESTAMP);
+        date = new Date(offsetDateTime.toInstant().toEpochMilli());
+        dateFormat = new RFC3339DateFormat();
+        jacksonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        codecMapper = new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new RFC3339JavaTimeModule());
+    }
+
+    @Benchmark
+    public OffsetDateTime parseOffsetDateTimeJdk() {
+        return OffsetDateTime.parse(TIMESTAMP, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseOffsetDateTimeCodec() {
+        return RFC3339Codec.parseOffsetDateTime(TIMESTAMP);
+    }
+
+    @Benchmark
+    public String formatOffsetDateTimeJdk() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime);
+    }
+
+    @Benchmark
+    public String formatOffsetDateTimeCodec() {
+        return RFC3339Codec.format(offsetDateTime);
+    }
+
+    @Benchmark
+    public Date parseDateFormat() throws ParseException {
+        return ((DateFormat) dateFormat.clone()).parse(TIMESTAMP);
+    }
+
+    @Benchmark
+    public Date parseDateCodec() throws ParseException {
+        return RFC3339Codec.parseDate(TIMESTAMP);
+    }
+
+    @Benchmark
+    public String formatDateFormat() {
+        return ((DateFormat) dateFormat.clone()).format(date);
+    }
+
+    @Benchmark
+    public String formatDateCodec() {
+        return RFC3339Codec.formatDate(date);
+    }
+
+    @Benchmark
+    public OffsetDateTime[] decodeJsonJackson() throws Exception {
+        return jacksonMapper.readValue(JSON_TIMESTAMPS, OffsetDateTime[].class);
+    }
+
+    @Benchmark
+    public OffsetDateTime[] decodeJsonCodec() throws Exception {
+        return codecMapper.readValue(JSON_TIMESTAMPS, OffsetDateTime[].class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.radiantlogic.custom.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link EntryCodec} for mapped entries, i.e. attribute name to value maps as held by a
+ * {@code SearchResultEntry}.
+ *
+ * <p>Strings, integers, longs, doubles, booleans, nulls and collections of these are stored with a
+ * one-byte type tag; any other value is stored as its {@code toString()}. Collections decode as
+ * lists and maps decode in their original attribute order.
+ */
+public final class AttributeMapCodec implements EntryCodec<Map<String, Object>> {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte TRUE = 5;
+    private static final byte FALSE = 6;
+    private static final byte LIST = 7;
+
+    @Override
+    public byte[] encode(Map<String, Object> entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + entry.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(entry.size());
+            for (Map.Entry<String, Object> attribute : entry.entrySet()) {
+                writeString(out, attribute.getKey());
+                writeValue(out, attribute.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode entry", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Map<String, Object> decode(ByteBuffer bytes) {
+        int size = bytes.getInt();
+        Map<String, Object> entry = new LinkedHashMap<String, Object>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            String name = readString(bytes);
+            entry.put(name, readValue(bytes));
+        }
+        return entry;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Collection) {
+            Collection<?> values = (Collection<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(values.size());
+            for (Object element : values) {
+                writeValue(out, element);
+            }
+        } else {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(ByteBuffer bytes) {
+        byte tag = bytes.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(bytes);
+            case INT:
+                return bytes.getInt();
+            case LONG:
+                return bytes.getLong();
+            case DOUBLE:
+                return bytes.getDouble();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case LIST:
+                int size = bytes.getInt();
+                List<Object> values = new ArrayList<Object>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readValue(bytes));
+                }
+                return values;
+            default:
+                throw new IllegalStateException("Corrupt cached entry: unknown value tag " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // Length-prefixed UTF-8; writeUTF would limit values to 64 KB
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer bytes) {
+        int length = bytes.getInt();
+        byte[] utf8 = new byte[length];
+        bytes.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
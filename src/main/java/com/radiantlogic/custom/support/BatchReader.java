@@ -0,0 +1,20 @@
+package com.radiantlogic.custom.support;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads several objects by primary key with one upstream call, for endpoints that filter a list on
+ * multiple values, e.g. {@code GET /emails?id=a,b,c}.
+ *
+ * @param <T> the entry type
+ */
+@FunctionalInterface
+public interface BatchReader<T> {
+
+    /**
+     * @param keys the distinct primary-key values of one batch
+     * @return the objects found, by key; keys without an object are left out
+     */
+    Map<String, T> read(List<String> keys);
+}
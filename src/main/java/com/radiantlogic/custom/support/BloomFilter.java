@@ -0,0 +1,85 @@
+package com.radiantlogic.custom.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over string keys, e.g. the primary keys of a locally replicated object type.
+ *
+ * <p>{@link #mightContain(String)} never returns false for a key that was added, and returns true
+ * for an absent key with about the configured false-positive probability. It is used to answer
+ * "this key certainly does not exist" without an upstream call. The bit positions come from one
+ * 64-bit {@link ContentHash} split into two halves (Kirsch-Mitzenmacher double hashing).
+ *
+ * <p>Keys can be added concurrently with lookups; a filter cannot shrink, so it is rebuilt when the
+ * replica is reloaded.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedKeys      the number of keys the filter is sized for
+     * @param falsePositiveRate the tolerated probability that an absent key is reported present
+     */
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("Expected keys must be greater than 0");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long wordCount = Math.max(1, (bits + 63) / 64);
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedKeys + " keys");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+    }
+
+    /**
+     * @param key the key to add
+     */
+    public void put(String key) {
+        long hash = ContentHash.of(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * @param key the key to test
+     * @return false if the key was certainly never added
+     */
+    public boolean mightContain(String key) {
+        long hash = ContentHash.of(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combined) {
+        return (combined & 0xffffffffL) % bitCount;
+    }
+}
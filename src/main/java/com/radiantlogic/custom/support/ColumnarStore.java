@@ -0,0 +1,674 @@
+package com.radiantlogic.custom.support;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Holds the cached entries of one object type column by column instead of as one attribute map per
+ * entry.
+ *
+ * <p>A map per entry repeats the hash table and the attribute names in every entry and boxes every
+ * number. Here the attribute names live once in the shared {@link EntrySchema}, and each attribute
+ * is a column: ints, longs and doubles in primitive arrays, booleans in a bit set, and strings
+ * dictionary-encoded as int codes, so a value shared by many entries (a department, a status, an
+ * object class) is stored once. Scans over one attribute, such as {@link #select(String, Object)},
+ * walk one primitive array instead of chasing a map per entry.
+ *
+ * <p>Entries are read through {@link EntryView}s, flyweights that hold only a row number and read
+ * the columns on access. A view of a removed entry throws {@link IllegalStateException}. The string
+ * dictionaries only grow, so values that are no longer used stay in them until {@link #clear()}.
+ * Thread-safe.
+ *
+ * <pre>
+ * ColumnarStore users = new ColumnarStore(EntrySchema.fromFieldTypes(fieldTypes));
+ * users.put("42", attributes);
+ * String department = users.get("42").getString("department");
+ * </pre>
+ */
+public final class ColumnarStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final EntrySchema schema;
+    private final Column[] columns;
+    private final Map<String, Integer> rowByKey = new HashMap<String, Integer>();
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] freeRows = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int rowCount;
+
+    /**
+     * @param schema the attributes of the object type
+     */
+    public ColumnarStore(EntrySchema schema) {
+        this.schema = schema;
+        this.columns = new Column[schema.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = newColumn(schema.getNames().get(i), schema.getType(i));
+        }
+    }
+
+    public EntrySchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Store an entry, replacing any previous entry with the same key.
+     *
+     * @param key        the primary key of the entry
+     * @param attributes the attribute values; every name must be in the schema and null values are
+     *                   treated as absent
+     * @throws IllegalArgumentException if an attribute is not in the schema or its value does not
+     *                                  fit the column type, e.g. a fraction or a number beyond the
+     *                                  range of an INT or LONG column
+     */
+    public synchronized void put(String key, Map<String, ?> attributes) {
+        Object[] row = new Object[columns.length];
+        for (Map.Entry<String, ?> attribute : attributes.entrySet()) {
+            int index = schema.indexOf(attribute.getKey());
+            if (index < 0) {
+                throw new IllegalArgumentException("Attribute not in schema: " + attribute.getKey());
+            }
+            row[index] = attribute.getValue();
+        }
+        // Check every value before writing so that a bad one leaves no half-written entry
+        for (int i = 0; i < columns.length; i++) {
+            if (row[i] != null) {
+                columns[i].check(row[i]);
+            }
+        }
+        Integer existing = rowByKey.get(key);
+        int target = existing != null ? existing : allocateRow();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(target, row[i]);
+        }
+        keys[target] = key;
+        rowByKey.put(key, target);
+    }
+
+    /**
+     * @param key the primary key
+     * @return a view of the entry, or null if it is not stored
+     */
+    public synchronized EntryView get(String key) {
+        Integer row = rowByKey.get(key);
+        return row != null ? new EntryView(row, key) : null;
+    }
+
+    /**
+     * @param key the primary key
+     * @return true if the entry was stored
+     */
+    public synchronized boolean remove(String key) {
+        Integer row = rowByKey.remove(key);
+        if (row == null) {
+            return false;
+        }
+        release(row);
+        return true;
+    }
+
+    /**
+     * Find the entries whose attribute equals a value, by scanning that attribute's column only.
+     * Strings are compared exactly.
+     *
+     * @param attribute the attribute name
+     * @param value     the value to match
+     * @return views of the matching entries
+     */
+    public synchronized List<EntryView> select(String attribute, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value must not be null");
+        }
+        BitSet matches = new BitSet(rowCount);
+        column(attribute).select(value, rowCount, matches);
+        List<EntryView> views = new ArrayList<EntryView>(matches.cardinality());
+        for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+            views.add(new EntryView(row, keys[row]));
+        }
+        return views;
+    }
+
+    /**
+     * Visit every entry. The same view instance is moved from entry to entry, so the action must not
+     * keep it; use {@link EntryView#toMap()} or copy values to retain them.
+     *
+     * @param action receives each entry
+     */
+    public synchronized void forEach(Consumer<? super EntryView> action) {
+        EntryView cursor = new EntryView(-1, null);
+        for (int row = 0; row < rowCount; row++) {
+            if (keys[row] != null) {
+                cursor.row = row;
+                cursor.key = keys[row];
+                action.accept(cursor);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return rowByKey.size();
+    }
+
+    /**
+     * Drop every entry and the string dictionaries.
+     */
+    public synchronized void clear() {
+        rowByKey.clear();
+        keys = new String[INITIAL_CAPACITY];
+        freeRows = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        rowCount = 0;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = newColumn(schema.getNames().get(i), schema.getType(i));
+        }
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            for (Column column : columns) {
+                column.grow(capacity);
+            }
+        }
+        return rowCount++;
+    }
+
+    private void release(int row) {
+        for (Column column : columns) {
+            column.set(row, null);
+        }
+        keys[row] = null;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    private Column column(String attribute) {
+        int index = schema.indexOf(attribute);
+        if (index < 0) {
+            throw new IllegalArgumentException("Attribute not in schema: " + attribute);
+        }
+        return columns[index];
+    }
+
+    private synchronized Object read(EntryView view, String attribute, EntrySchema.ColumnType expected) {
+        checkLive(view);
+        Column column = column(attribute);
+        if (expected != null && column.type != expected) {
+            throw new IllegalArgumentException("Attribute " + attribute + " is " + column.type + ", not " + expected);
+        }
+        return column.get(view.row);
+    }
+
+    /**
+     * A view outlives its row when the entry is removed or the store is cleared; after a clear the
+     * row may even lie beyond the shrunk arrays.
+     */
+    private void checkLive(EntryView view) {
+        if (view.row < 0 || view.row >= keys.length || !view.key.equals(keys[view.row])) {
+            throw new IllegalStateException("Entry was removed: " + view.key);
+        }
+    }
+
+    private synchronized Map<String, Object> readAll(EntryView view) {
+        checkLive(view);
+        Map<String, Object> attributes = new LinkedHashMap<String, Object>();
+        for (Column column : columns) {
+            Object value = column.get(view.row);
+            if (value != null) {
+                attributes.put(column.name, value);
+            }
+        }
+        return attributes;
+    }
+
+    private static Column newColumn(String name, EntrySchema.ColumnType type) {
+        switch (type) {
+            case INT:
+                return new IntColumn(name);
+            case LONG:
+                return new LongColumn(name);
+            case DOUBLE:
+                return new DoubleColumn(name);
+            case BOOLEAN:
+                return new BooleanColumn(name);
+            case STRING:
+                return new StringColumn(name);
+            default:
+                return new ObjectColumn(name);
+        }
+    }
+
+    /**
+     * A flyweight view of one stored entry; it holds no attribute values itself.
+     */
+    public final class EntryView {
+        private int row;
+        private String key;
+
+        EntryView(int row, String key) {
+            this.row = row;
+            this.key = key;
+        }
+
+        /**
+         * @return the primary key of the entry
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @param attribute the attribute name
+         * @return the value, boxed, or null if the entry has none
+         */
+        public Object get(String attribute) {
+            return read(this, attribute, null);
+        }
+
+        /**
+         * @param attribute the name of an INT attribute
+         * @return the value, or null if the entry has none
+         */
+        public Integer getInt(String attribute) {
+            return (Integer) read(this, attribute, EntrySchema.ColumnType.INT);
+        }
+
+        /**
+         * @param attribute the name of a LONG attribute
+         * @return the value, or null if the entry has none
+         */
+        public Long getLong(String attribute) {
+            return (Long) read(this, attribute, EntrySchema.ColumnType.LONG);
+        }
+
+        /**
+         * @param attribute the name of a BOOLEAN attribute
+         * @return the value, or null if the entry has none
+         */
+        public Boolean getBoolean(String attribute) {
+            return (Boolean) read(this, attribute, EntrySchema.ColumnType.BOOLEAN);
+        }
+
+        /**
+         * @param attribute the name of a STRING attribute
+         * @return the value, or null if the entry has none
+         */
+        public String getString(String attribute) {
+            return (String) read(this, attribute, EntrySchema.ColumnType.STRING);
+        }
+
+        /**
+         * @return a copy of the entry's attributes in schema order, without absent ones
+         */
+        public Map<String, Object> toMap() {
+            return readAll(this);
+        }
+
+        @Override
+        public String toString() {
+            return key + " " + toMap();
+        }
+    }
+
+    private abstract static class Column {
+        final String name;
+        final EntrySchema.ColumnType type;
+        final BitSet present = new BitSet();
+
+        Column(String name, EntrySchema.ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        void set(int row, Object value) {
+            if (value == null) {
+                present.clear(row);
+                clear(row);
+            } else {
+                store(row, value);
+                present.set(row);
+            }
+        }
+
+        Object get(int row) {
+            return present.get(row) ? load(row) : null;
+        }
+
+        void clear(int row) {
+        }
+
+        void check(Object value) {
+        }
+
+        IllegalArgumentException mismatch(Object value) {
+            return new IllegalArgumentException("Attribute " + name + " is " + type + ", got: " + value);
+        }
+
+        /**
+         * @return the value as a long, if that loses neither a fraction nor high-order bits
+         * @throws IllegalArgumentException otherwise, or if a string value is not a number
+         */
+        long toExactLong(Object value) {
+            try {
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    return ((Number) value).longValue();
+                }
+                if (value instanceof BigInteger) {
+                    return ((BigInteger) value).longValueExact();
+                }
+                if (value instanceof BigDecimal) {
+                    return ((BigDecimal) value).longValueExact();
+                }
+                if (value instanceof Number) {
+                    double d = ((Number) value).doubleValue();
+                    // Long.MAX_VALUE rounds up to 2^63 as a double, so the upper bound is exclusive.
+                    if (d != Math.rint(d) || d < Long.MIN_VALUE || d >= 0x1p63) {
+                        throw mismatch(value);
+                    }
+                    return (long) d;
+                }
+                return Long.parseLong(value.toString().trim());
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw mismatch(value);
+            }
+        }
+
+        abstract void grow(int capacity);
+
+        abstract void store(int row, Object value);
+
+        abstract Object load(int row);
+
+        abstract void select(Object value, int rowCount, BitSet matches);
+    }
+
+    private static final class IntColumn extends Column {
+        private int[] values = new int[INITIAL_CAPACITY];
+
+        IntColumn(String name) {
+            super(name, EntrySchema.ColumnType.INT);
+        }
+
+        @Override
+        void check(Object value) {
+            toInt(value);
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int row, Object value) {
+            values[row] = toInt(value);
+        }
+
+        @Override
+        Object load(int row) {
+            return values[row];
+        }
+
+        @Override
+        void select(Object value, int rowCount, BitSet matches) {
+            int target = toInt(value);
+            for (int row = 0; row < rowCount; row++) {
+                if (values[row] == target && present.get(row)) {
+                    matches.set(row);
+                }
+            }
+        }
+
+        private int toInt(Object value) {
+            long exact = toExactLong(value);
+            if (exact != (int) exact) {
+                throw mismatch(value);
+            }
+            return (int) exact;
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        LongColumn(String name) {
+            super(name, EntrySchema.ColumnType.LONG);
+        }
+
+        @Override
+        void check(Object value) {
+            toLong(value);
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int row, Object value) {
+            values[row] = toLong(value);
+        }
+
+        @Override
+        Object load(int row) {
+            return values[row];
+        }
+
+        @Override
+        void select(Object value, int rowCount, BitSet matches) {
+            long target = toLong(value);
+            for (int row = 0; row < rowCount; row++) {
+                if (values[row] == target && present.get(row)) {
+                    matches.set(row);
+                }
+            }
+        }
+
+        private long toLong(Object value) {
+            return toExactLong(value);
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        DoubleColumn(String name) {
+            super(name, EntrySchema.ColumnType.DOUBLE);
+        }
+
+        @Override
+        void check(Object value) {
+            toDouble(value);
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int row, Object value) {
+            values[row] = toDouble(value);
+        }
+
+        @Override
+        Object load(int row) {
+            return values[row];
+        }
+
+        @Override
+        void select(Object value, int rowCount, BitSet matches) {
+            double target = toDouble(value);
+            for (int row = 0; row < rowCount; row++) {
+                if (Double.compare(values[row], target) == 0 && present.get(row)) {
+                    matches.set(row);
+                }
+            }
+        }
+
+        private double toDouble(Object value) {
+            try {
+                return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException e) {
+                throw mismatch(value);
+            }
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        private final BitSet values = new BitSet();
+
+        BooleanColumn(String name) {
+            super(name, EntrySchema.ColumnType.BOOLEAN);
+        }
+
+        @Override
+        void check(Object value) {
+            toBoolean(value);
+        }
+
+        @Override
+        void grow(int capacity) {
+            // BitSet grows on demand
+        }
+
+        @Override
+        void store(int row, Object value) {
+            values.set(row, toBoolean(value));
+        }
+
+        @Override
+        void clear(int row) {
+            values.clear(row);
+        }
+
+        @Override
+        Object load(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        void select(Object value, int rowCount, BitSet matches) {
+            BitSet selected = (BitSet) present.clone();
+            if (toBoolean(value)) {
+                selected.and(values);
+            } else {
+                selected.andNot(values);
+            }
+            matches.or(selected);
+        }
+
+        private boolean toBoolean(Object value) {
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            }
+            String text = value.toString().trim().toLowerCase(Locale.ROOT);
+            if (text.equals("true") || text.equals("false")) {
+                return text.equals("true");
+            }
+            throw mismatch(value);
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        private final List<String> dictionary = new ArrayList<String>();
+        private final Map<String, Integer> codes = new HashMap<String, Integer>();
+        private int[] values = new int[INITIAL_CAPACITY];
+
+        StringColumn(String name) {
+            super(name, EntrySchema.ColumnType.STRING);
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int row, Object value) {
+            String text = value.toString();
+            Integer code = codes.get(text);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(text);
+                codes.put(text, code);
+            }
+            values[row] = code;
+        }
+
+        @Override
+        Object load(int row) {
+            return dictionary.get(values[row]);
+        }
+
+        @Override
+        void select(Object value, int rowCount, BitSet matches) {
+            // Compare int codes; a value missing from the dictionary matches nothing
+            Integer code = codes.get(value.toString());
+            if (code == null) {
+                return;
+            }
+            int target = code;
+            for (int row = 0; row < rowCount; row++) {
+                if (values[row] == target && present.get(row)) {
+                    matches.set(row);
+                }
+            }
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private Object[] values = new Object[INITIAL_CAPACITY];
+
+        ObjectColumn(String name) {
+            super(name, EntrySchema.ColumnType.OBJECT);
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        void clear(int row) {
+            values[row] = null;
+        }
+
+        @Override
+        Object load(int row) {
+            return values[row];
+        }
+
+        @Override
+        void select(Object value, int rowCount, BitSet matches) {
+            for (int row = 0; row < rowCount; row++) {
+                if (value.equals(values[row])) {
+                    matches.set(row);
+                }
+            }
+        }
+    }
+}
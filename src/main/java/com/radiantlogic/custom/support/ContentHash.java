@@ -0,0 +1,168 @@
+package com.radiantlogic.custom.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stable 64-bit content hashes for upstream payloads and mapped entries.
+ *
+ * <p>Hashes are FNV-1a over a canonical encoding of the value, finished with a 64-bit mix so that
+ * nearby inputs spread across the whole range. Map keys are visited in sorted order, so two
+ * entries with the same attributes hash identically regardless of how the upstream ordered its
+ * JSON properties. The values are stable across JVM runs and can be persisted.
+ */
+public final class ContentHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Type tags keep e.g. the string "1" and the number 1 from colliding.
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_NUMBER = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_MAP = 4;
+    private static final byte TAG_LIST = 5;
+    private static final byte TAG_BYTES = 6;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Hash raw bytes, e.g. the undecoded body of an upstream page.
+     *
+     * @param bytes the bytes to hash
+     * @return the 64-bit hash
+     */
+    public static long of(byte[] bytes) {
+        return mix(update(FNV_OFFSET, bytes));
+    }
+
+    /**
+     * Hash a decoded value. Maps, collections, arrays, strings, numbers and booleans are encoded
+     * structurally; any other object is hashed through its {@code toString()}.
+     *
+     * @param value the value to hash, may be null
+     * @return the 64-bit hash
+     */
+    public static long of(Object value) {
+        return mix(update(FNV_OFFSET, value));
+    }
+
+    /**
+     * Combine entry hashes into an order-independent summary, used as the root of a page or
+     * partition. Equal sets of entry hashes always produce the same root.
+     *
+     * @param hashes the entry hashes
+     * @return the combined hash
+     */
+    public static long combine(Collection<Long> hashes) {
+        long sum = 0;
+        long xor = 0;
+        for (Long h : hashes) {
+            long m = mix(h);
+            sum += m;
+            xor ^= m;
+        }
+        return mix(sum * 31 + xor + hashes.size());
+    }
+
+    private static long update(long h, Object value) {
+        if (value == null) {
+            return updateByte(h, TAG_NULL);
+        }
+        if (value instanceof CharSequence) {
+            h = updateByte(h, TAG_STRING);
+            return update(h, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (value instanceof Number) {
+            h = updateByte(h, TAG_NUMBER);
+            return update(h, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (value instanceof Boolean) {
+            h = updateByte(h, TAG_BOOLEAN);
+            return updateByte(h, (Boolean) value ? (byte) 1 : (byte) 0);
+        }
+        if (value instanceof byte[]) {
+            h = updateByte(h, TAG_BYTES);
+            return update(h, (byte[]) value);
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            List<String> keys = new ArrayList<String>(map.size());
+            for (Object key : map.keySet()) {
+                keys.add(String.valueOf(key));
+            }
+            Collections.sort(keys);
+            h = updateByte(h, TAG_MAP);
+            h = updateInt(h, keys.size());
+            for (String key : keys) {
+                h = update(h, key);
+                h = update(h, lookup(map, key));
+            }
+            return h;
+        }
+        if (value instanceof Collection) {
+            Collection<?> items = (Collection<?>) value;
+            h = updateByte(h, TAG_LIST);
+            h = updateInt(h, items.size());
+            for (Object item : items) {
+                h = update(h, item);
+            }
+            return h;
+        }
+        if (value instanceof Object[]) {
+            Object[] items = (Object[]) value;
+            h = updateByte(h, TAG_LIST);
+            h = updateInt(h, items.length);
+            for (Object item : items) {
+                h = update(h, item);
+            }
+            return h;
+        }
+        h = updateByte(h, TAG_STRING);
+        return update(h, value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object lookup(Map<?, ?> map, String key) {
+        if (map.containsKey(key)) {
+            return map.get(key);
+        }
+        // Non-String keys were stringified for ordering; find the original.
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (key.equals(String.valueOf(entry.getKey()))) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static long update(long h, byte[] bytes) {
+        h = updateInt(h, bytes.length);
+        for (byte b : bytes) {
+            h = updateByte(h, b);
+        }
+        return h;
+    }
+
+    private static long updateInt(long h, int value) {
+        h = updateByte(h, (byte) (value >>> 24));
+        h = updateByte(h, (byte) (value >>> 16));
+        h = updateByte(h, (byte) (value >>> 8));
+        return updateByte(h, (byte) value);
+    }
+
+    private static long updateByte(long h, byte b) {
+        return (h ^ (b & 0xff)) * FNV_PRIME;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,44 @@
+package com.radiantlogic.custom.support;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts cached entries to and from the compact form kept off-heap by {@link TieredEntryCache}.
+ *
+ * @param <T> the entry type
+ */
+public interface EntryCodec<T> {
+
+    /**
+     * @param entry the entry
+     * @return its serialized form
+     */
+    byte[] encode(T entry);
+
+    /**
+     * @param bytes the serialized form, from position to limit; the buffer is only valid during
+     *              the call
+     * @return the decoded entry
+     */
+    T decode(ByteBuffer bytes);
+
+    /**
+     * @return a codec storing strings as UTF-8
+     */
+    static EntryCodec<String> utf8() {
+        return new EntryCodec<String>() {
+            @Override
+            public byte[] encode(String entry) {
+                return entry.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(ByteBuffer bytes) {
+                byte[] copy = new byte[bytes.remaining()];
+                bytes.get(copy);
+                return new String(copy, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
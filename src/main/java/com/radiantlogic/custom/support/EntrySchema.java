@@ -0,0 +1,121 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The attributes of one object type and the column type each is stored in by a
+ * {@link ColumnarStore}.
+ *
+ * <p>One schema is shared by every entry of the type, so attribute names are held once per type
+ * instead of once per entry. Attribute names are matched case-insensitively, as in LDAP.
+ */
+public final class EntrySchema {
+
+    public enum ColumnType {
+        /** A primitive int column. */
+        INT,
+        /** A primitive long column. */
+        LONG,
+        /** A primitive double column. */
+        DOUBLE,
+        /** A bit column. */
+        BOOLEAN,
+        /** A dictionary-encoded string column: each distinct value is stored once. */
+        STRING,
+        /** Any other value, e.g. multi-valued attributes, stored as is. */
+        OBJECT
+    }
+
+    private final List<String> names;
+    private final List<ColumnType> types;
+    private final Map<String, Integer> indexByName = new HashMap<String, Integer>();
+
+    /**
+     * @param columns the attribute names and their column types, in attribute order
+     */
+    public EntrySchema(Map<String, ColumnType> columns) {
+        List<String> names = new ArrayList<String>(columns.size());
+        List<ColumnType> types = new ArrayList<ColumnType>(columns.size());
+        for (Map.Entry<String, ColumnType> column : columns.entrySet()) {
+            if (indexByName.put(normalizeName(column.getKey()), names.size()) != null) {
+                throw new IllegalArgumentException("Duplicate attribute: " + column.getKey());
+            }
+            names.add(column.getKey());
+            types.add(column.getValue());
+        }
+        this.names = Collections.unmodifiableList(names);
+        this.types = Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Build a schema from the data types of the fields of a {@code SchemaObject}, e.g. "STRING",
+     * "INTEGER" or "BOOLEAN". Unknown data types are stored as {@link ColumnType#OBJECT}.
+     *
+     * @param fieldTypes the field names and their data types, in field order
+     * @return the schema
+     */
+    public static EntrySchema fromFieldTypes(Map<String, String> fieldTypes) {
+        Map<String, ColumnType> columns = new LinkedHashMap<String, ColumnType>();
+        for (Map.Entry<String, String> field : fieldTypes.entrySet()) {
+            columns.put(field.getKey(), columnType(field.getValue()));
+        }
+        return new EntrySchema(columns);
+    }
+
+    /**
+     * @return the attribute names in attribute order
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * @param name an attribute name, in any case
+     * @return the position of the attribute, or -1 if it is not in the schema
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(normalizeName(name));
+        return index != null ? index : -1;
+    }
+
+    public ColumnType getType(int index) {
+        return types.get(index);
+    }
+
+    private static ColumnType columnType(String dataType) {
+        switch (dataType == null ? "" : dataType.trim().toUpperCase(Locale.ROOT)) {
+            case "INT":
+            case "INTEGER":
+                return ColumnType.INT;
+            case "LONG":
+                return ColumnType.LONG;
+            case "DOUBLE":
+            case "FLOAT":
+            case "NUMBER":
+            case "DECIMAL":
+                return ColumnType.DOUBLE;
+            case "BOOL":
+            case "BOOLEAN":
+                return ColumnType.BOOLEAN;
+            case "STRING":
+            case "TEXT":
+                return ColumnType.STRING;
+            default:
+                return ColumnType.OBJECT;
+        }
+    }
+
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
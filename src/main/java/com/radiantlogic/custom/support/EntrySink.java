@@ -0,0 +1,19 @@
+package com.radiantlogic.custom.support;
+
+/**
+ * Receives search result entries one at a time as they are mapped.
+ *
+ * @param <T> the entry type
+ */
+@FunctionalInterface
+public interface EntrySink<T> {
+
+    /**
+     * Hand one entry to the consumer. Blocks while the consumer is behind, which in turn holds back
+     * further upstream page requests.
+     *
+     * @param entry the mapped entry
+     * @return false if the consumer has gone away and the producer should stop
+     */
+    boolean emit(T entry);
+}
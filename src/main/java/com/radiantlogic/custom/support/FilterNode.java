@@ -0,0 +1,377 @@
+package com.radiantlogic.custom.support;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A parsed LDAP search filter (RFC 4515).
+ *
+ * <p>Used by the connector planners to recognise filter shapes that map onto cheaper upstream
+ * calls, such as primary-key equality, and to check an entry read by key against the filter of the
+ * search. Extensible matches are not supported; any filter that cannot
+ * be parsed is rejected with an {@link IllegalArgumentException}, and callers fall back to a scan.
+ * Instances are immutable.
+ */
+public final class FilterNode {
+
+    public enum Type {
+        AND, OR, NOT, EQUALITY, SUBSTRING, GREATER_OR_EQUAL, LESS_OR_EQUAL, APPROX, PRESENT
+    }
+
+    private final Type type;
+    private final String attribute;
+    private final String value;
+    private final List<FilterNode> children;
+
+    private FilterNode(Type type, String attribute, String value, List<FilterNode> children) {
+        this.type = type;
+        this.attribute = attribute;
+        this.value = value;
+        this.children = children;
+    }
+
+    /**
+     * @param filter the string form of the filter, e.g. {@code (&(objectClass=book)(index=3))}; the
+     *               outer parentheses may be omitted
+     * @return the parsed filter
+     * @throws IllegalArgumentException if the filter is malformed
+     */
+    public static FilterNode parse(String filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        String text = filter.trim();
+        if (!text.startsWith("(")) {
+            text = "(" + text + ")";
+        }
+        Parser parser = new Parser(text);
+        FilterNode node = parser.filter();
+        if (parser.pos != text.length()) {
+            throw new IllegalArgumentException("Unexpected trailing characters in filter: " + filter);
+        }
+        return node;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the attribute of a simple filter, null for AND, OR and NOT
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return the unescaped assertion value; for SUBSTRING the raw pattern with {@code *} wildcards
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the sub-filters of AND, OR and NOT, empty for simple filters
+     */
+    public List<FilterNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * @param name the attribute name, compared case-insensitively as LDAP does
+     * @return true if this is a simple filter on that attribute
+     */
+    public boolean isOn(String name) {
+        return attribute != null && attribute.equalsIgnoreCase(name);
+    }
+
+    /**
+     * @return true if this filter only selects an object class, e.g. {@code (objectClass=book)}
+     */
+    public boolean isObjectClassSelector() {
+        return isOn("objectClass") && (type == Type.EQUALITY || type == Type.PRESENT);
+    }
+
+    /**
+     * Evaluate this filter against an entry. Values are compared as strings ignoring case, and
+     * ordering filters compare numerically when both sides are numbers; approximate match is
+     * treated as equality.
+     *
+     * @param values the values of an attribute of the entry by lower-cased name, empty or null if it
+     *               has none
+     * @return true if the entry matches
+     */
+    public boolean matches(Function<String, ? extends Collection<?>> values) {
+        switch (type) {
+            case AND:
+                for (FilterNode child : children) {
+                    if (!child.matches(values)) {
+                        return false;
+                    }
+                }
+                return true;
+            case OR:
+                for (FilterNode child : children) {
+                    if (child.matches(values)) {
+                        return true;
+                    }
+                }
+                return false;
+            case NOT:
+                return !children.get(0).matches(values);
+            default:
+                break;
+        }
+        Collection<?> actual = values.apply(attribute.toLowerCase(Locale.ROOT));
+        if (actual == null) {
+            return false;
+        }
+        for (Object candidate : actual) {
+            if (candidate != null && (type == Type.PRESENT || matchesValue(candidate.toString()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesValue(String candidate) {
+        switch (type) {
+            case SUBSTRING:
+                return matchesSubstring(candidate.toLowerCase(Locale.ROOT));
+            case GREATER_OR_EQUAL:
+                return compare(candidate, value) >= 0;
+            case LESS_OR_EQUAL:
+                return compare(candidate, value) <= 0;
+            default:
+                return candidate.equalsIgnoreCase(value);
+        }
+    }
+
+    private boolean matchesSubstring(String candidate) {
+        String[] parts = value.split("\\*", -1);
+        Parser parser = new Parser(value);
+        int pos = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parser.unescape(parts[i]).toLowerCase(Locale.ROOT);
+            if (i == 0) {
+                if (!candidate.startsWith(part)) {
+                    return false;
+                }
+                pos = part.length();
+            } else if (i == parts.length - 1) {
+                return candidate.length() - part.length() >= pos && candidate.endsWith(part);
+            } else {
+                int found = candidate.indexOf(part, pos);
+                if (found < 0) {
+                    return false;
+                }
+                pos = found + part.length();
+            }
+        }
+        return true;
+    }
+
+    private static int compare(String candidate, String asserted) {
+        try {
+            return new BigDecimal(candidate.trim()).compareTo(new BigDecimal(asserted.trim()));
+        } catch (NumberFormatException e) {
+            return candidate.compareToIgnoreCase(asserted);
+        }
+    }
+
+    /**
+     * The canonical form of this filter, so that equivalent filters compare equal as strings.
+     *
+     * <p>Attribute names are lower-cased, the terms of AND and OR are de-duplicated and sorted, and an
+     * AND or OR of a single term is replaced by that term. Assertion values keep their case, except
+     * for objectClass whose values are case-insensitive names.
+     *
+     * @return the canonical filter
+     */
+    public FilterNode canonical() {
+        if (type == Type.NOT) {
+            return new FilterNode(type, null, null, Collections.singletonList(children.get(0).canonical()));
+        }
+        if (type == Type.AND || type == Type.OR) {
+            TreeMap<String, FilterNode> terms = new TreeMap<String, FilterNode>();
+            for (FilterNode child : children) {
+                FilterNode term = child.canonical();
+                terms.put(term.toString(), term);
+            }
+            if (terms.size() == 1) {
+                return terms.firstEntry().getValue();
+            }
+            return new FilterNode(type, null, null, Collections.unmodifiableList(new ArrayList<FilterNode>(terms.values())));
+        }
+        String name = attribute.toLowerCase(Locale.ROOT);
+        String canonicalValue = value != null && isObjectClassSelector() ? value.toLowerCase(Locale.ROOT) : value;
+        return new FilterNode(type, name, canonicalValue, children);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("(");
+        switch (type) {
+            case AND:
+            case OR:
+            case NOT:
+                text.append(type == Type.AND ? '&' : type == Type.OR ? '|' : '!');
+                for (FilterNode child : children) {
+                    text.append(child);
+                }
+                break;
+            case PRESENT:
+                text.append(attribute).append("=*");
+                break;
+            case SUBSTRING:
+                text.append(attribute).append('=').append(value);
+                break;
+            default:
+                text.append(attribute).append(operator(type)).append(escape(value));
+        }
+        return text.append(')').toString();
+    }
+
+    private static String operator(Type type) {
+        switch (type) {
+            case GREATER_OR_EQUAL:
+                return ">=";
+            case LESS_OR_EQUAL:
+                return "<=";
+            case APPROX:
+                return "~=";
+            default:
+                return "=";
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '*' || c == '(' || c == ')' || c == '\\' || c == 0) {
+                escaped.append('\\').append(String.format("%02x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        FilterNode filter() {
+            expect('(');
+            if (pos >= text.length()) {
+                throw error("Unterminated filter");
+            }
+            char c = text.charAt(pos);
+            FilterNode node;
+            if (c == '&' || c == '|') {
+                pos++;
+                List<FilterNode> children = new ArrayList<FilterNode>();
+                while (pos < text.length() && text.charAt(pos) == '(') {
+                    children.add(filter());
+                }
+                node = new FilterNode(c == '&' ? Type.AND : Type.OR, null, null, Collections.unmodifiableList(children));
+            } else if (c == '!') {
+                pos++;
+                node = new FilterNode(Type.NOT, null, null, Collections.singletonList(filter()));
+            } else {
+                node = item();
+            }
+            expect(')');
+            return node;
+        }
+
+        private FilterNode item() {
+            int start = pos;
+            while (pos < text.length() && "=<>~()".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String attribute = text.substring(start, pos).trim();
+            if (attribute.isEmpty() || pos >= text.length()) {
+                throw error("Missing attribute or operator");
+            }
+            Type type;
+            char op = text.charAt(pos);
+            if (op == '=') {
+                pos++;
+                type = Type.EQUALITY;
+            } else if ((op == '>' || op == '<' || op == '~') && pos + 1 < text.length() && text.charAt(pos + 1) == '=') {
+                pos += 2;
+                type = op == '>' ? Type.GREATER_OR_EQUAL : op == '<' ? Type.LESS_OR_EQUAL : Type.APPROX;
+            } else {
+                throw error("Unsupported filter operator");
+            }
+            int valueStart = pos;
+            while (pos < text.length() && text.charAt(pos) != ')') {
+                if (text.charAt(pos) == '(') {
+                    throw error("Unescaped '(' in assertion value");
+                }
+                pos++;
+            }
+            String raw = text.substring(valueStart, pos);
+            if (type == Type.EQUALITY && raw.equals("*")) {
+                return new FilterNode(Type.PRESENT, attribute, null, Collections.<FilterNode>emptyList());
+            }
+            if (type == Type.EQUALITY && raw.indexOf('*') >= 0) {
+                return new FilterNode(Type.SUBSTRING, attribute, raw, Collections.<FilterNode>emptyList());
+            }
+            return new FilterNode(type, attribute, unescape(raw), Collections.<FilterNode>emptyList());
+        }
+
+        private String unescape(String raw) {
+            if (raw.indexOf('\\') < 0) {
+                return raw;
+            }
+            // Escapes are UTF-8 bytes (\xx), so decode them together with the literal characters.
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length());
+            int i = 0;
+            while (i < raw.length()) {
+                if (raw.charAt(i) == '\\') {
+                    if (i + 3 > raw.length()) {
+                        throw error("Truncated escape in assertion value");
+                    }
+                    try {
+                        bytes.write(Integer.parseInt(raw.substring(i + 1, i + 3), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid escape in assertion value");
+                    }
+                    i += 3;
+                } else {
+                    int end = i + Character.charCount(raw.codePointAt(i));
+                    byte[] encoded = raw.substring(i, end).getBytes(StandardCharsets.UTF_8);
+                    bytes.write(encoded, 0, encoded.length);
+                    i = end;
+                }
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        private void expect(char c) {
+            if (pos >= text.length() || text.charAt(pos) != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " of filter " + text);
+        }
+    }
+}
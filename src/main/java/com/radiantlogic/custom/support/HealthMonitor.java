@@ -0,0 +1,324 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the health probes of a connector's upstream endpoints concurrently and caches the result.
+ *
+ * <p>All probes are started at once and share one overall deadline, so checking ten endpoints takes
+ * as long as the slowest one, not the sum of all. A probe that has not finished by the deadline is
+ * cancelled and reported as timed out; the others still report their own status, so one failing
+ * endpoint never hides the state of the rest.
+ *
+ * <p>{@link #current()} serves the last report while it is younger than the cache age, so repeated
+ * admin or UI probes return immediately without calling the upstream. Concurrent callers that find
+ * the report stale share one check. With {@link #setRefreshAfter(long, TimeUnit)} a caller that
+ * finds the report aging still gets it at once and starts one check in the background, so regular
+ * callers never wait and an idle monitor never calls the upstream. {@link #start(long, TimeUnit)}
+ * instead refreshes the report periodically on the {@link SupportExecutors#scheduler() shared
+ * scheduler} until {@link #close()}.
+ *
+ * <pre>
+ * HealthMonitor monitor = new HealthMonitor(10, TimeUnit.SECONDS, 30, TimeUnit.SECONDS)
+ *         .setRefreshAfter(15, TimeUnit.SECONDS)
+ *         .addProbe("books", () -&gt; booksApi.booksGet(1, 1, null, null))
+ *         .addProbe("spells", () -&gt; spellsApi.spellsGet(1, 1, null, null));
+ * HealthMonitor.Report report = monitor.current();
+ * </pre>
+ */
+public final class HealthMonitor implements AutoCloseable {
+
+    /**
+     * A check of one endpoint; it passes unless it throws.
+     */
+    @FunctionalInterface
+    public interface Probe {
+        void check() throws Exception;
+    }
+
+    /**
+     * The status of one endpoint.
+     */
+    public static final class EndpointStatus {
+        private final String name;
+        private final boolean healthy;
+        private final String message;
+        private final long latencyMillis;
+
+        EndpointStatus(String name, boolean healthy, String message, long latencyMillis) {
+            this.name = name;
+            this.healthy = healthy;
+            this.message = message;
+            this.latencyMillis = latencyMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * @return "OK", the failure message, or "timed out"
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        public long getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + message + " (" + latencyMillis + " ms)";
+        }
+    }
+
+    /**
+     * The statuses of all endpoints from one check.
+     */
+    public static final class Report {
+        private final List<EndpointStatus> endpoints;
+        private final long checkedAtNanos;
+
+        Report(List<EndpointStatus> endpoints, long checkedAtNanos) {
+            this.endpoints = Collections.unmodifiableList(endpoints);
+            this.checkedAtNanos = checkedAtNanos;
+        }
+
+        /**
+         * @return the status of each endpoint, in the order the probes were added
+         */
+        public List<EndpointStatus> getEndpoints() {
+            return endpoints;
+        }
+
+        /**
+         * @return true if every endpoint is healthy
+         */
+        public boolean isHealthy() {
+            for (EndpointStatus endpoint : endpoints) {
+                if (!endpoint.isHealthy()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return one line per endpoint, for the test connection message
+         */
+        public String summary() {
+            StringBuilder text = new StringBuilder();
+            for (EndpointStatus endpoint : endpoints) {
+                text.append(text.length() == 0 ? "" : "; ").append(endpoint);
+            }
+            return text.toString();
+        }
+
+        long getCheckedAtNanos() {
+            return checkedAtNanos;
+        }
+    }
+
+    private final Map<String, Probe> probes = new LinkedHashMap<String, Probe>();
+    private final long deadlineNanos;
+    private final long maxAgeNanos;
+    private final Object checkLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private ExecutorService executor = SupportExecutors.shared();
+    private long refreshAfterNanos = -1;
+    private ScheduledFuture<?> scheduledRefresh;
+    private volatile Report report;
+
+    /**
+     * @param deadline     the overall deadline of one check
+     * @param deadlineUnit the unit of the deadline
+     * @param maxAge       how long a report is served from the cache
+     * @param maxAgeUnit   the unit of the cache age
+     */
+    public HealthMonitor(long deadline, TimeUnit deadlineUnit, long maxAge, TimeUnit maxAgeUnit) {
+        if (deadline <= 0) {
+            throw new IllegalArgumentException("Deadline must be greater than 0");
+        }
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("Cache age must not be negative");
+        }
+        this.deadlineNanos = deadlineUnit.toNanos(deadline);
+        this.maxAgeNanos = maxAgeUnit.toNanos(maxAge);
+    }
+
+    /**
+     * @param name  the endpoint name shown in the report
+     * @param probe checks the endpoint
+     * @return this monitor
+     */
+    public HealthMonitor addProbe(String name, Probe probe) {
+        if (probes.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate probe: " + name);
+        }
+        probes.put(name, probe);
+        return this;
+    }
+
+    /**
+     * @param executor runs the probes
+     * @return this monitor
+     */
+    public HealthMonitor setExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Let {@link #current()} refresh a report older than the given age in the background. Set it
+     * below the cache age so that regular callers never find the report expired.
+     *
+     * @param refreshAfter the report age that starts a background check
+     * @param unit         the unit of the age
+     * @return this monitor
+     */
+    public HealthMonitor setRefreshAfter(long refreshAfter, TimeUnit unit) {
+        if (refreshAfter < 0) {
+            throw new IllegalArgumentException("Refresh age must not be negative");
+        }
+        this.refreshAfterNanos = unit.toNanos(refreshAfter);
+        return this;
+    }
+
+    /**
+     * Refresh the report periodically so that {@link #current()} never waits for the upstream, until
+     * {@link #close()}. A check that fails as a whole, e.g. because the executor rejects the probes,
+     * keeps the last report and does not stop later checks. Prefer
+     * {@link #setRefreshAfter(long, TimeUnit)} unless the report must stay fresh while nobody reads it.
+     *
+     * @param interval the time between checks
+     * @param unit     the unit of the interval
+     * @return this monitor
+     */
+    public synchronized HealthMonitor start(long interval, TimeUnit unit) {
+        if (scheduledRefresh == null) {
+            scheduledRefresh = SupportExecutors.scheduler().scheduleWithFixedDelay(this::refreshInBackground, 0, interval, unit);
+        }
+        return this;
+    }
+
+    /**
+     * @return the cached report, or a fresh one if there is none or it is older than the cache age
+     */
+    public Report current() {
+        Report cached = report;
+        if (isFresh(cached)) {
+            if (refreshAfterNanos >= 0 && System.nanoTime() - cached.getCheckedAtNanos() > refreshAfterNanos) {
+                refreshInBackground();
+            }
+            return cached;
+        }
+        synchronized (checkLock) {
+            // Another caller may have refreshed the report while this one waited
+            cached = report;
+            return isFresh(cached) ? cached : check();
+        }
+    }
+
+    /**
+     * Probe all endpoints now, bypassing the cache.
+     *
+     * @return the new report, which is also cached
+     */
+    public Report check() {
+        long start = System.nanoTime();
+        List<String> names = new ArrayList<String>(probes.keySet());
+        List<Future<Long>> running = new ArrayList<Future<Long>>(names.size());
+        for (String name : names) {
+            final Probe probe = probes.get(name);
+            running.add(executor.submit(() -> {
+                long probeStart = System.nanoTime();
+                probe.check();
+                return System.nanoTime() - probeStart;
+            }));
+        }
+
+        List<EndpointStatus> statuses = new ArrayList<EndpointStatus>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            Future<Long> probe = running.get(i);
+            long remaining = deadlineNanos - (System.nanoTime() - start);
+            try {
+                long latency = probe.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                statuses.add(new EndpointStatus(names.get(i), true, "OK", TimeUnit.NANOSECONDS.toMillis(latency)));
+            } catch (TimeoutException e) {
+                probe.cancel(true);
+                statuses.add(new EndpointStatus(names.get(i), false, "timed out", elapsedMillis(start)));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                statuses.add(new EndpointStatus(names.get(i), false, message, elapsedMillis(start)));
+            } catch (InterruptedException e) {
+                for (Future<Long> pending : running) {
+                    pending.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during health check", e);
+            }
+        }
+        Report fresh = new Report(statuses, System.nanoTime());
+        report = fresh;
+        return fresh;
+    }
+
+    /**
+     * Stop the periodic refresh, if started.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    private void refreshInBackground() {
+        // At most one background check at a time; the scheduler thread itself never blocks on probes
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    check();
+                } catch (Throwable t) {
+                    // Keep the last report; the next refresh tries again
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // A rejected refresh keeps the last report; an exception escaping a scheduled task
+            // would cancel all its later runs
+            refreshing.set(false);
+        }
+    }
+
+    private boolean isFresh(Report cached) {
+        return cached != null && System.nanoTime() - cached.getCheckedAtNanos() <= maxAgeNanos;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
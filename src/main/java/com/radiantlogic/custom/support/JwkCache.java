@@ -0,0 +1,367 @@
+package com.radiantlogic.custom.support;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Holds the public keys of a JSON Web Key Set, decoded once and looked up by key id ({@code kid}).
+ *
+ * <p>Verifying a signed token, e.g. the response JWT of a push challenge, needs the public key
+ * named in its header. Decoding the key from its JWK members on every token costs more than the
+ * signature check itself. The cache decodes every key of the set into a {@link PublicKey} when the
+ * set is loaded, so a token only pays for the check. {@link Signature} instances are kept per
+ * thread and algorithm and reused.
+ *
+ * <p>Keys are rotated upstream, so a token may name a key the cache has not seen yet. Such a miss
+ * reloads the set, but at most once per minimum refresh interval: tokens with made-up key ids
+ * cannot turn into a request to the JWKS endpoint each. Keys the reload no longer returns are
+ * dropped. Only a successful reload starts the interval: if the source fails, the current keys are
+ * kept, the token is rejected and the next miss tries again. One reload runs at a time, outside the
+ * lock, and concurrent misses wait for it. RSA keys and EC keys on P-256, P-384 and P-521 are
+ * supported; other keys of the set, and keys meant for encryption, are skipped. Thread-safe.
+ */
+public final class JwkCache {
+
+    public static final long DEFAULT_MIN_REFRESH_INTERVAL_SECONDS = 30;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+    private static final Map<String, String> JCA_ALGORITHMS = new HashMap<String, String>();
+    private static final Map<String, String> CURVES = new HashMap<String, String>();
+
+    static {
+        JCA_ALGORITHMS.put("RS256", "SHA256withRSA");
+        JCA_ALGORITHMS.put("RS384", "SHA384withRSA");
+        JCA_ALGORITHMS.put("RS512", "SHA512withRSA");
+        JCA_ALGORITHMS.put("ES256", "SHA256withECDSA");
+        JCA_ALGORITHMS.put("ES384", "SHA384withECDSA");
+        JCA_ALGORITHMS.put("ES512", "SHA512withECDSA");
+        CURVES.put("P-256", "secp256r1");
+        CURVES.put("P-384", "secp384r1");
+        CURVES.put("P-521", "secp521r1");
+    }
+
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    private final Supplier<? extends Collection<? extends Map<String, ?>>> source;
+    private final long minRefreshNanos;
+    private final LongSupplier clock;
+    private final AtomicLong loadCount = new AtomicLong();
+
+    private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+    private boolean loaded;
+    private long lastLoad;
+    private long generation;
+    private CompletableFuture<Void> inFlight;
+
+    /**
+     * @param source loads the keys of the set, e.g. the {@code keys} array of a JWKS response
+     */
+    public JwkCache(Supplier<? extends Collection<? extends Map<String, ?>>> source) {
+        this(source, DEFAULT_MIN_REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param source             loads the keys of the set
+     * @param minRefreshInterval the minimum time between two reloads caused by unknown key ids
+     * @param unit               the unit of the interval
+     */
+    public JwkCache(Supplier<? extends Collection<? extends Map<String, ?>>> source, long minRefreshInterval, TimeUnit unit) {
+        this(source, minRefreshInterval, unit, System::nanoTime);
+    }
+
+    JwkCache(Supplier<? extends Collection<? extends Map<String, ?>>> source, long minRefreshInterval, TimeUnit unit, LongSupplier clock) {
+        if (source == null) {
+            throw new IllegalArgumentException("Key set source must not be null");
+        }
+        if (minRefreshInterval < 0) {
+            throw new IllegalArgumentException("Min refresh interval must not be negative");
+        }
+        this.source = source;
+        this.minRefreshNanos = unit.toNanos(minRefreshInterval);
+        this.clock = clock;
+    }
+
+    /**
+     * @param kid the key id
+     * @return the key, or null if the set has no such key, even after a reload
+     */
+    public PublicKey getKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = keys.get(kid);
+        if (key != null) {
+            return key;
+        }
+        reloadFor(kid);
+        return keys.get(kid);
+    }
+
+    /**
+     * @param kid          the key id from the token header
+     * @param alg          the JWS algorithm from the token header, e.g. "RS256" or "ES256"
+     * @param signingInput the signed bytes, i.e. the encoded header and payload joined by a dot
+     * @param signature    the decoded signature; for ES algorithms the JWS form of R followed by S
+     * @return true if the key is known and the signature is valid
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public boolean verify(String kid, String alg, byte[] signingInput, byte[] signature) {
+        String jcaAlgorithm = JCA_ALGORITHMS.get(alg);
+        if (jcaAlgorithm == null) {
+            throw new IllegalArgumentException("Unsupported JWS algorithm: " + alg);
+        }
+        PublicKey key = getKey(kid);
+        if (key == null) {
+            return false;
+        }
+        if (alg.startsWith("ES")) {
+            signature = toDer(signature);
+            if (signature == null) {
+                return false;
+            }
+        }
+        try {
+            Signature verifier = signature(jcaAlgorithm);
+            verifier.initVerify(key);
+            verifier.update(signingInput);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verify a token in JWS compact serialization against the key named by its {@code kid}.
+     * Claims such as expiry and audience are left to the caller.
+     *
+     * @param jws the token
+     * @return true if the signature is valid
+     */
+    public boolean verify(String jws) {
+        int firstDot = jws.indexOf('.');
+        int lastDot = jws.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot) {
+            return false;
+        }
+        JsonNode header;
+        byte[] signature;
+        try {
+            header = MAPPER.readTree(BASE64URL.decode(jws.substring(0, firstDot)));
+            signature = BASE64URL.decode(jws.substring(lastDot + 1));
+        } catch (Exception e) {
+            return false;
+        }
+        String alg = header.path("alg").asText(null);
+        if (!JCA_ALGORITHMS.containsKey(alg)) {
+            return false;
+        }
+        byte[] signingInput = jws.substring(0, lastDot).getBytes(StandardCharsets.US_ASCII);
+        return verify(header.path("kid").asText(null), alg, signingInput, signature);
+    }
+
+    /**
+     * Drop all keys; the next lookup reloads the set regardless of the refresh interval.
+     */
+    public synchronized void invalidate() {
+        keys = Collections.emptyMap();
+        loaded = false;
+        generation++;
+    }
+
+    /**
+     * @return the number of times the set was requested from the source, failed attempts included
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * @param jwk the members of a JSON Web Key
+     * @return the public key
+     * @throws IllegalArgumentException if the key type or curve is not supported or a member is missing
+     */
+    public static PublicKey decode(Map<String, ?> jwk) {
+        String kty = member(jwk, "kty");
+        try {
+            if ("RSA".equals(kty)) {
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(unsigned(member(jwk, "n")), unsigned(member(jwk, "e")));
+                return KeyFactory.getInstance("RSA").generatePublic(spec);
+            }
+            if ("EC".equals(kty)) {
+                String curve = CURVES.get(member(jwk, "crv"));
+                if (curve == null) {
+                    throw new IllegalArgumentException("Unsupported curve: " + jwk.get("crv"));
+                }
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curve));
+                ECPoint point = new ECPoint(unsigned(member(jwk, "x")), unsigned(member(jwk, "y")));
+                ECPublicKeySpec spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+                return KeyFactory.getInstance("EC").generatePublic(spec);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + kty + " key " + jwk.get("kid"), e);
+        }
+        throw new IllegalArgumentException("Unsupported key type: " + kty);
+    }
+
+    private void reloadFor(String kid) {
+        CompletableFuture<Void> load;
+        long startedAt = 0;
+        long startGeneration = 0;
+        boolean owner = false;
+        synchronized (this) {
+            if (keys.containsKey(kid)) {
+                // Another thread reloaded while this one waited.
+                return;
+            }
+            if (inFlight != null) {
+                load = inFlight;
+            } else {
+                startedAt = clock.getAsLong();
+                if (loaded && startedAt - lastLoad < minRefreshNanos) {
+                    return;
+                }
+                load = inFlight = new CompletableFuture<Void>();
+                startGeneration = generation;
+                owner = true;
+            }
+        }
+        if (!owner) {
+            // Wait for the reload in progress instead of starting another one
+            load.join();
+            return;
+        }
+        try {
+            Map<String, PublicKey> decoded = load();
+            synchronized (this) {
+                // Keys fetched before an invalidation must not be installed after it
+                if (generation == startGeneration) {
+                    keys = decoded;
+                    loaded = true;
+                    lastLoad = startedAt;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the current keys; the next miss retries.
+        } finally {
+            synchronized (this) {
+                inFlight = null;
+            }
+            load.complete(null);
+        }
+    }
+
+    private Map<String, PublicKey> load() {
+        loadCount.incrementAndGet();
+        Collection<? extends Map<String, ?>> jwks = source.get();
+        Map<String, PublicKey> decoded = new HashMap<String, PublicKey>();
+        if (jwks != null) {
+            for (Map<String, ?> jwk : jwks) {
+                Object keyId = jwk.get("kid");
+                if (keyId == null || !isSupported(jwk)) {
+                    continue;
+                }
+                try {
+                    decoded.put(keyId.toString(), decode(jwk));
+                } catch (IllegalArgumentException e) {
+                    // A malformed key must not take the valid keys of the set down with it.
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private static boolean isSupported(Map<String, ?> jwk) {
+        Object use = jwk.get("use");
+        if (use != null && !"sig".equals(use)) {
+            return false;
+        }
+        Object kty = jwk.get("kty");
+        return "RSA".equals(kty) || ("EC".equals(kty) && CURVES.containsKey(jwk.get("crv")));
+    }
+
+    private static Signature signature(String jcaAlgorithm) throws GeneralSecurityException {
+        Map<String, Signature> signatures = SIGNATURES.get();
+        Signature signature = signatures.get(jcaAlgorithm);
+        if (signature == null) {
+            signature = Signature.getInstance(jcaAlgorithm);
+            signatures.put(jcaAlgorithm, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Convert a JWS ECDSA signature, R and S as fixed-length big-endian integers, to the DER
+     * sequence the JCA expects. Returns null if the length is odd or the signature too long.
+     */
+    static byte[] toDer(byte[] raw) {
+        if (raw.length == 0 || raw.length % 2 != 0 || raw.length > 132) {
+            return null;
+        }
+        int half = raw.length / 2;
+        byte[] r = derInteger(raw, 0, half);
+        byte[] s = derInteger(raw, half, half);
+        int contentLength = r.length + s.length;
+        byte[] der = new byte[(contentLength > 127 ? 3 : 2) + contentLength];
+        int pos = 0;
+        der[pos++] = 0x30;
+        if (contentLength > 127) {
+            der[pos++] = (byte) 0x81;
+        }
+        der[pos++] = (byte) contentLength;
+        System.arraycopy(r, 0, der, pos, r.length);
+        System.arraycopy(s, 0, der, pos + r.length, s.length);
+        return der;
+    }
+
+    private static byte[] derInteger(byte[] raw, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end - 1 && raw[start] == 0) {
+            start++;
+        }
+        boolean pad = (raw[start] & 0x80) != 0;
+        int valueLength = end - start + (pad ? 1 : 0);
+        byte[] integer = new byte[2 + valueLength];
+        integer[0] = 0x02;
+        integer[1] = (byte) valueLength;
+        System.arraycopy(raw, start, integer, pad ? 3 : 2, end - start);
+        return integer;
+    }
+
+    private static String member(Map<String, ?> jwk, String name) {
+        Object value = jwk.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("JWK member '" + name + "' is missing");
+        }
+        return value.toString();
+    }
+
+    private static BigInteger unsigned(String base64url) {
+        return new BigInteger(1, BASE64URL.decode(base64url));
+    }
+}
@@ -0,0 +1,225 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Walks an upstream collection page by page and stops as soon as the LDAP size or time limit of the
+ * search is reached.
+ *
+ * <p>With a size limit the walker asks for no more than {@code sizeLimit + 1} entries in total; the
+ * one extra entry is how it tells "exactly the limit" from "more than the limit". When that takes
+ * several pages the page size is evened out over them (see {@link #pageSize}), so a limit that is a
+ * multiple of the preferred page size does not cost a further full page for the one extra entry.
+ * With a time limit every page is fetched on an executor and waited for only until the deadline; a
+ * call still outstanding at the deadline is cancelled and the entries collected so far are returned
+ * with {@link Outcome#TIME_LIMIT_EXCEEDED}, as RFC 4511 prescribes.
+ *
+ * <pre>
+ * LimitedSearch.Result&lt;Book&gt; result = LimitedSearch.run(
+ *         (page, size) -&gt; booksApi.booksGet(null, size, page + 1, search), 50, limits);
+ * </pre>
+ *
+ * <p>Exceptions thrown by the fetcher are rethrown unchanged.
+ */
+public final class LimitedSearch {
+
+    /**
+     * How a limited search ended. The result codes are the RFC 4511 values, so connectors can map
+     * them onto the SDK result code enum.
+     */
+    public enum Outcome {
+        COMPLETE(0),
+        TIME_LIMIT_EXCEEDED(3),
+        SIZE_LIMIT_EXCEEDED(4);
+
+        private final int resultCode;
+
+        Outcome(int resultCode) {
+            this.resultCode = resultCode;
+        }
+
+        /**
+         * @return the LDAP result code of this outcome
+         */
+        public int getResultCode() {
+            return resultCode;
+        }
+    }
+
+    /**
+     * The entries returned by a limited search and how it ended.
+     */
+    public static final class Result<T> {
+
+        private final List<T> entries;
+        private final Outcome outcome;
+        private final int pagesFetched;
+
+        Result(List<T> entries, Outcome outcome, int pagesFetched) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.outcome = outcome;
+            this.pagesFetched = pagesFetched;
+        }
+
+        public List<T> getEntries() {
+            return entries;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public int getPagesFetched() {
+            return pagesFetched;
+        }
+
+        public boolean isComplete() {
+            return outcome == Outcome.COMPLETE;
+        }
+    }
+
+    private LimitedSearch() {
+    }
+
+    /**
+     * Run a limited search on the {@link SupportExecutors#shared() shared executor}.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the preferred upstream page size
+     * @param limits   the limits of the LDAP search
+     * @return the collected entries and the outcome
+     */
+    public static <T> Result<T> run(PageFetcher<T> fetcher, int pageSize, SearchLimits limits) {
+        return run(fetcher, pageSize, limits, SupportExecutors.shared());
+    }
+
+    /**
+     * Run a limited search.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the preferred upstream page size
+     * @param limits   the limits of the LDAP search
+     * @param executor runs the page fetches when a time limit is set
+     * @return the collected entries and the outcome
+     */
+    public static <T> Result<T> run(PageFetcher<T> fetcher, int pageSize, SearchLimits limits, ExecutorService executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        List<T> entries = new ArrayList<T>();
+        int[] pagesFetched = new int[1];
+        Outcome outcome = walk(fetcher, pageSize, limits, executor, entries::add, pagesFetched);
+        return new Result<T>(entries, outcome, pagesFetched[0]);
+    }
+
+    /**
+     * Run a limited search on the {@link SupportExecutors#shared() shared executor}, handing each
+     * entry to a sink as its page arrives instead of collecting the result. With a time limit the
+     * wait for every page is bounded by the deadline, as in {@link #run}.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the preferred upstream page size
+     * @param limits   the limits of the LDAP search
+     * @param sink     receives the entries; the search stops with {@link Outcome#COMPLETE} when it
+     *                 returns false
+     * @return how the search ended
+     */
+    public static <T> Outcome stream(PageFetcher<T> fetcher, int pageSize, SearchLimits limits, EntrySink<? super T> sink) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        return walk(fetcher, pageSize, limits, SupportExecutors.shared(), sink, new int[1]);
+    }
+
+    private static <T> Outcome walk(PageFetcher<T> fetcher, int pageSize, SearchLimits limits, ExecutorService executor,
+                                    EntrySink<? super T> sink, int[] pagesFetched) {
+        long maxEntries = limits.getMaxEntries();
+        int effectivePageSize = pageSize(pageSize, limits);
+
+        long returned = 0;
+        while (true) {
+            if (limits.isExpired()) {
+                return Outcome.TIME_LIMIT_EXCEEDED;
+            }
+            List<T> page;
+            if (limits.hasTimeLimit()) {
+                page = fetchBeforeDeadline(fetcher, pagesFetched[0], effectivePageSize, limits, executor);
+                if (page == null) {
+                    return Outcome.TIME_LIMIT_EXCEEDED;
+                }
+            } else {
+                page = fetcher.fetch(pagesFetched[0], effectivePageSize);
+            }
+            pagesFetched[0]++;
+
+            for (T entry : page) {
+                if (returned >= maxEntries) {
+                    return Outcome.SIZE_LIMIT_EXCEEDED;
+                }
+                if (!sink.emit(entry)) {
+                    return Outcome.COMPLETE;
+                }
+                returned++;
+            }
+            if (page.size() < effectivePageSize) {
+                return Outcome.COMPLETE;
+            }
+        }
+    }
+
+    /**
+     * The page size to walk a collection with under the size limit of a search. Page numbers address
+     * fixed-size pages, so the size cannot shrink for the last page; instead the {@code sizeLimit + 1}
+     * entries are spread evenly over the fewest pages of at most {@code preferred} entries. A limit of
+     * 100 with a preferred size of 50 is read as 3 pages of 34 rather than 3 pages of 50.
+     *
+     * @param preferred the preferred upstream page size
+     * @param limits    the limits of the LDAP search
+     * @return the page size to request
+     */
+    public static int pageSize(int preferred, SearchLimits limits) {
+        if (preferred <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        if (!limits.hasSizeLimit()) {
+            return preferred;
+        }
+        long wanted = limits.getMaxEntries() + 1;
+        long pages = (wanted + preferred - 1) / preferred;
+        return (int) ((wanted + pages - 1) / pages);
+    }
+
+    private static <T> List<T> fetchBeforeDeadline(final PageFetcher<T> fetcher, final int pageNumber, final int pageSize,
+                                                   SearchLimits limits, ExecutorService executor) {
+        Future<List<T>> call = executor.submit(() -> fetcher.fetch(pageNumber, pageSize));
+        try {
+            return call.get(limits.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            return null;
+        } catch (CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for upstream page " + pageNumber, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Upstream page " + pageNumber + " failed", cause);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How a search should reach the upstream: by primary key or by scanning a collection.
+ *
+ * @see LookupPlanner
+ */
+public final class LookupPlan {
+
+    public enum Kind {
+        /** One primary-key value; use the point-read endpoint. */
+        POINT,
+        /** Several primary-key values, from an OR of key equalities; read them concurrently. */
+        MULTI,
+        /** No usable key; list the collection. */
+        SCAN
+    }
+
+    private static final LookupPlan SCAN = new LookupPlan(Kind.SCAN, null, Collections.<String>emptyList(), false, null);
+
+    private final Kind kind;
+    private final String keyAttribute;
+    private final List<String> keys;
+    private final boolean fromBaseDn;
+    private final FilterNode filter;
+
+    LookupPlan(Kind kind, String keyAttribute, List<String> keys, boolean fromBaseDn, FilterNode filter) {
+        this.kind = kind;
+        this.keyAttribute = keyAttribute;
+        this.keys = keys;
+        this.fromBaseDn = fromBaseDn;
+        this.filter = filter;
+    }
+
+    static LookupPlan scan() {
+        return SCAN;
+    }
+
+    static LookupPlan point(String keyAttribute, String key) {
+        return new LookupPlan(Kind.POINT, keyAttribute, Collections.singletonList(key), false, null);
+    }
+
+    static LookupPlan base(String keyAttribute, String key, FilterNode filter) {
+        return new LookupPlan(Kind.POINT, keyAttribute, Collections.singletonList(key), true, filter);
+    }
+
+    static LookupPlan multi(String keyAttribute, List<String> keys) {
+        return new LookupPlan(Kind.MULTI, keyAttribute, Collections.unmodifiableList(keys), false, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the primary-key attribute the keys belong to, null for a scan
+     */
+    public String getKeyAttribute() {
+        return keyAttribute;
+    }
+
+    /**
+     * @return the distinct primary-key values to read in requested order, empty for a scan
+     */
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return the first key, which is the only one of a point lookup
+     */
+    public String getKey() {
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * @return true if the key came from the RDN of a BASE-scope search; a missing object is then
+     *         reported as noSuchObject rather than an empty result
+     */
+    public boolean isFromBaseDn() {
+        return fromBaseDn;
+    }
+
+    /**
+     * @return the filter the entry read by key must match to be returned, or null if any entry of
+     *         the key matches; set for a BASE-scope search whose filter is more than an object class
+     *         presence test
+     */
+    public FilterNode getFilter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.SCAN ? "LookupPlan{SCAN}" : "LookupPlan{" + kind + " " + keyAttribute + "=" + keys + "}";
+    }
+}
@@ -0,0 +1,235 @@
+package com.radiantlogic.custom.support;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Recognises searches that address objects by primary key so they can be answered with a point read.
+ *
+ * <p>A BASE-scope search whose base DN ends in a primary-key RDN, e.g. {@code index=3,ou=books,o=hp},
+ * and a search whose filter is an equality on a primary-key attribute, optionally ANDed with
+ * objectClass selectors, e.g. {@code (&(objectClass=book)(index=3))}, are planned as
+ * {@link LookupPlan.Kind#POINT}. Everything else, including filters that cannot be parsed, is
+ * planned as a {@link LookupPlan.Kind#SCAN} so that the connector keeps its existing behaviour.
+ *
+ * <p>A BASE-scope read still has to honour the filter of the search: unless the filter only tests
+ * for the presence of objectClass, the plan carries it in {@link LookupPlan#getFilter()} and the
+ * connector returns the entry only if it matches. A key filter is only resolved by point reads when
+ * the base DN is a container of the objects, or above one; under any other base the object read by
+ * key could lie outside the base, so such searches scan. Without known container DNs, any base DN
+ * whose leftmost RDN is not a primary key is taken to be a container.
+ *
+ * <p>An OR of equalities on one primary-key attribute, e.g. {@code (|(id=a)(id=b)(id=c))} as produced
+ * by group expansion, is planned as {@link LookupPlan.Kind#MULTI} with the distinct keys in the
+ * order of the filter; see {@link MultiGet}.
+ *
+ * <p>The primary keys are the {@code primaryKeys} of the object's schema. Instances are immutable and
+ * thread-safe.
+ */
+public final class LookupPlanner {
+
+    private final Set<String> primaryKeys = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+    private final Set<String> containers = new LinkedHashSet<String>();
+
+    /**
+     * @param primaryKeys the primary-key attributes of the object schema
+     */
+    public LookupPlanner(Collection<String> primaryKeys) {
+        this(primaryKeys, Collections.<String>emptyList());
+    }
+
+    /**
+     * @param primaryKeys the primary-key attributes of the object schema
+     * @param containers  the DNs the objects are named under, e.g. {@code ou=books,o=hp}
+     */
+    public LookupPlanner(Collection<String> primaryKeys, Collection<String> containers) {
+        if (primaryKeys == null || primaryKeys.isEmpty()) {
+            throw new IllegalArgumentException("At least one primary key is required");
+        }
+        this.primaryKeys.addAll(primaryKeys);
+        if (containers != null) {
+            for (String container : containers) {
+                this.containers.add(SearchCacheKey.normalizeDn(container));
+            }
+        }
+    }
+
+    /**
+     * @param baseDn    the base DN of the search
+     * @param baseScope true for a BASE-scope search
+     * @param filter    the search filter, may be null
+     * @return the plan for the search
+     */
+    public LookupPlan plan(String baseDn, boolean baseScope, String filter) {
+        FilterNode root = null;
+        if (filter != null && !filter.trim().isEmpty()) {
+            try {
+                root = FilterNode.parse(filter);
+            } catch (IllegalArgumentException e) {
+                return LookupPlan.scan();
+            }
+        }
+        if (baseScope) {
+            String[] rdn = firstRdn(baseDn);
+            if (rdn != null && primaryKeys.contains(rdn[0]) && isEntryDn(baseDn)) {
+                boolean matchesAll = root == null || (root.getType() == FilterNode.Type.PRESENT && root.isObjectClassSelector());
+                return LookupPlan.base(rdn[0], rdn[1], matchesAll ? null : root);
+            }
+        }
+        if (root == null || !isContainerOrAbove(baseDn)) {
+            return LookupPlan.scan();
+        }
+        FilterNode keys = keyTerm(root);
+        if (keys == null) {
+            return LookupPlan.scan();
+        }
+        if (keys.getType() == FilterNode.Type.EQUALITY) {
+            return LookupPlan.point(keys.getAttribute(), keys.getValue());
+        }
+        Set<String> values = new LinkedHashSet<String>();
+        for (FilterNode term : keys.getChildren()) {
+            values.add(term.getValue());
+        }
+        String attribute = keys.getChildren().get(0).getAttribute();
+        return values.size() == 1
+                ? LookupPlan.point(attribute, values.iterator().next())
+                : LookupPlan.multi(attribute, new ArrayList<String>(values));
+    }
+
+    /**
+     * @return true if a search under this base DN may return any object of a container
+     */
+    private boolean isContainerOrAbove(String baseDn) {
+        if (containers.isEmpty()) {
+            String[] rdn = firstRdn(baseDn);
+            return rdn == null || !primaryKeys.contains(rdn[0]);
+        }
+        String base = SearchCacheKey.normalizeDn(baseDn);
+        for (String container : containers) {
+            if (base.isEmpty() || container.equals(base) || container.endsWith("," + base)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the DN names an object directly under a container, or if no containers are known
+     */
+    private boolean isEntryDn(String dn) {
+        if (containers.isEmpty()) {
+            return true;
+        }
+        String normalized = SearchCacheKey.normalizeDn(dn);
+        for (String container : containers) {
+            if (normalized.endsWith("," + container)
+                    && isSingleRdn(normalized.substring(0, normalized.length() - container.length() - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSingleRdn(String rdn) {
+        for (int i = 0; i < rdn.length(); i++) {
+            char c = rdn.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ',' || c == ';') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the key equality or OR of key equalities the filter reduces to, or null
+     */
+    private FilterNode keyTerm(FilterNode node) {
+        if (isKeyEquality(node) || isKeyDisjunction(node)) {
+            return node;
+        }
+        if (node.getType() != FilterNode.Type.AND) {
+            return null;
+        }
+        FilterNode key = null;
+        for (FilterNode child : node.getChildren()) {
+            if ((isKeyEquality(child) || isKeyDisjunction(child)) && key == null) {
+                key = child;
+            } else if (!child.isObjectClassSelector()) {
+                return null;
+            }
+        }
+        return key;
+    }
+
+    private boolean isKeyDisjunction(FilterNode node) {
+        if (node.getType() != FilterNode.Type.OR || node.getChildren().isEmpty()) {
+            return false;
+        }
+        String attribute = node.getChildren().get(0).getAttribute();
+        for (FilterNode child : node.getChildren()) {
+            if (!isKeyEquality(child) || !child.isOn(attribute)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isKeyEquality(FilterNode node) {
+        return node.getType() == FilterNode.Type.EQUALITY && primaryKeys.contains(node.getAttribute());
+    }
+
+    /**
+     * Split the leftmost RDN of a DN (RFC 4514) into attribute and unescaped value.
+     *
+     * @return the attribute and value, or null for an empty DN or a multi-valued RDN
+     */
+    static String[] firstRdn(String dn) {
+        if (dn == null) {
+            return null;
+        }
+        int equals = dn.indexOf('=');
+        if (equals <= 0) {
+            return null;
+        }
+        String attribute = dn.substring(0, equals).trim().toLowerCase(Locale.ROOT);
+        // Hex escapes are UTF-8 bytes, so the value is decoded from bytes like FilterNode does.
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        int i = equals + 1;
+        while (i < dn.length()) {
+            char c = dn.charAt(i);
+            if (c == ',' || c == ';') {
+                break;
+            }
+            if (c == '+') {
+                return null;
+            }
+            if (c == '\\' && i + 2 < dn.length() && isHex(dn.charAt(i + 1)) && isHex(dn.charAt(i + 2))) {
+                value.write(Integer.parseInt(dn.substring(i + 1, i + 3), 16));
+                i += 3;
+                continue;
+            }
+            if (c == '\\' && i + 1 < dn.length()) {
+                i++;
+            }
+            int end = i + Character.charCount(dn.codePointAt(i));
+            byte[] encoded = dn.substring(i, end).getBytes(StandardCharsets.UTF_8);
+            value.write(encoded, 0, encoded.length);
+            i = end;
+        }
+        String text = new String(value.toByteArray(), StandardCharsets.UTF_8).trim();
+        return text.isEmpty() ? null : new String[] {attribute, text};
+    }
+
+    private static boolean isHex(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+}
@@ -0,0 +1,230 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves many primary keys with concurrent point reads, e.g. for {@code (|(id=a)(id=b)...)}.
+ *
+ * <p>Group expansion and reference resolution produce OR filters with hundreds of key terms. Reading
+ * them one after another makes latency grow with the number of terms; here up to
+ * {@code parallelism} reads are in flight at once, so latency grows with
+ * {@code keys / parallelism} instead. When the endpoint accepts several values in one call, a
+ * {@link BatchReader} is used and each batch counts as one read.
+ *
+ * <p>Duplicate keys are read once. Results are returned in the order the keys were first requested;
+ * keys without an object are skipped. If any read fails, the reads still in flight are cancelled
+ * and the failure is rethrown. {@link #read(Collection, SearchLimits)} stops at the size and time
+ * limits of a search like {@link LimitedSearch} does.
+ *
+ * @param <T> the entry type
+ */
+public final class MultiGet<T> {
+
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final PointReader<T> pointReader;
+    private final BatchReader<T> batchReader;
+    private final int batchSize;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private ExecutorService executor = SupportExecutors.shared();
+
+    /**
+     * @param reader reads one object per call
+     */
+    public MultiGet(PointReader<T> reader) {
+        this(reader, null, 1);
+    }
+
+    /**
+     * @param reader    reads up to {@code batchSize} objects per call
+     * @param batchSize the maximum number of keys per call
+     */
+    public MultiGet(BatchReader<T> reader, int batchSize) {
+        this(null, reader, batchSize);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+    }
+
+    private MultiGet(PointReader<T> pointReader, BatchReader<T> batchReader, int batchSize) {
+        this.pointReader = pointReader;
+        this.batchReader = batchReader;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param parallelism the maximum number of upstream requests in flight
+     * @return this lookup
+     */
+    public MultiGet<T> setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param executor runs the upstream requests
+     * @return this lookup
+     */
+    public MultiGet<T> setExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @param keys the requested primary-key values, possibly with duplicates
+     * @return the objects found, in requested order
+     */
+    public List<T> read(Collection<String> keys) {
+        return read(keys, SearchLimits.unlimited()).getEntries();
+    }
+
+    /**
+     * Read under the limits of an LDAP search. With a size limit, keys are read in requested order
+     * and only as many as could still fit the limit, plus one to tell "exactly the limit" from "more
+     * than the limit"; keys without an object are made up for by reading further keys. With a time
+     * limit, reads still in flight at the deadline are cancelled and the objects read so far are
+     * returned with {@link LimitedSearch.Outcome#TIME_LIMIT_EXCEEDED}.
+     *
+     * @param keys   the requested primary-key values, possibly with duplicates
+     * @param limits the limits of the LDAP search
+     * @return the objects found, in requested order, and the outcome; the page count is the number
+     *         of upstream requests made
+     */
+    public LimitedSearch.Result<T> read(Collection<String> keys, SearchLimits limits) {
+        List<String> distinct = new ArrayList<String>(new LinkedHashSet<String>(keys));
+        List<T> entries = new ArrayList<T>();
+        int requests = 0;
+        int next = 0;
+        while (next < distinct.size()) {
+            if (limits.isExpired()) {
+                return new LimitedSearch.Result<T>(entries, LimitedSearch.Outcome.TIME_LIMIT_EXCEEDED, requests);
+            }
+            int end = distinct.size();
+            if (limits.hasSizeLimit()) {
+                end = (int) Math.min(end, next + limits.getMaxEntries() - entries.size() + 1);
+            }
+            List<String> round = distinct.subList(next, end);
+            next = end;
+            List<List<T>> slots = readAll(round, limits);
+            requests += (round.size() + batchSize - 1) / batchSize;
+            for (List<T> slot : slots) {
+                if (slot == null) {
+                    return new LimitedSearch.Result<T>(entries, LimitedSearch.Outcome.TIME_LIMIT_EXCEEDED, requests);
+                }
+                for (T entry : slot) {
+                    if (entries.size() >= limits.getMaxEntries()) {
+                        return new LimitedSearch.Result<T>(entries, LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED, requests);
+                    }
+                    entries.add(entry);
+                }
+            }
+        }
+        return new LimitedSearch.Result<T>(entries, LimitedSearch.Outcome.COMPLETE, requests);
+    }
+
+    /**
+     * @return the objects per read unit in key order; null for a unit still in flight at the deadline
+     */
+    private List<List<T>> readAll(List<String> keys, SearchLimits limits) {
+        if (keys.size() == 1 && pointReader != null && !limits.hasTimeLimit()) {
+            // A single key needs no hand-off to another thread
+            return Collections.singletonList(readUnit(keys));
+        }
+
+        int units = (keys.size() + batchSize - 1) / batchSize;
+        List<List<T>> slots = new ArrayList<List<T>>(Collections.<List<T>>nCopies(units, null));
+        ExecutorCompletionService<Integer> arrivals = new ExecutorCompletionService<Integer>(executor);
+        List<Future<Integer>> pending = new ArrayList<Future<Integer>>();
+        boolean[] finished = new boolean[units];
+        int next = 0;
+        try {
+            while (next < units || !pending.isEmpty()) {
+                while (next < units && pending.size() < parallelism) {
+                    final int unit = next++;
+                    final List<String> unitKeys = keys.subList(unit * batchSize, Math.min(keys.size(), (unit + 1) * batchSize));
+                    pending.add(arrivals.submit(() -> {
+                        slots.set(unit, readUnit(unitKeys));
+                        return unit;
+                    }));
+                }
+                Future<Integer> done = limits.hasTimeLimit()
+                        ? arrivals.poll(limits.remainingNanos(), TimeUnit.NANOSECONDS)
+                        : arrivals.take();
+                if (done == null) {
+                    cancel(pending);
+                    return completedBefore(slots, finished);
+                }
+                pending.remove(done);
+                finished[done.get()] = true;
+            }
+        } catch (InterruptedException e) {
+            cancel(pending);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during multi-key lookup", e);
+        } catch (ExecutionException e) {
+            cancel(pending);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Upstream lookup failed", cause);
+        }
+        return slots;
+    }
+
+    /**
+     * @return the slots up to the first unit that had not completed at the deadline, followed by null,
+     *         so that partial results keep the requested order
+     */
+    private static <T> List<List<T>> completedBefore(List<List<T>> slots, boolean[] finished) {
+        List<List<T>> completed = new ArrayList<List<T>>();
+        for (int unit = 0; unit < finished.length && finished[unit]; unit++) {
+            completed.add(slots.get(unit));
+        }
+        completed.add(null);
+        return completed;
+    }
+
+    private List<T> readUnit(List<String> keys) {
+        List<T> found = new ArrayList<T>(keys.size());
+        if (batchReader != null) {
+            Map<String, T> byKey = batchReader.read(keys);
+            for (String key : keys) {
+                T entry = byKey != null ? byKey.get(key) : null;
+                if (entry != null) {
+                    found.add(entry);
+                }
+            }
+        } else {
+            T entry = pointReader.read(keys.get(0));
+            if (entry != null) {
+                found.add(entry);
+            }
+        }
+        return found;
+    }
+
+    private static void cancel(List<Future<Integer>> pending) {
+        for (Future<Integer> request : pending) {
+            request.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers lookups that found nothing, so repeated misses skip the upstream round trip.
+ *
+ * <p>Collision checks and provisioning pre-checks look up keys that usually do not exist; each miss
+ * is a 404 or an empty list from the upstream. A miss is cached for a short time under the
+ * normalized object type and key. When a replica of an object type is present, a
+ * {@link BloomFilter} of its keys can be installed; a key the filter has never seen is then known
+ * to be missing without any cached entry.
+ *
+ * <p>Writes through the connector must call {@link #invalidate(String, String)} (or
+ * {@link #invalidateType(String)}) for the keys they create, so a new object is visible at once
+ * rather than after the time-to-live. A miss read by {@link #guard(String, PointReader)} while an
+ * invalidation ran is not cached, since it may predate the write. The number of cached misses is
+ * bounded; when full, expired misses are dropped and new misses are not cached until there is
+ * room. Thread-safe.
+ */
+public final class NegativeCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<String, Long>();
+    private final Map<String, BloomFilter> knownKeys = new ConcurrentHashMap<String, BloomFilter>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    // Every invalidation takes the next generation before it removes anything
+    private final AtomicLong generation = new AtomicLong();
+
+    // While full, no cached miss expires before this time, so there is nothing to drop
+    private volatile long sweepNotBefore;
+
+    /**
+     * @param ttl        how long a miss is remembered
+     * @param unit       the unit of the time-to-live
+     * @param maxEntries the maximum number of remembered misses
+     */
+    public NegativeCache(long ttl, TimeUnit unit, int maxEntries) {
+        this(ttl, unit, maxEntries, System::nanoTime);
+    }
+
+    NegativeCache(long ttl, TimeUnit unit, int maxEntries, LongSupplier clock) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Time-to-live must not be negative");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.sweepNotBefore = clock.getAsLong();
+    }
+
+    /**
+     * @param objectType the object type, e.g. "email"
+     * @param key        the primary-key value
+     * @return true if the key is known not to exist, so the upstream need not be asked
+     */
+    public boolean isKnownMissing(String objectType, String key) {
+        BloomFilter filter = knownKeys.get(normalizeType(objectType));
+        if (filter != null && !filter.mightContain(normalizeKey(key))) {
+            return true;
+        }
+        String cacheKey = cacheKey(objectType, key);
+        Long expiry = expiries.get(cacheKey);
+        if (expiry == null) {
+            return false;
+        }
+        if (clock.getAsLong() - expiry < 0) {
+            return true;
+        }
+        expiries.remove(cacheKey, expiry);
+        return false;
+    }
+
+    /**
+     * @param objectType the object type
+     * @param key        the primary-key value the upstream did not find
+     */
+    public void recordMissing(String objectType, String key) {
+        recordMissing(objectType, key, generation.get());
+    }
+
+    /**
+     * @param readStart the generation when the upstream read started; the miss is dropped if an
+     *                  invalidation happened since
+     */
+    private void recordMissing(String objectType, String key, long readStart) {
+        if (ttlNanos == 0 || generation.get() != readStart) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (expiries.size() >= maxEntries) {
+            if (now - sweepNotBefore < 0) {
+                return;
+            }
+            sweepNotBefore = sweep(now);
+            if (expiries.size() >= maxEntries) {
+                return;
+            }
+        }
+        String cacheKey = cacheKey(objectType, key);
+        Long expiry = now + ttlNanos;
+        expiries.put(cacheKey, expiry);
+        // An invalidation that removed the key before it was put must not leave it cached
+        if (generation.get() != readStart) {
+            expiries.remove(cacheKey, expiry);
+        }
+    }
+
+    /**
+     * Forget a cached miss, e.g. after the connector created the object.
+     *
+     * @param objectType the object type
+     * @param key        the primary-key value
+     */
+    public void invalidate(String objectType, String key) {
+        generation.incrementAndGet();
+        expiries.remove(cacheKey(objectType, key));
+        BloomFilter filter = knownKeys.get(normalizeType(objectType));
+        if (filter != null) {
+            filter.put(normalizeKey(key));
+        }
+    }
+
+    /**
+     * Forget all cached misses of an object type and drop its known-key filter.
+     *
+     * @param objectType the object type
+     */
+    public void invalidateType(String objectType) {
+        generation.incrementAndGet();
+        String prefix = normalizeType(objectType) + '\u0000';
+        expiries.keySet().removeIf(cacheKey -> cacheKey.startsWith(prefix));
+        knownKeys.remove(normalizeType(objectType));
+    }
+
+    /**
+     * Install the keys of a replicated object type. Replace the filter whenever the replica is
+     * reloaded, as keys deleted upstream stay in it.
+     *
+     * @param objectType the object type
+     * @param filter     a filter holding every key of the replica, added with normalized keys
+     */
+    public void setKnownKeys(String objectType, BloomFilter filter) {
+        knownKeys.put(normalizeType(objectType), filter);
+    }
+
+    /**
+     * @param objectType the object type
+     * @param reader     the upstream point read
+     * @return a point read that answers known misses from this cache and records new ones
+     */
+    public <T> PointReader<T> guard(final String objectType, final PointReader<T> reader) {
+        return key -> {
+            if (isKnownMissing(objectType, key)) {
+                return null;
+            }
+            long readStart = generation.get();
+            T entry = reader.read(key);
+            if (entry == null) {
+                recordMissing(objectType, key, readStart);
+            }
+            return entry;
+        };
+    }
+
+    /**
+     * @return the number of cached misses, including expired ones not yet dropped
+     */
+    public int size() {
+        return expiries.size();
+    }
+
+    /**
+     * Drop the expired misses.
+     *
+     * @return the earliest expiry of the misses left
+     */
+    private long sweep(long now) {
+        long earliest = now + ttlNanos;
+        Iterator<Long> it = expiries.values().iterator();
+        while (it.hasNext()) {
+            long expiry = it.next();
+            if (now - expiry >= 0) {
+                it.remove();
+            } else if (expiry - earliest < 0) {
+                earliest = expiry;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * @param key a primary-key value
+     * @return the form in which keys are cached and must be added to a known-key filter
+     */
+    public static String normalizeKey(String key) {
+        return key.trim();
+    }
+
+    private static String normalizeType(String objectType) {
+        return objectType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String cacheKey(String objectType, String key) {
+        return normalizeType(objectType) + '\u0000' + normalizeKey(key);
+    }
+}
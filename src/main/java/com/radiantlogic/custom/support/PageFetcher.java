@@ -0,0 +1,23 @@
+package com.radiantlogic.custom.support;
+
+import java.util.List;
+
+/**
+ * Fetches one page of an upstream collection.
+ *
+ * <p>Implementations translate the zero-based page number and page size into whatever the upstream
+ * API expects, for example {@code booksApi.booksGet(null, pageSize, pageNumber + 1, search)}. A page
+ * shorter than {@code pageSize} (or an empty page) marks the end of the collection.
+ *
+ * @param <T> the entry type
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+
+    /**
+     * @param pageNumber zero-based page number
+     * @param pageSize   the number of entries requested
+     * @return the entries of the page, never null
+     */
+    List<T> fetch(int pageNumber, int pageSize);
+}
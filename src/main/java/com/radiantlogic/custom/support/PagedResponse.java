@@ -0,0 +1,34 @@
+package com.radiantlogic.custom.support;
+
+/**
+ * A search response together with the paged-results cookie to send back to the client.
+ *
+ * <p>An empty cookie tells the client that there are no further pages (RFC 2696, section 3).
+ *
+ * @param <R> the connector's response type
+ */
+public final class PagedResponse<R> {
+
+    private final R response;
+    private final String cookie;
+
+    public PagedResponse(R response, String cookie) {
+        this.response = response;
+        this.cookie = cookie != null ? cookie : "";
+    }
+
+    public R getResponse() {
+        return response;
+    }
+
+    public String getCookie() {
+        return cookie;
+    }
+
+    /**
+     * @return true if the client may request another page
+     */
+    public boolean hasMore() {
+        return !cookie.isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps one page of an LDAP paged search onto exactly one upstream page request.
+ *
+ * <p>The LDAP page size is used as the upstream page size, so a client that keeps its page size
+ * reads the upstream pages one by one. If the client changes the page size between requests, the
+ * position is no longer a multiple of it; the upstream page containing the position is fetched and
+ * the entries before the position are skipped, which may make that LDAP page shorter. RFC 2696
+ * allows that.
+ */
+public final class PagedSearch {
+
+    /**
+     * One page of entries and whether it was the last of its partition.
+     */
+    public static final class Page<T> {
+
+        private final List<T> entries;
+        private final boolean last;
+
+        Page(List<T> entries, boolean last) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.last = last;
+        }
+
+        public List<T> getEntries() {
+            return entries;
+        }
+
+        /**
+         * @return true if the upstream has no entries after this page
+         */
+        public boolean isLast() {
+            return last;
+        }
+    }
+
+    private PagedSearch() {
+    }
+
+    /**
+     * Fetch the page starting at the given position.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param offset   the number of entries already returned, from {@link PagingCookie#getOffset()}
+     * @param pageSize the LDAP page size
+     * @return the entries of the page
+     */
+    public static <T> Page<T> fetchPage(PageFetcher<T> fetcher, long offset, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        int pageNumber = (int) (offset / pageSize);
+        int skip = (int) (offset % pageSize);
+        List<T> entries = fetcher.fetch(pageNumber, pageSize);
+        boolean last = entries.size() < pageSize;
+        return new Page<T>(entries.subList(Math.min(skip, entries.size()), entries.size()), last);
+    }
+
+    /**
+     * Compute the cookie to return after a page.
+     *
+     * @param position       the position the page was read from
+     * @param page           the page that was returned
+     * @param partitionCount the number of partitions (object types) of the search
+     * @return the next cookie, or an empty string when the paged search is complete
+     */
+    public static String nextCookie(PagingCookie position, Page<?> page, int partitionCount) {
+        PagingCookie next = page.isLast() ? position.nextPartition() : position.advance(page.getEntries().size());
+        return next.getPartition() >= partitionCount ? "" : next.encode();
+    }
+}
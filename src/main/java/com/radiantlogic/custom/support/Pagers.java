@@ -0,0 +1,77 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Factory methods for lazy pagers over paginated upstream endpoints.
+ *
+ * <p>The generator emits one {@link PageFetcher} per collection endpoint that declares pagination
+ * parameters and wraps it here. Typical mappings of the zero-based page number:
+ *
+ * <ul>
+ *   <li>page/size style ({@code max} and {@code page}): {@code (page, size) -> api.booksGet(null, size, page + 1, null)}
+ *   <li>offset style, SCIM ({@code startIndex} and {@code count}): {@code (page, size) -> api.list(page * size + 1, size)}
+ *   <li>offset style, zero-based ({@code offset} and {@code limit}): {@code (page, size) -> api.list(page * size, size)}
+ * </ul>
+ *
+ * <p>Streams should be closed (try-with-resources) when they are not consumed to the end, so that
+ * an outstanding prefetch is cancelled.
+ */
+public final class Pagers {
+
+    /**
+     * Page size used when the connector configuration does not set one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private Pagers() {
+    }
+
+    /**
+     * A lazy stream over all pages, prefetching the next page on the shared executor.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the number of entries per upstream request
+     * @return an ordered, sequential stream
+     */
+    public static <T> Stream<T> stream(PageFetcher<T> fetcher, int pageSize) {
+        return stream(fetcher, pageSize, true);
+    }
+
+    /**
+     * A lazy stream over all pages.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the number of entries per upstream request
+     * @param prefetch whether to request the next page while the current one is consumed
+     * @return an ordered, sequential stream
+     */
+    public static <T> Stream<T> stream(PageFetcher<T> fetcher, int pageSize, boolean prefetch) {
+        PagingSpliterator<T> spliterator = spliterator(fetcher, pageSize, prefetch);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * A lazy iterator over all pages, prefetching the next page on the shared executor.
+     *
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the number of entries per upstream request
+     * @return an iterator; prefer {@link #stream(PageFetcher, int)} when iteration may stop early
+     */
+    public static <T> Iterator<T> iterator(PageFetcher<T> fetcher, int pageSize) {
+        return Spliterators.iterator(spliterator(fetcher, pageSize, true));
+    }
+
+    /**
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the number of entries per upstream request
+     * @param prefetch whether to request the next page while the current one is consumed
+     * @return a new spliterator using the shared executor
+     */
+    public static <T> PagingSpliterator<T> spliterator(PageFetcher<T> fetcher, int pageSize, boolean prefetch) {
+        return new PagingSpliterator<T>(fetcher, pageSize, prefetch, SupportExecutors.shared());
+    }
+}
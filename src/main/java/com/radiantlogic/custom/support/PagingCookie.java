@@ -0,0 +1,160 @@
+package com.radiantlogic.custom.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * The cookie of the LDAP Simple Paged Results control (RFC 2696), carrying the upstream position.
+ *
+ * <p>The connector keeps no state between the pages of a paged search: everything needed to fetch
+ * the next page travels in the cookie. It records which partition (object type) is being paged, how
+ * many of its entries were already returned and, for cursor-based upstreams, the upstream cursor.
+ * A hash of the search parameters is included so that a cookie replayed against a different search
+ * is rejected instead of silently returning the wrong entries.
+ *
+ * <p>The cookie is opaque to clients but not encrypted or signed; it must never hold credentials.
+ * Instances are immutable.
+ */
+public final class PagingCookie {
+
+    private static final byte VERSION = 1;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final long searchHash;
+    private final int partition;
+    private final long offset;
+    private final String cursor;
+
+    private PagingCookie(long searchHash, int partition, long offset, String cursor) {
+        this.searchHash = searchHash;
+        this.partition = partition;
+        this.offset = offset;
+        this.cursor = cursor;
+    }
+
+    /**
+     * @param searchParts the parts that identify a search, e.g. base DN, scope and filter
+     * @return the hash binding cookies to that search
+     */
+    public static long searchHash(Object... searchParts) {
+        return ContentHash.of(Arrays.asList(searchParts));
+    }
+
+    /**
+     * @param searchHash the hash of the search, see {@link #searchHash(Object...)}
+     * @return the position before the first page
+     */
+    public static PagingCookie first(long searchHash) {
+        return new PagingCookie(searchHash, 0, 0, null);
+    }
+
+    /**
+     * Decode the cookie sent by the client. An absent or empty cookie starts a new paged search.
+     *
+     * @param cookie     the cookie from the request control, may be null
+     * @param searchHash the hash of the current search
+     * @return the position to continue from
+     * @throws IllegalArgumentException if the cookie is malformed or belongs to another search
+     */
+    public static PagingCookie decode(String cookie, long searchHash) {
+        if (cookie == null || cookie.isEmpty()) {
+            return first(searchHash);
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(DECODER.decode(cookie)));
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported paging cookie version");
+            }
+            long hash = in.readLong();
+            int partition = in.readInt();
+            long offset = in.readLong();
+            String cursor = in.readBoolean() ? in.readUTF() : null;
+            if (hash != searchHash) {
+                throw new IllegalArgumentException("Paging cookie does not belong to this search");
+            }
+            if (partition < 0 || offset < 0) {
+                throw new IllegalArgumentException("Invalid paging cookie position");
+            }
+            return new PagingCookie(hash, partition, offset, cursor);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed paging cookie", e);
+        }
+    }
+
+    /**
+     * @return the cookie to return in the response control
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(searchHash);
+            out.writeInt(partition);
+            out.writeLong(offset);
+            out.writeBoolean(cursor != null);
+            if (cursor != null) {
+                out.writeUTF(cursor);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode paging cookie", e);
+        }
+        return ENCODER.encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param returned the number of entries returned in this page
+     * @return the position after this page, within the same partition
+     */
+    public PagingCookie advance(int returned) {
+        return new PagingCookie(searchHash, partition, offset + returned, cursor);
+    }
+
+    /**
+     * @param returned   the number of entries returned in this page
+     * @param nextCursor the upstream cursor of the next page
+     * @return the position after this page of a cursor-based upstream
+     */
+    public PagingCookie advance(int returned, String nextCursor) {
+        return new PagingCookie(searchHash, partition, offset + returned, nextCursor);
+    }
+
+    /**
+     * @return the start of the next partition
+     */
+    public PagingCookie nextPartition() {
+        return new PagingCookie(searchHash, partition + 1, 0, null);
+    }
+
+    /**
+     * @return the index of the partition (object type) being paged
+     */
+    public int getPartition() {
+        return partition;
+    }
+
+    /**
+     * @return the number of entries of the current partition already returned
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the upstream cursor, or null for index-based upstreams and at the start of a partition
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PagingCookie{partition=" + partition + ", offset=" + offset
+                + (cursor != null ? ", cursor=" + cursor : "") + "}";
+    }
+}
@@ -0,0 +1,141 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+/**
+ * A lazy, ordered {@link Spliterator} over an upstream collection that is fetched page by page.
+ *
+ * <p>Nothing is fetched until the first element is requested. With prefetching enabled, the next
+ * page is requested on the executor as soon as a full page arrives, so the upstream call overlaps
+ * with the consumer working through the current page. At most two pages are held at any time: the
+ * one being consumed and the one in flight. A page shorter than the page size ends the iteration.
+ *
+ * <p>Use {@link Pagers} to obtain streams and iterators; closing the stream cancels a prefetch that
+ * is still outstanding. Exceptions from the fetcher surface on the element access that needs the
+ * failed page. Not thread-safe, like any spliterator that is not split.
+ *
+ * @param <T> the entry type
+ */
+public final class PagingSpliterator<T> implements Spliterator<T>, AutoCloseable {
+
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private final boolean prefetch;
+    private final Executor executor;
+
+    private Iterator<T> current = Collections.<T>emptyIterator();
+    private FutureTask<List<T>> next;
+    private int nextPageNumber;
+    private boolean exhausted;
+    private boolean closed;
+
+    /**
+     * @param fetcher  fetches one upstream page
+     * @param pageSize the number of entries requested per page
+     * @param prefetch whether to request the next page while the current one is consumed
+     * @param executor runs prefetched page requests
+     */
+    public PagingSpliterator(PageFetcher<T> fetcher, int pageSize, boolean prefetch, Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (!current.hasNext()) {
+            if (exhausted || closed) {
+                return false;
+            }
+            List<T> page = takeNextPage();
+            if (page.size() < pageSize) {
+                exhausted = true;
+            } else if (prefetch) {
+                next = requestPage(nextPageNumber++);
+            }
+            current = page.iterator();
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    /**
+     * @return the number of upstream pages requested so far, including one in flight
+     */
+    public int getPagesRequested() {
+        return nextPageNumber;
+    }
+
+    /**
+     * Stop the iteration and cancel a prefetched page that has not arrived yet.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        current = Collections.<T>emptyIterator();
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // Only a short page tells whether another page exists, so the page range cannot be split up front.
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return exhausted && !current.hasNext() ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private List<T> takeNextPage() {
+        if (next == null) {
+            return fetcher.fetch(nextPageNumber++, pageSize);
+        }
+        FutureTask<List<T>> pending = next;
+        next = null;
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next upstream page", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private FutureTask<List<T>> requestPage(final int pageNumber) {
+        FutureTask<List<T>> task = new FutureTask<List<T>>(() -> fetcher.fetch(pageNumber, pageSize));
+        executor.execute(task);
+        return task;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException("Upstream page request failed", cause);
+    }
+}
@@ -0,0 +1,258 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A full scan that fetches the pages of an upstream collection concurrently.
+ *
+ * <p>When the upstream reports the size of the collection (see {@link TotalCount}), the page range
+ * is known up front and each page is an independent partition. Up to {@code parallelism} pages are
+ * in flight at once; results are delivered either in page order or in the order pages arrive. In
+ * both modes at most {@code parallelism} pages are buffered, so memory stays bounded no matter how
+ * large the collection is.
+ *
+ * <pre>
+ * ResponseEntity&lt;List&lt;Book&gt;&gt; first = booksApi.booksGetWithHttpInfo(null, pageSize, 1, null);
+ * OptionalLong total = TotalCount.fromHeaders(first.getHeaders());
+ * try (Stream&lt;Book&gt; books = new PartitionedScan&lt;Book&gt;(fetcher, pageSize, total.orElse(-1))
+ *         .setFirstPage(first.getBody())
+ *         .stream(PartitionedScan.Order.ORDERED)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>Without a total count the scan falls back to walking the pages one at a time until a short
+ * page. Entries added upstream while a scan with a known total is running may be missed; the scan
+ * is a point-in-time load, not a change feed.
+ *
+ * @param <T> the entry type
+ */
+public final class PartitionedScan<T> {
+
+    /**
+     * Delivery order of a scan.
+     */
+    public enum Order {
+        /** Entries are delivered in upstream page order. */
+        ORDERED,
+        /** Pages are delivered as soon as they arrive. */
+        AS_ARRIVED
+    }
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private final long totalCount;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private ExecutorService executor = SupportExecutors.shared();
+    private List<T> firstPage;
+
+    /**
+     * @param fetcher    fetches one upstream page
+     * @param pageSize   the number of entries per upstream request
+     * @param totalCount the number of entries in the collection, or a negative value if unknown
+     */
+    public PartitionedScan(PageFetcher<T> fetcher, int pageSize, long totalCount) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * @param parallelism the maximum number of upstream requests in flight
+     * @return this scan
+     */
+    public PartitionedScan<T> setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param executor runs the page requests
+     * @return this scan
+     */
+    public PartitionedScan<T> setExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Reuse page 0 when it was already fetched to read the total count. With a known total, a short
+     * first page tells the scan that the upstream caps the page size, and the remaining pages are
+     * requested at the size the upstream actually serves.
+     *
+     * @param firstPage the entries of page 0
+     * @return this scan
+     */
+    public PartitionedScan<T> setFirstPage(List<T> firstPage) {
+        this.firstPage = firstPage != null ? firstPage : Collections.<T>emptyList();
+        return this;
+    }
+
+    /**
+     * @return the number of pages of the collection, or -1 if the total count is unknown
+     */
+    public int getPageCount() {
+        if (totalCount < 0) {
+            return -1;
+        }
+        return (int) ((totalCount + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Start the scan. Pages are requested when the stream is first consumed; closing the stream
+     * cancels the requests still in flight.
+     *
+     * @param order the delivery order
+     * @return a sequential stream of all entries
+     */
+    public Stream<T> stream(Order order) {
+        ScanSpliterator spliterator = new ScanSpliterator(order);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Run the scan to completion.
+     *
+     * @param order the delivery order
+     * @return all entries
+     */
+    public List<T> toList(Order order) {
+        try (Stream<T> entries = stream(order)) {
+            return entries.collect(Collectors.toList());
+        }
+    }
+
+    private final class ScanSpliterator implements Spliterator<T>, AutoCloseable {
+
+        private final Order order;
+        private final int window = totalCount < 0 ? 1 : parallelism;
+        private final ArrayDeque<Future<List<T>>> pending = new ArrayDeque<Future<List<T>>>();
+        private final ExecutorCompletionService<List<T>> arrivals;
+
+        private Iterator<T> current = Collections.<T>emptyIterator();
+        private int requestSize = pageSize;
+        private int pageCount = getPageCount();
+        private int nextPage;
+        private boolean sawEnd;
+        private boolean closed;
+
+        ScanSpliterator(Order order) {
+            this.order = order;
+            this.arrivals = order == Order.AS_ARRIVED ? new ExecutorCompletionService<List<T>>(executor) : null;
+            if (firstPage != null) {
+                current = firstPage.iterator();
+                nextPage = 1;
+                if (pageCount < 0) {
+                    sawEnd = firstPage.size() < requestSize;
+                } else if (!firstPage.isEmpty() && firstPage.size() < requestSize && firstPage.size() < totalCount) {
+                    // The upstream serves fewer entries per page than requested; page by what it serves.
+                    requestSize = firstPage.size();
+                    pageCount = (int) ((totalCount + requestSize - 1) / requestSize);
+                }
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!current.hasNext()) {
+                fill();
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                List<T> page = take();
+                if (pageCount < 0 && page.size() < requestSize) {
+                    sawEnd = true;
+                }
+                current = page.iterator();
+            }
+            fill();
+            action.accept(current.next());
+            return true;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            current = Collections.<T>emptyIterator();
+            for (Future<List<T>> request : pending) {
+                request.cancel(true);
+            }
+            pending.clear();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return totalCount >= 0 ? totalCount : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return order == Order.ORDERED ? ORDERED | NONNULL : NONNULL;
+        }
+
+        private void fill() {
+            while (!closed && !sawEnd && pending.size() < window && (pageCount < 0 || nextPage < pageCount)) {
+                final int pageNumber = nextPage++;
+                if (arrivals != null) {
+                    pending.add(arrivals.submit(() -> fetcher.fetch(pageNumber, requestSize)));
+                } else {
+                    pending.add(executor.submit(() -> fetcher.fetch(pageNumber, requestSize)));
+                }
+            }
+        }
+
+        private List<T> take() {
+            Future<List<T>> request = null;
+            try {
+                if (arrivals != null) {
+                    request = arrivals.take();
+                    pending.remove(request);
+                } else {
+                    request = pending.poll();
+                }
+                List<T> page = request.get();
+                return page != null ? page : Collections.<T>emptyList();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during partitioned scan", e);
+            } catch (ExecutionException e) {
+                close();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Upstream page request failed", cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.radiantlogic.custom.support;
+
+/**
+ * Reads a single object by primary key from a point-read endpoint, e.g. {@code GET /emails/{id}}.
+ *
+ * @param <T> the entry type
+ */
+@FunctionalInterface
+public interface PointReader<T> {
+
+    /**
+     * @param key the primary-key value from the LDAP request
+     * @return the object, or null if the upstream has no object with that key
+     */
+    T read(String key);
+}
@@ -0,0 +1,142 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One pinned entry of a {@link ReferenceDataTier}.
+ *
+ * <p>The first {@link #get()} loads the value; later calls return it without an upstream call.
+ * Once the revalidation interval has passed, one background reload is started and the current
+ * value is served until it completes. A reload that fails keeps the current value. A reload that
+ * returns content equal to the current value (by {@link ContentHash}) keeps the current instance,
+ * so callers holding it see no change.
+ *
+ * <p>Lists, sets and maps are stored as unmodifiable copies so that no caller can change the value
+ * shared by all datasources; the elements themselves must not be modified either.
+ *
+ * @param <T> the value type
+ */
+public final class ReferenceData<T> {
+
+    private final String name;
+    private final long revalidateNanos;
+    private final Supplier<T> loader;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final AtomicLong loads = new AtomicLong();
+
+    private volatile Executor executor = SupportExecutors.shared();
+    private volatile Snapshot<T> snapshot;
+
+    ReferenceData(String name, long revalidateNanos, Supplier<T> loader) {
+        if (revalidateNanos <= 0) {
+            throw new IllegalArgumentException("Revalidation interval must be greater than 0");
+        }
+        this.name = name;
+        this.revalidateNanos = revalidateNanos;
+        this.loader = loader;
+    }
+
+    /**
+     * @return the value, loaded on first use
+     */
+    public T get() {
+        Snapshot<T> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load(null);
+                }
+            }
+        } else if (System.nanoTime() - current.loadedAt >= revalidateNanos && reloading.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    // Keep serving the current value; the next get() after the interval retries
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        }
+        return current.value;
+    }
+
+    /**
+     * Reload the value now, e.g. after an administrator changed it upstream.
+     *
+     * @return the reloaded value
+     */
+    public synchronized T revalidate() {
+        return reload();
+    }
+
+    /**
+     * @return the number of upstream loads so far
+     */
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    /**
+     * @param executor runs the background reloads
+     * @return this entry
+     */
+    public ReferenceData<T> setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    private synchronized T reload() {
+        return load(snapshot).value;
+    }
+
+    private Snapshot<T> load(Snapshot<T> previous) {
+        T loaded = freeze(loader.get());
+        loads.incrementAndGet();
+        if (loaded == null) {
+            throw new IllegalStateException("Reference data " + name + " loaded as null");
+        }
+        long hash = ContentHash.of(loaded);
+        T value = previous != null && previous.hash == hash ? previous.value : loaded;
+        Snapshot<T> fresh = new Snapshot<T>(value, hash, System.nanoTime());
+        snapshot = fresh;
+        return fresh;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T freeze(T value) {
+        if (value instanceof List) {
+            return (T) Collections.unmodifiableList(new ArrayList<Object>((List<?>) value));
+        }
+        if (value instanceof Set) {
+            return (T) Collections.unmodifiableSet(new LinkedHashSet<Object>((Set<?>) value));
+        }
+        if (value instanceof Map) {
+            return (T) Collections.unmodifiableMap(new LinkedHashMap<Object, Object>((Map<?, ?>) value));
+        }
+        return value;
+    }
+
+    private static final class Snapshot<T> {
+        final T value;
+        final long hash;
+        final long loadedAt;
+
+        Snapshot(T value, long hash, long loadedAt) {
+            this.value = value;
+            this.hash = hash;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
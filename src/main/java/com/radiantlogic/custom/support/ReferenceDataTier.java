@@ -0,0 +1,146 @@
+package com.radiantlogic.custom.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Near-static upstream data, such as an organization, a profile schema, a list of authenticators or
+ * event types, loaded once and shared by every connector instance of the same datasource.
+ *
+ * <p>Reference data is pinned: it lives outside the search result caches, so no amount of search
+ * traffic evicts it. Each entry is revalidated on a slow schedule, in the background, while the
+ * current value keeps being served; {@link ReferenceData#revalidate()} reloads it on demand.
+ *
+ * <p>A datasource is identified by its base URL and a fingerprint of its credentials, so two
+ * datasources on the same URL that authenticate differently never see each other's data. Each
+ * connector instance acquires the tier of its datasource and releases it when it is discarded; the
+ * entries are unpinned once the last holder has released the tier.
+ *
+ * <pre>
+ * ReferenceDataTier tier = ReferenceDataTier.acquire(baseUrl, credentials);
+ * ReferenceData&lt;List&lt;House&gt;&gt; houses = tier.pin("houses", 24, TimeUnit.HOURS, apiClient,
+ *         client -&gt; new HousesApi(client).housesGet(null, null, null, null));
+ * List&lt;House&gt; all = houses.get();
+ * ...
+ * tier.release();
+ * </pre>
+ *
+ * <p>The first holder to pin a name supplies the loader for all holders of the tier. The loader is
+ * kept as long as the tier, so it must not capture a connector instance: pass it the API client it
+ * needs instead.
+ */
+public final class ReferenceDataTier {
+
+    private static final Map<String, ReferenceDataTier> TIERS = new ConcurrentHashMap<String, ReferenceDataTier>();
+
+    private final String key;
+    private final String baseUrl;
+    private final Map<String, ReferenceData<?>> entries = new ConcurrentHashMap<String, ReferenceData<?>>();
+    // Only changed inside TIERS.compute on this tier's key, which serializes the updates
+    private int holders;
+
+    private ReferenceDataTier(String key, String baseUrl) {
+        this.key = key;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Acquire the tier of a datasource. Every call must be matched by one {@link #release()}.
+     *
+     * @param baseUrl     the upstream base URL of the datasource
+     * @param credentials the credentials of the datasource, or anything else that changes what the
+     *                    upstream returns, e.g. "clientId:secret"; null if none. Only a fingerprint
+     *                    is kept.
+     * @return the tier shared by all connector instances of that datasource
+     */
+    public static ReferenceDataTier acquire(String baseUrl, String credentials) {
+        final String url = normalizeUrl(baseUrl);
+        return TIERS.compute(url + '\n' + fingerprint(credentials), (key, tier) -> {
+            ReferenceDataTier held = tier != null ? tier : new ReferenceDataTier(key, url);
+            held.holders++;
+            return held;
+        });
+    }
+
+    /**
+     * Pin an entry, or return the entry already pinned under that name.
+     *
+     * @param name            the entry name, e.g. "eventTypes"
+     * @param revalidateAfter how long a loaded value is served before it is reloaded in the background
+     * @param unit            the unit of the revalidation interval
+     * @param client          the API client of the datasource, handed to the loader
+     * @param loader          loads the value from the upstream with the client
+     * @return the pinned entry
+     */
+    public <C, T> ReferenceData<T> pin(String name, long revalidateAfter, TimeUnit unit, final C client,
+            final Function<? super C, T> loader) {
+        return pin(name, revalidateAfter, unit, () -> loader.apply(client));
+    }
+
+    /**
+     * Pin an entry, or return the entry already pinned under that name.
+     *
+     * @param name            the entry name, e.g. "eventTypes"
+     * @param revalidateAfter how long a loaded value is served before it is reloaded in the background
+     * @param unit            the unit of the revalidation interval
+     * @param loader          loads the value from the upstream; must not capture a connector instance
+     * @return the pinned entry
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ReferenceData<T> pin(String name, long revalidateAfter, TimeUnit unit, Supplier<T> loader) {
+        return (ReferenceData<T>) entries.computeIfAbsent(name,
+                n -> new ReferenceData<T>(baseUrl + " " + n, unit.toNanos(revalidateAfter), loader));
+    }
+
+    /**
+     * Unpin every entry of this datasource, e.g. when its API version changes.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Give up this holder's share of the tier. When the last holder releases it, every entry is
+     * unpinned and the tier is dropped, so its loaders and values can be collected.
+     */
+    public void release() {
+        TIERS.computeIfPresent(key, (k, tier) -> {
+            if (tier != this || --holders > 0) {
+                return tier;
+            }
+            entries.clear();
+            return null;
+        });
+    }
+
+    static String normalizeUrl(String baseUrl) {
+        String url = baseUrl == null ? "" : baseUrl.trim();
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url.toLowerCase(Locale.ROOT);
+    }
+
+    private static String fingerprint(String credentials) {
+        if (credentials == null) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(credentials.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
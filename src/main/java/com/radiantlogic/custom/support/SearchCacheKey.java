@@ -0,0 +1,114 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * The canonical identity of an LDAP search, used as the key of {@link SearchResultCache}.
+ *
+ * <p>Applications issue the same search in many spellings: {@code OU=Books, o=HP} and
+ * {@code ou=books,o=hp}, {@code (&(a=1)(b=2))} and {@code (&(b=2)(a=1))}, attribute lists in any
+ * order. All of them map to one key. The base DN is lower-cased with the spaces around separators
+ * removed, the filter is reduced to {@link FilterNode#canonical()}, and the requested attributes are
+ * lower-cased, de-duplicated and sorted; an empty list and {@code *} both mean all user attributes.
+ * A filter that cannot be parsed is used as given. Instances are immutable.
+ */
+public final class SearchCacheKey {
+
+    private final String canonical;
+
+    private SearchCacheKey(String canonical) {
+        this.canonical = canonical;
+    }
+
+    /**
+     * @param baseDn     the base DN
+     * @param scope      the search scope, e.g. {@code SUB}
+     * @param filter     the search filter
+     * @param attributes the requested attributes, may be null
+     * @return the key of the search
+     */
+    public static SearchCacheKey of(String baseDn, Object scope, String filter, Collection<String> attributes) {
+        StringBuilder key = new StringBuilder();
+        key.append(normalizeDn(baseDn)).append('\u0000');
+        key.append(scope).append('\u0000');
+        key.append(canonicalFilter(filter)).append('\u0000');
+        TreeSet<String> names = new TreeSet<String>();
+        if (attributes != null) {
+            for (String attribute : attributes) {
+                names.add(attribute.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        names.remove("");
+        if (names.isEmpty()) {
+            names.add("*");
+        }
+        key.append(String.join(",", names));
+        return new SearchCacheKey(key.toString());
+    }
+
+    /**
+     * @param dn a distinguished name
+     * @return the DN lower-cased, without the spaces around {@code ,} {@code =} and {@code +}
+     */
+    static String normalizeDn(String dn) {
+        if (dn == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(dn.length());
+        String lower = dn.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '\\' && i + 1 < lower.length()) {
+                normalized.append(c).append(lower.charAt(++i));
+            } else if (c == ',' || c == '=' || c == '+') {
+                while (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) == ' '
+                        && !escaped(normalized, normalized.length() - 1)) {
+                    normalized.setLength(normalized.length() - 1);
+                }
+                normalized.append(c);
+                while (i + 1 < lower.length() && lower.charAt(i + 1) == ' ') {
+                    i++;
+                }
+            } else {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean escaped(CharSequence text, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && text.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static String canonicalFilter(String filter) {
+        if (filter == null) {
+            return "";
+        }
+        try {
+            return FilterNode.parse(filter).canonical().toString();
+        } catch (IllegalArgumentException e) {
+            return filter.trim();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SearchCacheKey && canonical.equals(((SearchCacheKey) other).canonical);
+    }
+
+    @Override
+    public int hashCode() {
+        return canonical.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return canonical.replace('\u0000', '|');
+    }
+}
@@ -0,0 +1,94 @@
+package com.radiantlogic.custom.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The size and time limits of one LDAP search, as sent in the search request.
+ *
+ * <p>Per RFC 4511 a limit of zero means "no limit". The deadline is fixed when the limits are
+ * created, so the same instance can be shared by every upstream call of one search. When a search
+ * spans several object types, {@link #afterReturning(int)} hands the remaining size budget to the
+ * next type while keeping the original deadline.
+ */
+public final class SearchLimits {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long maxEntries;
+    private final long deadlineNanos;
+
+    private SearchLimits(long maxEntries, long deadlineNanos) {
+        this.maxEntries = maxEntries;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param sizeLimit        maximum number of entries to return, 0 for no limit
+     * @param timeLimitSeconds maximum time to spend on the search in seconds, 0 for no limit
+     * @return limits whose deadline starts now
+     */
+    public static SearchLimits of(int sizeLimit, int timeLimitSeconds) {
+        if (sizeLimit < 0 || timeLimitSeconds < 0) {
+            throw new IllegalArgumentException("Search limits must be greater than or equal to 0");
+        }
+        long deadline = timeLimitSeconds == 0
+                ? NO_DEADLINE
+                : System.nanoTime() + TimeUnit.SECONDS.toNanos(timeLimitSeconds);
+        return new SearchLimits(sizeLimit == 0 ? Long.MAX_VALUE : sizeLimit, deadline);
+    }
+
+    /**
+     * @return limits that never stop a search
+     */
+    public static SearchLimits unlimited() {
+        return new SearchLimits(Long.MAX_VALUE, NO_DEADLINE);
+    }
+
+    /**
+     * @param returned the number of entries already returned by this search
+     * @return the limits left for the rest of the search, with the same deadline
+     */
+    public SearchLimits afterReturning(int returned) {
+        if (!hasSizeLimit()) {
+            return this;
+        }
+        return new SearchLimits(Math.max(0, maxEntries - returned), deadlineNanos);
+    }
+
+    public boolean hasSizeLimit() {
+        return maxEntries != Long.MAX_VALUE;
+    }
+
+    public boolean hasTimeLimit() {
+        return deadlineNanos != NO_DEADLINE;
+    }
+
+    /**
+     * @return the number of entries that may still be returned, {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return nanoseconds left until the deadline, {@link Long#MAX_VALUE} without a time limit
+     */
+    public long remainingNanos() {
+        if (!hasTimeLimit()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return hasTimeLimit() && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchLimits{maxEntries=" + (hasSizeLimit() ? String.valueOf(maxEntries) : "unlimited")
+                + ", remainingMillis=" + (hasTimeLimit()
+                        ? String.valueOf(TimeUnit.NANOSECONDS.toMillis(remainingNanos())) : "unlimited")
+                + "}";
+    }
+}
@@ -0,0 +1,372 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caches search results in front of a connector's {@code search} method.
+ *
+ * <p>Applications re-issue the same searches every few seconds (login-time lookups, group checks);
+ * with {@link SearchCacheKey} the repeats hit the cache however they are spelled. Each result is
+ * tagged with the object types it was read from. Its time-to-live is the shortest TTL of those
+ * types, so volatile types can expire quickly while reference data stays longer. A write of an
+ * object type drops every result tagged with it through {@link #invalidateType(String)}. A result
+ * that {@link #getOrLoad} started loading before such an invalidation is returned but not cached,
+ * since it may predate the write.
+ *
+ * <p>The cache is bounded by total weight rather than entry count, since one full-load result can
+ * outweigh thousands of point lookups; the weigher typically returns the size of the serialized
+ * result in bytes, which keeps memory use predictable. Eviction follows W-TinyLFU (see
+ * {@link WindowTinyLfu}): a new result only displaces a cached one if it has been requested more
+ * often recently, so one-off bulk scans such as LDIF exports or reconciliation jobs do not flush the
+ * interactive working set the way they would an LRU. A result heavier than the whole bound is not
+ * cached. Thread-safe; loaders run outside the cache lock.
+ *
+ * <p>The TTL is a soft limit when a stale window is set with {@link #setMaxStale(long, TimeUnit)}.
+ * Between the soft TTL and the hard limit (TTL plus stale window), {@link #getOrLoad} returns the
+ * stale result at once and refreshes it in the background, with at most one refresh per key in
+ * flight. If the refresh fails, the stale result keeps being served until the hard limit, so a
+ * slow or briefly unavailable upstream does not show in search latency. Stale hits and failed
+ * refreshes are counted separately from fresh hits.
+ *
+ * @param <V> the cached result type
+ */
+public final class SearchResultCache<V> {
+
+    private static final int INITIAL_SKETCH_ENTRIES = 1024;
+
+    private final Map<SearchCacheKey, Entry<V>> entries = new HashMap<SearchCacheKey, Entry<V>>();
+    private final WindowTinyLfu<SearchCacheKey> policy;
+    private final Map<String, Long> ttlByType = new ConcurrentHashMap<String, Long>();
+    private final long defaultTtlNanos;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LongSupplier clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final Map<SearchCacheKey, Boolean> refreshing = new ConcurrentHashMap<SearchCacheKey, Boolean>();
+    // Guarded by this: every invalidation takes the next generation, stamped on what it invalidated.
+    private final Map<String, Long> typeInvalidatedAt = new HashMap<String, Long>();
+    private long allInvalidatedAt;
+    private long generation;
+
+    private volatile long maxStaleNanos;
+    private volatile Executor executor = SupportExecutors.shared();
+
+    /**
+     * @param defaultTtl the time-to-live of object types without their own TTL
+     * @param unit       the unit of the time-to-live
+     * @param maxWeight  the maximum total weight of cached results
+     * @param weigher    the weight of one result, e.g. its length in characters
+     */
+    public SearchResultCache(long defaultTtl, TimeUnit unit, long maxWeight, ToLongFunction<V> weigher) {
+        this(defaultTtl, unit, maxWeight, weigher, System::nanoTime);
+    }
+
+    SearchResultCache(long defaultTtl, TimeUnit unit, long maxWeight, ToLongFunction<V> weigher, LongSupplier clock) {
+        if (defaultTtl < 0) {
+            throw new IllegalArgumentException("Time-to-live must not be negative");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Max weight must be greater than 0");
+        }
+        this.defaultTtlNanos = unit.toNanos(defaultTtl);
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.clock = clock;
+        this.policy = new WindowTinyLfu<SearchCacheKey>(maxWeight, INITIAL_SKETCH_ENTRIES);
+    }
+
+    /**
+     * @param objectType the object type, e.g. "group"
+     * @param ttl        how long results read from that type are served; 0 disables caching them
+     * @param unit       the unit of the time-to-live
+     * @return this cache
+     */
+    public SearchResultCache<V> setTtl(String objectType, long ttl, TimeUnit unit) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Time-to-live must not be negative");
+        }
+        ttlByType.put(normalizeType(objectType), unit.toNanos(ttl));
+        return this;
+    }
+
+    /**
+     * @param maxStale how long after its TTL a result may still be served while it is refreshed
+     * @param unit     the unit of the stale window
+     * @return this cache
+     */
+    public SearchResultCache<V> setMaxStale(long maxStale, TimeUnit unit) {
+        if (maxStale < 0) {
+            throw new IllegalArgumentException("Stale window must not be negative");
+        }
+        this.maxStaleNanos = unit.toNanos(maxStale);
+        return this;
+    }
+
+    /**
+     * @param executor runs the background refreshes
+     * @return this cache
+     */
+    public SearchResultCache<V> setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @param key the search
+     * @return the cached result, or null if absent or past its TTL
+     */
+    public V get(SearchCacheKey key) {
+        Entry<V> entry = lookup(key);
+        if (entry == null || !entry.isFresh(clock.getAsLong())) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * @param key         the search
+     * @param value       its result
+     * @param objectTypes the object types the result was read from
+     */
+    public void put(SearchCacheKey key, V value, Collection<String> objectTypes) {
+        put(key, value, objectTypes, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param loadStart the generation when the value started loading; the value is dropped if one
+     *                  of its types was invalidated since
+     */
+    private void put(SearchCacheKey key, V value, Collection<String> objectTypes, long loadStart) {
+        Set<String> types = new HashSet<String>();
+        long ttl = objectTypes.isEmpty() ? defaultTtlNanos : Long.MAX_VALUE;
+        for (String objectType : objectTypes) {
+            String type = normalizeType(objectType);
+            types.add(type);
+            Long typeTtl = ttlByType.get(type);
+            ttl = Math.min(ttl, typeTtl != null ? typeTtl : defaultTtlNanos);
+        }
+        long valueWeight = weigher.applyAsLong(value);
+        if (ttl == 0 || valueWeight > maxWeight) {
+            return;
+        }
+        synchronized (this) {
+            if (isInvalidatedSince(types, loadStart)) {
+                return;
+            }
+            remove(key);
+            long freshUntil = clock.getAsLong() + ttl;
+            entries.put(key, new Entry<V>(value, freshUntil, freshUntil + maxStaleNanos, types));
+            for (SearchCacheKey evicted : policy.add(key, valueWeight)) {
+                entries.remove(evicted);
+            }
+        }
+    }
+
+    /**
+     * Return the cached result or load and cache it. Concurrent misses of the same key may load it
+     * more than once.
+     *
+     * @param key         the search
+     * @param objectTypes the object types the result is read from
+     * @param loader      runs the search; a null result is returned but not cached
+     * @return the result
+     */
+    public V getOrLoad(SearchCacheKey key, Collection<String> objectTypes, Supplier<V> loader) {
+        return getOrLoad(key, objectTypes, loader, value -> value != null);
+    }
+
+    /**
+     * Return the cached result, serving a stale one while it is refreshed, or load and cache it.
+     *
+     * @param key         the search
+     * @param objectTypes the object types the result is read from
+     * @param loader      runs the search
+     * @param cacheable   whether a loaded result may be cached; an uncacheable refresh, like one that
+     *                    throws, counts as a failed refresh and leaves the stale result in place
+     * @return the result
+     */
+    public V getOrLoad(final SearchCacheKey key, final Collection<String> objectTypes, final Supplier<V> loader,
+                       final Predicate<? super V> cacheable) {
+        Entry<V> entry = lookup(key);
+        if (entry != null) {
+            if (entry.isFresh(clock.getAsLong())) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            staleHits.incrementAndGet();
+            if (refreshing.putIfAbsent(key, Boolean.TRUE) == null) {
+                executor.execute(() -> refresh(key, objectTypes, loader, cacheable));
+            }
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        long loadStart = generation();
+        V loaded = loader.get();
+        if (cacheable.test(loaded)) {
+            put(key, loaded, objectTypes, loadStart);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop every result read from an object type, e.g. after the connector wrote to it.
+     *
+     * @param objectType the object type
+     */
+    public synchronized void invalidateType(String objectType) {
+        String type = normalizeType(objectType);
+        typeInvalidatedAt.put(type, ++generation);
+        Iterator<Map.Entry<SearchCacheKey, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<SearchCacheKey, Entry<V>> cached = it.next();
+            if (cached.getValue().types.contains(type)) {
+                policy.remove(cached.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        allInvalidatedAt = ++generation;
+        entries.clear();
+        policy.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of lookups answered with a result past its TTL
+     */
+    public long getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    /**
+     * @return the number of background refreshes that failed, leaving a stale result in place
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailures.get();
+    }
+
+    /**
+     * @return the share of lookups answered from the cache, fresh or stale, 0 before the first lookup
+     */
+    public double getHitRate() {
+        long h = hits.get() + staleHits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public synchronized long getWeight() {
+        return policy.weight();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the entry if it may still be served, fresh or stale; entries past the hard limit are
+     *         dropped
+     */
+    private synchronized Entry<V> lookup(SearchCacheKey key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && clock.getAsLong() - entry.staleUntil >= 0) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            policy.recordMiss(key);
+        } else {
+            policy.recordAccess(key);
+        }
+        return entry;
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private boolean isInvalidatedSince(Set<String> types, long loadStart) {
+        if (allInvalidatedAt > loadStart) {
+            return true;
+        }
+        for (String type : types) {
+            Long invalidatedAt = typeInvalidatedAt.get(type);
+            if (invalidatedAt != null && invalidatedAt > loadStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refresh(SearchCacheKey key, Collection<String> objectTypes, Supplier<V> loader, Predicate<? super V> cacheable) {
+        try {
+            long loadStart = generation();
+            V loaded = loader.get();
+            if (cacheable.test(loaded)) {
+                put(key, loaded, objectTypes, loadStart);
+            } else {
+                refreshFailures.incrementAndGet();
+            }
+        } catch (Throwable t) {
+            // Runs on the executor: nothing above it would handle or report the failure.
+            refreshFailures.incrementAndGet();
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    private void remove(SearchCacheKey key) {
+        if (entries.remove(key) != null) {
+            policy.remove(key);
+        }
+    }
+
+    private static String normalizeType(String objectType) {
+        return objectType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long freshUntil;
+        final long staleUntil;
+        final Set<String> types;
+
+        Entry(V value, long freshUntil, long staleUntil, Set<String> types) {
+            this.value = value;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+            this.types = types;
+        }
+
+        boolean isFresh(long now) {
+            return now - freshUntil < 0;
+        }
+    }
+}
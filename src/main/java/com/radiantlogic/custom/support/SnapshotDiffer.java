@@ -0,0 +1,279 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Change detection for upstream APIs that have no modified-since filter.
+ *
+ * <p>The differ remembers, for every page (or partition) of the last full pass, the hash of the raw
+ * page body and a hash per entry. A new pass feeds the freshly fetched pages in; pages whose raw
+ * bytes are unchanged are skipped without being decoded, and for the remaining pages only entries
+ * whose content hash changed are reported. The result is a {@link ChangeSet} of adds, modifies and
+ * deletes, so callers only map and emit what actually changed.
+ *
+ * <pre>
+ * SnapshotDiffer&lt;Integer, Book&gt; differ = new SnapshotDiffer&lt;&gt;(Book::getIndex, ContentHash::of);
+ * SnapshotDiffer.Pass&lt;Integer, Book&gt; pass = differ.beginPass();
+ * pass.page("page-1", rawBytes, bytes -&gt; decodeBooks(bytes));
+ * SnapshotDiffer.ChangeSet&lt;Integer, Book&gt; changes = pass.complete();
+ * </pre>
+ *
+ * <p>Entries are tracked across pages, so an entry that only shifted from one page to the next is
+ * not reported as a delete plus an add. When the upstream shifts during a scan and a key shows up on
+ * two pages of one pass, the last decoded occurrence wins and the key is reported at most once; an
+ * unchanged page that is skipped never overrides a key already decoded from another page.
+ *
+ * <p>The differ is meant for connectors that poll an upstream for changes, e.g. to feed a
+ * synchronization or to invalidate cached results selectively, where the API offers no
+ * modified-since filter. Keep one differ per object type for the lifetime of the connector, call
+ * the list endpoint page by page through its {@code ...WithHttpInfo} variant with a {@code byte[]}
+ * or {@code String} body so the raw bytes are available, and decode only the pages that changed.
+ * One pass runs at a time; {@link #beginPass()} may be called from any thread once the previous
+ * pass has completed.
+ *
+ * @param <K> the entry key type
+ * @param <V> the decoded entry type
+ */
+public class SnapshotDiffer<K, V> {
+
+    private final Function<V, K> keyFunction;
+    private final ToLongFunction<V> entryHasher;
+
+    private Snapshot<K> current = new Snapshot<K>();
+    private boolean passInProgress;
+
+    /**
+     * @param keyFunction extracts the stable key (primary key) of an entry
+     * @param entryHasher computes the content hash of an entry, usually {@link ContentHash#of(Object)}
+     */
+    public SnapshotDiffer(Function<V, K> keyFunction, ToLongFunction<V> entryHasher) {
+        this.keyFunction = keyFunction;
+        this.entryHasher = entryHasher;
+    }
+
+    /**
+     * Start a new refresh pass over all pages.
+     *
+     * @return the pass to feed pages into
+     * @throws IllegalStateException if another pass has not completed yet
+     */
+    public synchronized Pass<K, V> beginPass() {
+        if (passInProgress) {
+            throw new IllegalStateException("A snapshot pass is already in progress");
+        }
+        passInProgress = true;
+        return new Pass<K, V>(this, current);
+    }
+
+    /**
+     * @return the root hash per page of the last completed pass
+     */
+    public synchronized Map<String, Long> summary() {
+        Map<String, Long> roots = new LinkedHashMap<String, Long>();
+        for (Map.Entry<String, PageState<K>> page : current.pages.entrySet()) {
+            roots.put(page.getKey(), page.getValue().root);
+        }
+        return roots;
+    }
+
+    /**
+     * @return the hash over all page roots of the last completed pass
+     */
+    public synchronized long rootHash() {
+        List<Long> roots = new ArrayList<Long>(current.pages.size());
+        for (PageState<K> page : current.pages.values()) {
+            roots.add(page.root);
+        }
+        return ContentHash.combine(roots);
+    }
+
+    /**
+     * @return the number of entries in the last completed pass
+     */
+    public synchronized int size() {
+        return current.entries.size();
+    }
+
+    private synchronized void commit(Snapshot<K> next) {
+        current = next;
+        passInProgress = false;
+    }
+
+    private synchronized void abandon() {
+        passInProgress = false;
+    }
+
+    /**
+     * One refresh pass. Not thread-safe: feed pages from a single thread, then call
+     * {@link #complete()}.
+     */
+    public static final class Pass<K, V> {
+
+        private final SnapshotDiffer<K, V> differ;
+        private final Snapshot<K> previous;
+        private final Snapshot<K> next = new Snapshot<K>();
+        private final Map<K, V> added = new LinkedHashMap<K, V>();
+        private final Map<K, V> modified = new LinkedHashMap<K, V>();
+        private int skippedPages;
+        private boolean done;
+
+        private Pass(SnapshotDiffer<K, V> differ, Snapshot<K> previous) {
+            this.differ = differ;
+            this.previous = previous;
+        }
+
+        /**
+         * Feed one page of the new pass.
+         *
+         * @param pageId  stable identifier of the page or partition, e.g. {@code "books?page=3"}
+         * @param rawBody the undecoded page body
+         * @param decoder decodes the body into entries; not called when the body is unchanged
+         * @return true if the page was decoded, false if it was skipped as unchanged
+         */
+        public boolean page(String pageId, byte[] rawBody, Function<byte[], List<V>> decoder) {
+            checkOpen();
+            long bodyHash = ContentHash.of(rawBody);
+            PageState<K> before = previous.pages.get(pageId);
+            if (before != null && before.bodyHash == bodyHash && !next.pages.containsKey(pageId)) {
+                next.pages.put(pageId, before);
+                for (K key : before.keys) {
+                    // A key already decoded from another page of this pass keeps its fresh hash
+                    next.entries.putIfAbsent(key, previous.entries.get(key));
+                }
+                skippedPages++;
+                return false;
+            }
+
+            List<V> entries = decoder.apply(rawBody);
+            PageState<K> state = new PageState<K>(bodyHash);
+            List<Long> hashes = new ArrayList<Long>(entries.size());
+            for (V entry : entries) {
+                K key = differ.keyFunction.apply(entry);
+                long hash = differ.entryHasher.applyAsLong(entry);
+                hashes.add(hash);
+                state.keys.add(key);
+                // The same key may appear on two pages of one pass (upstream shifted mid-scan); the
+                // latest occurrence replaces the hash and the report of an earlier one.
+                next.entries.put(key, hash);
+                added.remove(key);
+                modified.remove(key);
+                Long old = previous.entries.get(key);
+                if (old == null) {
+                    added.put(key, entry);
+                } else if (old != hash) {
+                    modified.put(key, entry);
+                }
+            }
+            state.root = ContentHash.combine(hashes);
+            next.pages.put(pageId, state);
+            return true;
+        }
+
+        /**
+         * Finish the pass. Entries seen in the previous pass but not in this one are reported as
+         * deletes, and this pass becomes the baseline for the next one.
+         *
+         * @return the changes since the previous pass
+         */
+        public ChangeSet<K, V> complete() {
+            checkOpen();
+            done = true;
+            List<K> deleted = new ArrayList<K>();
+            for (K key : previous.entries.keySet()) {
+                if (!next.entries.containsKey(key)) {
+                    deleted.add(key);
+                }
+            }
+            differ.commit(next);
+            return new ChangeSet<K, V>(new ArrayList<V>(added.values()), new ArrayList<V>(modified.values()),
+                    deleted, skippedPages);
+        }
+
+        /**
+         * Drop the pass without changing the baseline, e.g. after an upstream failure mid-scan.
+         */
+        public void abandon() {
+            if (!done) {
+                done = true;
+                differ.abandon();
+            }
+        }
+
+        private void checkOpen() {
+            if (done) {
+                throw new IllegalStateException("Snapshot pass has already completed");
+            }
+        }
+    }
+
+    /**
+     * The changes found by one pass.
+     */
+    public static final class ChangeSet<K, V> {
+
+        private final List<V> added;
+        private final List<V> modified;
+        private final List<K> deleted;
+        private final int skippedPages;
+
+        ChangeSet(List<V> added, List<V> modified, List<K> deleted, int skippedPages) {
+            this.added = Collections.unmodifiableList(added);
+            this.modified = Collections.unmodifiableList(modified);
+            this.deleted = Collections.unmodifiableList(deleted);
+            this.skippedPages = skippedPages;
+        }
+
+        public List<V> getAdded() {
+            return added;
+        }
+
+        public List<V> getModified() {
+            return modified;
+        }
+
+        public List<K> getDeleted() {
+            return deleted;
+        }
+
+        /**
+         * @return the number of pages skipped without decoding because their body was unchanged
+         */
+        public int getSkippedPages() {
+            return skippedPages;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && modified.isEmpty() && deleted.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "ChangeSet{added=" + added.size() + ", modified=" + modified.size()
+                    + ", deleted=" + deleted.size() + ", skippedPages=" + skippedPages + "}";
+        }
+    }
+
+    private static final class Snapshot<K> {
+        final Map<String, PageState<K>> pages = new LinkedHashMap<String, PageState<K>>();
+        final Map<K, Long> entries = new HashMap<K, Long>();
+    }
+
+    private static final class PageState<K> {
+        final long bodyHash;
+        final Set<K> keys = new HashSet<K>();
+        long root;
+
+        PageState(long bodyHash) {
+            this.bodyHash = bodyHash;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.radiantlogic.custom.support;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search results handed to the caller while the search is still running.
+ *
+ * <p>A producer walks the upstream pages on a background thread and emits mapped entries into a
+ * bounded queue; the caller iterates over them as they arrive. The first entry is available after
+ * one upstream round trip, and because the producer blocks while the queue is full, a slow consumer
+ * holds back further upstream requests. Heap use is bounded by the queue capacity plus the pages
+ * the producer holds, independent of the size of the result.
+ *
+ * <pre>
+ * try (StreamingResults&lt;String&gt; results = connector.streamSearch(request)) {
+ *     while (results.hasNext()) {
+ *         send(results.next());
+ *     }
+ *     LimitedSearch.Outcome outcome = results.getOutcome();
+ * }
+ * </pre>
+ *
+ * <p>Closing the results before the end stops the producer and interrupts an upstream call in
+ * progress. A failure of the producer is rethrown from {@link #hasNext()} once the entries emitted
+ * before it have been consumed. Iteration is single-threaded.
+ *
+ * @param <T> the entry type
+ */
+public final class StreamingResults<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Produces the entries of one search.
+     */
+    @FunctionalInterface
+    public interface Producer<T> {
+
+        /**
+         * @param sink receives the entries; stop producing when it returns false
+         * @return how the search ended
+         * @throws Exception on upstream failure
+         */
+        LimitedSearch.Outcome produce(EntrySink<T> sink) throws Exception;
+    }
+
+    private static final Object END = new Object();
+    private static final long OFFER_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Object> queue;
+    private volatile boolean closed;
+    private volatile LimitedSearch.Outcome outcome;
+    private Future<?> task;
+    private Object next;
+    private boolean done;
+
+    private StreamingResults(int capacity) {
+        this.queue = new ArrayBlockingQueue<Object>(capacity);
+    }
+
+    /**
+     * Start producing on the {@link SupportExecutors#shared() shared executor}.
+     *
+     * @param producer produces the entries
+     * @param capacity the maximum number of entries buffered ahead of the consumer
+     * @return the running results
+     */
+    public static <T> StreamingResults<T> start(Producer<T> producer, int capacity) {
+        return start(producer, capacity, SupportExecutors.shared());
+    }
+
+    /**
+     * @param producer produces the entries
+     * @param capacity the maximum number of entries buffered ahead of the consumer
+     * @param executor runs the producer
+     * @return the running results
+     */
+    public static <T> StreamingResults<T> start(final Producer<T> producer, int capacity, ExecutorService executor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        final StreamingResults<T> results = new StreamingResults<T>(capacity);
+        results.task = executor.submit(() -> results.run(producer));
+        return results;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (done) {
+            return false;
+        }
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for search results", e);
+        }
+        if (item == END) {
+            done = true;
+            return false;
+        }
+        if (item instanceof Failure) {
+            done = true;
+            throw ((Failure) item).rethrow();
+        }
+        next = item;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T entry = (T) next;
+        next = null;
+        return entry;
+    }
+
+    /**
+     * @return how the search ended, or null while it is still running or if it failed
+     */
+    public LimitedSearch.Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Stop the producer and discard buffered entries.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        done = true;
+        next = null;
+        queue.clear();
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    private void run(Producer<T> producer) {
+        try {
+            outcome = producer.produce(this::offer);
+            put(END);
+        } catch (Throwable t) {
+            put(new Failure(t));
+        }
+    }
+
+    private boolean offer(T entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Streaming results do not accept null entries");
+        }
+        return put(entry);
+    }
+
+    private boolean put(Object item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        RuntimeException rethrow() {
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return new IllegalStateException("Search failed", cause);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.radiantlogic.custom.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor used for upstream calls that must be cancellable or run concurrently, and the
+ * scheduler that times periodic work.
+ *
+ * <p>Threads are daemon threads so an idle connector never keeps the JVM alive. The pool itself is
+ * unbounded; callers that fan out bound their own concurrency. The scheduler has one thread for all
+ * connectors, so scheduled tasks only hand their blocking work to the pool.
+ */
+public final class SupportExecutors {
+
+    private static final ExecutorService SHARED = Executors.newCachedThreadPool(daemonThreads("connector-upstream"));
+    private static final ScheduledExecutorService SCHEDULER = newScheduler();
+
+    private SupportExecutors() {
+    }
+
+    /**
+     * @return the shared executor for upstream calls
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the shared scheduler; its tasks must not block
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * @param prefix thread name prefix
+     * @return a factory creating named daemon threads
+     */
+    public static ThreadFactory daemonThreads(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonThreads("connector-scheduler"));
+        // Cancelled tasks of closed connectors must not stay queued until their next run
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,290 @@
+package com.radiantlogic.custom.support;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A two-tier entry cache: a small on-heap L1 of decoded entries in front of a large off-heap L2 of
+ * serialized entries.
+ *
+ * <p>Holding millions of mapped entries as objects on the heap makes every full GC walk them. Here
+ * only the L1 (bounded by entry count) holds live objects. The L2 stores each entry in the compact
+ * form of an {@link EntryCodec} inside direct {@link ByteBuffer} slabs, which the garbage collector
+ * never scans, and decodes it on access; a decoded L2 hit is promoted to the L1.
+ *
+ * <p>The L2 is log-structured: entries are appended to the newest slab, and when the byte budget is
+ * reached the oldest slab is recycled as a whole, dropping the entries still in it. Replaced or
+ * invalidated entries leave dead bytes in their slab until it is recycled. Slab buffers are reused,
+ * so off-heap memory is allocated once and stays within the budget. The only per-entry heap cost of
+ * the L2 is its index entry. An entry larger than a slab is kept in the L1 only.
+ *
+ * <p>Entries may change upstream even when the connector never writes them. With a time-to-live
+ * set, an entry older than that is treated as missing in both tiers, so the caller reads it from the
+ * upstream again. Without one, entries are only dropped when the cache needs the space.
+ *
+ * <p>Thread-safe.
+ *
+ * @param <K> the key type
+ * @param <T> the entry type
+ */
+public final class TieredEntryCache<K, T> {
+
+    public static final int DEFAULT_SLAB_BYTES = 4 * 1024 * 1024;
+
+    private static final int LENGTH_BYTES = 4;
+
+    private final EntryCodec<T> codec;
+    private final int slabBytes;
+    private final int maxSlabs;
+    private final LinkedHashMap<K, Cached<T>> l1;
+    private final Map<K, Location> l2Index = new HashMap<K, Location>();
+    private final Map<Integer, Slab<K>> slabsByGeneration = new HashMap<Integer, Slab<K>>();
+    private final ArrayDeque<Slab<K>> slabs = new ArrayDeque<Slab<K>>();
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong l2Hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final LongSupplier clock;
+
+    private int nextGeneration;
+    private long ttlNanos;
+
+    /**
+     * @param codec        serializes entries for the L2
+     * @param l1MaxEntries the number of decoded entries kept on the heap
+     * @param l2MaxBytes   the off-heap budget of the L2
+     */
+    public TieredEntryCache(EntryCodec<T> codec, int l1MaxEntries, long l2MaxBytes) {
+        this(codec, l1MaxEntries, l2MaxBytes, DEFAULT_SLAB_BYTES);
+    }
+
+    /**
+     * @param codec        serializes entries for the L2
+     * @param l1MaxEntries the number of decoded entries kept on the heap
+     * @param l2MaxBytes   the off-heap budget of the L2
+     * @param slabBytes    the size of one off-heap slab, also the largest entry the L2 holds
+     */
+    public TieredEntryCache(EntryCodec<T> codec, int l1MaxEntries, long l2MaxBytes, int slabBytes) {
+        this(codec, l1MaxEntries, l2MaxBytes, slabBytes, System::nanoTime);
+    }
+
+    TieredEntryCache(EntryCodec<T> codec, final int l1MaxEntries, long l2MaxBytes, int slabBytes, LongSupplier clock) {
+        if (l1MaxEntries < 0) {
+            throw new IllegalArgumentException("L1 size must not be negative");
+        }
+        if (slabBytes <= LENGTH_BYTES || l2MaxBytes < slabBytes) {
+            throw new IllegalArgumentException("L2 budget must hold at least one slab of more than " + LENGTH_BYTES + " bytes");
+        }
+        this.codec = codec;
+        this.slabBytes = slabBytes;
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, l2MaxBytes / slabBytes);
+        this.clock = clock;
+        this.l1 = new LinkedHashMap<K, Cached<T>>(Math.min(l1MaxEntries, 1 << 16) * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Cached<T>> eldest) {
+                return size() > l1MaxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param ttl  how long an entry is served after it was put; 0 keeps entries until evicted
+     * @param unit the unit of the time-to-live
+     * @return this cache
+     */
+    public synchronized TieredEntryCache<K, T> setTtl(long ttl, TimeUnit unit) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Time-to-live must not be negative");
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        return this;
+    }
+
+    /**
+     * @param key the entry key
+     * @return the entry, or null if it is in neither tier
+     */
+    public synchronized T get(K key) {
+        long now = clock.getAsLong();
+        Cached<T> cached = l1.get(key);
+        if (cached != null) {
+            if (isExpired(cached.putAt, now)) {
+                return expire(key);
+            }
+            l1Hits.incrementAndGet();
+            return cached.entry;
+        }
+        Location location = l2Index.get(key);
+        if (location == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (isExpired(location.putAt, now)) {
+            return expire(key);
+        }
+        Slab<K> slab = slabsByGeneration.get(location.generation);
+        ByteBuffer bytes = slab.buffer.duplicate();
+        bytes.position(location.offset);
+        int length = bytes.getInt();
+        bytes.limit(bytes.position() + length);
+        T entry = codec.decode(bytes.slice());
+        l2Hits.incrementAndGet();
+        l1.put(key, new Cached<T>(entry, location.putAt));
+        return entry;
+    }
+
+    /**
+     * Cache an entry in both tiers, replacing any previous entry of the key.
+     *
+     * @param key   the entry key
+     * @param entry the entry
+     */
+    public void put(K key, T entry) {
+        byte[] encoded = codec.encode(entry);
+        synchronized (this) {
+            long now = clock.getAsLong();
+            l1.put(key, new Cached<T>(entry, now));
+            l2Index.remove(key);
+            if (LENGTH_BYTES + encoded.length > slabBytes) {
+                return;
+            }
+            Slab<K> slab = slabs.peekLast();
+            if (slab == null || slab.buffer.remaining() < LENGTH_BYTES + encoded.length) {
+                slab = newSlab();
+            }
+            int offset = slab.buffer.position();
+            slab.buffer.putInt(encoded.length).put(encoded);
+            slab.keys.add(key);
+            l2Index.put(key, new Location(slab.generation, offset, now));
+        }
+    }
+
+    /**
+     * @param key the key of the entry to drop from both tiers
+     */
+    public synchronized void invalidate(K key) {
+        l1.remove(key);
+        l2Index.remove(key);
+    }
+
+    /**
+     * Drop every entry. The slab buffers are kept for reuse.
+     */
+    public synchronized void clear() {
+        l1.clear();
+        l2Index.clear();
+        for (Slab<K> slab : slabs) {
+            slab.keys.clear();
+            slab.buffer.clear();
+        }
+        // Keep the buffers but start a new generation so stale locations can never resolve
+        List<Slab<K>> recycled = new ArrayList<Slab<K>>(slabs);
+        slabs.clear();
+        slabsByGeneration.clear();
+        for (Slab<K> slab : recycled) {
+            Slab<K> fresh = new Slab<K>(nextGeneration++, slab.buffer);
+            slabs.add(fresh);
+            slabsByGeneration.put(fresh.generation, fresh);
+        }
+    }
+
+    public long getL1HitCount() {
+        return l1Hits.get();
+    }
+
+    public long getL2HitCount() {
+        return l2Hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public synchronized int getL1Size() {
+        return l1.size();
+    }
+
+    public synchronized int getL2Size() {
+        return l2Index.size();
+    }
+
+    /**
+     * @return the direct memory held by the L2 slabs
+     */
+    public synchronized long getOffHeapBytes() {
+        return (long) slabs.size() * slabBytes;
+    }
+
+    private Slab<K> newSlab() {
+        ByteBuffer buffer;
+        if (slabs.size() >= maxSlabs) {
+            Slab<K> oldest = slabs.pollFirst();
+            slabsByGeneration.remove(oldest.generation);
+            for (K key : oldest.keys) {
+                Location location = l2Index.get(key);
+                if (location != null && location.generation == oldest.generation) {
+                    l2Index.remove(key);
+                }
+            }
+            buffer = oldest.buffer;
+            buffer.clear();
+        } else {
+            buffer = ByteBuffer.allocateDirect(slabBytes);
+        }
+        Slab<K> slab = new Slab<K>(nextGeneration++, buffer);
+        slabs.addLast(slab);
+        slabsByGeneration.put(slab.generation, slab);
+        return slab;
+    }
+
+    private boolean isExpired(long putAt, long now) {
+        return ttlNanos > 0 && now - putAt >= ttlNanos;
+    }
+
+    private T expire(K key) {
+        l1.remove(key);
+        l2Index.remove(key);
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private static final class Cached<T> {
+        final T entry;
+        final long putAt;
+
+        Cached(T entry, long putAt) {
+            this.entry = entry;
+            this.putAt = putAt;
+        }
+    }
+
+    private static final class Location {
+        final int generation;
+        final int offset;
+        final long putAt;
+
+        Location(int generation, int offset, long putAt) {
+            this.generation = generation;
+            this.offset = offset;
+            this.putAt = putAt;
+        }
+    }
+
+    private static final class Slab<K> {
+        final int generation;
+        final ByteBuffer buffer;
+        final List<K> keys = new ArrayList<K>();
+
+        Slab(int generation, ByteBuffer buffer) {
+            this.generation = generation;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.radiantlogic.custom.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Reads the total size of an upstream collection from a response, when the upstream reports it.
+ *
+ * <p>Two conventions are recognised: the {@code X-Total-Count} response header and the SCIM
+ * {@code totalResults} attribute of a list response (RFC 7644, section 3.4.2).
+ */
+public final class TotalCount {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String SCIM_TOTAL_RESULTS = "totalResults";
+
+    private TotalCount() {
+    }
+
+    /**
+     * @param headers the response headers, e.g. Spring's {@code HttpHeaders}; names are matched
+     *                case-insensitively
+     * @return the total count, or empty if the header is missing or not a number
+     */
+    public static OptionalLong fromHeaders(Map<String, List<String>> headers) {
+        if (headers == null) {
+            return OptionalLong.empty();
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (TOTAL_COUNT_HEADER.equalsIgnoreCase(header.getKey())
+                    && header.getValue() != null && !header.getValue().isEmpty()) {
+                return parse(header.getValue().get(0));
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * @param body a decoded list response
+     * @return the SCIM {@code totalResults}, or empty if absent or not a number
+     */
+    public static OptionalLong fromBody(Map<?, ?> body) {
+        if (body == null) {
+            return OptionalLong.empty();
+        }
+        return parse(body.get(SCIM_TOTAL_RESULTS));
+    }
+
+    private static OptionalLong parse(Object value) {
+        if (value instanceof Number) {
+            long count = ((Number) value).longValue();
+            return count >= 0 ? OptionalLong.of(count) : OptionalLong.empty();
+        }
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            long count = Long.parseLong(value.toString().trim());
+            return count >= 0 ? OptionalLong.of(count) : OptionalLong.empty();
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
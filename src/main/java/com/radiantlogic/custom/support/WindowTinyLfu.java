@@ -0,0 +1,177 @@
+package com.radiantlogic.custom.support;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The W-TinyLFU eviction policy, bounded by total weight.
+ *
+ * <p>New keys enter a small LRU window (1% of the weight). Keys pushed out of the window become
+ * candidates for the main region, a segmented LRU of a probation segment and a protected segment
+ * (80% of the main region) for keys accessed again while on probation. When the cache is over its
+ * weight, a candidate is only admitted if the {@link FrequencySketch} estimates it more popular than
+ * the probation victim it would replace; otherwise the candidate itself is evicted. A bulk scan
+ * touches each key once, so its keys lose against the interactive working set and pass through
+ * the window without polluting the main region.
+ *
+ * <p>The policy only orders keys; the owning cache stores the values and removes the keys returned
+ * as evicted. Not thread-safe; the owner serializes all calls.
+ *
+ * @param <K> the key type
+ */
+final class WindowTinyLfu<K> {
+
+    private final LinkedHashMap<K, Long> window = new LinkedHashMap<K, Long>();
+    private final LinkedHashMap<K, Long> probation = new LinkedHashMap<K, Long>();
+    private final LinkedHashMap<K, Long> protectedSegment = new LinkedHashMap<K, Long>();
+    private final FrequencySketch sketch;
+    private final long maxWeight;
+    private final long windowMax;
+    private final long protectedMax;
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    WindowTinyLfu(long maxWeight, int expectedEntries) {
+        this.maxWeight = maxWeight;
+        this.windowMax = Math.max(1, maxWeight / 100);
+        this.protectedMax = (maxWeight - windowMax) * 8 / 10;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * Record a lookup of a key that is not cached, so that its popularity counts at admission.
+     */
+    void recordMiss(K key) {
+        sketch.increment(key);
+    }
+
+    /**
+     * Record a hit.
+     */
+    void recordAccess(K key) {
+        sketch.increment(key);
+        Long weight = window.remove(key);
+        if (weight != null) {
+            window.put(key, weight);
+            return;
+        }
+        weight = probation.remove(key);
+        if (weight != null) {
+            probationWeight -= weight;
+            protectedSegment.put(key, weight);
+            protectedWeight += weight;
+            demoteProtected();
+            return;
+        }
+        weight = protectedSegment.remove(key);
+        if (weight != null) {
+            protectedSegment.put(key, weight);
+        }
+    }
+
+    /**
+     * Add a key that is not in the policy. Adding is not an access: the lookup that missed the key
+     * was already counted through {@link #recordMiss}, so a load does not count twice.
+     *
+     * @return the keys to evict from the cache, possibly including the added key
+     */
+    List<K> add(K key, long weight) {
+        sketch.ensureCapacity(size() + 1);
+        window.put(key, weight);
+        windowWeight += weight;
+
+        List<K> candidates = new ArrayList<K>();
+        Iterator<Map.Entry<K, Long>> eldest = window.entrySet().iterator();
+        while (windowWeight > windowMax && eldest.hasNext()) {
+            Map.Entry<K, Long> moved = eldest.next();
+            eldest.remove();
+            windowWeight -= moved.getValue();
+            probation.put(moved.getKey(), moved.getValue());
+            probationWeight += moved.getValue();
+            candidates.add(moved.getKey());
+        }
+        return evict(candidates);
+    }
+
+    void remove(K key) {
+        Long weight = window.remove(key);
+        if (weight != null) {
+            windowWeight -= weight;
+            return;
+        }
+        weight = probation.remove(key);
+        if (weight != null) {
+            probationWeight -= weight;
+            return;
+        }
+        weight = protectedSegment.remove(key);
+        if (weight != null) {
+            protectedWeight -= weight;
+        }
+    }
+
+    void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        windowWeight = 0;
+        probationWeight = 0;
+        protectedWeight = 0;
+    }
+
+    long weight() {
+        return windowWeight + probationWeight + protectedWeight;
+    }
+
+    int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    private List<K> evict(List<K> candidates) {
+        List<K> evicted = new ArrayList<K>();
+        int nextCandidate = candidates.size() - 1;
+        while (weight() > maxWeight) {
+            K victim = first(probation);
+            if (victim == null) {
+                victim = first(protectedSegment) != null ? first(protectedSegment) : first(window);
+                evicted.add(victim);
+                remove(victim);
+                continue;
+            }
+            // Candidates were appended to probation in order; compare the newest one still present
+            while (nextCandidate >= 0 && !probation.containsKey(candidates.get(nextCandidate))) {
+                nextCandidate--;
+            }
+            K candidate = nextCandidate >= 0 ? candidates.get(nextCandidate) : null;
+            K loser;
+            if (candidate == null || candidate.equals(victim)) {
+                loser = victim;
+            } else {
+                loser = sketch.frequency(candidate) > sketch.frequency(victim) ? victim : candidate;
+            }
+            evicted.add(loser);
+            remove(loser);
+        }
+        return evicted;
+    }
+
+    private void demoteProtected() {
+        Iterator<Map.Entry<K, Long>> eldest = protectedSegment.entrySet().iterator();
+        while (protectedWeight > protectedMax && eldest.hasNext()) {
+            Map.Entry<K, Long> demoted = eldest.next();
+            eldest.remove();
+            protectedWeight -= demoted.getValue();
+            probation.put(demoted.getKey(), demoted.getValue());
+            probationWeight += demoted.getValue();
+        }
+    }
+
+    private static <K> K first(LinkedHashMap<K, Long> segment) {
+        return segment.isEmpty() ? null : segment.keySet().iterator().next();
+    }
+}
@@ -0,0 +1,122 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.radiantlogic.openapi.generated.harrypotterapi.invoker.auth.HttpBearerAuth;
+import com.radiantlogic.openapi.generated.harrypotterapi.invoker.auth.OAuthTokenManager;
+
+class ApiClientTest {
+
+    @Test
+    void testUnauthorizedRequestIsReplayedOnceWithRenewedToken() {
+        AtomicInteger issued = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (OAuthTokenManager manager = new OAuthTokenManager(
+                () -> new OAuthTokenManager.AccessToken("token-" + issued.incrementAndGet(), Instant.now().plusSeconds(600)),
+                Duration.ofSeconds(60), scheduler, Runnable::run, Clock.systemUTC())) {
+            HttpBearerAuth auth = new HttpBearerAuth("bearer");
+            auth.setBearerToken(manager);
+            RecordingRestTemplate server = new RecordingRestTemplate(1);
+            ApiClient client = client(server, auth);
+
+            ResponseEntity<String> response = invoke(client);
+
+            assertEquals("ok", response.getBody());
+            assertEquals(2, server.authorizations.size());
+            assertEquals("Bearer token-1", server.authorizations.get(0));
+            assertEquals("Bearer token-2", server.authorizations.get(1));
+            assertEquals(2, manager.getRequestCount());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUnauthorizedRequestIsNotReplayedTwice() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger issued = new AtomicInteger();
+        try (OAuthTokenManager manager = new OAuthTokenManager(
+                () -> new OAuthTokenManager.AccessToken("token-" + issued.incrementAndGet(), Instant.now().plusSeconds(600)),
+                Duration.ofSeconds(60), scheduler, Runnable::run, Clock.systemUTC())) {
+            HttpBearerAuth auth = new HttpBearerAuth("bearer");
+            auth.setBearerToken(manager);
+            RecordingRestTemplate server = new RecordingRestTemplate(Integer.MAX_VALUE);
+            ApiClient client = client(server, auth);
+
+            HttpClientErrorException e = assertThrows(HttpClientErrorException.class, () -> invoke(client));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+            assertEquals(2, server.authorizations.size());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStaticTokenIsNotReplayed() {
+        HttpBearerAuth auth = new HttpBearerAuth("bearer");
+        auth.setBearerToken("static");
+        RecordingRestTemplate server = new RecordingRestTemplate(1);
+        ApiClient client = client(server, auth);
+
+        assertThrows(HttpClientErrorException.class, () -> invoke(client));
+        assertEquals(1, server.authorizations.size());
+    }
+
+    private static ApiClient client(RestTemplate restTemplate, HttpBearerAuth auth) {
+        ApiClient client = new ApiClient(restTemplate);
+        client.authentications = Collections.singletonMap("bearerAuth", auth);
+        return client;
+    }
+
+    private static ResponseEntity<String> invoke(ApiClient client) {
+        return client.invokeAPI("/v1/books", HttpMethod.GET, new HashMap<String, Object>(), new LinkedMultiValueMap<String, String>(),
+                null, new HttpHeaders(), new LinkedMultiValueMap<String, String>(), new LinkedMultiValueMap<String, Object>(),
+                null, null, new String[] {"bearerAuth"}, new ParameterizedTypeReference<String>() {});
+    }
+
+    /**
+     * Rejects the first requests with 401 Unauthorized and records the Authorization header of each.
+     */
+    private static final class RecordingRestTemplate extends RestTemplate {
+        final List<String> authorizations = new ArrayList<String>();
+        private final int rejections;
+
+        RecordingRestTemplate(int rejections) {
+            this.rejections = rejections;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> exchange(RequestEntity<?> request, ParameterizedTypeReference<T> responseType) {
+            authorizations.add(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+            if (authorizations.size() <= rejections) {
+                throw new HttpClientErrorException(HttpStatus.UNAUTHORIZED);
+            }
+            return new ResponseEntity<T>((T) "ok", HttpStatus.OK);
+        }
+    }
+}
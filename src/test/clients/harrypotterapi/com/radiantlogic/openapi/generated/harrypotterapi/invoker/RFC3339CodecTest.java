@@ -0,0 +1,57 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Random;
+
+class RFC3339CodecTest {
+
+    @Test
+    void testRandomTimestampsMatchJdkAndDateFormat() throws Exception {
+        Random random = new Random(1);
+        for (int i = 0; i < 300_000; i++) {
+            LocalDate date = LocalDate.of(1 + random.nextInt(9999), 1, 1).plusDays(random.nextInt(365));
+            LocalTime time = LocalTime.ofSecondOfDay(random.nextInt(86_400))
+                .withNano(random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000));
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(35) - 17) * 3600 + (random.nextBoolean() ? 1800 : 0));
+            OffsetDateTime value = OffsetDateTime.of(date, time, offset);
+            String text = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+
+            assertEquals(text, RFC3339Codec.format(value));
+            assertEquals(value, RFC3339Codec.parseOffsetDateTime(text));
+            assertEquals(value.toInstant(), RFC3339Codec.parseInstant(text));
+
+            Date instant = new Date(value.toInstant().toEpochMilli());
+            assertEquals(new RFC3339DateFormat().format(instant), RFC3339Codec.formatDate(instant));
+            assertEquals(new RFC3339DateFormat().parse(text), RFC3339Codec.parseDate(text));
+        }
+    }
+
+    @Test
+    void testOutOfRangeFieldsFallBackToJdkAndDateFormat() throws Exception {
+        for (String text : new String[] {"2025-02-30T00:00:00Z", "2025-01-31T23:59:60Z", "2025-01-31T24:00:00Z", "2025-13-01T00:00:00+01:00"}) {
+            assertNull(RFC3339Codec.parse(text, RFC3339Codec.DATE), text);
+            assertNull(RFC3339Codec.parse(text, RFC3339Codec.INSTANT), text);
+            assertNull(RFC3339Codec.parse(text, RFC3339Codec.OFFSET_DATE_TIME), text);
+            assertEquals(new RFC3339DateFormat().parse(text), RFC3339Codec.parseDate(text));
+            assertThrows(DateTimeParseException.class, () -> RFC3339Codec.parseOffsetDateTime(text));
+        }
+    }
+
+    @Test
+    void testOtherLayoutsAreLeftToJdk() {
+        assertEquals(OffsetDateTime.of(2025, 1, 31, 8, 15, 30, 0, ZoneOffset.UTC), RFC3339Codec.parseOffsetDateTime("2025-01-31 08:15:30Z"));
+        assertNull(RFC3339Codec.parse("2025-01-31T08:15:30+2:00", RFC3339Codec.OFFSET_DATE_TIME));
+        assertNull(RFC3339Codec.parse("2025-01-31T08:15:30.1234567891Z", RFC3339Codec.OFFSET_DATE_TIME));
+        assertThrows(DateTimeParseException.class, () -> RFC3339Codec.parseOffsetDateTime("2025-01-31T08:15:30"));
+    }
+}
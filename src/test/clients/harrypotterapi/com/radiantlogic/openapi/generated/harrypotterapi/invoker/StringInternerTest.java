@@ -0,0 +1,51 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringInternerTest {
+
+    @Test
+    void testHighCardinalityFieldsDoNotCrowdOutConfiguredFields() {
+        StringInterner interner = new StringInterner(StringInterner.DEFAULT_MAX_ENTRIES).internFields("house");
+
+        for (int field = 0; field < 40; field++) {
+            for (int i = 0; i < StringInterner.SAMPLE_SIZE + 100; i++) {
+                interner.intern("id" + field, "value-" + field + "-" + i);
+            }
+        }
+
+        assertEquals(0, interner.size());
+        String first = interner.intern("house", new String("Gryffindor"));
+        assertSame(first, interner.intern("house", new String("Gryffindor")));
+    }
+
+    @Test
+    void testRepeatingFieldQualifiesAfterSampling() {
+        StringInterner interner = new StringInterner(100);
+
+        for (int i = 0; i < StringInterner.SAMPLE_SIZE; i++) {
+            interner.intern("status", i % 2 == 0 ? "ACTIVE" : "SUSPENDED");
+        }
+        assertEquals(0, interner.size());
+
+        String first = interner.intern("status", new String("ACTIVE"));
+        assertSame(first, interner.intern("status", new String("ACTIVE")));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testDroppedFieldStillSharesValuesAlreadyInTable() {
+        StringInterner interner = new StringInterner(100).internFields("house");
+        String canonical = interner.intern("house", new String("Slytherin"));
+
+        for (int i = 0; i < StringInterner.SAMPLE_SIZE; i++) {
+            interner.intern("name", "name-" + i);
+        }
+
+        assertSame(canonical, interner.intern("house", new String("Slytherin")));
+        assertNotSame(canonical, interner.intern("name", new String("Slytherin")));
+        assertEquals(1, interner.size());
+    }
+}
@@ -0,0 +1,153 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.invoker.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class OAuthTokenManagerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-07-01T00:00:00Z"));
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger issued = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OAuthTokenManager manager = manager(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return token(600);
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> tokens = new ArrayList<Future<String>>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(callers.submit(manager::get));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> token : tokens) {
+                assertEquals("token-1", token.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, manager.getRequestCount());
+    }
+
+    @Test
+    void testTokenIsRenewedInTheBackgroundBeforeExpiry() {
+        OAuthTokenManager manager = manager(() -> token(600));
+
+        assertEquals("token-1", manager.get());
+        clock.advance(Duration.ofSeconds(500));
+        assertEquals("token-1", manager.get());
+        assertEquals(1, manager.getRequestCount());
+
+        clock.advance(Duration.ofSeconds(50));
+        assertEquals("token-1", manager.get(), "a token in its refresh window stays in use while it is renewed");
+        assertEquals(2, manager.getRequestCount());
+        assertEquals("token-2", manager.get());
+    }
+
+    @Test
+    void testFailedRequestIsNotRepeatedBeforeRetryDelay() {
+        AtomicInteger failures = new AtomicInteger(2);
+        OAuthTokenManager manager = manager(() -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("endpoint down");
+            }
+            return token(600);
+        });
+
+        IllegalStateException first = assertThrows(IllegalStateException.class, manager::get);
+        assertEquals("endpoint down", first.getCause().getMessage());
+        IllegalStateException again = assertThrows(IllegalStateException.class, manager::get);
+        assertEquals("endpoint down", again.getCause().getMessage());
+        assertFalse(manager.renewRejected("Bearer stale"));
+        assertEquals(1, manager.getRequestCount());
+
+        clock.advance(OAuthTokenManager.RETRY_DELAY);
+        assertThrows(IllegalStateException.class, manager::get);
+        assertEquals(2, manager.getRequestCount());
+
+        clock.advance(OAuthTokenManager.RETRY_DELAY);
+        assertEquals("token-1", manager.get());
+        assertEquals(3, manager.getRequestCount());
+    }
+
+    @Test
+    void testRejectedTokenIsRenewedOnce() {
+        OAuthTokenManager manager = manager(() -> token(600));
+        assertEquals("token-1", manager.get());
+
+        assertTrue(manager.renewRejected("Bearer token-1"));
+        assertTrue(manager.renewRejected("Bearer token-1"), "a token that was already replaced needs no renewal");
+        assertEquals(2, manager.getRequestCount());
+        assertEquals("token-2", manager.get());
+    }
+
+    @Test
+    void testRequestWithoutTokenIsNotRenewed() {
+        OAuthTokenManager manager = manager(() -> token(600));
+
+        assertFalse(manager.renewRejected(null));
+        assertFalse(manager.renewRejected(""));
+        assertEquals(0, manager.getRequestCount());
+    }
+
+    private OAuthTokenManager manager(OAuthTokenManager.TokenEndpoint endpoint) {
+        return new OAuthTokenManager(endpoint, Duration.ofSeconds(60), scheduler, Runnable::run, clock);
+    }
+
+    private OAuthTokenManager.AccessToken token(long expiresInSeconds) {
+        return new OAuthTokenManager.AccessToken("token-" + issued.incrementAndGet(), clock.instant().plusSeconds(expiresInSeconds));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
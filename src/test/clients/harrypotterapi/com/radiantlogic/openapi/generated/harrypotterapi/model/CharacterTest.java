@@ -0,0 +1,34 @@
+package com.radiantlogic.openapi.generated.harrypotterapi.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CharacterTest {
+
+    @Test
+    void testGetterOfUnsetListHasNoSideEffect() {
+        Character character = new Character();
+
+        assertTrue(character.getChildren().isEmpty());
+        assertSame(character.getChildren(), new Character().getChildren());
+        assertThrows(UnsupportedOperationException.class, () -> character.getChildren().add("James"));
+
+        character.addChildrenItem("James").addChildrenItem("Albus");
+
+        assertEquals(Arrays.asList("James", "Albus"), character.getChildren());
+        assertEquals(new Character(), new Character().children(Arrays.<String>asList()));
+    }
+
+    @Test
+    void testExplicitNullListStaysNull() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertNull(mapper.readValue("{\"children\":null}", Character.class).getChildren());
+        assertEquals("[]", mapper.readTree(mapper.writeValueAsString(new Character())).get("children").toString());
+    }
+}
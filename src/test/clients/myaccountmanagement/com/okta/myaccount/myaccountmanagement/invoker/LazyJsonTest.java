@@ -0,0 +1,106 @@
+package com.okta.myaccount.myaccountmanagement.invoker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.okta.myaccount.myaccountmanagement.model.Email;
+import com.okta.myaccount.myaccountmanagement.model.EmailLinks;
+
+class LazyJsonTest {
+
+    private static final String LINKS = "{\"self\":{\"href\":\"https://example.okta.com/idp/myaccount/emails/e1\"}}";
+    private static final String EMAIL = "{\"id\":\"e1\",\"profile\":{\"email\":\"jdoe@example.org\"},\"roles\":[\"PRIMARY\"],"
+        + "\"status\":\"VERIFIED\",\"_links\":" + LINKS + "}";
+
+    @Test
+    void testUndecodedSubtreeRoundTripsUnchanged() throws Exception {
+        ObjectMapper mapper = JacksonConfig.OBJECT_MAPPER;
+        Email email = mapper.readValue(EMAIL, Email.class);
+
+        assertEquals(mapper.readTree(EMAIL), mapper.readTree(mapper.writeValueAsString(email)));
+
+        EmailLinks links = email.getLinks();
+        assertEquals("https://example.okta.com/idp/myaccount/emails/e1", links.getSelf().getHref());
+        assertSame(links, email.getLinks());
+        assertEquals(mapper.valueToTree(links), mapper.readTree(mapper.writeValueAsString(email)).get("_links"));
+    }
+
+    @Test
+    void testToStringDoesNotDependOnAccessHistory() throws Exception {
+        ObjectMapper mapper = JacksonConfig.OBJECT_MAPPER;
+        Email untouched = mapper.readValue(EMAIL, Email.class);
+        Email read = mapper.readValue(EMAIL, Email.class);
+        read.getLinks();
+
+        assertEquals(read.toString(), untouched.toString());
+        assertTrue(untouched.toString().contains("class EmailLinks"));
+    }
+
+    @Test
+    void testEqualityIsByDecodedValue() throws Exception {
+        ObjectMapper mapper = JacksonConfig.OBJECT_MAPPER;
+        Email parsed = mapper.readValue(EMAIL, Email.class);
+        Email decoded = mapper.readValue(EMAIL, Email.class);
+        decoded.getLinks();
+
+        assertEquals(decoded, parsed);
+        assertEquals(decoded.hashCode(), parsed.hashCode());
+        assertNotEquals(parsed, mapper.readValue(EMAIL.replace("/e1\"", "/e2\""), Email.class));
+    }
+
+    @Test
+    void testSubtreeIsDecodedWithTheMapperThatParsedIt() throws Exception {
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(Point.class, new PointDeserializer());
+        ObjectMapper mapper = new ObjectMapper().registerModule(module);
+
+        Holder holder = mapper.readValue("{\"point\":\"3,4\"}", Holder.class);
+
+        assertFalse(holder.point.isDecoded());
+        Point point = holder.point.get();
+        assertEquals(3, point.x);
+        assertEquals(4, point.y);
+        assertTrue(holder.point.isDecoded());
+    }
+
+    static class Holder {
+        @JsonProperty("point")
+        LazyJson<Point> point;
+    }
+
+    static class Point {
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Reads a point written as "x,y", which only the test mapper knows.
+     */
+    static class PointDeserializer extends StdDeserializer<Point> {
+        private static final long serialVersionUID = 1L;
+
+        PointDeserializer() {
+            super(Point.class);
+        }
+
+        @Override
+        public Point deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String[] parts = p.getText().split(",");
+            return new Point(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+}
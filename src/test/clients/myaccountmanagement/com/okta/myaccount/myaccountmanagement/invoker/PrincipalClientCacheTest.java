@@ -0,0 +1,105 @@
+package com.okta.myaccount.myaccountmanagement.invoker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestTemplate;
+
+class PrincipalClientCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ApiClient transport = new ApiClient(new RestTemplate());
+
+    @Test
+    void testClientIsReusedUntilTokenChanges() {
+        PrincipalClientCache cache = new PrincipalClientCache(transport, 100, 15, TimeUnit.MINUTES, now::get);
+
+        ApiClient first = cache.get("jdoe", "token-1");
+
+        assertSame(first, cache.get("jdoe", "token-1"));
+        assertSame(transport.restTemplate, first.restTemplate);
+        assertEquals("Bearer token-1", first.getConfig().getDefaultHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+
+        ApiClient renewed = cache.get("jdoe", "token-2");
+        assertNotSame(first, renewed);
+        assertEquals("Bearer token-2", renewed.getConfig().getDefaultHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        assertSame(renewed, cache.get("jdoe", "token-2"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testIdleClientsArePurgedOnLookup() {
+        PrincipalClientCache cache = new PrincipalClientCache(transport, 100, 10, TimeUnit.SECONDS, now::get);
+        String idle = "jdoe";
+        String active = sameSegmentAs(idle);
+
+        ApiClient idleClient = cache.get(idle, "token-1");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        ApiClient activeClient = cache.get(active, "token-2");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertSame(activeClient, cache.get(active, "token-2"));
+        assertEquals(1, cache.size(), "a lookup that hits must still drop the idle clients of its segment");
+        assertNotSame(idleClient, cache.get(idle, "token-1"));
+    }
+
+    @Test
+    void testOlderTokenDoesNotReplaceNewerOne() {
+        AtomicLong reads = new AtomicLong();
+        PrincipalClientCache[] holder = new PrincipalClientCache[1];
+        ApiClient[] newer = new ApiClient[1];
+        // The first lookup reads the clock, then a later request with a newer token completes
+        // while the first one is still building its client.
+        PrincipalClientCache cache = new PrincipalClientCache(transport, 100, 15, TimeUnit.MINUTES, () -> {
+            long time = now.getAndIncrement();
+            if (reads.incrementAndGet() == 2) {
+                newer[0] = holder[0].get("jdoe", "token-new");
+            }
+            return time;
+        });
+        holder[0] = cache;
+        cache.get("warm-up", "token");
+
+        ApiClient stale = cache.get("jdoe", "token-old");
+        ApiClient current = cache.get("jdoe", "token-new");
+
+        assertNotSame(stale, current);
+        assertSame(newer[0], current, "the client of the older token must not replace the newer one");
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testInvalidateAndClear() {
+        PrincipalClientCache cache = new PrincipalClientCache(transport, 100, 15, TimeUnit.MINUTES, now::get);
+        ApiClient client = cache.get("jdoe", "token-1");
+        cache.get("asmith", "token-2");
+
+        cache.invalidate("jdoe");
+        assertEquals(1, cache.size());
+        assertNotSame(client, cache.get("jdoe", "token-1"));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> cache.get("jdoe", null));
+    }
+
+    private static String sameSegmentAs(String principal) {
+        int segment = segment(principal);
+        for (int i = 0; ; i++) {
+            String candidate = "user-" + i;
+            if (segment(candidate) == segment) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int segment(String principal) {
+        int h = principal.hashCode();
+        return (h ^ (h >>> 16)) & (PrincipalClientCache.SEGMENTS - 1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ColumnarStoreTest {
+
+    private final ColumnarStore store = new ColumnarStore(schema());
+
+    @Test
+    void testSchemaFromFieldTypes() {
+        EntrySchema schema = schema();
+
+        assertEquals(Arrays.asList("id", "uidNumber", "active", "department", "mail"), schema.getNames());
+        assertEquals(EntrySchema.ColumnType.INT, schema.getType(schema.indexOf("UIDNUMBER")));
+        assertEquals(EntrySchema.ColumnType.BOOLEAN, schema.getType(schema.indexOf("active")));
+        assertEquals(EntrySchema.ColumnType.OBJECT, schema.getType(schema.indexOf("mail")));
+        assertEquals(-1, schema.indexOf("cn"));
+    }
+
+    @Test
+    void testEntriesAreReadThroughViews() {
+        store.put("1", entry("1", 1001, true, "sales", Arrays.asList("a@x.org")));
+        store.put("2", entry("2", 1002, false, new String("sales"), null));
+
+        ColumnarStore.EntryView first = store.get("1");
+        assertEquals(Integer.valueOf(1001), first.getInt("uidNumber"));
+        assertEquals(Boolean.TRUE, first.getBoolean("Active"));
+        assertEquals(Arrays.asList("a@x.org"), first.get("mail"));
+        assertNull(store.get("2").get("mail"));
+        assertFalse(store.get("2").toMap().containsKey("mail"));
+        // Equal strings share one dictionary value
+        assertSame(first.getString("department"), store.get("2").getString("department"));
+        assertThrows(IllegalArgumentException.class, () -> first.getInt("department"));
+        assertNull(store.get("3"));
+    }
+
+    @Test
+    void testSelectScansOneColumn() {
+        store.put("1", entry("1", 1001, true, "sales", null));
+        store.put("2", entry("2", 1002, false, "sales", null));
+        store.put("3", entry("3", 1002, true, "it", null));
+
+        assertEquals(Arrays.asList("1", "2"), keys(store.select("department", "sales")));
+        assertEquals(Arrays.asList("2", "3"), keys(store.select("uidNumber", "1002")));
+        assertEquals(Arrays.asList("1", "3"), keys(store.select("active", true)));
+        assertEquals(0, store.select("department", "hr").size());
+    }
+
+    @Test
+    void testRemovedRowIsReused() {
+        store.put("1", entry("1", 1001, true, "sales", null));
+        ColumnarStore.EntryView removed = store.get("1");
+        assertTrue(store.remove("1"));
+        assertFalse(store.remove("1"));
+        store.put("2", entry("2", 1002, false, "it", null));
+
+        assertEquals(1, store.size());
+        assertThrows(IllegalStateException.class, () -> removed.get("department"));
+        assertEquals(0, store.select("department", "sales").size());
+        final List<String> visited = new ArrayList<String>();
+        store.forEach(view -> visited.add(view.getKey() + "=" + view.getString("department")));
+        assertEquals(Arrays.asList("2=it"), visited);
+    }
+
+    @Test
+    void testBadValueLeavesEntryUnchanged() {
+        store.put("1", entry("1", 1001, true, "sales", null));
+        Map<String, Object> bad = entry("1", 1001, true, "it", null);
+        bad.put("uidNumber", "many");
+
+        assertThrows(IllegalArgumentException.class, () -> store.put("1", bad));
+        assertEquals("sales", store.get("1").getString("department"));
+        Map<String, Object> unknown = new HashMap<String, Object>();
+        unknown.put("cn", "x");
+        assertThrows(IllegalArgumentException.class, () -> store.put("9", unknown));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testViewKeptAcrossClearIsRejected() {
+        for (int i = 0; i < 20; i++) {
+            store.put(String.valueOf(i), entry(String.valueOf(i), 1000 + i, true, "sales", null));
+        }
+        ColumnarStore.EntryView last = store.get("19");
+
+        store.clear();
+
+        assertThrows(IllegalStateException.class, () -> last.getString("department"));
+        assertThrows(IllegalStateException.class, last::toMap);
+    }
+
+    @Test
+    void testLossyNumbersAreRejected() {
+        Map<String, String> fieldTypes = new LinkedHashMap<String, String>();
+        fieldTypes.put("uidNumber", "INTEGER");
+        fieldTypes.put("usnChanged", "LONG");
+        ColumnarStore numbers = new ColumnarStore(EntrySchema.fromFieldTypes(fieldTypes));
+
+        for (Object lossy : new Object[] {3_000_000_000L, 1.5, 1e10, Double.NaN, "1.5", new BigDecimal("2.5")}) {
+            Map<String, Object> entry = new HashMap<String, Object>();
+            entry.put("uidNumber", lossy);
+            assertThrows(IllegalArgumentException.class, () -> numbers.put("1", entry));
+        }
+        for (Object lossy : new Object[] {1e19, 0.5f, new BigInteger("9223372036854775808")}) {
+            Map<String, Object> entry = new HashMap<String, Object>();
+            entry.put("usnChanged", lossy);
+            assertThrows(IllegalArgumentException.class, () -> numbers.put("1", entry));
+        }
+        assertEquals(0, numbers.size());
+
+        Map<String, Object> exact = new HashMap<String, Object>();
+        exact.put("uidNumber", 42.0);
+        exact.put("usnChanged", new BigDecimal("9007199254740993"));
+        numbers.put("1", exact);
+        assertEquals(Integer.valueOf(42), numbers.get("1").getInt("uidNumber"));
+        assertEquals(Long.valueOf(9007199254740993L), numbers.get("1").getLong("usnChanged"));
+        assertThrows(IllegalArgumentException.class, () -> numbers.select("uidNumber", 42.5));
+    }
+
+    private static EntrySchema schema() {
+        Map<String, String> fieldTypes = new LinkedHashMap<String, String>();
+        fieldTypes.put("id", "STRING");
+        fieldTypes.put("uidNumber", "INTEGER");
+        fieldTypes.put("active", "BOOLEAN");
+        fieldTypes.put("department", "STRING");
+        fieldTypes.put("mail", "LIST");
+        return EntrySchema.fromFieldTypes(fieldTypes);
+    }
+
+    private static Map<String, Object> entry(String id, int uidNumber, boolean active, String department, List<String> mail) {
+        Map<String, Object> entry = new LinkedHashMap<String, Object>();
+        entry.put("id", id);
+        entry.put("uidNumber", uidNumber);
+        entry.put("active", active);
+        entry.put("department", department);
+        entry.put("mail", mail);
+        return entry;
+    }
+
+    private static List<String> keys(List<ColumnarStore.EntryView> views) {
+        List<String> keys = new ArrayList<String>();
+        for (ColumnarStore.EntryView view : views) {
+            keys.add(view.getKey());
+        }
+        return keys;
+    }
+}
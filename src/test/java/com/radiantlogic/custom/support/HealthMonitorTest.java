@@ -0,0 +1,149 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class HealthMonitorTest {
+
+    @Test
+    void testProbesRunConcurrentlyAndReportEachEndpoint() {
+        HealthMonitor monitor = new HealthMonitor(5, TimeUnit.SECONDS, 0, TimeUnit.SECONDS)
+                .addProbe("accounts", () -> Thread.sleep(200))
+                .addProbe("alerts", () -> {
+                    throw new IllegalStateException("503 Service Unavailable");
+                })
+                .addProbe("applications", () -> Thread.sleep(200));
+
+        long start = System.nanoTime();
+        HealthMonitor.Report report = monitor.check();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(report.isHealthy());
+        assertEquals(3, report.getEndpoints().size());
+        assertTrue(report.getEndpoints().get(0).isHealthy());
+        assertEquals("503 Service Unavailable", report.getEndpoints().get(1).getMessage());
+        assertTrue(report.getEndpoints().get(2).isHealthy());
+        assertTrue(elapsedMillis < 390, "probes ran one after another: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testSlowProbeTimesOutAtDeadline() {
+        HealthMonitor monitor = new HealthMonitor(100, TimeUnit.MILLISECONDS, 0, TimeUnit.SECONDS)
+                .addProbe("fast", () -> { })
+                .addProbe("hanging", () -> Thread.sleep(10_000));
+
+        long start = System.nanoTime();
+        HealthMonitor.Report report = monitor.check();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertTrue(report.getEndpoints().get(0).isHealthy());
+        assertEquals("timed out", report.getEndpoints().get(1).getMessage());
+    }
+
+    @Test
+    void testCurrentServesCachedReport() {
+        AtomicInteger calls = new AtomicInteger();
+        HealthMonitor monitor = new HealthMonitor(1, TimeUnit.SECONDS, 1, TimeUnit.MINUTES)
+                .addProbe("books", calls::incrementAndGet);
+
+        HealthMonitor.Report first = monitor.current();
+        HealthMonitor.Report second = monitor.current();
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertTrue(first.isHealthy());
+    }
+
+    @Test
+    void testAgingReportIsServedWhileRefreshedInBackground() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HealthMonitor monitor = new HealthMonitor(1, TimeUnit.SECONDS, 1, TimeUnit.MINUTES)
+                .setRefreshAfter(50, TimeUnit.MILLISECONDS)
+                .addProbe("books", calls::incrementAndGet);
+
+        HealthMonitor.Report first = monitor.current();
+        Thread.sleep(100);
+        HealthMonitor.Report aging = monitor.current();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (monitor.current() == first && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertSame(first, aging);
+        assertNotSame(first, monitor.current());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testBackgroundRefreshFillsCache() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        try (HealthMonitor monitor = new HealthMonitor(1, TimeUnit.SECONDS, 1, TimeUnit.MINUTES)
+                .addProbe("books", calls::incrementAndGet)
+                .start(20, TimeUnit.MILLISECONDS)) {
+            Thread.sleep(200);
+            int before = calls.get();
+            monitor.current();
+
+            assertTrue(before >= 2);
+            assertTrue(calls.get() - before <= 1);
+        }
+    }
+
+    @Test
+    void testBackgroundRefreshSurvivesFailedCheck() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService rejectsFirst = new AbstractExecutorService() {
+            private final AtomicInteger submitted = new AtomicInteger();
+
+            @Override
+            public void execute(Runnable command) {
+                if (submitted.incrementAndGet() == 1) {
+                    throw new RejectedExecutionException("pool saturated");
+                }
+                command.run();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return true;
+            }
+        };
+        try (HealthMonitor monitor = new HealthMonitor(1, TimeUnit.SECONDS, 1, TimeUnit.MINUTES)
+                .addProbe("books", calls::incrementAndGet)
+                .setExecutor(rejectsFirst)
+                .start(20, TimeUnit.MILLISECONDS)) {
+            Thread.sleep(200);
+
+            assertTrue(calls.get() >= 2, "checks stopped after the first failure");
+            assertTrue(monitor.current().isHealthy());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class JwkCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Map<String, Object>> jwks = new ArrayList<Map<String, Object>>();
+    private final JwkCache cache = new JwkCache(() -> {
+        loads.incrementAndGet();
+        return new ArrayList<Map<String, Object>>(jwks);
+    }, 30, TimeUnit.SECONDS, now::get);
+
+    @Test
+    void testKeysAreDecodedOnceAndSignaturesVerify() throws Exception {
+        KeyPair rsa = generate("RSA", null);
+        KeyPair ec = generate("EC", "secp256r1");
+        jwks.add(rsaJwk("rsa-1", (RSAPublicKey) rsa.getPublic()));
+        jwks.add(ecJwk("ec-1", "P-256", (ECPublicKey) ec.getPublic()));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cache.verify(jws("rsa-1", "RS256", "SHA256withRSA", rsa.getPrivate(), "{\"sub\":\"" + i + "\"}")));
+            assertTrue(cache.verify(jws("ec-1", "ES256", "SHA256withECDSA", ec.getPrivate(), "{\"sub\":\"" + i + "\"}")));
+        }
+
+        assertEquals(1, loads.get());
+        assertSame(cache.getKey("rsa-1"), cache.getKey("rsa-1"));
+    }
+
+    @Test
+    void testTamperedOrForeignTokenIsRejected() throws Exception {
+        KeyPair ec = generate("EC", "secp384r1");
+        KeyPair other = generate("EC", "secp384r1");
+        jwks.add(ecJwk("ec-1", "P-384", (ECPublicKey) ec.getPublic()));
+
+        String token = jws("ec-1", "ES384", "SHA384withECDSA", ec.getPrivate(), "{\"sub\":\"jdoe\"}");
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + encode("{\"sub\":\"admin\"}") + "." + parts[2];
+
+        assertTrue(cache.verify(token));
+        assertFalse(cache.verify(tampered));
+        assertFalse(cache.verify(jws("ec-1", "ES384", "SHA384withECDSA", other.getPrivate(), "{\"sub\":\"jdoe\"}")));
+        assertFalse(cache.verify("not-a-token"));
+    }
+
+    @Test
+    void testUnknownKidReloadsAtMostOncePerInterval() throws Exception {
+        KeyPair first = generate("RSA", null);
+        KeyPair rotated = generate("RSA", null);
+        jwks.add(rsaJwk("rsa-1", (RSAPublicKey) first.getPublic()));
+        assertNotNull(cache.getKey("rsa-1"));
+
+        for (int i = 0; i < 100; i++) {
+            assertNull(cache.getKey("made-up-" + i));
+        }
+        assertEquals(1, loads.get());
+
+        jwks.clear();
+        jwks.add(rsaJwk("rsa-2", (RSAPublicKey) rotated.getPublic()));
+        assertNull(cache.getKey("rsa-2"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertTrue(cache.verify(jws("rsa-2", "RS256", "SHA256withRSA", rotated.getPrivate(), "{}")));
+        assertEquals(2, loads.get());
+        assertNull(cache.getKey("rsa-1"), "keys dropped from the set must be dropped from the cache");
+    }
+
+    @Test
+    void testFailedReloadIsRetriedByTheNextMiss() throws Exception {
+        KeyPair rsa = generate("RSA", null);
+        AtomicInteger calls = new AtomicInteger();
+        JwkCache flaky = new JwkCache(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("JWKS endpoint unavailable");
+            }
+            return new ArrayList<Map<String, Object>>(jwks);
+        }, 30, TimeUnit.SECONDS, now::get);
+        jwks.add(rsaJwk("rsa-1", (RSAPublicKey) rsa.getPublic()));
+        String token = jws("rsa-1", "RS256", "SHA256withRSA", rsa.getPrivate(), "{}");
+
+        assertFalse(flaky.verify(token));
+        assertTrue(flaky.verify(token), "a failed load must not start the refresh interval");
+        assertEquals(2, calls.get());
+        assertEquals(2, flaky.getLoadCount());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneReload() throws Exception {
+        KeyPair rsa = generate("RSA", null);
+        jwks.add(rsaJwk("rsa-1", (RSAPublicKey) rsa.getPublic()));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JwkCache slow = new JwkCache(() -> {
+            loads.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ArrayList<Map<String, Object>>(jwks);
+        }, 30, TimeUnit.SECONDS, now::get);
+
+        Thread first = new Thread(() -> slow.getKey("rsa-1"));
+        first.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        // The load runs outside the lock, so other calls are not blocked by it
+        slow.invalidate();
+        Thread second = new Thread(() -> slow.getKey("rsa-1"));
+        second.start();
+        awaitWaiting(second);
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        assertEquals(1, loads.get());
+        assertNotNull(slow.getKey("rsa-1"), "keys loaded before an invalidation are not kept, the next miss reloads");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testMalformedAndEncryptionKeysAreSkipped() throws Exception {
+        KeyPair rsa = generate("RSA", null);
+        Map<String, Object> broken = new HashMap<String, Object>();
+        broken.put("kid", "broken");
+        broken.put("kty", "RSA");
+        Map<String, Object> encryption = rsaJwk("enc-1", (RSAPublicKey) rsa.getPublic());
+        encryption.put("use", "enc");
+        jwks.add(broken);
+        jwks.add(encryption);
+        jwks.add(rsaJwk("rsa-1", (RSAPublicKey) rsa.getPublic()));
+
+        assertNotNull(cache.getKey("rsa-1"));
+        assertNull(cache.getKey("broken"));
+        assertNull(cache.getKey("enc-1"));
+    }
+
+    @Test
+    void testRawEcdsaSignatureConvertsToDer() {
+        byte[] raw = new byte[64];
+        raw[0] = (byte) 0x80;
+        raw[63] = 1;
+
+        byte[] der = JwkCache.toDer(raw);
+
+        assertEquals(0x30, der[0]);
+        assertEquals(der.length - 2, der[1]);
+        assertEquals(0x02, der[2]);
+        assertEquals(33, der[3]);
+        assertEquals(0, der[4]);
+        assertArrayEquals(new byte[] {0x02, 0x01, 0x01}, Arrays.copyOfRange(der, der.length - 3, der.length));
+        assertNull(JwkCache.toDer(new byte[63]));
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static KeyPair generate(String algorithm, String curve) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        if (curve == null) {
+            generator.initialize(2048);
+        } else {
+            generator.initialize(new ECGenParameterSpec(curve));
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static Map<String, Object> rsaJwk(String kid, RSAPublicKey key) {
+        Map<String, Object> jwk = new HashMap<String, Object>();
+        jwk.put("kid", kid);
+        jwk.put("kty", "RSA");
+        jwk.put("n", encode(key.getModulus(), 0));
+        jwk.put("e", encode(key.getPublicExponent(), 0));
+        return jwk;
+    }
+
+    private static Map<String, Object> ecJwk(String kid, String crv, ECPublicKey key) {
+        int size = (key.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+        Map<String, Object> jwk = new HashMap<String, Object>();
+        jwk.put("kid", kid);
+        jwk.put("kty", "EC");
+        jwk.put("crv", crv);
+        jwk.put("x", encode(key.getW().getAffineX(), size));
+        jwk.put("y", encode(key.getW().getAffineY(), size));
+        return jwk;
+    }
+
+    private static String jws(String kid, String alg, String jcaAlgorithm, PrivateKey key, String payload) throws Exception {
+        String signingInput = encode("{\"alg\":\"" + alg + "\",\"kid\":\"" + kid + "\"}") + "." + encode(payload);
+        Signature signer = Signature.getInstance(jcaAlgorithm);
+        signer.initSign(key);
+        signer.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        byte[] signature = signer.sign();
+        if (alg.startsWith("ES")) {
+            signature = derToRaw(signature, alg.equals("ES512") ? 66 : Integer.parseInt(alg.substring(2)) / 8);
+        }
+        return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static byte[] derToRaw(byte[] der, int size) {
+        int pos = der[1] == (byte) 0x81 ? 3 : 2;
+        int rLength = der[pos + 1];
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(der, pos + 2, pos + 2 + rLength));
+        pos += 2 + rLength;
+        int sLength = der[pos + 1];
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(der, pos + 2, pos + 2 + sLength));
+        byte[] raw = new byte[2 * size];
+        System.arraycopy(fixed(r, size), 0, raw, 0, size);
+        System.arraycopy(fixed(s, size), 0, raw, size, size);
+        return raw;
+    }
+
+    private static byte[] fixed(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        byte[] out = new byte[Math.max(size, bytes.length)];
+        System.arraycopy(bytes, 0, out, out.length - bytes.length, bytes.length);
+        return out;
+    }
+
+    private static String encode(BigInteger value, int size) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed(value, size));
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
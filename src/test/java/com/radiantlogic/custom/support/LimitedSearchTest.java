@@ -0,0 +1,164 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LimitedSearchTest {
+
+    @Test
+    void testReturnsWholeCollectionWithoutLimits() {
+        CountingFetcher fetcher = new CountingFetcher(23);
+
+        LimitedSearch.Result<Integer> result = LimitedSearch.run(fetcher, 10, SearchLimits.unlimited());
+
+        assertEquals(LimitedSearch.Outcome.COMPLETE, result.getOutcome());
+        assertEquals(23, result.getEntries().size());
+        assertEquals(3, fetcher.calls.get());
+    }
+
+    @Test
+    void testStopsPagingAtSizeLimit() {
+        CountingFetcher fetcher = new CountingFetcher(1000);
+
+        LimitedSearch.Result<Integer> result = LimitedSearch.run(fetcher, 50, SearchLimits.of(10, 0));
+
+        assertEquals(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED, result.getOutcome());
+        assertEquals(4, result.getOutcome().getResultCode());
+        assertEquals(10, result.getEntries().size());
+        assertEquals(1, fetcher.calls.get());
+        assertEquals(11, fetcher.lastPageSize);
+    }
+
+    @Test
+    void testExactlySizeLimitIsComplete() {
+        CountingFetcher fetcher = new CountingFetcher(10);
+
+        LimitedSearch.Result<Integer> result = LimitedSearch.run(fetcher, 50, SearchLimits.of(10, 0));
+
+        assertEquals(LimitedSearch.Outcome.COMPLETE, result.getOutcome());
+        assertEquals(10, result.getEntries().size());
+    }
+
+    @Test
+    void testLimitThatIsAMultipleOfPageSizeSkipsFullExtraPage() {
+        CountingFetcher fetcher = new CountingFetcher(1000);
+
+        LimitedSearch.Result<Integer> result = LimitedSearch.run(fetcher, 50, SearchLimits.of(100, 0));
+
+        assertEquals(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED, result.getOutcome());
+        assertEquals(100, result.getEntries().size());
+        assertEquals(Integer.valueOf(99), result.getEntries().get(99));
+        assertEquals(3, fetcher.calls.get());
+        assertEquals(34, fetcher.lastPageSize);
+        assertEquals(50, LimitedSearch.pageSize(50, SearchLimits.of(49, 0)));
+        assertEquals(50, LimitedSearch.pageSize(50, SearchLimits.unlimited()));
+    }
+
+    @Test
+    void testRemainingBudgetCarriesAcrossTypes() {
+        SearchLimits limits = SearchLimits.of(5, 0).afterReturning(5);
+
+        LimitedSearch.Result<Integer> nonEmpty = LimitedSearch.run(new CountingFetcher(3), 50, limits);
+        LimitedSearch.Result<Integer> empty = LimitedSearch.run(new CountingFetcher(0), 50, limits);
+
+        assertEquals(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED, nonEmpty.getOutcome());
+        assertTrue(nonEmpty.getEntries().isEmpty());
+        assertEquals(LimitedSearch.Outcome.COMPLETE, empty.getOutcome());
+    }
+
+    @Test
+    void testCancelsOutstandingCallAtTimeLimit() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        PageFetcher<Integer> fetcher = (page, size) -> {
+            if (page == 0) {
+                return Collections.nCopies(size, page);
+            }
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Collections.emptyList();
+        };
+
+        LimitedSearch.Result<Integer> result = LimitedSearch.run(fetcher, 5, SearchLimits.of(0, 1));
+
+        assertEquals(LimitedSearch.Outcome.TIME_LIMIT_EXCEEDED, result.getOutcome());
+        assertEquals(5, result.getEntries().size());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testStreamStopsWaitingForPageAtTimeLimit() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        PageFetcher<Integer> fetcher = (page, size) -> {
+            if (page == 0) {
+                return Collections.nCopies(size, page);
+            }
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Collections.emptyList();
+        };
+        List<Integer> emitted = new ArrayList<>();
+
+        LimitedSearch.Outcome outcome = LimitedSearch.stream(fetcher, 5, SearchLimits.of(0, 1), emitted::add);
+
+        assertEquals(LimitedSearch.Outcome.TIME_LIMIT_EXCEEDED, outcome);
+        assertEquals(5, emitted.size());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testStreamStopsWhenSinkRefuses() {
+        CountingFetcher fetcher = new CountingFetcher(1000);
+        List<Integer> emitted = new ArrayList<>();
+
+        LimitedSearch.Outcome outcome = LimitedSearch.stream(fetcher, 10, SearchLimits.unlimited(),
+                entry -> emitted.add(entry) && emitted.size() < 3);
+
+        assertEquals(LimitedSearch.Outcome.COMPLETE, outcome);
+        assertEquals(3, emitted.size());
+        assertEquals(1, fetcher.calls.get());
+    }
+
+    @Test
+    void testFetcherExceptionIsRethrown() {
+        PageFetcher<Integer> fetcher = (page, size) -> {
+            throw new IllegalArgumentException("upstream failed");
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> LimitedSearch.run(fetcher, 5, SearchLimits.of(0, 30)));
+    }
+
+    private static final class CountingFetcher implements PageFetcher<Integer> {
+        private final int total;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile int lastPageSize;
+
+        CountingFetcher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public List<Integer> fetch(int pageNumber, int pageSize) {
+            calls.incrementAndGet();
+            lastPageSize = pageSize;
+            List<Integer> page = new ArrayList<>();
+            for (int i = pageNumber * pageSize; i < Math.min(total, (pageNumber + 1) * pageSize); i++) {
+                page.add(i);
+            }
+            return page;
+        }
+    }
+}
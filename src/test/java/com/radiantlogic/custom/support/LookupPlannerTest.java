@@ -0,0 +1,104 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+class LookupPlannerTest {
+
+    private final LookupPlanner planner = new LookupPlanner(Collections.singletonList("id"));
+
+    @Test
+    void testParsesNestedFilterAndUnescapesValues() {
+        FilterNode filter = FilterNode.parse("(&(objectClass=email)(|(cn=a\\2ab)(!(mail=*)))(sn>=x))");
+
+        assertEquals(FilterNode.Type.AND, filter.getType());
+        assertEquals(3, filter.getChildren().size());
+        FilterNode or = filter.getChildren().get(1);
+        assertEquals("a*b", or.getChildren().get(0).getValue());
+        assertEquals(FilterNode.Type.PRESENT, or.getChildren().get(1).getChildren().get(0).getType());
+        assertEquals("caf\u00e9", FilterNode.parse("name=caf\\c3\\a9").getValue());
+        assertThrows(IllegalArgumentException.class, () -> FilterNode.parse("(&(id=1)"));
+    }
+
+    @Test
+    void testKeyEqualityIsPointLookup() {
+        LookupPlan plan = planner.plan("ou=emails,o=acme", false, "(&(objectClass=email)(ID=42))");
+
+        assertEquals(LookupPlan.Kind.POINT, plan.getKind());
+        assertEquals("42", plan.getKey());
+        assertFalse(plan.isFromBaseDn());
+    }
+
+    @Test
+    void testBaseScopeOnKeyRdnIsPointLookup() {
+        LookupPlan plan = planner.plan("id=a\\2cb,ou=emails,o=acme", true, "(objectClass=*)");
+
+        assertEquals(LookupPlan.Kind.POINT, plan.getKind());
+        assertEquals("a,b", plan.getKey());
+        assertTrue(plan.isFromBaseDn());
+        assertNull(plan.getFilter());
+    }
+
+    @Test
+    void testBaseScopeLookupKeepsFilterForTheEntry() {
+        LookupPlan plan = planner.plan("id=42,ou=emails,o=acme", true, "(&(objectClass=email)(status=VERIFIED))");
+
+        assertEquals(LookupPlan.Kind.POINT, plan.getKind());
+        Map<String, Collection<?>> entry = new HashMap<>();
+        entry.put("objectclass", Collections.singletonList("email"));
+        entry.put("status", Collections.singletonList("verified"));
+        assertTrue(plan.getFilter().matches(entry::get));
+        entry.put("status", Collections.singletonList("UNVERIFIED"));
+        assertFalse(plan.getFilter().matches(entry::get));
+    }
+
+    @Test
+    void testKeyFilterOutsideContainerScans() {
+        LookupPlanner withContainers = new LookupPlanner(Collections.singletonList("id"), Collections.singletonList("ou=Emails, o=acme"));
+
+        assertEquals(LookupPlan.Kind.POINT, withContainers.plan("ou=emails,o=acme", false, "(id=1)").getKind());
+        assertEquals(LookupPlan.Kind.POINT, withContainers.plan("o=acme", false, "(id=1)").getKind());
+        assertEquals(LookupPlan.Kind.SCAN, withContainers.plan("cn=archive,ou=emails,o=acme", false, "(id=1)").getKind());
+        assertEquals(LookupPlan.Kind.SCAN, withContainers.plan("id=1,cn=archive,ou=emails,o=acme", true, null).getKind());
+        assertEquals(LookupPlan.Kind.POINT, withContainers.plan("id=1,ou=emails,o=acme", true, null).getKind());
+        assertEquals(LookupPlan.Kind.SCAN, planner.plan("id=2,ou=emails,o=acme", false, "(id=1)").getKind());
+    }
+
+    @Test
+    void testFilterMatchesEntryValues() {
+        Map<String, Collection<?>> entry = new HashMap<>();
+        entry.put("cn", Arrays.asList("Harry Potter", "The Boy Who Lived"));
+        entry.put("age", Collections.singletonList(17));
+
+        assertTrue(FilterNode.parse("(cn=harry*)").matches(entry::get));
+        assertTrue(FilterNode.parse("(cn=*boy*lived)").matches(entry::get));
+        assertFalse(FilterNode.parse("(cn=*potter*lived)").matches(entry::get));
+        assertTrue(FilterNode.parse("(&(age>=9)(!(age<=16))(cn=*))").matches(entry::get));
+        assertFalse(FilterNode.parse("(|(mail=*)(cn=ron*))").matches(entry::get));
+    }
+
+    @Test
+    void testOrOfKeysIsPlannedAsDistinctKeysInOrder() {
+        LookupPlan plan = planner.plan("ou=emails,o=acme", false, "(&(objectClass=email)(|(id=c)(id=a)(ID=c)(id=b)))");
+
+        assertEquals(LookupPlan.Kind.MULTI, plan.getKind());
+        assertEquals(Arrays.asList("c", "a", "b"), plan.getKeys());
+        assertEquals(LookupPlan.Kind.POINT, planner.plan("", false, "(|(id=a)(id=a))").getKind());
+    }
+
+    @Test
+    void testOtherSearchesScan() {
+        for (String filter : Arrays.asList("(id=4*)", "(&(id=1)(mail=x))", "(|(id=1)(cn=2))", "(cn=bob)", "((bad")) {
+            assertEquals(LookupPlan.Kind.SCAN, planner.plan("ou=emails,o=acme", false, filter).getKind(), filter);
+        }
+        assertEquals(LookupPlan.Kind.SCAN, planner.plan("cn=x,ou=emails,o=acme", true, "(objectClass=*)").getKind());
+        assertEquals(LookupPlan.Kind.SCAN, planner.plan("id=1+cn=x,o=acme", true, null).getKind());
+    }
+}
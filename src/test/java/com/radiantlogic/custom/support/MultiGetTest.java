@@ -0,0 +1,139 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MultiGetTest {
+
+    @Test
+    void testPointReadsRunConcurrentlyUnderCapAndKeepOrder() {
+        SlowReader reader = new SlowReader();
+        List<String> keys = new ArrayList<>();
+        for (int i = 40; i > 0; i--) {
+            keys.add(String.valueOf(i));
+        }
+        keys.add("7");
+        keys.add("missing");
+
+        long start = System.nanoTime();
+        List<String> found = new MultiGet<>(reader).setParallelism(8).read(keys);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(40, found.size());
+        assertEquals("v40", found.get(0));
+        assertEquals("v1", found.get(39));
+        assertEquals(41, reader.calls.get());
+        assertTrue(reader.maxConcurrent.get() > 1);
+        assertTrue(reader.maxConcurrent.get() <= 8);
+        assertTrue(elapsedMillis < 41 * 20, "reads were not concurrent: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testBatchReaderSplitsKeysIntoBatches() {
+        AtomicInteger calls = new AtomicInteger();
+        BatchReader<String> reader = keys -> {
+            calls.incrementAndGet();
+            assertTrue(keys.size() <= 10);
+            Map<String, String> found = new HashMap<>();
+            for (String key : keys) {
+                if (!key.equals("3")) {
+                    found.put(key, "v" + key);
+                }
+            }
+            return found;
+        };
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            keys.add(String.valueOf(i));
+        }
+
+        List<String> found = new MultiGet<>(reader, 10).setParallelism(2).read(keys);
+
+        assertEquals(3, calls.get());
+        assertEquals(24, found.size());
+        assertEquals("v4", found.get(3));
+    }
+
+    @Test
+    void testSizeLimitCapsKeysRead() {
+        AtomicInteger calls = new AtomicInteger();
+        PointReader<String> reader = key -> {
+            calls.incrementAndGet();
+            return key.equals("2") ? null : "v" + key;
+        };
+
+        LimitedSearch.Result<String> result = new MultiGet<>(reader).read(Arrays.asList("1", "2", "3", "4", "5"), SearchLimits.of(2, 0));
+
+        assertEquals(LimitedSearch.Outcome.SIZE_LIMIT_EXCEEDED, result.getOutcome());
+        assertEquals(Arrays.asList("v1", "v3"), result.getEntries());
+        assertEquals(4, calls.get(), "only one key beyond the limit is read");
+        assertEquals(LimitedSearch.Outcome.COMPLETE, new MultiGet<>(reader).read(Arrays.asList("1", "3"), SearchLimits.of(2, 0)).getOutcome());
+    }
+
+    @Test
+    void testTimeLimitReturnsEntriesReadBeforeDeadline() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        PointReader<String> reader = key -> {
+            if (key.equals("3")) {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+            return "v" + key;
+        };
+
+        LimitedSearch.Result<String> result = new MultiGet<>(reader).read(Arrays.asList("1", "2", "3", "4"), SearchLimits.of(0, 1));
+
+        assertEquals(LimitedSearch.Outcome.TIME_LIMIT_EXCEEDED, result.getOutcome());
+        assertEquals(Arrays.asList("v1", "v2"), result.getEntries());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailedReadIsRethrown() {
+        PointReader<String> reader = key -> {
+            if (key.equals("b")) {
+                throw new IllegalStateException("upstream failed");
+            }
+            return key;
+        };
+
+        assertThrows(IllegalStateException.class, () -> new MultiGet<>(reader).read(Arrays.asList("a", "b", "c")));
+    }
+
+    private static final class SlowReader implements PointReader<String> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private final Map<String, Boolean> seen = new ConcurrentHashMap<>();
+
+        @Override
+        public String read(String key) {
+            calls.incrementAndGet();
+            assertNull(seen.put(key, Boolean.TRUE), "key read twice: " + key);
+            int now = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            return key.equals("missing") ? null : "v" + key;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class NegativeCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final NegativeCache cache = new NegativeCache(30, TimeUnit.SECONDS, 100, now::get);
+
+    @Test
+    void testRepeatedMissSkipsUpstreamUntilExpiry() {
+        AtomicInteger calls = new AtomicInteger();
+        PointReader<String> reader = cache.guard("Email", key -> {
+            calls.incrementAndGet();
+            return null;
+        });
+
+        assertNull(reader.read("jdoe"));
+        assertNull(reader.read(" jdoe "));
+        assertTrue(cache.isKnownMissing("EMAIL", "jdoe"));
+        assertEquals(1, calls.get());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertNull(reader.read("jdoe"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testWriteInvalidatesImmediately() {
+        cache.recordMissing("email", "new-user");
+
+        cache.invalidate("email", "new-user");
+
+        assertFalse(cache.isKnownMissing("email", "new-user"));
+    }
+
+    @Test
+    void testMissReadDuringInvalidationIsNotCached() {
+        PointReader<String> reader = cache.guard("email", key -> {
+            // The connector creates the object while the upstream read is in flight
+            cache.invalidate("email", key);
+            return null;
+        });
+
+        assertNull(reader.read("new-user"));
+
+        assertFalse(cache.isKnownMissing("email", "new-user"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testKnownKeyFilterAnswersAbsentKeys() {
+        BloomFilter keys = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            keys.put("user" + i);
+        }
+        cache.setKnownKeys("email", keys);
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(cache.isKnownMissing("email", "user" + i));
+        }
+        int reportedMissing = 0;
+        for (int i = 1000; i < 11000; i++) {
+            if (cache.isKnownMissing("email", "user" + i)) {
+                reportedMissing++;
+            }
+        }
+        assertTrue(reportedMissing > 9700, "false positive rate too high: " + (10000 - reportedMissing));
+
+        cache.invalidate("email", "user20000");
+        assertFalse(cache.isKnownMissing("email", "user20000"));
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        for (int i = 0; i < 500; i++) {
+            cache.recordMissing("email", "k" + i);
+        }
+        assertEquals(100, cache.size());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        cache.recordMissing("email", "later");
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testFullCacheTakesNewMissesOnceOldOnesExpire() {
+        for (int i = 0; i < 100; i++) {
+            cache.recordMissing("email", "k" + i);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        cache.recordMissing("email", "early");
+        assertFalse(cache.isKnownMissing("email", "early"));
+
+        // 31 seconds in, the misses recorded in the first second (k0 to k10) have expired
+        now.addAndGet(TimeUnit.SECONDS.toNanos(21));
+        cache.recordMissing("email", "late");
+        assertTrue(cache.isKnownMissing("email", "late"));
+        assertFalse(cache.isKnownMissing("email", "k0"));
+        assertTrue(cache.isKnownMissing("email", "k99"));
+        assertEquals(90, cache.size());
+    }
+}
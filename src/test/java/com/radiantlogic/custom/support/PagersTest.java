@@ -0,0 +1,102 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class PagersTest {
+
+    @Test
+    void testStreamsAllPagesInOrder() {
+        RangeFetcher fetcher = new RangeFetcher(25);
+
+        List<Integer> all = Pagers.stream(fetcher, 10).collect(Collectors.toList());
+
+        assertEquals(25, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(Integer.valueOf(i), all.get(i));
+        }
+        assertEquals(3, fetcher.calls.get());
+    }
+
+    @Test
+    void testNothingIsFetchedUntilConsumed() {
+        RangeFetcher fetcher = new RangeFetcher(25);
+
+        Iterator<Integer> iterator = Pagers.iterator(fetcher, 10);
+
+        assertEquals(0, fetcher.calls.get());
+        assertTrue(iterator.hasNext());
+        assertEquals(Integer.valueOf(0), iterator.next());
+    }
+
+    @Test
+    void testPrefetchesNextPageWhileCurrentIsConsumed() throws Exception {
+        RangeFetcher fetcher = new RangeFetcher(30);
+        Iterator<Integer> iterator = Pagers.iterator(fetcher, 10);
+
+        iterator.next();
+
+        assertTrue(fetcher.secondPageRequested.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEarlyStopDoesNotScanWholeCollection() {
+        RangeFetcher fetcher = new RangeFetcher(100000);
+
+        try (Stream<Integer> stream = Pagers.stream(fetcher, 10)) {
+            assertEquals(15, stream.limit(15).count());
+        }
+
+        assertTrue(fetcher.calls.get() <= 3);
+    }
+
+    @Test
+    void testFetcherFailureSurfacesOnConsumption() {
+        PageFetcher<Integer> fetcher = (page, size) -> {
+            if (page == 1) {
+                throw new IllegalStateException("page 1 failed");
+            }
+            return new RangeFetcher(100).fetch(page, size);
+        };
+
+        Iterator<Integer> iterator = Pagers.iterator(fetcher, 10);
+        for (int i = 0; i < 10; i++) {
+            iterator.next();
+        }
+
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    private static final class RangeFetcher implements PageFetcher<Integer> {
+        private final int total;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch secondPageRequested = new CountDownLatch(1);
+
+        RangeFetcher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public List<Integer> fetch(int pageNumber, int pageSize) {
+            calls.incrementAndGet();
+            if (pageNumber == 1) {
+                secondPageRequested.countDown();
+            }
+            List<Integer> page = new ArrayList<>();
+            for (int i = pageNumber * pageSize; i < Math.min(total, (pageNumber + 1) * pageSize); i++) {
+                page.add(i);
+            }
+            return page;
+        }
+    }
+}
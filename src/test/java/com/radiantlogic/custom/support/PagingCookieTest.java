@@ -0,0 +1,89 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PagingCookieTest {
+
+    private final long searchHash = PagingCookie.searchHash("ou=books,o=hp", "(objectclass=book)");
+
+    @Test
+    void testRoundTrip() {
+        PagingCookie cookie = PagingCookie.first(searchHash).nextPartition().advance(20, "cursor-abc");
+
+        PagingCookie decoded = PagingCookie.decode(cookie.encode(), searchHash);
+
+        assertEquals(1, decoded.getPartition());
+        assertEquals(20, decoded.getOffset());
+        assertEquals("cursor-abc", decoded.getCursor());
+    }
+
+    @Test
+    void testEmptyCookieStartsNewSearch() {
+        PagingCookie decoded = PagingCookie.decode("", searchHash);
+
+        assertEquals(0, decoded.getPartition());
+        assertEquals(0, decoded.getOffset());
+        assertNull(decoded.getCursor());
+    }
+
+    @Test
+    void testRejectsCookieOfAnotherSearchOrGarbage() {
+        String cookie = PagingCookie.first(searchHash).advance(10).encode();
+        long otherSearch = PagingCookie.searchHash("ou=books,o=hp", "(objectclass=spell)");
+
+        assertThrows(IllegalArgumentException.class, () -> PagingCookie.decode(cookie, otherSearch));
+        assertThrows(IllegalArgumentException.class, () -> PagingCookie.decode("not a cookie!", searchHash));
+        assertThrows(IllegalArgumentException.class, () -> PagingCookie.decode("AQ", searchHash));
+    }
+
+    @Test
+    void testEachPageIsOneUpstreamFetch() {
+        AtomicInteger calls = new AtomicInteger();
+        PageFetcher<Integer> fetcher = (page, size) -> {
+            calls.incrementAndGet();
+            List<Integer> entries = new ArrayList<>();
+            for (int i = page * size; i < Math.min(25, (page + 1) * size); i++) {
+                entries.add(i);
+            }
+            return entries;
+        };
+
+        List<Integer> seen = new ArrayList<>();
+        String cookie = "";
+        int pages = 0;
+        do {
+            PagingCookie position = PagingCookie.decode(cookie, searchHash);
+            PagedSearch.Page<Integer> page = PagedSearch.fetchPage(fetcher, position.getOffset(), 10);
+            seen.addAll(page.getEntries());
+            cookie = PagedSearch.nextCookie(position, page, 1);
+            pages++;
+        } while (!cookie.isEmpty());
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testChangedPageSizeSkipsEntriesAlreadyReturned() {
+        PageFetcher<Integer> fetcher = (page, size) -> {
+            List<Integer> entries = new ArrayList<>();
+            for (int i = page * size; i < Math.min(100, (page + 1) * size); i++) {
+                entries.add(i);
+            }
+            return entries;
+        };
+
+        PagedSearch.Page<Integer> page = PagedSearch.fetchPage(fetcher, 15, 10);
+
+        assertEquals(Arrays.asList(15, 16, 17, 18, 19), page.getEntries());
+        assertFalse(page.isLast());
+    }
+}
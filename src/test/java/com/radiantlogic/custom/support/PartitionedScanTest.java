@@ -0,0 +1,133 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PartitionedScanTest {
+
+    @Test
+    void testOrderedScanReturnsEntriesInPageOrder() {
+        SlowFetcher fetcher = new SlowFetcher(95);
+
+        List<Integer> all = new PartitionedScan<>(fetcher, 10, 95).setParallelism(4)
+                .toList(PartitionedScan.Order.ORDERED);
+
+        assertEquals(95, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(Integer.valueOf(i), all.get(i));
+        }
+        assertTrue(fetcher.maxConcurrent.get() > 1);
+        assertTrue(fetcher.maxConcurrent.get() <= 4);
+    }
+
+    @Test
+    void testAsArrivedScanReturnsEveryEntryOnce() {
+        SlowFetcher fetcher = new SlowFetcher(95);
+
+        List<Integer> all = new PartitionedScan<>(fetcher, 10, 95).setParallelism(3)
+                .toList(PartitionedScan.Order.AS_ARRIVED);
+
+        assertEquals(95, all.size());
+        assertEquals(95, new HashSet<>(all).size());
+        assertTrue(fetcher.maxConcurrent.get() <= 3);
+    }
+
+    @Test
+    void testFirstPageIsNotFetchedAgain() {
+        SlowFetcher fetcher = new SlowFetcher(25);
+        List<Integer> firstPage = fetcher.fetch(0, 10);
+        fetcher.requestedPages.clear();
+
+        List<Integer> all = new PartitionedScan<>(fetcher, 10, 25).setFirstPage(firstPage)
+                .toList(PartitionedScan.Order.ORDERED);
+
+        assertEquals(25, all.size());
+        assertFalse(fetcher.requestedPages.containsKey(0));
+    }
+
+    @Test
+    void testKnownTotalKeepsScanningWhenUpstreamCapsPageSize() {
+        SlowFetcher fetcher = new SlowFetcher(25, 5);
+        List<Integer> firstPage = fetcher.fetch(0, 10);
+
+        List<Integer> all = new PartitionedScan<>(fetcher, 10, 25).setFirstPage(firstPage)
+                .toList(PartitionedScan.Order.ORDERED);
+
+        assertEquals(25, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(Integer.valueOf(i), all.get(i));
+        }
+    }
+
+    @Test
+    void testUnknownTotalWalksPagesUntilShortPage() {
+        SlowFetcher fetcher = new SlowFetcher(25);
+
+        List<Integer> all = new PartitionedScan<>(fetcher, 10, -1).toList(PartitionedScan.Order.ORDERED);
+
+        assertEquals(25, all.size());
+        assertEquals(1, fetcher.maxConcurrent.get());
+        assertEquals(3, fetcher.requestedPages.size());
+    }
+
+    @Test
+    void testReadsTotalCountFromHeaderOrScimBody() {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("x-total-count", Collections.singletonList("500000"));
+        Map<String, Object> scim = new HashMap<>();
+        scim.put("totalResults", 42);
+
+        assertEquals(OptionalLong.of(500000), TotalCount.fromHeaders(headers));
+        assertEquals(OptionalLong.of(42), TotalCount.fromBody(scim));
+        assertFalse(TotalCount.fromHeaders(Collections.singletonMap("X-Total-Count", Arrays.asList("n/a"))).isPresent());
+    }
+
+    private static final class SlowFetcher implements PageFetcher<Integer> {
+        private final int total;
+        private final int maxPageSize;
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private final Map<Integer, Boolean> requestedPages = new ConcurrentHashMap<>();
+
+        SlowFetcher(int total) {
+            this(total, Integer.MAX_VALUE);
+        }
+
+        SlowFetcher(int total, int maxPageSize) {
+            this.total = total;
+            this.maxPageSize = maxPageSize;
+        }
+
+        @Override
+        public List<Integer> fetch(int pageNumber, int requestedSize) {
+            int pageSize = Math.min(requestedSize, maxPageSize);
+            requestedPages.put(pageNumber, Boolean.TRUE);
+            int now = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            List<Integer> page = new ArrayList<>();
+            for (int i = pageNumber * pageSize; i < Math.min(total, (pageNumber + 1) * pageSize); i++) {
+                page.add(i);
+            }
+            return page;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ReferenceDataTierTest {
+
+    @Test
+    void testLoadsOnceAndIsSharedByDatasource() {
+        AtomicInteger loads = new AtomicInteger();
+        ReferenceData<List<String>> first = ReferenceDataTier.acquire("https://Example.test/api/", null)
+                .pin("eventTypes", 1, TimeUnit.HOURS, () -> {
+                    loads.incrementAndGet();
+                    return new ArrayList<>(Arrays.asList("login", "logout"));
+                });
+        ReferenceData<List<String>> second = ReferenceDataTier.acquire("https://example.test/api", null)
+                .pin("eventTypes", 1, TimeUnit.HOURS, () -> {
+                    throw new AssertionError("second loader must not be used");
+                });
+
+        assertSame(first, second);
+        assertEquals(Arrays.asList("login", "logout"), first.get());
+        assertSame(first.get(), second.get());
+        assertEquals(1, loads.get());
+        assertThrows(UnsupportedOperationException.class, () -> first.get().add("hack"));
+    }
+
+    @Test
+    void testRevalidatesInBackgroundAndKeepsValueOnFailure() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ReferenceData<String> schema = ReferenceDataTier.acquire("https://schema.test", null)
+                .pin("profileSchema", 50, TimeUnit.MILLISECONDS, () -> {
+                    if (loads.incrementAndGet() > 1) {
+                        throw new IllegalStateException("upstream down");
+                    }
+                    return "schema-v1";
+                })
+                .setExecutor(Runnable::run);
+
+        assertEquals("schema-v1", schema.get());
+        Thread.sleep(60);
+
+        assertEquals("schema-v1", schema.get());
+        assertEquals(2, loads.get());
+        assertEquals("schema-v1", schema.get());
+    }
+
+    @Test
+    void testRevalidateKeepsInstanceWhenContentUnchanged() {
+        ReferenceData<List<String>> houses = ReferenceDataTier.acquire("https://houses.test", null)
+                .pin("houses", 1, TimeUnit.HOURS, () -> new ArrayList<>(Arrays.asList("Gryffindor", "Slytherin")));
+
+        List<String> before = houses.get();
+        List<String> after = houses.revalidate();
+
+        assertSame(before, after);
+        assertEquals(2, houses.getLoadCount());
+    }
+
+    @Test
+    void testDatasourcesWithOtherCredentialsDoNotShareEntries() {
+        ReferenceDataTier alice = ReferenceDataTier.acquire("https://tenant.test", "alice:secret");
+        ReferenceDataTier bob = ReferenceDataTier.acquire("https://tenant.test", "bob:secret");
+
+        ReferenceData<String> aliceOrg = alice.pin("organization", 1, TimeUnit.HOURS, "alice-client", client -> "org of " + client);
+        ReferenceData<String> bobOrg = bob.pin("organization", 1, TimeUnit.HOURS, "bob-client", client -> "org of " + client);
+
+        assertNotSame(alice, bob);
+        assertEquals("org of alice-client", aliceOrg.get());
+        assertEquals("org of bob-client", bobOrg.get());
+        alice.release();
+        bob.release();
+    }
+
+    @Test
+    void testLastReleaseUnpinsEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        ReferenceDataTier first = ReferenceDataTier.acquire("https://released.test", null);
+        ReferenceDataTier second = ReferenceDataTier.acquire("https://released.test", null);
+        ReferenceData<Integer> counter = first.pin("counter", 1, TimeUnit.HOURS, loads::incrementAndGet);
+        assertEquals(Integer.valueOf(1), counter.get());
+
+        first.release();
+        assertSame(counter, second.pin("counter", 1, TimeUnit.HOURS, loads::incrementAndGet));
+
+        second.release();
+        ReferenceDataTier third = ReferenceDataTier.acquire("https://released.test", null);
+        ReferenceData<Integer> reloaded = third.pin("counter", 1, TimeUnit.HOURS, loads::incrementAndGet);
+
+        assertNotSame(second, third);
+        assertNotSame(counter, reloaded);
+        assertEquals(Integer.valueOf(2), reloaded.get());
+        third.release();
+    }
+}
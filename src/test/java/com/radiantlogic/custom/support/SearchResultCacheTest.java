@@ -0,0 +1,220 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class SearchResultCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SearchResultCache<String> cache =
+            new SearchResultCache<String>(60, TimeUnit.SECONDS, 100, String::length, now::get);
+
+    @Test
+    void testEquivalentSearchesShareOneKey() {
+        SearchCacheKey a = SearchCacheKey.of("OU=Groups, o=Acme", "SUB",
+                "(&(objectClass=Group)(member=uid=jdoe)(cn=admins))", Arrays.asList("mail", "CN"));
+        SearchCacheKey b = SearchCacheKey.of("ou=groups,o=acme", "SUB",
+                "(&(cn=admins)(objectclass=group)(MEMBER=uid=jdoe)(cn=admins))", Arrays.asList("cn", "mail", "cn"));
+
+        assertEquals(a, b);
+        assertNotEquals(a, SearchCacheKey.of("ou=groups,o=acme", "SUB", "(&(cn=Admins)(objectclass=group)(member=uid=jdoe))", Arrays.asList("cn", "mail")));
+        assertEquals(SearchCacheKey.of("o=acme", "SUB", "(cn=x)", null), SearchCacheKey.of("o=acme", "SUB", "cn=x", Collections.singletonList("*")));
+    }
+
+    @Test
+    void testResultExpiresAfterShortestTypeTtl() {
+        cache.setTtl("group", 5, TimeUnit.SECONDS);
+        SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=admins)", null);
+        cache.put(key, "result", Arrays.asList("user", "group"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertEquals("result", cache.get(key));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertNull(cache.get(key));
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    void testBulkScanDoesNotEvictHotResults() {
+        List<SearchCacheKey> hot = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=hot" + i + ")", null);
+            hot.add(key);
+            cache.put(key, repeat('h', 20), Collections.singletonList("user"));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (SearchCacheKey key : hot) {
+                assertNotNull(cache.get(key));
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            cache.put(SearchCacheKey.of("o=acme", "SUB", "(cn=scan" + i + ")", null), repeat('s', 20), Collections.singletonList("user"));
+            assertTrue(cache.getWeight() <= 100);
+        }
+
+        for (SearchCacheKey key : hot) {
+            assertNotNull(cache.get(key));
+        }
+    }
+
+    @Test
+    void testFrequentNewcomerIsAdmitted() {
+        for (int i = 0; i < 5; i++) {
+            cache.put(SearchCacheKey.of("o=acme", "SUB", "(cn=old" + i + ")", null), repeat('o', 20), Collections.singletonList("user"));
+        }
+        SearchCacheKey popular = SearchCacheKey.of("o=acme", "SUB", "(cn=popular)", null);
+        for (int i = 0; i < 5; i++) {
+            assertNull(cache.get(popular));
+        }
+
+        cache.put(popular, repeat('p', 20), Collections.singletonList("user"));
+        cache.put(SearchCacheKey.of("o=acme", "SUB", "(cn=huge)", null), repeat('x', 101), Collections.singletonList("user"));
+
+        assertNotNull(cache.get(popular));
+        assertTrue(cache.getWeight() <= 100);
+    }
+
+    @Test
+    void testLoadCountsAsOneAccess() {
+        SearchCacheKey first = SearchCacheKey.of("o=acme", "SUB", "(cn=first)", null);
+        SearchCacheKey second = SearchCacheKey.of("o=acme", "SUB", "(cn=second)", null);
+        SearchCacheKey newcomer = SearchCacheKey.of("o=acme", "SUB", "(cn=newcomer)", null);
+        cache.getOrLoad(first, Collections.singletonList("user"), () -> repeat('f', 50));
+        assertNotNull(cache.get(first));
+        cache.getOrLoad(second, Collections.singletonList("user"), () -> repeat('s', 50));
+        assertNotNull(cache.get(second));
+
+        // Requested twice like the cached results, so it must not displace one of them
+        cache.getOrLoad(newcomer, Collections.singletonList("user"), () -> repeat('n', 50));
+        cache.getOrLoad(newcomer, Collections.singletonList("user"), () -> repeat('n', 50));
+
+        assertNull(cache.get(newcomer));
+        assertNotNull(cache.get(first));
+        assertNotNull(cache.get(second));
+    }
+
+    @Test
+    void testInvalidateTypeDropsTaggedResults() {
+        SearchCacheKey groups = SearchCacheKey.of("o=acme", "SUB", "(objectclass=group)", null);
+        SearchCacheKey users = SearchCacheKey.of("o=acme", "SUB", "(objectclass=user)", null);
+        cache.put(groups, "groups", Collections.singletonList("Group"));
+        cache.put(users, "users", Collections.singletonList("user"));
+
+        cache.invalidateType("GROUP");
+
+        assertNull(cache.get(groups));
+        assertEquals("users", cache.get(users));
+    }
+
+    @Test
+    void testStaleResultIsServedWhileOneRefreshRuns() {
+        List<Runnable> refreshes = new ArrayList<>();
+        cache.setMaxStale(5, TimeUnit.MINUTES).setExecutor(refreshes::add);
+        SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=admins)", null);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.getOrLoad(key, Collections.singletonList("group"), () -> "v" + loads.incrementAndGet()));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertEquals("v1", cache.getOrLoad(key, Collections.singletonList("group"), () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.getOrLoad(key, Collections.singletonList("group"), () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, refreshes.size());
+        assertEquals(1, loads.get());
+        refreshes.get(0).run();
+        assertEquals("v2", cache.getOrLoad(key, Collections.singletonList("group"), () -> "v" + loads.incrementAndGet()));
+        assertEquals(2, cache.getStaleHitCount());
+    }
+
+    @Test
+    void testFailedRefreshKeepsServingStaleUntilHardLimit() {
+        cache.setMaxStale(5, TimeUnit.MINUTES).setExecutor(Runnable::run);
+        SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=admins)", null);
+        cache.put(key, "cached", Collections.singletonList("group"));
+        now.addAndGet(TimeUnit.MINUTES.toNanos(3));
+
+        String served = cache.getOrLoad(key, Collections.singletonList("group"), () -> {
+            throw new IllegalStateException("upstream down");
+        });
+
+        assertEquals("cached", served);
+        assertEquals(1, cache.getRefreshFailureCount());
+        assertNull(cache.get(key));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        assertEquals("fresh", cache.getOrLoad(key, Collections.singletonList("group"), () -> "fresh"));
+    }
+
+    @Test
+    void testLoadStartedBeforeInvalidationIsNotCached() {
+        SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=admins)", null);
+
+        // The connector writes a group while the search is still reading the old members
+        String loaded = cache.getOrLoad(key, Arrays.asList("user", "GROUP"), () -> {
+            cache.invalidateType("group");
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.getOrLoad(key, Arrays.asList("user", "group"), () -> "fresh"));
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+        SearchCacheKey other = SearchCacheKey.of("o=acme", "SUB", "(cn=users)", null);
+        cache.getOrLoad(other, Collections.singletonList("user"), () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRefreshStartedBeforeInvalidationIsNotCached() {
+        List<Runnable> refreshes = new ArrayList<>();
+        cache.setMaxStale(5, TimeUnit.MINUTES).setExecutor(refreshes::add);
+        SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=admins)", null);
+        cache.put(key, "cached", Collections.singletonList("group"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertEquals("cached", cache.getOrLoad(key, Collections.singletonList("group"), () -> {
+            cache.invalidateType("group");
+            return "stale";
+        }));
+        refreshes.get(0).run();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getRefreshFailureCount());
+    }
+
+    @Test
+    void testRefreshFailingWithErrorIsCounted() {
+        cache.setMaxStale(5, TimeUnit.MINUTES).setExecutor(Runnable::run);
+        SearchCacheKey key = SearchCacheKey.of("o=acme", "SUB", "(cn=admins)", null);
+        cache.put(key, "cached", Collections.singletonList("group"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertEquals("cached", cache.getOrLoad(key, Collections.singletonList("group"), () -> {
+            throw new AssertionError("decoder bug");
+        }));
+
+        assertEquals(1, cache.getRefreshFailureCount());
+        assertEquals("cached", cache.getOrLoad(key, Collections.singletonList("group"), () -> "fresh"));
+        assertEquals("fresh", cache.get(key), "the failed refresh must not block the next one");
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,167 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SnapshotDifferTest {
+
+    private SnapshotDiffer<Object, Map<String, Object>> differ;
+    private AtomicInteger decodes;
+
+    @BeforeEach
+    void setUp() {
+        differ = new SnapshotDiffer<>(entry -> entry.get("id"), ContentHash::of);
+        decodes = new AtomicInteger();
+    }
+
+    @Test
+    void testContentHashIgnoresKeyOrder() {
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("id", 1);
+        a.put("title", "Philosopher's Stone");
+        Map<String, Object> b = new LinkedHashMap<>();
+        b.put("title", "Philosopher's Stone");
+        b.put("id", 1);
+
+        assertEquals(ContentHash.of(a), ContentHash.of(b));
+        assertNotEquals(ContentHash.of("1"), ContentHash.of(1));
+    }
+
+    @Test
+    void testFirstPassReportsEverythingAsAdded() {
+        SnapshotDiffer.Pass<Object, Map<String, Object>> pass = differ.beginPass();
+        pass.page("p1", body("1:a", "2:b"), this::decode);
+        SnapshotDiffer.ChangeSet<Object, Map<String, Object>> changes = pass.complete();
+
+        assertEquals(2, changes.getAdded().size());
+        assertTrue(changes.getModified().isEmpty());
+        assertTrue(changes.getDeleted().isEmpty());
+        assertEquals(2, differ.size());
+    }
+
+    @Test
+    void testUnchangedPageIsNotDecoded() {
+        runPass(Collections.singletonList(body("1:a", "2:b")));
+        decodes.set(0);
+
+        SnapshotDiffer.ChangeSet<Object, Map<String, Object>> changes =
+                runPass(Collections.singletonList(body("1:a", "2:b")));
+
+        assertTrue(changes.isEmpty());
+        assertEquals(1, changes.getSkippedPages());
+        assertEquals(0, decodes.get());
+    }
+
+    @Test
+    void testReportsAddsModifiesAndDeletes() {
+        runPass(Arrays.asList(body("1:a", "2:b"), body("3:c")));
+
+        SnapshotDiffer.ChangeSet<Object, Map<String, Object>> changes =
+                runPass(Arrays.asList(body("1:a", "2:B"), body("4:d")));
+
+        assertEquals(Collections.singletonList("4"), ids(changes.getAdded()));
+        assertEquals(Collections.singletonList("2"), ids(changes.getModified()));
+        assertEquals(Collections.singletonList("3"), changes.getDeleted());
+    }
+
+    @Test
+    void testEntryShiftedToAnotherPageIsUnchanged() {
+        runPass(Arrays.asList(body("1:a", "2:b"), body("3:c")));
+
+        SnapshotDiffer.ChangeSet<Object, Map<String, Object>> changes =
+                runPass(Arrays.asList(body("1:a"), body("2:b", "3:c")));
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testModifiedEntryMovingBetweenPagesIsReportedOnce() {
+        runPass(Arrays.asList(body("1:a", "2:b"), body("3:c")));
+
+        // Page 0 is unchanged and skipped, then entry 2 shows up modified on page 1
+        SnapshotDiffer.ChangeSet<Object, Map<String, Object>> changes =
+                runPass(Arrays.asList(body("1:a", "2:b"), body("3:c", "2:B")));
+
+        assertEquals(1, changes.getSkippedPages());
+        assertEquals(Collections.singletonList("2"), ids(changes.getModified()));
+        assertTrue(changes.getAdded().isEmpty());
+        assertTrue(runPass(Arrays.asList(body("1:a", "2:b"), body("2:B", "3:c"))).isEmpty());
+    }
+
+    @Test
+    void testSkippedPageDoesNotRestoreStaleHashOfMovedEntry() {
+        runPass(Arrays.asList(body("1:a"), body("2:b")));
+
+        // Entry 2 moved to page 0 with new content while page 1 still holds the old copy
+        SnapshotDiffer.ChangeSet<Object, Map<String, Object>> changes =
+                runPass(Arrays.asList(body("2:B", "1:a"), body("2:b")));
+        assertEquals(Collections.singletonList("2"), ids(changes.getModified()));
+
+        assertTrue(runPass(Arrays.asList(body("1:a", "2:B"), body("2:b"))).isEmpty(),
+                "the entry must not be reported as modified again");
+    }
+
+    @Test
+    void testAbandonedPassKeepsBaseline() {
+        runPass(Collections.singletonList(body("1:a")));
+        long root = differ.rootHash();
+
+        SnapshotDiffer.Pass<Object, Map<String, Object>> pass = differ.beginPass();
+        pass.page("p0", body("1:changed"), this::decode);
+        pass.abandon();
+
+        assertEquals(root, differ.rootHash());
+        assertTrue(runPass(Collections.singletonList(body("1:a"))).isEmpty());
+    }
+
+    @Test
+    void testOnlyOnePassAtATime() {
+        differ.beginPass();
+        assertThrows(IllegalStateException.class, () -> differ.beginPass());
+    }
+
+    private SnapshotDiffer.ChangeSet<Object, Map<String, Object>> runPass(List<byte[]> pages) {
+        SnapshotDiffer.Pass<Object, Map<String, Object>> pass = differ.beginPass();
+        for (int i = 0; i < pages.size(); i++) {
+            pass.page("p" + i, pages.get(i), this::decode);
+        }
+        return pass.complete();
+    }
+
+    private static byte[] body(String... entries) {
+        return String.join(",", entries).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Map<String, Object>> decode(byte[] body) {
+        decodes.incrementAndGet();
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (String item : new String(body, StandardCharsets.UTF_8).split(",")) {
+            String[] parts = item.split(":");
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", parts[0]);
+            entry.put("value", parts[1]);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static List<Object> ids(List<Map<String, Object>> entries) {
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, Object> entry : entries) {
+            ids.add(entry.get("id"));
+        }
+        return ids;
+    }
+}
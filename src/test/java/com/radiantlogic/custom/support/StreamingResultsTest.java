@@ -0,0 +1,89 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StreamingResultsTest {
+
+    @Test
+    void testFirstEntryArrivesBeforeProducerFinishes() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (StreamingResults<String> results = StreamingResults.start(sink -> {
+            sink.emit("first");
+            release.await(5, TimeUnit.SECONDS);
+            sink.emit("second");
+            return LimitedSearch.Outcome.COMPLETE;
+        }, 10)) {
+            assertEquals("first", results.next());
+            assertNull(results.getOutcome());
+            release.countDown();
+            assertEquals("second", results.next());
+            assertFalse(results.hasNext());
+            assertEquals(LimitedSearch.Outcome.COMPLETE, results.getOutcome());
+        }
+    }
+
+    @Test
+    void testSlowConsumerHoldsBackProducer() throws Exception {
+        final AtomicInteger emitted = new AtomicInteger();
+
+        try (StreamingResults<Integer> results = StreamingResults.start(sink -> {
+            for (int i = 0; i < 1000; i++) {
+                if (!sink.emit(i)) {
+                    break;
+                }
+                emitted.incrementAndGet();
+            }
+            return LimitedSearch.Outcome.COMPLETE;
+        }, 5)) {
+            Thread.sleep(200);
+            assertTrue(emitted.get() <= 6, "producer ran ahead: " + emitted.get());
+
+            List<Integer> all = new ArrayList<>();
+            results.forEachRemaining(all::add);
+            assertEquals(1000, all.size());
+        }
+    }
+
+    @Test
+    void testCloseStopsProducer() throws Exception {
+        final AtomicBoolean stopped = new AtomicBoolean();
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        StreamingResults<Integer> results = StreamingResults.start(sink -> {
+            int i = 0;
+            while (sink.emit(i++)) {
+                // keep producing until the consumer goes away
+            }
+            stopped.set(true);
+            finished.countDown();
+            return LimitedSearch.Outcome.COMPLETE;
+        }, 2);
+        results.next();
+        results.close();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(stopped.get());
+        assertFalse(results.hasNext());
+    }
+
+    @Test
+    void testProducerFailureSurfacesAfterEmittedEntries() {
+        StreamingResults<String> results = StreamingResults.start(sink -> {
+            sink.emit("ok");
+            throw new IllegalStateException("upstream failed");
+        }, 4);
+
+        assertEquals("ok", results.next());
+        assertThrows(IllegalStateException.class, results::hasNext);
+    }
+}
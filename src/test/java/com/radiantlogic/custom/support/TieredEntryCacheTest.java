@@ -0,0 +1,115 @@
+package com.radiantlogic.custom.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TieredEntryCacheTest {
+
+    @Test
+    void testEntryEvictedFromHeapIsDecodedFromOffHeapTier() {
+        TieredEntryCache<String, String> cache = new TieredEntryCache<String, String>(EntryCodec.utf8(), 2, 4096, 1024);
+        cache.put("a", "alpha");
+        cache.put("b", "beta");
+        cache.put("c", "gamma");
+
+        assertEquals(2, cache.getL1Size());
+        assertEquals(3, cache.getL2Size());
+        assertEquals("alpha", cache.get("a"));
+        assertEquals(1, cache.getL2HitCount());
+        assertEquals("alpha", cache.get("a"));
+        assertEquals(1, cache.getL1HitCount());
+        assertNull(cache.get("d"));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testOldestSlabIsRecycledWithinBudget() {
+        TieredEntryCache<String, String> cache = new TieredEntryCache<String, String>(EntryCodec.utf8(), 0, 64, 32);
+        cache.put("k1", "0123456789");
+        cache.put("k2", "0123456789");
+        cache.put("k3", "0123456789");
+        cache.put("k4", "0123456789");
+        cache.put("k5", "0123456789");
+
+        assertEquals(64, cache.getOffHeapBytes());
+        assertNull(cache.get("k1"));
+        assertNull(cache.get("k2"));
+        assertEquals("0123456789", cache.get("k3"));
+        assertEquals("0123456789", cache.get("k5"));
+    }
+
+    @Test
+    void testReplacedAndInvalidatedEntries() {
+        TieredEntryCache<String, String> cache = new TieredEntryCache<String, String>(EntryCodec.utf8(), 0, 1024, 256);
+        cache.put("a", "old");
+        cache.put("a", "new");
+        cache.put("b", "x");
+        cache.invalidate("b");
+
+        assertEquals("new", cache.get("a"));
+        assertNull(cache.get("b"));
+        cache.clear();
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getL2Size());
+    }
+
+    @Test
+    void testEntryLargerThanSlabStaysOnHeapOnly() {
+        TieredEntryCache<String, String> cache = new TieredEntryCache<String, String>(EntryCodec.utf8(), 1, 64, 32);
+        cache.put("big", "0123456789012345678901234567890123456789");
+
+        assertEquals(0, cache.getL2Size());
+        assertEquals("0123456789012345678901234567890123456789", cache.get("big"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TieredEntryCache<String, String>(EntryCodec.utf8(), 1, 16, 32));
+    }
+
+    @Test
+    void testEntriesExpireInBothTiersAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        TieredEntryCache<String, String> cache = new TieredEntryCache<String, String>(EntryCodec.utf8(), 1, 1024, 256, now::get)
+                .setTtl(60, TimeUnit.SECONDS);
+        cache.put("heap", "on heap");
+        cache.put("offHeap", "off heap");
+        cache.put("heap", "on heap");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals("on heap", cache.get("heap"));
+        assertEquals("off heap", cache.get("offHeap"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull(cache.get("heap"));
+        assertNull(cache.get("offHeap"));
+        assertEquals(0, cache.getL1Size());
+        assertEquals(0, cache.getL2Size());
+
+        cache.put("heap", "reloaded");
+        assertEquals("reloaded", cache.get("heap"));
+    }
+
+    @Test
+    void testAttributeMapRoundTrip() {
+        Map<String, Object> entry = new LinkedHashMap<String, Object>();
+        entry.put("cn", "caf\u00e9");
+        entry.put("uidNumber", 1001);
+        entry.put("size", 5000000000L);
+        entry.put("score", 0.5);
+        entry.put("active", true);
+        entry.put("manager", null);
+        entry.put("mail", Arrays.asList("a@x.org", "b@x.org"));
+
+        AttributeMapCodec codec = new AttributeMapCodec();
+        Map<String, Object> decoded = codec.decode(ByteBuffer.wrap(codec.encode(entry)));
+
+        assertEquals(entry, decoded);
+        assertEquals(Arrays.asList(entry.keySet().toArray()), Arrays.asList(decoded.keySet().toArray()));
+    }
+}